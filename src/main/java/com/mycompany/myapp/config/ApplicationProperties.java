@@ -11,4 +11,208 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
 @ConfigurationProperties(prefix = "application", ignoreUnknownFields = false)
 public class ApplicationProperties {
 
+    private final Import bankImport = new Import();
+
+    private final Projection projection = new Projection();
+
+    private final Overview overview = new Overview();
+
+    private final Scenario scenario = new Scenario();
+
+    private final Diff diff = new Diff();
+
+    private final Dashboard dashboard = new Dashboard();
+
+    private final Stats stats = new Stats();
+
+    public Import getImport() {
+        return bankImport;
+    }
+
+    public Projection getProjection() {
+        return projection;
+    }
+
+    public Overview getOverview() {
+        return overview;
+    }
+
+    public Scenario getScenario() {
+        return scenario;
+    }
+
+    public Diff getDiff() {
+        return diff;
+    }
+
+    public Dashboard getDashboard() {
+        return dashboard;
+    }
+
+    public Stats getStats() {
+        return stats;
+    }
+
+    /**
+     * A bounded pool of threads, whose tasks run on the caller thread once its queue is full.
+     */
+    public static class Pool {
+
+        private int poolSize;
+
+        private int queueCapacity = 1000;
+
+        protected Pool(int poolSize) {
+            this.poolSize = poolSize;
+        }
+
+        public int getPoolSize() {
+            return poolSize;
+        }
+
+        public void setPoolSize(int poolSize) {
+            this.poolSize = poolSize;
+        }
+
+        public int getQueueCapacity() {
+            return queueCapacity;
+        }
+
+        public void setQueueCapacity(int queueCapacity) {
+            this.queueCapacity = queueCapacity;
+        }
+    }
+
+    public static class Import {
+
+        private int batchSize = 1000;
+
+        private int maxReportedErrors = 100;
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+        }
+
+        public int getMaxReportedErrors() {
+            return maxReportedErrors;
+        }
+
+        public void setMaxReportedErrors(int maxReportedErrors) {
+            this.maxReportedErrors = maxReportedErrors;
+        }
+    }
+
+    public static class Projection {
+
+        private int batchSize = 500;
+
+        private int queueCapacity = 100000;
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+        }
+
+        public int getQueueCapacity() {
+            return queueCapacity;
+        }
+
+        public void setQueueCapacity(int queueCapacity) {
+            this.queueCapacity = queueCapacity;
+        }
+    }
+
+    public static class Overview extends Pool {
+
+        private long timeoutMs = 2000;
+
+        private int maxBudgets = 100;
+
+        public Overview() {
+            super(4);
+        }
+
+        public long getTimeoutMs() {
+            return timeoutMs;
+        }
+
+        public void setTimeoutMs(long timeoutMs) {
+            this.timeoutMs = timeoutMs;
+        }
+
+        public int getMaxBudgets() {
+            return maxBudgets;
+        }
+
+        public void setMaxBudgets(int maxBudgets) {
+            this.maxBudgets = maxBudgets;
+        }
+    }
+
+    public static class Scenario extends Pool {
+
+        public Scenario() {
+            super(Runtime.getRuntime().availableProcessors());
+        }
+    }
+
+    public static class Diff {
+
+        private int maxReportedChanges = 1000;
+
+        public int getMaxReportedChanges() {
+            return maxReportedChanges;
+        }
+
+        public void setMaxReportedChanges(int maxReportedChanges) {
+            this.maxReportedChanges = maxReportedChanges;
+        }
+    }
+
+    public static class Dashboard extends Pool {
+
+        private int budgets = 20;
+
+        private int recentItems = 10;
+
+        public Dashboard() {
+            super(4);
+        }
+
+        public int getBudgets() {
+            return budgets;
+        }
+
+        public void setBudgets(int budgets) {
+            this.budgets = budgets;
+        }
+
+        public int getRecentItems() {
+            return recentItems;
+        }
+
+        public void setRecentItems(int recentItems) {
+            this.recentItems = recentItems;
+        }
+    }
+
+    public static class Stats {
+
+        private long flushIntervalMs = 60000;
+
+        public long getFlushIntervalMs() {
+            return flushIntervalMs;
+        }
+
+        public void setFlushIntervalMs(long flushIntervalMs) {
+            this.flushIntervalMs = flushIntervalMs;
+        }
+    }
 }
@@ -26,8 +26,11 @@ public class AsyncConfiguration implements AsyncConfigurer, SchedulingConfigurer
 
     private final JHipsterProperties jHipsterProperties;
 
-    public AsyncConfiguration(JHipsterProperties jHipsterProperties) {
+    private final ApplicationProperties applicationProperties;
+
+    public AsyncConfiguration(JHipsterProperties jHipsterProperties, ApplicationProperties applicationProperties) {
         this.jHipsterProperties = jHipsterProperties;
+        this.applicationProperties = applicationProperties;
     }
 
     @Override
@@ -42,6 +45,57 @@ public class AsyncConfiguration implements AsyncConfigurer, SchedulingConfigurer
         return new ExceptionHandlingAsyncTaskExecutor(executor);
     }
 
+    /**
+     * A single thread projecting the domain events, so that they are projected in order.
+     */
+    @Bean(name = "projectionExecutor")
+    public ThreadPoolTaskExecutor projectionExecutor() {
+        log.debug("Creating Projection Task Executor");
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(jHipsterProperties.getAsync().getQueueCapacity());
+        executor.setThreadNamePrefix("monthly-budget-Projector-");
+        return executor;
+    }
+
+    /**
+     * A bounded pool aggregating the budgets of the overviews in parallel, shared by all the requests so
+     * that a large overview cannot exhaust the database connections.
+     */
+    @Bean(name = "overviewExecutor")
+    public ThreadPoolTaskExecutor overviewExecutor() {
+        log.debug("Creating Overview Task Executor");
+        return boundedExecutor(applicationProperties.getOverview(), "monthly-budget-Overview-");
+    }
+
+    /**
+     * A bounded pool evaluating the what-if scenarios in parallel, sized for CPU-bound work.
+     */
+    @Bean(name = "scenarioExecutor")
+    public ThreadPoolTaskExecutor scenarioExecutor() {
+        log.debug("Creating Scenario Task Executor");
+        return boundedExecutor(applicationProperties.getScenario(), "monthly-budget-Scenario-");
+    }
+
+    /**
+     * A bounded pool running the independent queries of the dashboards in parallel.
+     */
+    @Bean(name = "dashboardExecutor")
+    public ThreadPoolTaskExecutor dashboardExecutor() {
+        log.debug("Creating Dashboard Task Executor");
+        return boundedExecutor(applicationProperties.getDashboard(), "monthly-budget-Dashboard-");
+    }
+
+    private static ThreadPoolTaskExecutor boundedExecutor(ApplicationProperties.Pool pool, String threadNamePrefix) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(pool.getPoolSize());
+        executor.setMaxPoolSize(pool.getPoolSize());
+        executor.setQueueCapacity(pool.getQueueCapacity());
+        executor.setThreadNamePrefix(threadNamePrefix);
+        return executor;
+    }
+
     @Override
     public AsyncUncaughtExceptionHandler getAsyncUncaughtExceptionHandler() {
         return new SimpleAsyncUncaughtExceptionHandler();
@@ -36,6 +36,8 @@ public class CacheConfiguration {
         return cm -> {
             cm.createCache(com.mycompany.myapp.repository.UserRepository.USERS_BY_LOGIN_CACHE, jcacheConfiguration);
             cm.createCache(com.mycompany.myapp.repository.UserRepository.USERS_BY_EMAIL_CACHE, jcacheConfiguration);
+            cm.createCache(com.mycompany.myapp.service.RecurringRuleExpander.OCCURRENCES_CACHE, jcacheConfiguration);
+            cm.createCache(com.mycompany.myapp.service.BudgetBreakdownService.BREAKDOWN_CACHE, jcacheConfiguration);
             // jhipster-needle-ehcache-add-entry
         };
     }
@@ -11,6 +11,12 @@ public final class Constants {
     public static final String SYSTEM_ACCOUNT = "system";
     public static final String ANONYMOUS_USER = "anonymoususer";
     public static final String DEFAULT_LANGUAGE = "en";
+    public static final String DEFAULT_CURRENCY = "SEK";
+
+    // Longest range of months of the monthly totals, overviews and forecasts
+    public static final int MAX_MONTHS = 120;
+    // Number of months of the forecasts, including the current one, when not requested
+    public static final int DEFAULT_FORECAST_MONTHS = 12;
     
     private Constants() {
     }
@@ -1,6 +1,8 @@
 package com.mycompany.myapp.config;
 
 import io.github.jhipster.config.JHipsterConstants;
+import com.mycompany.myapp.domain.util.MoneyConverters.DocumentToMoneyConverter;
+import com.mycompany.myapp.domain.util.MoneyConverters.MoneyToDocumentConverter;
 import com.github.mongobee.Mongobee;
 import com.mongodb.MongoClient;
 import io.github.jhipster.domain.util.JSR310DateConverters.DateToZonedDateTimeConverter;
@@ -48,6 +50,8 @@ public class DatabaseConfiguration {
         List<Converter<?, ?>> converters = new ArrayList<>();
         converters.add(DateToZonedDateTimeConverter.INSTANCE);
         converters.add(ZonedDateTimeToDateConverter.INSTANCE);
+        converters.add(MoneyToDocumentConverter.INSTANCE);
+        converters.add(DocumentToMoneyConverter.INSTANCE);
         return new MongoCustomConversions(converters);
     }
 
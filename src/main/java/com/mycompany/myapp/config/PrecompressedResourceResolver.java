@@ -0,0 +1,197 @@
+package com.mycompany.myapp.config;
+
+import org.springframework.core.io.AbstractResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.util.StringUtils;
+import org.springframework.web.servlet.resource.AbstractResourceResolver;
+import org.springframework.web.servlet.resource.HttpResource;
+import org.springframework.web.servlet.resource.ResourceResolverChain;
+
+import javax.servlet.http.HttpServletRequest;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.URL;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Resolves the webpack output to the variant compressed at build time that the client accepts: the
+ * {@code .br} file for Brotli, else the {@code .gz} file for gzip.
+ * <p>
+ * The files whose name holds a content hash never change, so they are cached as immutable.
+ */
+public class PrecompressedResourceResolver extends AbstractResourceResolver {
+
+    private static final Map<String, String> EXTENSIONS_BY_CODING = new LinkedHashMap<>();
+
+    static {
+        EXTENSIONS_BY_CODING.put("br", ".br");
+        EXTENSIONS_BY_CODING.put("gzip", ".gz");
+    }
+
+    private static final Pattern HASHED_FILENAME = Pattern.compile("(^|.*\\.)[0-9a-f]{20,}\\.[^.]+(\\.[^.]+)?");
+
+    private static final Pattern NOT_ACCEPTABLE = Pattern.compile("q=0(\\.0*)?");
+
+    private static final String IMMUTABLE_CACHE_CONTROL = "public, max-age=31536000, immutable";
+
+    @Override
+    protected Resource resolveResourceInternal(HttpServletRequest request, String requestPath,
+                                               List<? extends Resource> locations, ResourceResolverChain chain) {
+        Resource resource = chain.resolveResource(request, requestPath, locations);
+        if (resource == null || request == null) {
+            return resource;
+        }
+        boolean compressed = false;
+        for (Map.Entry<String, String> extension : EXTENSIONS_BY_CODING.entrySet()) {
+            Resource variant = createRelative(resource, resource.getFilename() + extension.getValue());
+            if (variant != null && variant.isReadable()) {
+                if (accepts(request.getHeader(HttpHeaders.ACCEPT_ENCODING), extension.getKey())) {
+                    return new PrecompressedResource(resource, variant, extension.getKey(), true);
+                }
+                compressed = true;
+            }
+        }
+        if (compressed || isHashed(resource)) {
+            return new PrecompressedResource(resource, resource, null, compressed);
+        }
+        return resource;
+    }
+
+    @Override
+    protected String resolveUrlPathInternal(String resourceUrlPath, List<? extends Resource> locations,
+                                            ResourceResolverChain chain) {
+        return chain.resolveUrlPath(resourceUrlPath, locations);
+    }
+
+    private Resource createRelative(Resource resource, String relativePath) {
+        try {
+            return resource.createRelative(relativePath);
+        } catch (IOException e) {
+            logger.trace("No variant " + relativePath + " of " + resource, e);
+            return null;
+        }
+    }
+
+    private static boolean accepts(String acceptEncoding, String coding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String value : StringUtils.commaDelimitedListToStringArray(acceptEncoding)) {
+            String[] parameters = value.split(";");
+            if (parameters[0].trim().equalsIgnoreCase(coding)) {
+                return parameters.length == 1 || !NOT_ACCEPTABLE.matcher(parameters[1].trim()).matches();
+            }
+        }
+        return false;
+    }
+
+    private static boolean isHashed(Resource resource) {
+        return resource.getFilename() != null && HASHED_FILENAME.matcher(resource.getFilename()).matches();
+    }
+
+    /**
+     * A static resource, whose content may be read from a compressed variant.
+     */
+    static final class PrecompressedResource extends AbstractResource implements HttpResource {
+
+        private final Resource original;
+
+        private final Resource content;
+
+        private final String coding;
+
+        private final boolean varying;
+
+        /**
+         * @param original the resource that was requested
+         * @param content the resource to read, the original one or one of its variants
+         * @param coding the content coding of the variant, or null for the original resource
+         * @param varying whether the resource has variants, negotiated with the Accept-Encoding header
+         */
+        PrecompressedResource(Resource original, Resource content, String coding, boolean varying) {
+            this.original = original;
+            this.content = content;
+            this.coding = coding;
+            this.varying = varying;
+        }
+
+        @Override
+        public InputStream getInputStream() throws IOException {
+            return content.getInputStream();
+        }
+
+        @Override
+        public boolean exists() {
+            return content.exists();
+        }
+
+        @Override
+        public boolean isReadable() {
+            return content.isReadable();
+        }
+
+        @Override
+        public URL getURL() throws IOException {
+            return content.getURL();
+        }
+
+        @Override
+        public URI getURI() throws IOException {
+            return content.getURI();
+        }
+
+        @Override
+        public File getFile() throws IOException {
+            return content.getFile();
+        }
+
+        @Override
+        public long contentLength() throws IOException {
+            return content.contentLength();
+        }
+
+        @Override
+        public long lastModified() throws IOException {
+            return content.lastModified();
+        }
+
+        @Override
+        public Resource createRelative(String relativePath) throws IOException {
+            return original.createRelative(relativePath);
+        }
+
+        /**
+         * @return the name of the original file, from which the media type is read
+         */
+        @Override
+        public String getFilename() {
+            return original.getFilename();
+        }
+
+        @Override
+        public String getDescription() {
+            return content.getDescription();
+        }
+
+        @Override
+        public HttpHeaders getResponseHeaders() {
+            HttpHeaders headers = new HttpHeaders();
+            if (coding != null) {
+                headers.add(HttpHeaders.CONTENT_ENCODING, coding);
+            }
+            if (varying) {
+                headers.add(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+            }
+            if (isHashed(original)) {
+                headers.add(HttpHeaders.CACHE_CONTROL, IMMUTABLE_CACHE_CONTROL);
+            }
+            return headers;
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.mycompany.myapp.config;
+
+import io.github.jhipster.config.JHipsterConstants;
+import org.springframework.boot.autoconfigure.web.ResourceProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.Arrays;
+import java.util.stream.Stream;
+
+/**
+ * Serve the bundles and the content built by webpack from their variants compressed at build time, with
+ * immutable cache headers for the hashed files.
+ * <p>
+ * The other static resources are served by the default Spring Boot handler.
+ */
+@Configuration
+@Profile(JHipsterConstants.SPRING_PROFILE_PRODUCTION)
+public class StaticResourcesConfiguration implements WebMvcConfigurer {
+
+    private static final String[] SERVLET_LOCATIONS = { "/" };
+
+    private final ResourceProperties resourceProperties;
+
+    public StaticResourcesConfiguration(ResourceProperties resourceProperties) {
+        this.resourceProperties = resourceProperties;
+    }
+
+    @Override
+    public void addResourceHandlers(ResourceHandlerRegistry registry) {
+        addPrecompressedResourceHandler(registry, "app");
+        addPrecompressedResourceHandler(registry, "content");
+    }
+
+    private void addPrecompressedResourceHandler(ResourceHandlerRegistry registry, String directory) {
+        String[] locations = Stream.concat(Arrays.stream(resourceProperties.getStaticLocations()), Arrays.stream(SERVLET_LOCATIONS))
+            .map(location -> (location.endsWith("/") ? location : location + "/") + directory + "/")
+            .toArray(String[]::new);
+        // The resources are not cached, as their variants depend on the Accept-Encoding header
+        registry.addResourceHandler("/" + directory + "/**")
+            .addResourceLocations(locations)
+            .resourceChain(false)
+            .addResolver(new PrecompressedResourceResolver());
+    }
+}
@@ -0,0 +1,78 @@
+package com.mycompany.myapp.config.dbmigrations;
+
+import com.mycompany.myapp.repository.BudgetMonthRepositoryImpl;
+
+import com.github.mongobee.changeset.ChangeLog;
+import com.github.mongobee.changeset.ChangeSet;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.util.CloseableIterator;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Date;
+
+/**
+ * Dates the incomes and outcomes that were created before they had a date, then builds the monthly
+ * buckets of the budgets from their line items.
+ * <p>
+ * An undated line item is dated from the creation time held by its ObjectId.
+ */
+@ChangeLog(order = "007")
+public class BudgetMonthMigration {
+
+    public static final String BUDGET_MONTH_INDEX = "budget_id_month";
+
+    private static final int BATCH_SIZE = 1000;
+
+    @ChangeSet(order = "01", author = "initiator", id = "01-dateLineItems")
+    public void dateLineItems(MongoTemplate mongoTemplate) {
+        dateLineItems(mongoTemplate, "income");
+        dateLineItems(mongoTemplate, "outcome");
+    }
+
+    @ChangeSet(order = "02", author = "initiator", id = "02-buildBudgetMonths")
+    public void buildBudgetMonths(MongoTemplate mongoTemplate) {
+        mongoTemplate.indexOps("budget_month").ensureIndex(new Index()
+            .on("budget_id", Sort.Direction.ASC)
+            .on("month", Sort.Direction.ASC)
+            .unique()
+            .named(BUDGET_MONTH_INDEX));
+        new BudgetMonthRepositoryImpl(mongoTemplate).rebuild();
+    }
+
+    private void dateLineItems(MongoTemplate mongoTemplate, String collectionName) {
+        Query query = Query.query(Criteria.where("date").exists(false));
+        query.fields().include("_id");
+        ZoneId zone = ZoneId.systemDefault();
+        BulkOperations bulkOperations = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, collectionName);
+        int pending = 0;
+        try (CloseableIterator<Document> documents = mongoTemplate.stream(query, Document.class, collectionName)) {
+            while (documents.hasNext()) {
+                Object id = documents.next().get("_id");
+                if (!(id instanceof ObjectId)) {
+                    continue;
+                }
+                // Stored the way a LocalDate is written: the start of the day, in the default time zone
+                LocalDate date = ((ObjectId) id).getDate().toInstant().atZone(zone).toLocalDate();
+                bulkOperations.updateOne(Query.query(Criteria.where("_id").is(id)),
+                    Update.update("date", Date.from(date.atStartOfDay(zone).toInstant())));
+                if (++pending == BATCH_SIZE) {
+                    bulkOperations.execute();
+                    bulkOperations = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, collectionName);
+                    pending = 0;
+                }
+            }
+        }
+        if (pending > 0) {
+            bulkOperations.execute();
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.mycompany.myapp.config.dbmigrations;
+
+import com.github.mongobee.changeset.ChangeLog;
+import com.github.mongobee.changeset.ChangeSet;
+import com.mongodb.DBRef;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.util.CloseableIterator;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Replaces the DBRef from the incomes and outcomes to their budget by an embedded reference
+ * holding the id and the title of the budget.
+ */
+@ChangeLog(order = "002")
+public class BudgetReferenceMigration {
+
+    private static final int BATCH_SIZE = 1000;
+
+    @ChangeSet(order = "01", author = "initiator", id = "01-embedBudgetReferences")
+    public void embedBudgetReferences(MongoTemplate mongoTemplate) {
+        Map<Object, Object> titles = new HashMap<>();
+        embedBudgetReferences(mongoTemplate, "income", titles);
+        embedBudgetReferences(mongoTemplate, "outcome", titles);
+    }
+
+    private void embedBudgetReferences(MongoTemplate mongoTemplate, String collectionName, Map<Object, Object> titles) {
+        Query query = Query.query(Criteria.where("budget.$ref").exists(true));
+        query.fields().include("budget");
+        BulkOperations bulkOperations = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, collectionName);
+        int pending = 0;
+        try (CloseableIterator<Document> documents = mongoTemplate.stream(query, Document.class, collectionName)) {
+            while (documents.hasNext()) {
+                Document document = documents.next();
+                Object budgetId = budgetId(document.get("budget"));
+                Object title = titles.computeIfAbsent(budgetId, id -> {
+                    Document budget = mongoTemplate.getCollection("budget").find(new Document("_id", id)).first();
+                    return budget == null ? null : budget.get("title");
+                });
+                Document reference = new Document("_id", budgetId).append("title", title);
+                bulkOperations.updateOne(Query.query(Criteria.where("_id").is(document.get("_id"))),
+                    Update.update("budget", reference));
+                if (++pending == BATCH_SIZE) {
+                    bulkOperations.execute();
+                    bulkOperations = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, collectionName);
+                    pending = 0;
+                }
+            }
+        }
+        if (pending > 0) {
+            bulkOperations.execute();
+        }
+    }
+
+    private Object budgetId(Object budget) {
+        if (budget instanceof DBRef) {
+            return ((DBRef) budget).getId();
+        }
+        return ((Document) budget).get("$id");
+    }
+}
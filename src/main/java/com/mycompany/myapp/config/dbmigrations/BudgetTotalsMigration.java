@@ -0,0 +1,19 @@
+package com.mycompany.myapp.config.dbmigrations;
+
+import com.mycompany.myapp.repository.BudgetRepositoryImpl;
+
+import com.github.mongobee.changeset.ChangeLog;
+import com.github.mongobee.changeset.ChangeSet;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+/**
+ * Initializes the running totals of the existing budgets from their incomes and outcomes.
+ */
+@ChangeLog(order = "004")
+public class BudgetTotalsMigration {
+
+    @ChangeSet(order = "01", author = "initiator", id = "01-initializeBudgetTotals")
+    public void initializeBudgetTotals(MongoTemplate mongoTemplate) {
+        new BudgetRepositoryImpl(mongoTemplate).repairTotals();
+    }
+}
@@ -0,0 +1,62 @@
+package com.mycompany.myapp.config.dbmigrations;
+
+import com.mycompany.myapp.repository.BudgetRepositoryImpl;
+
+import com.github.mongobee.changeset.ChangeLog;
+import com.github.mongobee.changeset.ChangeSet;
+import com.mongodb.DBRef;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.util.CloseableIterator;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Drops the income and outcome DBRef arrays of the budgets: the line items reference their budget.
+ * <p>
+ * The line items only referenced by a budget array get a reference to that budget first, then the
+ * running totals are recomputed.
+ */
+@ChangeLog(order = "006")
+public class ChildSideReferenceMigration {
+
+    @ChangeSet(order = "01", author = "initiator", id = "01-dropBudgetLineItemArrays")
+    public void dropBudgetLineItemArrays(MongoTemplate mongoTemplate) {
+        Query query = Query.query(new Criteria().orOperator(
+            Criteria.where("income").exists(true), Criteria.where("outcome").exists(true)));
+        query.fields().include("title").include("income").include("outcome");
+        try (CloseableIterator<Document> budgets = mongoTemplate.stream(query, Document.class, "budget")) {
+            while (budgets.hasNext()) {
+                Document budget = budgets.next();
+                Document reference = new Document("_id", budget.get("_id")).append("title", budget.get("title"));
+                attach(mongoTemplate, "income", budget.get("income"), reference);
+                attach(mongoTemplate, "outcome", budget.get("outcome"), reference);
+            }
+        }
+        mongoTemplate.updateMulti(new Query(), new Update().unset("income").unset("outcome"), "budget");
+        new BudgetRepositoryImpl(mongoTemplate).repairTotals();
+    }
+
+    private void attach(MongoTemplate mongoTemplate, String collectionName, Object refs, Document reference) {
+        if (!(refs instanceof Collection)) {
+            return;
+        }
+        List<Object> ids = new ArrayList<>();
+        for (Object ref : (Collection<?>) refs) {
+            if (ref instanceof DBRef) {
+                ids.add(((DBRef) ref).getId());
+            } else if (ref instanceof Document) {
+                ids.add(((Document) ref).get("$id"));
+            }
+        }
+        if (!ids.isEmpty()) {
+            mongoTemplate.updateMulti(Query.query(Criteria.where("_id").in(ids).and("budget").exists(false)),
+                Update.update("budget", reference), collectionName);
+        }
+    }
+}
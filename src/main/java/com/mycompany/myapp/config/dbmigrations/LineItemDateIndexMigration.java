@@ -0,0 +1,27 @@
+package com.mycompany.myapp.config.dbmigrations;
+
+import com.github.mongobee.changeset.ChangeLog;
+import com.github.mongobee.changeset.ChangeSet;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+
+/**
+ * Indexes the incomes and outcomes by date, so that the most recent line items are read from the index.
+ */
+@ChangeLog(order = "010")
+public class LineItemDateIndexMigration {
+
+    @ChangeSet(order = "01", author = "initiator", id = "01-addDateIndexes")
+    public void addDateIndexes(MongoTemplate mongoTemplate) {
+        addDateIndex(mongoTemplate, "income");
+        addDateIndex(mongoTemplate, "outcome");
+    }
+
+    private void addDateIndex(MongoTemplate mongoTemplate, String collectionName) {
+        mongoTemplate.indexOps(collectionName).ensureIndex(new Index()
+            .on("date", Sort.Direction.DESC)
+            .on("_id", Sort.Direction.DESC)
+            .named("date"));
+    }
+}
@@ -0,0 +1,37 @@
+package com.mycompany.myapp.config.dbmigrations;
+
+import com.github.mongobee.changeset.ChangeLog;
+import com.github.mongobee.changeset.ChangeSet;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+
+/**
+ * Indexes the incomes by budget then date, and the outcomes by budget, category then date, so that the
+ * line items of a month are streamed in the order of the diff from the index, without an in-memory sort.
+ * <p>
+ * The outcome index starts with the budget and category index, which it replaces.
+ */
+@ChangeLog(order = "012")
+public class LineItemDiffIndexMigration {
+
+    public static final String INCOME_DIFF_INDEX = "budget_id_date";
+
+    public static final String OUTCOME_DIFF_INDEX = "budget_id_category_date";
+
+    @ChangeSet(order = "01", author = "initiator", id = "01-addDiffIndexes")
+    public void addDiffIndexes(MongoTemplate mongoTemplate) {
+        mongoTemplate.indexOps("income").ensureIndex(new Index()
+            .on("budget._id", Sort.Direction.ASC)
+            .on("date", Sort.Direction.ASC)
+            .on("_id", Sort.Direction.ASC)
+            .named(INCOME_DIFF_INDEX));
+        mongoTemplate.indexOps("outcome").ensureIndex(new Index()
+            .on("budget._id", Sort.Direction.ASC)
+            .on("category", Sort.Direction.ASC)
+            .on("date", Sort.Direction.ASC)
+            .on("_id", Sort.Direction.ASC)
+            .named(OUTCOME_DIFF_INDEX));
+        mongoTemplate.indexOps("outcome").dropIndex("budget_id_category");
+    }
+}
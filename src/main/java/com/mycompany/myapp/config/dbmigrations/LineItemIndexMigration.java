@@ -0,0 +1,30 @@
+package com.mycompany.myapp.config.dbmigrations;
+
+import com.github.mongobee.changeset.ChangeLog;
+import com.github.mongobee.changeset.ChangeSet;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+
+/**
+ * Indexes the incomes and outcomes by budget, then by id so that the line items of a budget can be
+ * paged and streamed in id order from the index.
+ */
+@ChangeLog(order = "005")
+public class LineItemIndexMigration {
+
+    public static final String BUDGET_INDEX = "budget_id";
+
+    @ChangeSet(order = "01", author = "initiator", id = "01-addBudgetIndexes")
+    public void addBudgetIndexes(MongoTemplate mongoTemplate) {
+        addBudgetIndex(mongoTemplate, "income");
+        addBudgetIndex(mongoTemplate, "outcome");
+    }
+
+    private void addBudgetIndex(MongoTemplate mongoTemplate, String collectionName) {
+        mongoTemplate.indexOps(collectionName).ensureIndex(new Index()
+            .on("budget._id", Sort.Direction.ASC)
+            .on("_id", Sort.Direction.ASC)
+            .named(BUDGET_INDEX));
+    }
+}
@@ -0,0 +1,67 @@
+package com.mycompany.myapp.config.dbmigrations;
+
+import com.mycompany.myapp.config.Constants;
+import com.mycompany.myapp.domain.Money;
+import com.mycompany.myapp.domain.util.MoneyConverters;
+
+import com.github.mongobee.changeset.ChangeLog;
+import com.github.mongobee.changeset.ChangeSet;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.util.CloseableIterator;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Currency;
+
+/**
+ * Converts the floating point amounts of the incomes and outcomes into whole minor units of the
+ * default currency.
+ */
+@ChangeLog(order = "003")
+public class MoneyMigration {
+
+    private static final int BATCH_SIZE = 1000;
+
+    @ChangeSet(order = "01", author = "initiator", id = "01-convertAmountsToMinorUnits")
+    public void convertAmountsToMinorUnits(MongoTemplate mongoTemplate) {
+        convertAmounts(mongoTemplate, "income");
+        convertAmounts(mongoTemplate, "outcome");
+    }
+
+    private void convertAmounts(MongoTemplate mongoTemplate, String collectionName) {
+        String currency = Constants.DEFAULT_CURRENCY;
+        int fractionDigits = Currency.getInstance(currency).getDefaultFractionDigits();
+        // Amounts stored as a double (BSON type 1) or an int32 (BSON type 16)
+        Query query = Query.query(new Criteria().orOperator(
+            Criteria.where("amount").type(1), Criteria.where("amount").type(16)));
+        query.fields().include("amount");
+        BulkOperations bulkOperations = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, collectionName);
+        int pending = 0;
+        try (CloseableIterator<Document> documents = mongoTemplate.stream(query, Document.class, collectionName)) {
+            while (documents.hasNext()) {
+                Document document = documents.next();
+                // Amounts were stored from a Float: round away the binary noise to the currency's precision
+                BigDecimal amount = BigDecimal.valueOf(((Number) document.get("amount")).floatValue())
+                    .setScale(fractionDigits, RoundingMode.HALF_UP);
+                Money money = Money.of(amount, currency);
+                Document value = new Document(MoneyConverters.UNITS_FIELD, money.getMinorUnits())
+                    .append(MoneyConverters.CURRENCY_FIELD, money.getCurrency());
+                bulkOperations.updateOne(Query.query(Criteria.where("_id").is(document.get("_id"))),
+                    Update.update("amount", value));
+                if (++pending == BATCH_SIZE) {
+                    bulkOperations.execute();
+                    bulkOperations = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, collectionName);
+                    pending = 0;
+                }
+            }
+        }
+        if (pending > 0) {
+            bulkOperations.execute();
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.mycompany.myapp.config.dbmigrations;
+
+import com.github.mongobee.changeset.ChangeLog;
+import com.github.mongobee.changeset.ChangeSet;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+
+/**
+ * Indexes the outcomes by budget and category, so that the breakdown of a budget is grouped from the index.
+ */
+@ChangeLog(order = "009")
+public class OutcomeCategoryIndexMigration {
+
+    @ChangeSet(order = "01", author = "initiator", id = "01-addOutcomeCategoryIndex")
+    public void addCategoryIndex(MongoTemplate mongoTemplate) {
+        mongoTemplate.indexOps("outcome").ensureIndex(new Index()
+            .on("budget._id", Sort.Direction.ASC)
+            .on("category", Sort.Direction.ASC)
+            .named("budget_id_category"));
+    }
+}
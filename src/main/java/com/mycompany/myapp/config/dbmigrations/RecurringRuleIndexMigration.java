@@ -0,0 +1,22 @@
+package com.mycompany.myapp.config.dbmigrations;
+
+import com.github.mongobee.changeset.ChangeLog;
+import com.github.mongobee.changeset.ChangeSet;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+
+/**
+ * Indexes the recurring rules by budget, as they are always read per budget.
+ */
+@ChangeLog(order = "008")
+public class RecurringRuleIndexMigration {
+
+    @ChangeSet(order = "01", author = "initiator", id = "01-addRecurringRuleBudgetIndex")
+    public void addBudgetIndex(MongoTemplate mongoTemplate) {
+        mongoTemplate.indexOps("recurring_rule").ensureIndex(new Index()
+            .on("budget._id", Sort.Direction.ASC)
+            .on("_id", Sort.Direction.ASC)
+            .named(LineItemIndexMigration.BUDGET_INDEX));
+    }
+}
@@ -0,0 +1,28 @@
+package com.mycompany.myapp.config.dbmigrations;
+
+import com.github.mongobee.changeset.ChangeLog;
+import com.github.mongobee.changeset.ChangeSet;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+/**
+ * Gives a first version to the budgets and line items stored before they had one, so that they can be
+ * updated with optimistic locking.
+ */
+@ChangeLog(order = "011")
+public class VersionMigration {
+
+    @ChangeSet(order = "01", author = "initiator", id = "01-addVersions")
+    public void addVersions(MongoTemplate mongoTemplate) {
+        addVersion(mongoTemplate, "budget");
+        addVersion(mongoTemplate, "income");
+        addVersion(mongoTemplate, "outcome");
+    }
+
+    private void addVersion(MongoTemplate mongoTemplate, String collectionName) {
+        mongoTemplate.updateMulti(Query.query(Criteria.where("version").exists(false)), Update.update("version", 0L),
+            collectionName);
+    }
+}
@@ -1,10 +1,13 @@
 package com.mycompany.myapp.domain;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.mycompany.myapp.config.Constants;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Transient;
+import org.springframework.data.annotation.Version;
 import org.springframework.data.mongodb.core.mapping.Field;
 import org.springframework.data.mongodb.core.mapping.Document;
-import org.springframework.data.mongodb.core.mapping.DBRef;
 import javax.validation.constraints.*;
 
 import java.io.Serializable;
@@ -30,11 +33,41 @@ public class Budget implements Serializable {
     @Field("description")
     private String description;
 
-    @DBRef
-    @Field("income")
+    /**
+     * Running totals of the line items referencing this budget, maintained with {@code $inc} updates.
+     */
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    @Field("total_income")
+    private Money totalIncome = Money.zero(Constants.DEFAULT_CURRENCY);
+
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    @Field("total_outcome")
+    private Money totalOutcome = Money.zero(Constants.DEFAULT_CURRENCY);
+
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    @Field("item_count")
+    private long itemCount;
+
+    /**
+     * Incremented on every change of the budget, of its running totals or of its line items, so that it
+     * identifies the representation of the budget with its line items (its ETag) and updates are checked
+     * against the version they were made from.
+     */
+    @Version
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    @Field("version")
+    private Long version;
+
+    /**
+     * The line items are not stored in the budget, they reference it: these are only filled when the
+     * budget is read with its line items.
+     */
+    @Transient
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
     private Set<Income> incomes = new HashSet<>();
-    @DBRef
-    @Field("outcome")
+
+    @Transient
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
     private Set<Outcome> outcomes = new HashSet<>();
     // jhipster-needle-entity-add-field - JHipster will add fields here, do not remove
     public String getId() {
@@ -71,6 +104,64 @@ public class Budget implements Serializable {
         this.description = description;
     }
 
+    public Money getTotalIncome() {
+        return totalIncome;
+    }
+
+    public Budget totalIncome(Money totalIncome) {
+        this.totalIncome = totalIncome;
+        return this;
+    }
+
+    public void setTotalIncome(Money totalIncome) {
+        this.totalIncome = totalIncome;
+    }
+
+    public Money getTotalOutcome() {
+        return totalOutcome;
+    }
+
+    public Budget totalOutcome(Money totalOutcome) {
+        this.totalOutcome = totalOutcome;
+        return this;
+    }
+
+    public void setTotalOutcome(Money totalOutcome) {
+        this.totalOutcome = totalOutcome;
+    }
+
+    public long getItemCount() {
+        return itemCount;
+    }
+
+    public Budget itemCount(long itemCount) {
+        this.itemCount = itemCount;
+        return this;
+    }
+
+    public void setItemCount(long itemCount) {
+        this.itemCount = itemCount;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public Budget version(Long version) {
+        this.version = version;
+        return this;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    @Transient
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    public Money getBalance() {
+        return totalIncome.minus(totalOutcome);
+    }
+
     public Set<Income> getIncomes() {
         return incomes;
     }
@@ -82,7 +173,7 @@ public class Budget implements Serializable {
 
     public Budget addIncome(Income income) {
         this.incomes.add(income);
-        income.setBudget(this);
+        income.setBudget(new BudgetReference(this));
         return this;
     }
 
@@ -107,7 +198,7 @@ public class Budget implements Serializable {
 
     public Budget addOutcome(Outcome outcome) {
         this.outcomes.add(outcome);
-        outcome.setBudget(this);
+        outcome.setBudget(new BudgetReference(this));
         return this;
     }
 
@@ -148,6 +239,10 @@ public class Budget implements Serializable {
             "id=" + getId() +
             ", title='" + getTitle() + "'" +
             ", description='" + getDescription() + "'" +
+            ", totalIncome=" + getTotalIncome() +
+            ", totalOutcome=" + getTotalOutcome() +
+            ", itemCount=" + getItemCount() +
+            ", version=" + getVersion() +
             "}";
     }
 }
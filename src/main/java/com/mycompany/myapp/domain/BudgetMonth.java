@@ -0,0 +1,163 @@
+package com.mycompany.myapp.domain;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.mycompany.myapp.config.Constants;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Transient;
+import org.springframework.data.mongodb.core.mapping.Field;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.io.Serializable;
+import java.time.YearMonth;
+import java.util.Objects;
+
+/**
+ * The totals of the line items of a Budget dated in one month.
+ * <p>
+ * One bucket is kept per budget and month, and maintained with {@code $inc} upserts on every write
+ * of a line item, so that reading the totals of a range of months reads one small document per month.
+ */
+@Document(collection = "budget_month")
+public class BudgetMonth implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The id of the budget and the month, so that each bucket can be upserted by id.
+     */
+    @Id
+    private String id;
+
+    @Field("budget_id")
+    private String budgetId;
+
+    /**
+     * The month, formatted as "yyyy-MM" so that ranges of months sort as strings.
+     */
+    @Field("month")
+    private String month;
+
+    @Field("total_income")
+    private Money totalIncome = Money.zero(Constants.DEFAULT_CURRENCY);
+
+    @Field("total_outcome")
+    private Money totalOutcome = Money.zero(Constants.DEFAULT_CURRENCY);
+
+    @Field("item_count")
+    private long itemCount;
+
+    public static String id(String budgetId, YearMonth month) {
+        return budgetId + "-" + month;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getBudgetId() {
+        return budgetId;
+    }
+
+    public BudgetMonth budgetId(String budgetId) {
+        this.budgetId = budgetId;
+        return this;
+    }
+
+    public void setBudgetId(String budgetId) {
+        this.budgetId = budgetId;
+    }
+
+    public String getMonth() {
+        return month;
+    }
+
+    public BudgetMonth month(String month) {
+        this.month = month;
+        return this;
+    }
+
+    public void setMonth(String month) {
+        this.month = month;
+    }
+
+    public Money getTotalIncome() {
+        return totalIncome;
+    }
+
+    public BudgetMonth totalIncome(Money totalIncome) {
+        this.totalIncome = totalIncome;
+        return this;
+    }
+
+    public void setTotalIncome(Money totalIncome) {
+        this.totalIncome = totalIncome;
+    }
+
+    public Money getTotalOutcome() {
+        return totalOutcome;
+    }
+
+    public BudgetMonth totalOutcome(Money totalOutcome) {
+        this.totalOutcome = totalOutcome;
+        return this;
+    }
+
+    public void setTotalOutcome(Money totalOutcome) {
+        this.totalOutcome = totalOutcome;
+    }
+
+    public long getItemCount() {
+        return itemCount;
+    }
+
+    public BudgetMonth itemCount(long itemCount) {
+        this.itemCount = itemCount;
+        return this;
+    }
+
+    public void setItemCount(long itemCount) {
+        this.itemCount = itemCount;
+    }
+
+    @Transient
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    public Money getBalance() {
+        return totalIncome.minus(totalOutcome);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        BudgetMonth budgetMonth = (BudgetMonth) o;
+        if (budgetMonth.getId() == null || getId() == null) {
+            return false;
+        }
+        return Objects.equals(getId(), budgetMonth.getId());
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(getId());
+    }
+
+    @Override
+    public String toString() {
+        return "BudgetMonth{" +
+            "id=" + getId() +
+            ", budgetId='" + getBudgetId() + "'" +
+            ", month='" + getMonth() + "'" +
+            ", totalIncome=" + getTotalIncome() +
+            ", totalOutcome=" + getTotalOutcome() +
+            ", itemCount=" + getItemCount() +
+            "}";
+    }
+}
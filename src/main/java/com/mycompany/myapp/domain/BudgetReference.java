@@ -0,0 +1,76 @@
+package com.mycompany.myapp.domain;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Field;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * A reference to a Budget, embedded in the incomes and outcomes that belong to it.
+ * <p>
+ * Only the id and the title of the budget are denormalized, so that reading a line item
+ * never loads the budget document nor its other line items.
+ */
+public class BudgetReference implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    private String id;
+
+    @Field("title")
+    private String title;
+
+    public BudgetReference() {
+    }
+
+    public BudgetReference(Budget budget) {
+        this.id = budget.getId();
+        this.title = budget.getTitle();
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        BudgetReference budgetReference = (BudgetReference) o;
+        if (budgetReference.getId() == null || getId() == null) {
+            return false;
+        }
+        return Objects.equals(getId(), budgetReference.getId());
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(getId());
+    }
+
+    @Override
+    public String toString() {
+        return "BudgetReference{" +
+            "id=" + getId() +
+            ", title='" + getTitle() + "'" +
+            "}";
+    }
+}
@@ -1,20 +1,21 @@
 package com.mycompany.myapp.domain;
 
-import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
 import org.springframework.data.mongodb.core.mapping.Field;
 import org.springframework.data.mongodb.core.mapping.Document;
-import org.springframework.data.mongodb.core.mapping.DBRef;
 import javax.validation.constraints.*;
 
 import java.io.Serializable;
+import java.time.LocalDate;
 import java.util.Objects;
 
 /**
  * A Income.
  */
 @Document(collection = "income")
-public class Income implements Serializable {
+public class Income implements LineItem, Serializable {
 
     private static final long serialVersionUID = 1L;
 
@@ -23,12 +24,23 @@ public class Income implements Serializable {
 
     @NotNull
     @Field("amount")
-    private Float amount;
+    private Money amount;
+
+    @NotNull
+    @Field("date")
+    private LocalDate date;
 
-    @DBRef
     @Field("budget")
-    @JsonIgnoreProperties("incomes")
-    private Budget budget;
+    private BudgetReference budget;
+
+    /**
+     * Incremented on every change of the income, so that it identifies its representation (its ETag) and
+     * updates are checked against the version they were made from.
+     */
+    @Version
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    @Field("version")
+    private Long version;
 
     // jhipster-needle-entity-add-field - JHipster will add fields here, do not remove
     public String getId() {
@@ -39,31 +51,57 @@ public class Income implements Serializable {
         this.id = id;
     }
 
-    public Float getAmount() {
+    public Money getAmount() {
         return amount;
     }
 
-    public Income amount(Float amount) {
+    public Income amount(Money amount) {
         this.amount = amount;
         return this;
     }
 
-    public void setAmount(Float amount) {
+    public void setAmount(Money amount) {
         this.amount = amount;
     }
 
-    public Budget getBudget() {
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public Income date(LocalDate date) {
+        this.date = date;
+        return this;
+    }
+
+    public void setDate(LocalDate date) {
+        this.date = date;
+    }
+
+    public BudgetReference getBudget() {
         return budget;
     }
 
-    public Income budget(Budget budget) {
+    public Income budget(BudgetReference budget) {
         this.budget = budget;
         return this;
     }
 
-    public void setBudget(Budget budget) {
+    public void setBudget(BudgetReference budget) {
         this.budget = budget;
     }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public Income version(Long version) {
+        this.version = version;
+        return this;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
     // jhipster-needle-entity-add-getters-setters - JHipster will add getters and setters here, do not remove
 
     @Override
@@ -91,6 +129,8 @@ public class Income implements Serializable {
         return "Income{" +
             "id=" + getId() +
             ", amount=" + getAmount() +
+            ", date='" + getDate() + "'" +
+            ", version=" + getVersion() +
             "}";
     }
 }
@@ -0,0 +1,25 @@
+package com.mycompany.myapp.domain;
+
+import java.time.LocalDate;
+
+/**
+ * An amount of money belonging to a budget: an Income or an Outcome.
+ */
+public interface LineItem {
+
+    String getId();
+
+    void setId(String id);
+
+    Money getAmount();
+
+    LocalDate getDate();
+
+    BudgetReference getBudget();
+
+    void setBudget(BudgetReference budget);
+
+    Long getVersion();
+
+    void setVersion(Long version);
+}
@@ -0,0 +1,159 @@
+package com.mycompany.myapp.domain;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.mycompany.myapp.config.Constants;
+import com.mycompany.myapp.domain.util.MoneyDeserializer;
+import com.mycompany.myapp.domain.util.MoneySerializer;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Currency;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * An amount of money, stored as a whole number of minor units (e.g. cents) of a currency.
+ * <p>
+ * Unlike floating point amounts, sums of money are exact, and they can be computed on plain longs
+ * with {@link #getMinorUnits()}.
+ */
+@JsonSerialize(using = MoneySerializer.class)
+@JsonDeserialize(using = MoneyDeserializer.class)
+public final class Money implements Serializable, Comparable<Money> {
+
+    private static final long serialVersionUID = 1L;
+
+    private final long minorUnits;
+
+    private final String currency;
+
+    private Money(long minorUnits, String currency) {
+        this.minorUnits = minorUnits;
+        this.currency = Objects.requireNonNull(currency);
+    }
+
+    /**
+     * Create an amount from its minor units.
+     *
+     * @param minorUnits the amount, in minor units of the currency
+     * @param currency the ISO 4217 code of the currency
+     * @return the amount
+     */
+    public static Money ofMinor(long minorUnits, String currency) {
+        return new Money(minorUnits, currency);
+    }
+
+    /**
+     * Create an amount from its decimal value.
+     *
+     * @param amount the amount, in major units of the currency
+     * @param currency the ISO 4217 code of the currency
+     * @return the amount
+     * @throws ArithmeticException if the amount has more decimals than the currency allows
+     */
+    public static Money of(BigDecimal amount, String currency) {
+        int fractionDigits = fractionDigits(currency);
+        return new Money(amount.setScale(fractionDigits, RoundingMode.UNNECESSARY).unscaledValue().longValueExact(), currency);
+    }
+
+    /**
+     * Create an amount, in the default currency, from its decimal value.
+     *
+     * @param amount the amount, in major units of the default currency
+     * @return the amount
+     * @throws ArithmeticException if the amount has more decimals than the currency allows
+     */
+    public static Money of(BigDecimal amount) {
+        return of(amount, Constants.DEFAULT_CURRENCY);
+    }
+
+    public static Money zero(String currency) {
+        return new Money(0, currency);
+    }
+
+    /**
+     * Sum amounts of money without creating intermediate values.
+     *
+     * @param items the items holding the amounts
+     * @param amount the function giving the amount of an item, or null
+     * @param currency the currency of the amounts
+     * @param <T> the type of the items
+     * @return the total
+     * @throws IllegalArgumentException if an amount is in another currency
+     */
+    public static <T> Money sum(Iterable<T> items, Function<? super T, Money> amount, String currency) {
+        long total = 0;
+        for (T item : items) {
+            Money value = amount.apply(item);
+            if (value != null) {
+                if (!currency.equals(value.currency)) {
+                    throw new IllegalArgumentException("Currency mismatch: " + currency + " and " + value.currency);
+                }
+                total = Math.addExact(total, value.minorUnits);
+            }
+        }
+        return new Money(total, currency);
+    }
+
+    public long getMinorUnits() {
+        return minorUnits;
+    }
+
+    public String getCurrency() {
+        return currency;
+    }
+
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(minorUnits, fractionDigits(currency));
+    }
+
+    public Money plus(Money other) {
+        checkCurrency(other);
+        return new Money(Math.addExact(minorUnits, other.minorUnits), currency);
+    }
+
+    public Money minus(Money other) {
+        checkCurrency(other);
+        return new Money(Math.subtractExact(minorUnits, other.minorUnits), currency);
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        checkCurrency(other);
+        return Long.compare(minorUnits, other.minorUnits);
+    }
+
+    private void checkCurrency(Money other) {
+        if (!currency.equals(other.currency)) {
+            throw new IllegalArgumentException("Currency mismatch: " + currency + " and " + other.currency);
+        }
+    }
+
+    private static int fractionDigits(String currency) {
+        return Math.max(Currency.getInstance(currency).getDefaultFractionDigits(), 0);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        Money money = (Money) o;
+        return minorUnits == money.minorUnits && currency.equals(money.currency);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(minorUnits, currency);
+    }
+
+    @Override
+    public String toString() {
+        return toBigDecimal().toPlainString() + " " + currency;
+    }
+}
@@ -1,20 +1,21 @@
 package com.mycompany.myapp.domain;
 
-import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
 import org.springframework.data.mongodb.core.mapping.Field;
 import org.springframework.data.mongodb.core.mapping.Document;
-import org.springframework.data.mongodb.core.mapping.DBRef;
 import javax.validation.constraints.*;
 
 import java.io.Serializable;
+import java.time.LocalDate;
 import java.util.Objects;
 
 /**
  * A Outcome.
  */
 @Document(collection = "outcome")
-public class Outcome implements Serializable {
+public class Outcome implements LineItem, Serializable {
 
     private static final long serialVersionUID = 1L;
 
@@ -23,12 +24,26 @@ public class Outcome implements Serializable {
 
     @NotNull
     @Field("amount")
-    private Float amount;
+    private Money amount;
+
+    @NotNull
+    @Field("date")
+    private LocalDate date;
+
+    @Field("category")
+    private String category;
 
-    @DBRef
     @Field("budget")
-    @JsonIgnoreProperties("outcomes")
-    private Budget budget;
+    private BudgetReference budget;
+
+    /**
+     * Incremented on every change of the outcome, so that it identifies its representation (its ETag) and
+     * updates are checked against the version they were made from.
+     */
+    @Version
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    @Field("version")
+    private Long version;
 
     // jhipster-needle-entity-add-field - JHipster will add fields here, do not remove
     public String getId() {
@@ -39,31 +54,70 @@ public class Outcome implements Serializable {
         this.id = id;
     }
 
-    public Float getAmount() {
+    public Money getAmount() {
         return amount;
     }
 
-    public Outcome amount(Float amount) {
+    public Outcome amount(Money amount) {
         this.amount = amount;
         return this;
     }
 
-    public void setAmount(Float amount) {
+    public void setAmount(Money amount) {
         this.amount = amount;
     }
 
-    public Budget getBudget() {
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public Outcome date(LocalDate date) {
+        this.date = date;
+        return this;
+    }
+
+    public void setDate(LocalDate date) {
+        this.date = date;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public Outcome category(String category) {
+        this.category = category;
+        return this;
+    }
+
+    public void setCategory(String category) {
+        this.category = category;
+    }
+
+    public BudgetReference getBudget() {
         return budget;
     }
 
-    public Outcome budget(Budget budget) {
+    public Outcome budget(BudgetReference budget) {
         this.budget = budget;
         return this;
     }
 
-    public void setBudget(Budget budget) {
+    public void setBudget(BudgetReference budget) {
         this.budget = budget;
     }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public Outcome version(Long version) {
+        this.version = version;
+        return this;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
     // jhipster-needle-entity-add-getters-setters - JHipster will add getters and setters here, do not remove
 
     @Override
@@ -91,6 +145,9 @@ public class Outcome implements Serializable {
         return "Outcome{" +
             "id=" + getId() +
             ", amount=" + getAmount() +
+            ", date='" + getDate() + "'" +
+            ", category='" + getCategory() + "'" +
+            ", version=" + getVersion() +
             "}";
     }
 }
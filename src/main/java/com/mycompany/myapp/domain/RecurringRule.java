@@ -0,0 +1,224 @@
+package com.mycompany.myapp.domain;
+
+import com.mycompany.myapp.domain.enumeration.Frequency;
+import com.mycompany.myapp.domain.enumeration.LineItemType;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Field;
+import org.springframework.data.mongodb.core.mapping.Document;
+import javax.validation.constraints.*;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.Objects;
+
+/**
+ * A recurring income or outcome of a Budget, such as a monthly salary or a yearly insurance.
+ * <p>
+ * The rule occurs every "interval" weeks, months or years from its start date, until its end date
+ * if it has one. Monthly and yearly occurrences are computed from the start date, so that a rule
+ * starting on the 31st occurs on the last day of the shorter months without drifting.
+ */
+@Document(collection = "recurring_rule")
+public class RecurringRule implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    private String id;
+
+    @NotNull
+    @Field("title")
+    private String title;
+
+    @NotNull
+    @Field("type")
+    private LineItemType type;
+
+    @NotNull
+    @Field("amount")
+    private Money amount;
+
+    @NotNull
+    @Field("frequency")
+    private Frequency frequency;
+
+    @NotNull
+    @Min(value = 1)
+    @Field("interval")
+    private Integer interval = 1;
+
+    @NotNull
+    @Field("start_date")
+    private LocalDate startDate;
+
+    @Field("end_date")
+    private LocalDate endDate;
+
+    @Field("budget")
+    private BudgetReference budget;
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public RecurringRule title(String title) {
+        this.title = title;
+        return this;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public LineItemType getType() {
+        return type;
+    }
+
+    public RecurringRule type(LineItemType type) {
+        this.type = type;
+        return this;
+    }
+
+    public void setType(LineItemType type) {
+        this.type = type;
+    }
+
+    public Money getAmount() {
+        return amount;
+    }
+
+    public RecurringRule amount(Money amount) {
+        this.amount = amount;
+        return this;
+    }
+
+    public void setAmount(Money amount) {
+        this.amount = amount;
+    }
+
+    public Frequency getFrequency() {
+        return frequency;
+    }
+
+    public RecurringRule frequency(Frequency frequency) {
+        this.frequency = frequency;
+        return this;
+    }
+
+    public void setFrequency(Frequency frequency) {
+        this.frequency = frequency;
+    }
+
+    public Integer getInterval() {
+        return interval;
+    }
+
+    public RecurringRule interval(Integer interval) {
+        this.interval = interval;
+        return this;
+    }
+
+    public void setInterval(Integer interval) {
+        this.interval = interval;
+    }
+
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+
+    public RecurringRule startDate(LocalDate startDate) {
+        this.startDate = startDate;
+        return this;
+    }
+
+    public void setStartDate(LocalDate startDate) {
+        this.startDate = startDate;
+    }
+
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+
+    public RecurringRule endDate(LocalDate endDate) {
+        this.endDate = endDate;
+        return this;
+    }
+
+    public void setEndDate(LocalDate endDate) {
+        this.endDate = endDate;
+    }
+
+    public BudgetReference getBudget() {
+        return budget;
+    }
+
+    public RecurringRule budget(BudgetReference budget) {
+        this.budget = budget;
+        return this;
+    }
+
+    public void setBudget(BudgetReference budget) {
+        this.budget = budget;
+    }
+
+    /**
+     * Get the nth occurrence of the rule, ignoring its end date.
+     *
+     * @param n the index of the occurrence, 0 for the start date
+     * @return the date of the occurrence
+     */
+    public LocalDate occurrence(long n) {
+        long periods = n * interval;
+        switch (frequency) {
+            case WEEKLY:
+                return startDate.plusWeeks(periods);
+            case MONTHLY:
+                return startDate.plusMonths(periods);
+            default:
+                return startDate.plusYears(periods);
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        RecurringRule recurringRule = (RecurringRule) o;
+        if (recurringRule.getId() == null || getId() == null) {
+            return false;
+        }
+        return Objects.equals(getId(), recurringRule.getId());
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(getId());
+    }
+
+    @Override
+    public String toString() {
+        return "RecurringRule{" +
+            "id=" + getId() +
+            ", title='" + getTitle() + "'" +
+            ", type='" + getType() + "'" +
+            ", amount=" + getAmount() +
+            ", frequency='" + getFrequency() + "'" +
+            ", interval=" + getInterval() +
+            ", startDate='" + getStartDate() + "'" +
+            ", endDate='" + getEndDate() + "'" +
+            "}";
+    }
+}
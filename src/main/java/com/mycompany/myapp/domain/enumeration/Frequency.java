@@ -0,0 +1,8 @@
+package com.mycompany.myapp.domain.enumeration;
+
+/**
+ * The Frequency enumeration.
+ */
+public enum Frequency {
+    WEEKLY, MONTHLY, YEARLY
+}
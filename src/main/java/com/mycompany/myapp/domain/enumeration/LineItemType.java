@@ -0,0 +1,8 @@
+package com.mycompany.myapp.domain.enumeration;
+
+/**
+ * The LineItemType enumeration.
+ */
+public enum LineItemType {
+    INCOME, OUTCOME
+}
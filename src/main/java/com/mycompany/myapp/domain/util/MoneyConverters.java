@@ -0,0 +1,51 @@
+package com.mycompany.myapp.domain.util;
+
+import com.mycompany.myapp.domain.Money;
+
+import org.bson.Document;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.data.convert.ReadingConverter;
+import org.springframework.data.convert.WritingConverter;
+
+/**
+ * Mongo converters storing a {@link Money} as {@code { units: <long>, currency: <ISO code> }}.
+ * <p>
+ * Storing whole minor units keeps the sums computed by Mongo aggregations exact.
+ */
+public final class MoneyConverters {
+
+    public static final String UNITS_FIELD = "units";
+
+    public static final String CURRENCY_FIELD = "currency";
+
+    private MoneyConverters() {
+    }
+
+    @WritingConverter
+    public static class MoneyToDocumentConverter implements Converter<Money, Document> {
+
+        public static final MoneyToDocumentConverter INSTANCE = new MoneyToDocumentConverter();
+
+        private MoneyToDocumentConverter() {
+        }
+
+        @Override
+        public Document convert(Money source) {
+            return new Document(UNITS_FIELD, source.getMinorUnits()).append(CURRENCY_FIELD, source.getCurrency());
+        }
+    }
+
+    @ReadingConverter
+    public static class DocumentToMoneyConverter implements Converter<Document, Money> {
+
+        public static final DocumentToMoneyConverter INSTANCE = new DocumentToMoneyConverter();
+
+        private DocumentToMoneyConverter() {
+        }
+
+        @Override
+        public Money convert(Document source) {
+            return Money.ofMinor(((Number) source.get(UNITS_FIELD)).longValue(), source.getString(CURRENCY_FIELD));
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.mycompany.myapp.domain.util;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.mycompany.myapp.domain.Money;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+
+/**
+ * Reads a {@link Money} in the default currency from a JSON number or numeric string, in major units.
+ * <p>
+ * The number is read as a decimal, so that no binary floating point rounding happens on the way.
+ */
+public class MoneyDeserializer extends StdDeserializer<Money> {
+
+    public MoneyDeserializer() {
+        super(Money.class);
+    }
+
+    @Override
+    public Money deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+        BigDecimal amount;
+        if (p.hasToken(JsonToken.VALUE_NUMBER_INT) || p.hasToken(JsonToken.VALUE_NUMBER_FLOAT)) {
+            amount = p.getDecimalValue();
+        } else if (p.hasToken(JsonToken.VALUE_STRING)) {
+            try {
+                amount = new BigDecimal(p.getText().trim());
+            } catch (NumberFormatException e) {
+                return (Money) ctxt.handleWeirdStringValue(Money.class, p.getText(), "not a valid amount");
+            }
+        } else {
+            return (Money) ctxt.handleUnexpectedToken(Money.class, p);
+        }
+        try {
+            return Money.of(amount);
+        } catch (ArithmeticException e) {
+            return (Money) ctxt.handleWeirdNumberValue(Money.class, amount, "too many decimals for the currency");
+        }
+    }
+}
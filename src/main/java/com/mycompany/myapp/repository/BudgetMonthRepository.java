@@ -0,0 +1,32 @@
+package com.mycompany.myapp.repository;
+
+import com.mycompany.myapp.domain.BudgetMonth;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.repository.Query;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+
+/**
+ * Spring Data MongoDB repository for the BudgetMonth entity.
+ */
+@SuppressWarnings("unused")
+@Repository
+public interface BudgetMonthRepository extends MongoRepository<BudgetMonth, String>, BudgetMonthRepositoryCustom {
+
+    /**
+     * Get the buckets of a budget from one month to another, both included.
+     *
+     * @param budgetId the id of the budget
+     * @param from the first month, as "yyyy-MM"
+     * @param to the last month, as "yyyy-MM"
+     * @param sort the order of the buckets
+     * @return the buckets of the months that have line items
+     */
+    @Query("{ 'budget_id': ?0, 'month': { '$gte': ?1, '$lte': ?2 } }")
+    List<BudgetMonth> findByBudgetIdAndMonthRange(String budgetId, String from, String to, Sort sort);
+
+    void deleteByBudgetId(String budgetId);
+}
@@ -0,0 +1,30 @@
+package com.mycompany.myapp.repository;
+
+import java.time.YearMonth;
+
+/**
+ * Custom queries for the BudgetMonth entity, implemented on top of MongoTemplate.
+ */
+public interface BudgetMonthRepositoryCustom {
+
+    /**
+     * Atomically add to the totals of a month of a budget, creating its bucket if needed.
+     *
+     * @param budgetId the id of the budget
+     * @param month the month
+     * @param incomeUnits the minor units to add to the total income
+     * @param outcomeUnits the minor units to add to the total outcome
+     * @param itemCount the number of line items to add
+     */
+    void incrementTotals(String budgetId, YearMonth month, long incomeUnits, long outcomeUnits, long itemCount);
+
+    /**
+     * Recompute all the buckets from the line items, replacing the existing ones.
+     * <p>
+     * The line items are read with one cursor per collection: this is meant for migrations, while no
+     * line item is being written.
+     *
+     * @return the number of buckets
+     */
+    long rebuild();
+}
@@ -0,0 +1,109 @@
+package com.mycompany.myapp.repository;
+
+import com.mycompany.myapp.config.Constants;
+import com.mycompany.myapp.domain.BudgetMonth;
+import com.mycompany.myapp.domain.Income;
+import com.mycompany.myapp.domain.LineItem;
+import com.mycompany.myapp.domain.Money;
+import com.mycompany.myapp.domain.Outcome;
+import com.mycompany.myapp.domain.util.MoneyConverters;
+
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.util.CloseableIterator;
+
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Implementation of {@link BudgetMonthRepositoryCustom}.
+ */
+public class BudgetMonthRepositoryImpl implements BudgetMonthRepositoryCustom {
+
+    private static final String BUDGET_MONTH_COLLECTION = "budget_month";
+
+    private static final String TOTAL_INCOME_FIELD = "total_income";
+
+    private static final String TOTAL_OUTCOME_FIELD = "total_outcome";
+
+    private static final String ITEM_COUNT_FIELD = "item_count";
+
+    private static final String UNITS = "." + MoneyConverters.UNITS_FIELD;
+
+    private static final String CURRENCY = "." + MoneyConverters.CURRENCY_FIELD;
+
+    private static final int BATCH_SIZE = 1000;
+
+    private final MongoTemplate mongoTemplate;
+
+    public BudgetMonthRepositoryImpl(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public void incrementTotals(String budgetId, YearMonth month, long incomeUnits, long outcomeUnits, long itemCount) {
+        Update update = new Update()
+            .setOnInsert("budget_id", budgetId)
+            .setOnInsert("month", month.toString())
+            .setOnInsert(TOTAL_INCOME_FIELD + CURRENCY, Constants.DEFAULT_CURRENCY)
+            .setOnInsert(TOTAL_OUTCOME_FIELD + CURRENCY, Constants.DEFAULT_CURRENCY)
+            .inc(TOTAL_INCOME_FIELD + UNITS, incomeUnits)
+            .inc(TOTAL_OUTCOME_FIELD + UNITS, outcomeUnits)
+            .inc(ITEM_COUNT_FIELD, itemCount);
+        mongoTemplate.upsert(Query.query(Criteria.where("_id").is(BudgetMonth.id(budgetId, month))), update,
+            BUDGET_MONTH_COLLECTION);
+    }
+
+    @Override
+    public long rebuild() {
+        Map<String, BudgetMonth> buckets = new HashMap<>();
+        sumLineItems(Income.class, true, buckets);
+        sumLineItems(Outcome.class, false, buckets);
+        mongoTemplate.remove(new Query(), BUDGET_MONTH_COLLECTION);
+        List<BudgetMonth> batch = new ArrayList<>(BATCH_SIZE);
+        for (BudgetMonth bucket : buckets.values()) {
+            batch.add(bucket);
+            if (batch.size() == BATCH_SIZE) {
+                mongoTemplate.insert(batch, BUDGET_MONTH_COLLECTION);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            mongoTemplate.insert(batch, BUDGET_MONTH_COLLECTION);
+        }
+        return buckets.size();
+    }
+
+    /**
+     * Add the amounts of the dated line items of a collection to the buckets of their budget and month.
+     */
+    private void sumLineItems(Class<? extends LineItem> type, boolean income, Map<String, BudgetMonth> buckets) {
+        Query query = Query.query(Criteria.where("budget._id").exists(true).and("date").exists(true)
+            .and("amount." + MoneyConverters.CURRENCY_FIELD).is(Constants.DEFAULT_CURRENCY));
+        query.fields().include("budget").include("date").include("amount");
+        try (CloseableIterator<? extends LineItem> items = mongoTemplate.stream(query, type)) {
+            while (items.hasNext()) {
+                LineItem item = items.next();
+                String budgetId = item.getBudget().getId();
+                YearMonth month = YearMonth.from(item.getDate());
+                BudgetMonth bucket = buckets.computeIfAbsent(BudgetMonth.id(budgetId, month), id -> {
+                    BudgetMonth created = new BudgetMonth().budgetId(budgetId).month(month.toString());
+                    created.setId(id);
+                    return created;
+                });
+                Money amount = item.getAmount();
+                if (income) {
+                    bucket.setTotalIncome(bucket.getTotalIncome().plus(amount));
+                } else {
+                    bucket.setTotalOutcome(bucket.getTotalOutcome().plus(amount));
+                }
+                bucket.setItemCount(bucket.getItemCount() + 1);
+            }
+        }
+    }
+}
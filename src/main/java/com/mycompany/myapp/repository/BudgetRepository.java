@@ -11,6 +11,6 @@ import org.springframework.stereotype.Repository;
  */
 @SuppressWarnings("unused")
 @Repository
-public interface BudgetRepository extends MongoRepository<Budget, String> {
+public interface BudgetRepository extends MongoRepository<Budget, String>, BudgetRepositoryCustom {
 
 }
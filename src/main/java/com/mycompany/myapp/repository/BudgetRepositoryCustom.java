@@ -0,0 +1,140 @@
+package com.mycompany.myapp.repository;
+
+import com.mycompany.myapp.domain.Budget;
+import com.mycompany.myapp.domain.BudgetReference;
+
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Custom queries for the Budget entity, implemented on top of MongoTemplate.
+ */
+public interface BudgetRepositoryCustom {
+
+    /**
+     * Get a page of budgets with their incomes and outcomes, using one query per collection.
+     *
+     * @param pageable the pagination information
+     * @return the page of budgets
+     */
+    Page<Budget> findAllWithEagerRelationships(Pageable pageable);
+
+    /**
+     * Get a page of budgets with only some of their properties, reading only these fields and only the
+     * requested line items.
+     *
+     * @param pageable the pagination information
+     * @param properties the properties to read, which can include the incomes and the outcomes, and the balance,
+     * read from the totals it is computed from
+     * @return the page of budgets, whose other properties have their default values
+     */
+    Page<Budget> findAllWithProperties(Pageable pageable, Set<String> properties);
+
+    /**
+     * Get the budgets following the given id, in id order, with their incomes and outcomes.
+     *
+     * @param after the id to seek after, or null to start from the first budget
+     * @param size the maximum number of budgets
+     * @return the slice of budgets
+     */
+    Slice<Budget> findAllWithEagerRelationshipsAfter(ObjectId after, int size);
+
+    /**
+     * Get one budget with its incomes and outcomes, using one query per collection.
+     *
+     * @param id the id of the budget
+     * @return the budget, if any
+     */
+    Optional<Budget> findOneWithEagerRelationships(String id);
+
+    /**
+     * Get the version of a budget, reading only that field.
+     *
+     * @param id the id of the budget
+     * @return the version of the budget, 0 if it was stored before budgets had a version, or an empty
+     * optional if it does not exist
+     */
+    Optional<Long> findVersionById(String id);
+
+    /**
+     * Get the reference to a budget, as denormalized into its incomes and outcomes.
+     *
+     * @param id the id of the budget
+     * @return the id and title of the budget, if any
+     */
+    Optional<BudgetReference> findReferenceById(String id);
+
+    /**
+     * Get the references to several budgets, with a single query.
+     *
+     * @param ids the ids of the budgets
+     * @return the references of the budgets that exist, by id
+     */
+    Map<String, BudgetReference> findReferencesByIds(Collection<String> ids);
+
+    /**
+     * Copy the title of a budget into the references held by its incomes, outcomes and recurring rules, and
+     * increment the versions of the budget and of the line items that changed.
+     *
+     * @param reference the up-to-date reference to the budget
+     */
+    void updateReferences(BudgetReference reference);
+
+    /**
+     * Update the title and description of an existing budget, leaving its running totals untouched, and
+     * increment its version.
+     *
+     * @param budget the budget to update
+     * @param expectedVersion the version the budget must have, or null to update any version
+     * @return the budget, with its current totals and version, or an empty optional if it does not exist or
+     * does not have the expected version
+     */
+    Optional<Budget> updateDetails(Budget budget, Long expectedVersion);
+
+    /**
+     * Apply an update to some fields of an existing budget, with a single {@code findAndModify}.
+     *
+     * @param id the id of the budget
+     * @param update the update of the fields, which also increments the version
+     * @param expectedVersion the version the budget must have, or null to update any version
+     * @return the updated budget, without its line items, or an empty optional if it does not exist or does
+     * not have the expected version
+     */
+    Optional<Budget> updateFields(String id, Update update, Long expectedVersion);
+
+    /**
+     * Atomically increment the versions of budgets, whose line items changed.
+     *
+     * @param ids the ids of the budgets
+     */
+    void incrementVersions(Collection<String> ids);
+
+    /**
+     * Atomically add to the running totals of a budget, and increment its version.
+     *
+     * @param budgetId the id of the budget
+     * @param incomeUnits the minor units to add to the total income
+     * @param outcomeUnits the minor units to add to the total outcome
+     * @param itemCount the number of line items to add
+     */
+    void incrementTotals(String budgetId, long incomeUnits, long outcomeUnits, long itemCount);
+
+    /**
+     * Recompute the running totals of all the budgets from their line items, and fix the ones that drifted.
+     * <p>
+     * A budget whose totals change while it is being checked is left for the next run. The line items are
+     * summed as they are stored, so the events of the line items that are not projected yet must be
+     * projected first, or they are counted twice.
+     *
+     * @return the number of budgets that were fixed
+     */
+    long repairTotals();
+}
@@ -0,0 +1,309 @@
+package com.mycompany.myapp.repository;
+
+import com.mycompany.myapp.config.Constants;
+import com.mycompany.myapp.domain.Budget;
+import com.mycompany.myapp.domain.BudgetReference;
+import com.mycompany.myapp.domain.Income;
+import com.mycompany.myapp.domain.Outcome;
+import com.mycompany.myapp.domain.RecurringRule;
+import com.mycompany.myapp.domain.util.MoneyConverters;
+
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.repository.support.PageableExecutionUtils;
+import org.springframework.data.util.CloseableIterator;
+
+import java.util.*;
+
+/**
+ * Implementation of {@link BudgetRepositoryCustom}.
+ * <p>
+ * Budgets do not store references to their line items: the line items reference their budget. The line
+ * items of a page of budgets are fetched with a single {@code $in} query per collection, on the budget
+ * index.
+ */
+public class BudgetRepositoryImpl implements BudgetRepositoryCustom {
+
+    private static final String BUDGET_COLLECTION = "budget";
+
+    private static final String INCOME_COLLECTION = "income";
+
+    private static final String OUTCOME_COLLECTION = "outcome";
+
+    private static final String TOTAL_INCOME_FIELD = "total_income";
+
+    private static final String TOTAL_OUTCOME_FIELD = "total_outcome";
+
+    private static final String ITEM_COUNT_FIELD = "item_count";
+
+    private static final String VERSION_FIELD = "version";
+
+    private static final String INCOMES_PROPERTY = "incomes";
+
+    private static final String OUTCOMES_PROPERTY = "outcomes";
+
+    /**
+     * The properties computed from other ones, by the properties they are computed from.
+     */
+    private static final Map<String, List<String>> DERIVED_PROPERTIES =
+        Collections.singletonMap("balance", Arrays.asList("totalIncome", "totalOutcome"));
+
+    private static final String UNITS = "." + MoneyConverters.UNITS_FIELD;
+
+    private final MongoTemplate mongoTemplate;
+
+    public BudgetRepositoryImpl(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public Page<Budget> findAllWithEagerRelationships(Pageable pageable) {
+        List<Budget> budgets = withLineItems(mongoTemplate.find(new Query().with(pageable), Budget.class));
+        return PageableExecutionUtils.getPage(budgets, pageable, () -> mongoTemplate.count(new Query(), BUDGET_COLLECTION));
+    }
+
+    @Override
+    public Page<Budget> findAllWithProperties(Pageable pageable, Set<String> properties) {
+        Query query = new Query().with(pageable);
+        query.fields().include("id");
+        properties.stream()
+            .filter(property -> !INCOMES_PROPERTY.equals(property) && !OUTCOMES_PROPERTY.equals(property))
+            .flatMap(property -> DERIVED_PROPERTIES.getOrDefault(property, Collections.singletonList(property)).stream())
+            .forEach(query.fields()::include);
+        List<Budget> budgets = withLineItems(mongoTemplate.find(query, Budget.class),
+            properties.contains(INCOMES_PROPERTY), properties.contains(OUTCOMES_PROPERTY));
+        return PageableExecutionUtils.getPage(budgets, pageable, () -> mongoTemplate.count(new Query(), BUDGET_COLLECTION));
+    }
+
+    @Override
+    public Slice<Budget> findAllWithEagerRelationshipsAfter(ObjectId after, int size) {
+        Sort sort = Sort.by(Sort.Direction.ASC, "id");
+        Query query = after == null ? new Query() : Query.query(Criteria.where("id").gt(after));
+        query.with(sort).limit(size + 1);
+        List<Budget> budgets = mongoTemplate.find(query, Budget.class);
+        boolean hasNext = budgets.size() > size;
+        if (hasNext) {
+            budgets = budgets.subList(0, size);
+        }
+        return new SliceImpl<>(withLineItems(budgets), PageRequest.of(0, size, sort), hasNext);
+    }
+
+    @Override
+    public Optional<Budget> findOneWithEagerRelationships(String id) {
+        return withLineItems(mongoTemplate.find(Query.query(Criteria.where("id").is(id)), Budget.class)).stream().findFirst();
+    }
+
+    @Override
+    public Optional<Long> findVersionById(String id) {
+        Query query = Query.query(Criteria.where("_id").is(id));
+        query.fields().include(VERSION_FIELD);
+        Document budget = mongoTemplate.findOne(query, Document.class, BUDGET_COLLECTION);
+        if (budget == null) {
+            return Optional.empty();
+        }
+        Object version = budget.get(VERSION_FIELD);
+        return Optional.of(version instanceof Number ? ((Number) version).longValue() : 0L);
+    }
+
+    @Override
+    public Optional<BudgetReference> findReferenceById(String id) {
+        Query query = Query.query(Criteria.where("id").is(id));
+        query.fields().include("title");
+        return Optional.ofNullable(mongoTemplate.findOne(query, BudgetReference.class, BUDGET_COLLECTION));
+    }
+
+    @Override
+    public Map<String, BudgetReference> findReferencesByIds(Collection<String> ids) {
+        if (ids.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        Query query = Query.query(Criteria.where("id").in(ids));
+        query.fields().include("title");
+        Map<String, BudgetReference> references = new HashMap<>();
+        for (BudgetReference reference : mongoTemplate.find(query, BudgetReference.class, BUDGET_COLLECTION)) {
+            references.put(reference.getId(), reference);
+        }
+        return references;
+    }
+
+    @Override
+    public void updateReferences(BudgetReference reference) {
+        Query query = Query.query(Criteria.where("budget.id").is(reference.getId())
+            .and("budget.title").ne(reference.getTitle()));
+        mongoTemplate.updateMulti(query, Update.update("budget.title", reference.getTitle()), RecurringRule.class);
+        Update update = Update.update("budget.title", reference.getTitle()).inc(VERSION_FIELD, 1);
+        long updated = mongoTemplate.updateMulti(query, update, Income.class).getModifiedCount()
+            + mongoTemplate.updateMulti(query, update, Outcome.class).getModifiedCount();
+        if (updated > 0) {
+            incrementVersions(Collections.singleton(reference.getId()));
+        }
+    }
+
+    @Override
+    public Optional<Budget> updateDetails(Budget budget, Long expectedVersion) {
+        Criteria criteria = Criteria.where("id").is(budget.getId());
+        if (expectedVersion != null) {
+            criteria.and(VERSION_FIELD).is(expectedVersion);
+        }
+        Query query = Query.query(criteria);
+        query.fields().include(TOTAL_INCOME_FIELD).include(TOTAL_OUTCOME_FIELD).include(ITEM_COUNT_FIELD)
+            .include(VERSION_FIELD);
+        Update update = new Update()
+            .set("title", budget.getTitle())
+            .set("description", budget.getDescription())
+            .inc(VERSION_FIELD, 1);
+        Budget totals = mongoTemplate.findAndModify(query, update, FindAndModifyOptions.options().returnNew(true), Budget.class);
+        if (totals == null) {
+            return Optional.empty();
+        }
+        return Optional.of(budget
+            .totalIncome(totals.getTotalIncome())
+            .totalOutcome(totals.getTotalOutcome())
+            .itemCount(totals.getItemCount())
+            .version(totals.getVersion()));
+    }
+
+    @Override
+    public Optional<Budget> updateFields(String id, Update update, Long expectedVersion) {
+        Criteria criteria = Criteria.where("id").is(id);
+        if (expectedVersion != null) {
+            criteria.and(VERSION_FIELD).is(expectedVersion);
+        }
+        return Optional.ofNullable(mongoTemplate.findAndModify(Query.query(criteria), update,
+            FindAndModifyOptions.options().returnNew(true), Budget.class));
+    }
+
+    @Override
+    public void incrementVersions(Collection<String> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        mongoTemplate.updateMulti(Query.query(Criteria.where("id").in(ids)), new Update().inc(VERSION_FIELD, 1),
+            Budget.class);
+    }
+
+    @Override
+    public void incrementTotals(String budgetId, long incomeUnits, long outcomeUnits, long itemCount) {
+        Update update = new Update()
+            .inc(TOTAL_INCOME_FIELD + UNITS, incomeUnits)
+            .inc(TOTAL_OUTCOME_FIELD + UNITS, outcomeUnits)
+            .inc(ITEM_COUNT_FIELD, itemCount)
+            .inc(VERSION_FIELD, 1);
+        mongoTemplate.updateFirst(Query.query(Criteria.where("_id").is(budgetId)), update, BUDGET_COLLECTION);
+    }
+
+    @Override
+    public long repairTotals() {
+        Map<Object, long[]> incomeTotals = sumLineItems(INCOME_COLLECTION);
+        Map<Object, long[]> outcomeTotals = sumLineItems(OUTCOME_COLLECTION);
+        long[] none = new long[2];
+        String currency = Constants.DEFAULT_CURRENCY;
+        Query query = new Query();
+        query.fields().include(TOTAL_INCOME_FIELD).include(TOTAL_OUTCOME_FIELD).include(ITEM_COUNT_FIELD);
+        BulkOperations bulkOperations = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, BUDGET_COLLECTION);
+        long repaired = 0;
+        try (CloseableIterator<Document> budgets = mongoTemplate.stream(query, Document.class, BUDGET_COLLECTION)) {
+            while (budgets.hasNext()) {
+                Document budget = budgets.next();
+                Object id = budget.get("_id");
+                long[] income = incomeTotals.getOrDefault(id, none);
+                long[] outcome = outcomeTotals.getOrDefault(id, none);
+                Object incomeUnits = units(budget.get(TOTAL_INCOME_FIELD));
+                Object outcomeUnits = units(budget.get(TOTAL_OUTCOME_FIELD));
+                Object itemCount = budget.get(ITEM_COUNT_FIELD);
+                if (matches(incomeUnits, income[0]) && matches(outcomeUnits, outcome[0])
+                    && matches(itemCount, income[1] + outcome[1])) {
+                    continue;
+                }
+                // Only overwrite the totals that were read, so that a concurrent $inc is never lost
+                Query unchanged = Query.query(Criteria.where("_id").is(id)
+                    .and(TOTAL_INCOME_FIELD + UNITS).is(incomeUnits)
+                    .and(TOTAL_OUTCOME_FIELD + UNITS).is(outcomeUnits)
+                    .and(ITEM_COUNT_FIELD).is(itemCount));
+                Update update = new Update()
+                    .set(TOTAL_INCOME_FIELD, money(income[0], currency))
+                    .set(TOTAL_OUTCOME_FIELD, money(outcome[0], currency))
+                    .set(ITEM_COUNT_FIELD, income[1] + outcome[1])
+                    .inc(VERSION_FIELD, 1);
+                bulkOperations.updateOne(unchanged, update);
+                repaired++;
+            }
+        }
+        if (repaired > 0) {
+            return bulkOperations.execute().getModifiedCount();
+        }
+        return 0;
+    }
+
+    /**
+     * Sum the amounts, in minor units, and count the line items of a collection, per budget id.
+     */
+    private Map<Object, long[]> sumLineItems(String collectionName) {
+        Aggregation aggregation = Aggregation.newAggregation(
+            Aggregation.match(Criteria.where("budget._id").exists(true)
+                .and("amount." + MoneyConverters.CURRENCY_FIELD).is(Constants.DEFAULT_CURRENCY)),
+            Aggregation.group("budget._id")
+                .sum("amount." + MoneyConverters.UNITS_FIELD).as("total")
+                .count().as("count"));
+        Map<Object, long[]> totals = new HashMap<>();
+        for (Document result : mongoTemplate.aggregate(aggregation, collectionName, Document.class)) {
+            totals.put(result.get("_id"), new long[] {
+                ((Number) result.get("total")).longValue(), ((Number) result.get("count")).longValue() });
+        }
+        return totals;
+    }
+
+    private static Object units(Object money) {
+        return money instanceof Document ? ((Document) money).get(MoneyConverters.UNITS_FIELD) : null;
+    }
+
+    private static boolean matches(Object stored, long expected) {
+        return stored instanceof Number && ((Number) stored).longValue() == expected;
+    }
+
+    private static Document money(long units, String currency) {
+        return new Document(MoneyConverters.UNITS_FIELD, units).append(MoneyConverters.CURRENCY_FIELD, currency);
+    }
+
+    private List<Budget> withLineItems(List<Budget> budgets) {
+        return withLineItems(budgets, true, true);
+    }
+
+    private List<Budget> withLineItems(List<Budget> budgets, boolean incomes, boolean outcomes) {
+        if (budgets.isEmpty() || !(incomes || outcomes)) {
+            return budgets;
+        }
+        Map<String, Budget> byId = new HashMap<>();
+        for (Budget budget : budgets) {
+            byId.put(budget.getId(), budget);
+        }
+        if (incomes) {
+            for (Income income : findLineItems(Income.class, byId.keySet())) {
+                byId.get(income.getBudget().getId()).addIncome(income);
+            }
+        }
+        if (outcomes) {
+            for (Outcome outcome : findLineItems(Outcome.class, byId.keySet())) {
+                byId.get(outcome.getBudget().getId()).addOutcome(outcome);
+            }
+        }
+        return budgets;
+    }
+
+    private <T> List<T> findLineItems(Class<T> type, Set<String> budgetIds) {
+        return mongoTemplate.find(Query.query(Criteria.where("budget.id").in(budgetIds)), type);
+    }
+}
@@ -1,10 +1,16 @@
 package com.mycompany.myapp.repository;
 
 import com.mycompany.myapp.domain.Income;
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.mongodb.repository.Query;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.stream.Stream;
+
 
 /**
  * Spring Data MongoDB repository for the Income entity.
@@ -13,4 +19,15 @@ import org.springframework.stereotype.Repository;
 @Repository
 public interface IncomeRepository extends MongoRepository<Income, String> {
 
+    Slice<Income> findAllBy(Pageable pageable);
+
+    Slice<Income> findAllByIdGreaterThan(ObjectId id, Pageable pageable);
+
+    Page<Income> findByBudgetId(String budgetId, Pageable pageable);
+
+    Slice<Income> findAllByBudgetId(String budgetId, Pageable pageable);
+
+    Slice<Income> findAllByBudgetIdAndIdGreaterThan(String budgetId, ObjectId id, Pageable pageable);
+
+    Stream<Income> findAllByBudgetIdOrderById(String budgetId);
 }
@@ -1,10 +1,16 @@
 package com.mycompany.myapp.repository;
 
 import com.mycompany.myapp.domain.Outcome;
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.mongodb.repository.Query;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.stream.Stream;
+
 
 /**
  * Spring Data MongoDB repository for the Outcome entity.
@@ -13,4 +19,15 @@ import org.springframework.stereotype.Repository;
 @Repository
 public interface OutcomeRepository extends MongoRepository<Outcome, String> {
 
+    Slice<Outcome> findAllBy(Pageable pageable);
+
+    Slice<Outcome> findAllByIdGreaterThan(ObjectId id, Pageable pageable);
+
+    Page<Outcome> findByBudgetId(String budgetId, Pageable pageable);
+
+    Slice<Outcome> findAllByBudgetId(String budgetId, Pageable pageable);
+
+    Slice<Outcome> findAllByBudgetIdAndIdGreaterThan(String budgetId, ObjectId id, Pageable pageable);
+
+    Stream<Outcome> findAllByBudgetIdOrderById(String budgetId);
 }
@@ -0,0 +1,22 @@
+package com.mycompany.myapp.repository;
+
+import com.mycompany.myapp.domain.RecurringRule;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+
+/**
+ * Spring Data MongoDB repository for the RecurringRule entity.
+ */
+@SuppressWarnings("unused")
+@Repository
+public interface RecurringRuleRepository extends MongoRepository<RecurringRule, String> {
+
+    Page<RecurringRule> findByBudgetId(String budgetId, Pageable pageable);
+
+    List<RecurringRule> findAllByBudgetId(String budgetId);
+}
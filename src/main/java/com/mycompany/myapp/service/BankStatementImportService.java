@@ -0,0 +1,372 @@
+package com.mycompany.myapp.service;
+
+import com.mycompany.myapp.config.ApplicationProperties;
+import com.mycompany.myapp.domain.BudgetReference;
+import com.mycompany.myapp.domain.Income;
+import com.mycompany.myapp.domain.Money;
+import com.mycompany.myapp.domain.Outcome;
+import com.mycompany.myapp.repository.BudgetRepository;
+import com.mycompany.myapp.service.dto.BulkItemResultDTO;
+import com.mycompany.myapp.service.dto.BulkResultDTO;
+import com.mycompany.myapp.service.dto.ImportJobDTO;
+
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Service importing bank statements into the incomes and outcomes of a budget.
+ * <p>
+ * A statement is a CSV file with a header row holding a "date" column, as yyyy-MM-dd, and an "amount"
+ * column: positive amounts become incomes and negative ones outcomes. The file is read one line at a time on the "taskExecutor" thread
+ * pool, and the rows are written in bounded bulk batches, so neither the file nor a request thread is
+ * held while it is imported. The progress of the imports is kept in memory.
+ */
+@Service
+public class BankStatementImportService {
+
+    private static final Duration JOB_RETENTION = Duration.ofDays(1);
+
+    private final Logger log = LoggerFactory.getLogger(BankStatementImportService.class);
+
+    private final Map<String, ImportJob> jobs = new ConcurrentHashMap<>();
+
+    private final BudgetRepository budgetRepository;
+
+    private final IncomeService incomeService;
+
+    private final OutcomeService outcomeService;
+
+    private final ApplicationProperties applicationProperties;
+
+    private final Executor taskExecutor;
+
+    public BankStatementImportService(BudgetRepository budgetRepository, IncomeService incomeService,
+                                      OutcomeService outcomeService, ApplicationProperties applicationProperties,
+                                      @Qualifier("taskExecutor") Executor taskExecutor) {
+        this.budgetRepository = budgetRepository;
+        this.incomeService = incomeService;
+        this.outcomeService = outcomeService;
+        this.applicationProperties = applicationProperties;
+        this.taskExecutor = taskExecutor;
+    }
+
+    /**
+     * Start importing a bank statement into a budget.
+     * <p>
+     * The import takes ownership of the file, and deletes it once done.
+     *
+     * @param budgetId the id of the budget
+     * @param file the bank statement
+     * @return the job importing the statement, or an empty optional if the budget does not exist
+     * @throws IOException if the file could not be deleted
+     */
+    public Optional<ImportJobDTO> start(String budgetId, Path file) throws IOException {
+        log.debug("Request to import a bank statement into Budget : {}", budgetId);
+        if (!budgetRepository.existsById(budgetId)) {
+            Files.deleteIfExists(file);
+            return Optional.empty();
+        }
+        removeExpiredJobs();
+        ImportJob job = new ImportJob(new ObjectId().toHexString(), budgetId);
+        jobs.put(job.id, job);
+        try {
+            taskExecutor.execute(() -> run(job, file));
+        } catch (TaskRejectedException e) {
+            log.warn("Bank statement import {} rejected: {}", job.id, e.getMessage());
+            job.fail("The import could not be scheduled, try again later");
+            Files.deleteIfExists(file);
+        }
+        return Optional.of(job.toDTO());
+    }
+
+    /**
+     * Get the progress of an import.
+     *
+     * @param id the id of the import
+     * @return the progress, if the import is known
+     */
+    public Optional<ImportJobDTO> findOne(String id) {
+        log.debug("Request to get bank statement import : {}", id);
+        return Optional.ofNullable(jobs.get(id)).map(ImportJob::toDTO);
+    }
+
+    private void removeExpiredJobs() {
+        Instant expiry = Instant.now().minus(JOB_RETENTION);
+        jobs.values().removeIf(job -> job.finishedAt != null && job.finishedAt.isBefore(expiry));
+    }
+
+    private void run(ImportJob job, Path file) {
+        log.info("Starting bank statement import {} into Budget {}", job.id, job.budgetId);
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            importRows(job, reader);
+            job.complete();
+            log.info("Finished bank statement import {}: {} rows, {} rejected", job.id, job.rowsProcessed, job.rowsRejected);
+        } catch (IOException | RuntimeException e) {
+            log.error("Bank statement import {} failed", job.id, e);
+            job.fail(e.getMessage());
+        } finally {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                log.warn("Could not delete bank statement {}", file, e);
+            }
+        }
+    }
+
+    private void importRows(ImportJob job, BufferedReader reader) throws IOException {
+        String header = reader.readLine();
+        if (header == null) {
+            return;
+        }
+        if (header.startsWith("\uFEFF")) {
+            header = header.substring(1);
+        }
+        char delimiter = header.indexOf(';') >= 0 && header.indexOf(',') < 0 ? ';' : ',';
+        int amountColumn = -1;
+        int dateColumn = -1;
+        List<String> columns = split(header, delimiter);
+        for (int i = 0; i < columns.size(); i++) {
+            if ("amount".equalsIgnoreCase(columns.get(i).trim())) {
+                amountColumn = i;
+            } else if ("date".equalsIgnoreCase(columns.get(i).trim())) {
+                dateColumn = i;
+            }
+        }
+        if (amountColumn < 0) {
+            throw new IllegalArgumentException("The statement has no amount column");
+        }
+        if (dateColumn < 0) {
+            throw new IllegalArgumentException("The statement has no date column");
+        }
+        int batchSize = applicationProperties.getImport().getBatchSize();
+        BudgetReference budget = new BudgetReference();
+        budget.setId(job.budgetId);
+        Batch<Income> incomes = new Batch<>(job, incomeService::createAll);
+        Batch<Outcome> outcomes = new Batch<>(job, outcomeService::createAll);
+        long row = 1;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            row++;
+            if (line.trim().isEmpty()) {
+                continue;
+            }
+            job.rowsProcessed.incrementAndGet();
+            Money amount;
+            LocalDate date;
+            boolean income;
+            try {
+                List<String> fields = split(line, delimiter);
+                if (amountColumn >= fields.size()) {
+                    throw new IllegalArgumentException("missing amount");
+                }
+                if (dateColumn >= fields.size()) {
+                    throw new IllegalArgumentException("missing date");
+                }
+                BigDecimal value = parseAmount(fields.get(amountColumn));
+                if (value.signum() == 0) {
+                    throw new IllegalArgumentException("zero amount");
+                }
+                income = value.signum() > 0;
+                amount = Money.of(value.abs());
+                date = parseDate(fields.get(dateColumn));
+            } catch (IllegalArgumentException | ArithmeticException e) {
+                job.reject(row, e.getMessage() == null ? "invalid amount" : e.getMessage());
+                continue;
+            }
+            if (income) {
+                incomes.add(new Income().amount(amount).date(date).budget(budget), row);
+                if (incomes.size() == batchSize) {
+                    incomes.flush();
+                }
+            } else {
+                outcomes.add(new Outcome().amount(amount).date(date).budget(budget), row);
+                if (outcomes.size() == batchSize) {
+                    outcomes.flush();
+                }
+            }
+        }
+        incomes.flush();
+        outcomes.flush();
+    }
+
+    /**
+     * Parse an amount written with a decimal point, or with a decimal comma and no point.
+     */
+    private static BigDecimal parseAmount(String text) {
+        String amount = text.trim().replace(" ", "").replace("\u00A0", "");
+        if (amount.indexOf('.') < 0) {
+            amount = amount.replace(',', '.');
+        } else {
+            amount = amount.replace(",", "");
+        }
+        try {
+            return new BigDecimal(amount);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("invalid amount '" + text + "'");
+        }
+    }
+
+    private static LocalDate parseDate(String text) {
+        try {
+            return LocalDate.parse(text.trim());
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("invalid date '" + text + "'");
+        }
+    }
+
+    /**
+     * Split a CSV line, honouring double-quoted fields.
+     */
+    private static List<String> split(String line, char delimiter) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == delimiter) {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    /**
+     * Rows waiting to be written with a single bulk write.
+     */
+    private static class Batch<T> {
+
+        private final ImportJob job;
+
+        private final Function<List<T>, BulkResultDTO> writer;
+
+        private final List<T> items = new ArrayList<>();
+
+        private final List<Long> rows = new ArrayList<>();
+
+        Batch(ImportJob job, Function<List<T>, BulkResultDTO> writer) {
+            this.job = job;
+            this.writer = writer;
+        }
+
+        void add(T item, long row) {
+            items.add(item);
+            rows.add(row);
+        }
+
+        int size() {
+            return items.size();
+        }
+
+        void flush() {
+            if (items.isEmpty()) {
+                return;
+            }
+            for (BulkItemResultDTO result : writer.apply(items).getItems()) {
+                if (!result.isSuccess()) {
+                    job.reject(rows.get(result.getIndex()), result.getError());
+                }
+            }
+            items.clear();
+            rows.clear();
+        }
+    }
+
+    private class ImportJob {
+
+        private final String id;
+
+        private final String budgetId;
+
+        private final Instant startedAt = Instant.now();
+
+        private final AtomicLong rowsProcessed = new AtomicLong();
+
+        private final AtomicLong rowsRejected = new AtomicLong();
+
+        private final List<String> errors = Collections.synchronizedList(new ArrayList<>());
+
+        private volatile ImportJobDTO.Status status = ImportJobDTO.Status.RUNNING;
+
+        private volatile Instant finishedAt;
+
+        private volatile String failure;
+
+        ImportJob(String id, String budgetId) {
+            this.id = id;
+            this.budgetId = budgetId;
+        }
+
+        void reject(long row, String error) {
+            rowsRejected.incrementAndGet();
+            if (errors.size() < applicationProperties.getImport().getMaxReportedErrors()) {
+                errors.add("Row " + row + ": " + error);
+            }
+        }
+
+        void complete() {
+            finishedAt = Instant.now();
+            status = ImportJobDTO.Status.COMPLETED;
+        }
+
+        void fail(String failure) {
+            this.failure = failure;
+            finishedAt = Instant.now();
+            status = ImportJobDTO.Status.FAILED;
+        }
+
+        ImportJobDTO toDTO() {
+            ImportJobDTO dto = new ImportJobDTO();
+            dto.setId(id);
+            dto.setBudgetId(budgetId);
+            dto.setStatus(status);
+            dto.setStartedAt(startedAt);
+            Instant end = finishedAt;
+            dto.setFinishedAt(end);
+            dto.setFailure(failure);
+            long processed = rowsProcessed.get();
+            dto.setRowsProcessed(processed);
+            dto.setRowsRejected(rowsRejected.get());
+            long elapsed = Duration.between(startedAt, end == null ? Instant.now() : end).toMillis();
+            dto.setRowsPerSecond(elapsed == 0 ? 0 : processed * 1000.0 / elapsed);
+            synchronized (errors) {
+                dto.setErrors(new ArrayList<>(errors));
+            }
+            return dto;
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package com.mycompany.myapp.service;
+
+import com.mycompany.myapp.config.Constants;
+import com.mycompany.myapp.domain.Money;
+import com.mycompany.myapp.domain.util.MoneyConverters;
+import com.mycompany.myapp.repository.BudgetRepository;
+import com.mycompany.myapp.service.dto.BudgetBreakdownDTO;
+import com.mycompany.myapp.service.dto.CategoryTotalDTO;
+import com.mycompany.myapp.service.event.BudgetEvent;
+import com.mycompany.myapp.service.event.LineItemEvent;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Service computing the breakdown of a budget's outcomes by category.
+ * <p>
+ * The outcomes are grouped, sorted and limited to the largest categories by Mongo, so only those
+ * categories are sent to the application. The breakdown of the largest {@link #MAX_TOP} categories is
+ * cached per budget and version, and smaller breakdowns are cut from it. The version of a budget is
+ * incremented whenever one of its line items changes, on any instance, so a cached breakdown is never read
+ * once stale; the entry is also evicted on the events of this instance, only to free it early.
+ */
+@Service
+public class BudgetBreakdownService {
+
+    public static final String BREAKDOWN_CACHE = "budgetBreakdown";
+
+    /**
+     * The maximum number of categories of a breakdown.
+     */
+    public static final int MAX_TOP = 50;
+
+    private static final String OUTCOME_COLLECTION = "outcome";
+
+    private static final String AMOUNT_UNITS = "amount." + MoneyConverters.UNITS_FIELD;
+
+    private static final String AMOUNT_CURRENCY = "amount." + MoneyConverters.CURRENCY_FIELD;
+
+    private static final String CURRENCY = Constants.DEFAULT_CURRENCY;
+
+    private final Logger log = LoggerFactory.getLogger(BudgetBreakdownService.class);
+
+    private final BudgetRepository budgetRepository;
+
+    private final MongoTemplate mongoTemplate;
+
+    private final CacheManager cacheManager;
+
+    /**
+     * The key of the last breakdown cached by this instance, by budget, so that it can be evicted.
+     */
+    private final ConcurrentMap<String, String> cachedKeys = new ConcurrentHashMap<>();
+
+    public BudgetBreakdownService(BudgetRepository budgetRepository, MongoTemplate mongoTemplate, CacheManager cacheManager) {
+        this.budgetRepository = budgetRepository;
+        this.mongoTemplate = mongoTemplate;
+        this.cacheManager = cacheManager;
+    }
+
+    /**
+     * Get the breakdown of the "id" budget's outcomes by category.
+     *
+     * @param id the id of the budget
+     * @param top the number of categories, between 1 and {@link #MAX_TOP}
+     * @return the breakdown, or an empty optional if the budget does not exist
+     */
+    public Optional<BudgetBreakdownDTO> findOne(String id, int top) {
+        log.debug("Request to get the breakdown of Budget : {}", id);
+        return budgetRepository.findVersionById(id).map(version -> {
+            String key = id + ":" + version;
+            BudgetBreakdownDTO cached = getCache().get(key, () -> aggregate(id));
+            String previous = cachedKeys.put(id, key);
+            if (previous != null && !previous.equals(key)) {
+                getCache().evict(previous);
+            }
+            return limit(cached, top);
+        });
+    }
+
+    @EventListener
+    public void onLineItemEvent(LineItemEvent event) {
+        evictOutcomes(event.getPrevious());
+        evictOutcomes(event.getCurrent());
+    }
+
+    @EventListener
+    public void onBudgetEvent(BudgetEvent event) {
+        if (event.getType() == BudgetEvent.Type.DELETED) {
+            evict(event.getId());
+        }
+    }
+
+    private void evictOutcomes(LineItemEvent.Snapshot snapshot) {
+        if (snapshot != null && !snapshot.isIncome() && snapshot.getBudgetId() != null) {
+            evict(snapshot.getBudgetId());
+        }
+    }
+
+    private void evict(String budgetId) {
+        String key = cachedKeys.remove(budgetId);
+        if (key != null) {
+            getCache().evict(key);
+        }
+    }
+
+    private Cache getCache() {
+        return Objects.requireNonNull(cacheManager.getCache(BREAKDOWN_CACHE));
+    }
+
+    /**
+     * Group the outcomes of a budget by category, keeping the {@link #MAX_TOP} largest categories, and
+     * count all the outcomes in a second pipeline, so that the rest of the outcomes can be reported.
+     */
+    private BudgetBreakdownDTO aggregate(String budgetId) {
+        Criteria criteria = Criteria.where("budget._id").is(ObjectId.isValid(budgetId) ? new ObjectId(budgetId) : budgetId)
+            .and(AMOUNT_CURRENCY).is(CURRENCY);
+        Aggregation categories = Aggregation.newAggregation(
+            Aggregation.match(criteria),
+            Aggregation.group("category")
+                .sum(AMOUNT_UNITS).as("total")
+                .count().as("count"),
+            Aggregation.sort(Sort.by(Sort.Order.desc("total"), Sort.Order.asc("_id"))),
+            Aggregation.limit(MAX_TOP));
+        Aggregation totals = Aggregation.newAggregation(
+            Aggregation.match(criteria),
+            Aggregation.group()
+                .sum(AMOUNT_UNITS).as("total")
+                .count().as("count"));
+
+        BudgetBreakdownDTO breakdown = new BudgetBreakdownDTO();
+        breakdown.setBudgetId(budgetId);
+        for (Document document : mongoTemplate.aggregate(categories, OUTCOME_COLLECTION, Document.class)) {
+            breakdown.getCategories().add(new CategoryTotalDTO((String) document.get("_id"),
+                toMoney(document.get("total")), ((Number) document.get("count")).longValue()));
+        }
+        Document total = mongoTemplate.aggregate(totals, OUTCOME_COLLECTION, Document.class).getUniqueMappedResult();
+        if (total != null) {
+            breakdown.setTotalOutcome(toMoney(total.get("total")));
+            breakdown.setOutcomeCount(((Number) total.get("count")).longValue());
+        }
+        return breakdown;
+    }
+
+    /**
+     * Cut a breakdown to its largest categories, without modifying it as it is shared through the cache.
+     */
+    private static BudgetBreakdownDTO limit(BudgetBreakdownDTO breakdown, int top) {
+        List<CategoryTotalDTO> categories = new ArrayList<>(
+            breakdown.getCategories().subList(0, Math.min(top, breakdown.getCategories().size())));
+        Money categoriesTotal = Money.sum(categories, CategoryTotalDTO::getTotal, CURRENCY);
+        long categoriesCount = categories.stream().mapToLong(CategoryTotalDTO::getCount).sum();
+
+        BudgetBreakdownDTO result = new BudgetBreakdownDTO();
+        result.setBudgetId(breakdown.getBudgetId());
+        result.setTotalOutcome(breakdown.getTotalOutcome());
+        result.setOutcomeCount(breakdown.getOutcomeCount());
+        result.setCategories(categories);
+        result.setOtherTotal(breakdown.getTotalOutcome().minus(categoriesTotal));
+        result.setOtherCount(breakdown.getOutcomeCount() - categoriesCount);
+        return result;
+    }
+
+    private static Money toMoney(Object minorUnits) {
+        return Money.ofMinor(minorUnits == null ? 0 : ((Number) minorUnits).longValue(), CURRENCY);
+    }
+}
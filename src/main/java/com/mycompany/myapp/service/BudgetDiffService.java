@@ -0,0 +1,228 @@
+package com.mycompany.myapp.service;
+
+import com.mycompany.myapp.config.ApplicationProperties;
+import com.mycompany.myapp.config.Constants;
+import com.mycompany.myapp.domain.Income;
+import com.mycompany.myapp.domain.LineItem;
+import com.mycompany.myapp.domain.Outcome;
+import com.mycompany.myapp.domain.enumeration.LineItemType;
+import com.mycompany.myapp.domain.util.MoneyConverters;
+import com.mycompany.myapp.repository.BudgetRepository;
+import com.mycompany.myapp.service.dto.BudgetDiffDTO;
+import com.mycompany.myapp.service.dto.CategoryDeltaDTO;
+import com.mycompany.myapp.service.dto.LineItemChangeDTO;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.util.CloseableIterator;
+import org.springframework.stereotype.Service;
+
+import java.time.YearMonth;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Service comparing the line items of a budget from one month to another.
+ * <p>
+ * The line items of both months are read from two cursors sorted by category, then by date, in the
+ * order of their indexes so that Mongo streams them without sorting them in memory, and merge-joined: the n-th line item of a category in the first month is paired with the n-th line item of
+ * the same category in the second month. A pair with different amounts is a change, a line item without
+ * a pair was added or removed. The diff is computed in one pass over both cursors, and only the first
+ * changes of each kind are kept, so its memory does not depend on the size of the ledger.
+ */
+@Service
+public class BudgetDiffService {
+
+    private static final String CURRENCY = Constants.DEFAULT_CURRENCY;
+
+    /**
+     * The order of the categories in the cursors: missing categories first, then the order of Mongo,
+     * which compares strings by their UTF-8 bytes, that is by code points.
+     */
+    private static final Comparator<String> CATEGORY_ORDER = Comparator.nullsFirst(BudgetDiffService::compareCodePoints);
+
+    private final Logger log = LoggerFactory.getLogger(BudgetDiffService.class);
+
+    private final BudgetRepository budgetRepository;
+
+    private final MongoTemplate mongoTemplate;
+
+    private final int maxReportedChanges;
+
+    public BudgetDiffService(BudgetRepository budgetRepository, MongoTemplate mongoTemplate,
+                             ApplicationProperties applicationProperties) {
+        this.budgetRepository = budgetRepository;
+        this.mongoTemplate = mongoTemplate;
+        this.maxReportedChanges = applicationProperties.getDiff().getMaxReportedChanges();
+    }
+
+    /**
+     * Compare the line items of the "id" budget from one month to another.
+     *
+     * @param id the id of the budget
+     * @param from the month to compare from
+     * @param to the month to compare to
+     * @return the diff, or an empty optional if the budget does not exist
+     */
+    public Optional<BudgetDiffDTO> diff(String id, YearMonth from, YearMonth to) {
+        log.debug("Request to diff Budget : {} from {} to {}", id, from, to);
+        if (!budgetRepository.existsById(id)) {
+            return Optional.empty();
+        }
+        BudgetDiffDTO diff = new BudgetDiffDTO();
+        diff.setBudgetId(id);
+        diff.setFrom(from.toString());
+        diff.setTo(to.toString());
+        try (CloseableIterator<Income> fromIncomes = stream(Income.class, id, from);
+             CloseableIterator<Income> toIncomes = stream(Income.class, id, to)) {
+            merge(LineItemType.INCOME, fromIncomes, toIncomes, income -> null, diff, maxReportedChanges);
+        }
+        try (CloseableIterator<Outcome> fromOutcomes = stream(Outcome.class, id, from);
+             CloseableIterator<Outcome> toOutcomes = stream(Outcome.class, id, to)) {
+            merge(LineItemType.OUTCOME, fromOutcomes, toOutcomes, Outcome::getCategory, diff, maxReportedChanges);
+        }
+        return Optional.of(diff);
+    }
+
+    private <T extends LineItem> CloseableIterator<T> stream(Class<T> type, String budgetId, YearMonth month) {
+        Query query = Query.query(Criteria.where("budget._id").is(ObjectId.isValid(budgetId) ? new ObjectId(budgetId) : budgetId)
+            .and("date").gte(month.atDay(1)).lt(month.plusMonths(1).atDay(1))
+            .and("amount." + MoneyConverters.CURRENCY_FIELD).is(CURRENCY))
+            // Incomes have no category: sorting them on it would not follow their index
+            .with(type == Outcome.class ? Sort.by("category", "date", "id") : Sort.by("date", "id"));
+        return mongoTemplate.stream(query, type);
+    }
+
+    /**
+     * Merge-join the line items of two months into a diff. Both iterators must be sorted by category,
+     * in {@link #CATEGORY_ORDER}, then by date.
+     */
+    static <T extends LineItem> void merge(LineItemType type, Iterator<T> fromItems, Iterator<T> toItems,
+                                           Function<T, String> category, BudgetDiffDTO diff, int maxReportedChanges) {
+        Cursor<T> from = new Cursor<>(fromItems, category);
+        Cursor<T> to = new Cursor<>(toItems, category);
+        CategoryDeltaDTO delta = null;
+        while (from.item != null || to.item != null) {
+            int order = from.item == null ? 1 : to.item == null ? -1 : from.compareTo(to);
+            String itemCategory = order <= 0 ? from.category : to.category;
+            if (delta == null || !Objects.equals(delta.getCategory(), itemCategory)) {
+                // The categories come in order, so a category is never met again once passed
+                delta = new CategoryDeltaDTO(type, itemCategory);
+                diff.getCategories().add(delta);
+            }
+            if (order <= 0) {
+                delta.setFromTotal(delta.getFromTotal().plus(from.item.getAmount()));
+                delta.setFromCount(delta.getFromCount() + 1);
+            }
+            if (order >= 0) {
+                delta.setToTotal(delta.getToTotal().plus(to.item.getAmount()));
+                delta.setToCount(delta.getToCount() + 1);
+            }
+
+            if (order < 0) {
+                diff.setRemovedCount(diff.getRemovedCount() + 1);
+                report(diff, diff.getRemoved(), type, itemCategory, from.item, null, maxReportedChanges);
+            } else if (order > 0) {
+                diff.setAddedCount(diff.getAddedCount() + 1);
+                report(diff, diff.getAdded(), type, itemCategory, null, to.item, maxReportedChanges);
+            } else if (from.item.getAmount().equals(to.item.getAmount())) {
+                diff.setUnchangedCount(diff.getUnchangedCount() + 1);
+            } else {
+                diff.setChangedCount(diff.getChangedCount() + 1);
+                report(diff, diff.getChanged(), type, itemCategory, from.item, to.item, maxReportedChanges);
+            }
+
+            if (order <= 0) {
+                from.advance();
+            }
+            if (order >= 0) {
+                to.advance();
+            }
+        }
+    }
+
+    private static void report(BudgetDiffDTO diff, List<LineItemChangeDTO> changes, LineItemType type, String category,
+                               LineItem from, LineItem to, int maxReportedChanges) {
+        if (changes.size() >= maxReportedChanges) {
+            diff.setComplete(false);
+            return;
+        }
+        LineItemChangeDTO change = new LineItemChangeDTO();
+        change.setType(type);
+        change.setCategory(category);
+        if (from != null) {
+            change.setFromId(from.getId());
+            change.setFromDate(from.getDate());
+            change.setFromAmount(from.getAmount());
+        }
+        if (to != null) {
+            change.setToId(to.getId());
+            change.setToDate(to.getDate());
+            change.setToAmount(to.getAmount());
+        }
+        changes.add(change);
+    }
+
+    static int compareCodePoints(String a, String b) {
+        int i = 0;
+        int j = 0;
+        while (i < a.length() && j < b.length()) {
+            int codePointA = a.codePointAt(i);
+            int codePointB = b.codePointAt(j);
+            if (codePointA != codePointB) {
+                return Integer.compare(codePointA, codePointB);
+            }
+            i += Character.charCount(codePointA);
+            j += Character.charCount(codePointB);
+        }
+        return Integer.compare(a.length() - i, b.length() - j);
+    }
+
+    /**
+     * The current line item of a month, with its rank within its category.
+     */
+    private static final class Cursor<T extends LineItem> implements Comparable<Cursor<T>> {
+
+        private final Iterator<T> items;
+
+        private final Function<T, String> categoryOf;
+
+        private T item;
+
+        private String category;
+
+        private long rank;
+
+        Cursor(Iterator<T> items, Function<T, String> categoryOf) {
+            this.items = items;
+            this.categoryOf = categoryOf;
+            this.rank = -1;
+            advance();
+        }
+
+        void advance() {
+            if (!items.hasNext()) {
+                item = null;
+                return;
+            }
+            String previousCategory = category;
+            item = items.next();
+            category = categoryOf.apply(item);
+            rank = rank >= 0 && Objects.equals(category, previousCategory) ? rank + 1 : 0;
+        }
+
+        @Override
+        public int compareTo(Cursor<T> other) {
+            int order = CATEGORY_ORDER.compare(category, other.category);
+            return order != 0 ? order : Long.compare(rank, other.rank);
+        }
+    }
+}
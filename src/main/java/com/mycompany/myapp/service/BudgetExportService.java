@@ -0,0 +1,197 @@
+package com.mycompany.myapp.service;
+
+import com.mycompany.myapp.domain.LineItem;
+import com.mycompany.myapp.repository.BudgetRepository;
+import com.mycompany.myapp.repository.IncomeRepository;
+import com.mycompany.myapp.repository.OutcomeRepository;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Service exporting the ledger of a budget: its incomes, then its outcomes.
+ * <p>
+ * The line items are read from a Mongo cursor and written one at a time, so an export runs in
+ * constant memory whatever the size of the budget, and its first bytes are sent right away.
+ */
+@Service
+public class BudgetExportService {
+
+    /**
+     * The formats of an export.
+     */
+    public enum Format {
+        CSV("text/csv", "csv"),
+        NDJSON("application/x-ndjson", "ndjson");
+
+        private final String contentType;
+
+        private final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+
+        public static Optional<Format> fromName(String name) {
+            return Arrays.stream(values()).filter(format -> format.name().equalsIgnoreCase(name)).findFirst();
+        }
+    }
+
+    private static final String CSV_HEADER = "type,id,date,amount,currency";
+
+    private final Logger log = LoggerFactory.getLogger(BudgetExportService.class);
+
+    private final BudgetRepository budgetRepository;
+
+    private final IncomeRepository incomeRepository;
+
+    private final OutcomeRepository outcomeRepository;
+
+    private final ObjectMapper objectMapper;
+
+    public BudgetExportService(BudgetRepository budgetRepository, IncomeRepository incomeRepository,
+                               OutcomeRepository outcomeRepository, ObjectMapper objectMapper) {
+        this.budgetRepository = budgetRepository;
+        this.incomeRepository = incomeRepository;
+        this.outcomeRepository = outcomeRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Check that a budget can be exported.
+     *
+     * @param id the id of the budget
+     * @return true if the budget exists
+     */
+    public boolean exists(String id) {
+        return budgetRepository.existsById(id);
+    }
+
+    /**
+     * Write the ledger of the "id" budget. The output stream is flushed but not closed.
+     *
+     * @param id the id of the budget
+     * @param format the format of the export
+     * @param out the stream to write to
+     * @throws IOException if the export could not be written
+     */
+    public void export(String id, Format format, OutputStream out) throws IOException {
+        log.debug("Request to export Budget : {} as {}", id, format);
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        LineWriter lineWriter = format == Format.CSV ? new CsvLineWriter(writer) : new NdjsonLineWriter(writer);
+        try (Stream<? extends LineItem> incomes = incomeRepository.findAllByBudgetIdOrderById(id)) {
+            write("income", incomes, lineWriter);
+        }
+        try (Stream<? extends LineItem> outcomes = outcomeRepository.findAllByBudgetIdOrderById(id)) {
+            write("outcome", outcomes, lineWriter);
+        }
+        lineWriter.flush();
+    }
+
+    private static void write(String type, Stream<? extends LineItem> items, LineWriter lineWriter) throws IOException {
+        Iterator<? extends LineItem> iterator = items.iterator();
+        while (iterator.hasNext()) {
+            lineWriter.write(type, iterator.next());
+        }
+    }
+
+    private interface LineWriter {
+
+        void write(String type, LineItem item) throws IOException;
+
+        void flush() throws IOException;
+    }
+
+    private static class CsvLineWriter implements LineWriter {
+
+        private final Writer writer;
+
+        CsvLineWriter(Writer writer) throws IOException {
+            this.writer = writer;
+            writer.write(CSV_HEADER);
+            writer.write("\r\n");
+            // Send the header at once, so that the client sees the download start
+            writer.flush();
+        }
+
+        @Override
+        public void write(String type, LineItem item) throws IOException {
+            writer.write(type);
+            writer.write(',');
+            writer.write(escape(item.getId()));
+            writer.write(',');
+            writer.write(item.getDate() == null ? "" : item.getDate().toString());
+            writer.write(',');
+            writer.write(item.getAmount().toBigDecimal().toPlainString());
+            writer.write(',');
+            writer.write(escape(item.getAmount().getCurrency()));
+            writer.write("\r\n");
+        }
+
+        @Override
+        public void flush() throws IOException {
+            writer.flush();
+        }
+
+        private static String escape(String value) {
+            if (value == null) {
+                return "";
+            }
+            if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+                return value;
+            }
+            return '"' + value.replace("\"", "\"\"") + '"';
+        }
+    }
+
+    private class NdjsonLineWriter implements LineWriter {
+
+        private final JsonGenerator generator;
+
+        NdjsonLineWriter(Writer writer) throws IOException {
+            this.generator = objectMapper.getFactory().createGenerator(writer)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            this.generator.setRootValueSeparator(null);
+        }
+
+        @Override
+        public void write(String type, LineItem item) throws IOException {
+            generator.writeStartObject();
+            generator.writeStringField("type", type);
+            generator.writeStringField("id", item.getId());
+            generator.writeStringField("date", item.getDate() == null ? null : item.getDate().toString());
+            generator.writeNumberField("amount", item.getAmount().toBigDecimal());
+            generator.writeStringField("currency", item.getAmount().getCurrency());
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        }
+
+        @Override
+        public void flush() throws IOException {
+            generator.flush();
+        }
+    }
+}
@@ -0,0 +1,214 @@
+package com.mycompany.myapp.service;
+
+import com.mycompany.myapp.config.ApplicationProperties;
+import com.mycompany.myapp.config.Constants;
+import com.mycompany.myapp.domain.Budget;
+import com.mycompany.myapp.domain.BudgetMonth;
+import com.mycompany.myapp.domain.Money;
+import com.mycompany.myapp.repository.BudgetMonthRepository;
+import com.mycompany.myapp.repository.BudgetRepository;
+import com.mycompany.myapp.service.dto.BudgetOverviewDTO;
+import com.mycompany.myapp.service.dto.BudgetTrendDTO;
+import com.mycompany.myapp.service.dto.MonthTotalsDTO;
+import com.mycompany.myapp.service.util.AsyncUtil;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+
+/**
+ * Service computing the combined totals and trends of several budgets.
+ * <p>
+ * The running totals of the budgets are read with one query. The monthly buckets of each budget are then
+ * read and aggregated in parallel on the bounded "overviewExecutor" pool, or on the request thread once
+ * the pool is saturated, within the time budget of the request: a budget that is not aggregated in time is
+ * returned with its totals only, and left out of the combined months.
+ */
+@Service
+public class BudgetOverviewService {
+
+    private final Logger log = LoggerFactory.getLogger(BudgetOverviewService.class);
+
+    private static final String CURRENCY = Constants.DEFAULT_CURRENCY;
+
+    private final BudgetRepository budgetRepository;
+
+    private final BudgetMonthRepository budgetMonthRepository;
+
+    private final Executor overviewExecutor;
+
+    private final long timeoutMs;
+
+    private final int maxBudgets;
+
+    public BudgetOverviewService(BudgetRepository budgetRepository, BudgetMonthRepository budgetMonthRepository,
+                                 ApplicationProperties applicationProperties,
+                                 @Qualifier("overviewExecutor") Executor overviewExecutor) {
+        this.budgetRepository = budgetRepository;
+        this.budgetMonthRepository = budgetMonthRepository;
+        this.overviewExecutor = overviewExecutor;
+        this.timeoutMs = applicationProperties.getOverview().getTimeoutMs();
+        this.maxBudgets = applicationProperties.getOverview().getMaxBudgets();
+    }
+
+    /**
+     * @return the maximum number of budgets of an overview
+     */
+    public int getMaxBudgets() {
+        return maxBudgets;
+    }
+
+    /**
+     * Get the overview of budgets over a range of months.
+     *
+     * @param ids the ids of the budgets, or empty for the first budgets in id order
+     * @param from the first month
+     * @param to the last month
+     * @return the overview
+     */
+    public BudgetOverviewDTO getOverview(Collection<String> ids, YearMonth from, YearMonth to) {
+        log.debug("Request to get the overview of Budgets : {} from {} to {}", ids, from, to);
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+        List<Budget> budgets = ids.isEmpty()
+            ? budgetRepository.findAll(PageRequest.of(0, maxBudgets, Sort.by(Sort.Direction.ASC, "id"))).getContent()
+            : budgetRepository.findAllById(ids);
+
+        List<CompletableFuture<List<BudgetMonth>>> futures = new ArrayList<>(budgets.size());
+        for (Budget budget : budgets) {
+            futures.add(AsyncUtil.supplyAsync(() -> budgetMonthRepository.findByBudgetIdAndMonthRange(budget.getId(),
+                from.toString(), to.toString(), Sort.by(Sort.Direction.ASC, "month")), overviewExecutor));
+        }
+
+        BudgetOverviewDTO overview = new BudgetOverviewDTO();
+        overview.setFrom(from.toString());
+        overview.setTo(to.toString());
+        List<MonthTotalsDTO> combined = emptyMonths(from, to);
+        for (int i = 0; i < budgets.size(); i++) {
+            Budget budget = budgets.get(i);
+            BudgetTrendDTO trend = new BudgetTrendDTO();
+            trend.setBudgetId(budget.getId());
+            trend.setTitle(budget.getTitle());
+            trend.setTotalIncome(budget.getTotalIncome());
+            trend.setTotalOutcome(budget.getTotalOutcome());
+            trend.setItemCount(budget.getItemCount());
+            overview.setTotalIncome(overview.getTotalIncome().plus(budget.getTotalIncome()));
+            overview.setTotalOutcome(overview.getTotalOutcome().plus(budget.getTotalOutcome()));
+            try {
+                List<BudgetMonth> buckets = futures.get(i).get(Math.max(0L, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                List<MonthTotalsDTO> months = toMonths(buckets, from, to);
+                computeTrend(trend, months);
+                addMonths(combined, months);
+            } catch (TimeoutException e) {
+                futures.get(i).cancel(false);
+                trend.setStatus(BudgetTrendDTO.Status.TIMED_OUT);
+                overview.setComplete(false);
+            } catch (ExecutionException e) {
+                log.warn("Could not aggregate the months of Budget : {}", budget.getId(), e.getCause());
+                trend.setStatus(BudgetTrendDTO.Status.FAILED);
+                overview.setComplete(false);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                futures.get(i).cancel(false);
+                trend.setStatus(BudgetTrendDTO.Status.TIMED_OUT);
+                overview.setComplete(false);
+            }
+            overview.getBudgets().add(trend);
+        }
+        if (ids.isEmpty() && budgets.size() == maxBudgets && budgetRepository.count() > maxBudgets) {
+            overview.setComplete(false);
+        }
+        overview.setMonths(combined);
+        overview.setSavingsRate(savingsRate(sum(combined, MonthTotalsDTO::getTotalIncome),
+            sum(combined, MonthTotalsDTO::getTotalOutcome)));
+        return overview;
+    }
+
+    private static List<MonthTotalsDTO> emptyMonths(YearMonth from, YearMonth to) {
+        List<MonthTotalsDTO> months = new ArrayList<>();
+        for (YearMonth month = from; !month.isAfter(to); month = month.plusMonths(1)) {
+            months.add(new MonthTotalsDTO(month.toString()));
+        }
+        return months;
+    }
+
+    /**
+     * Fill the months of a series with the buckets of a budget, ignoring the buckets out of the series.
+     */
+    private static List<MonthTotalsDTO> toMonths(List<BudgetMonth> buckets, YearMonth from, YearMonth to) {
+        List<MonthTotalsDTO> months = emptyMonths(from, to);
+        for (BudgetMonth bucket : buckets) {
+            int index = (int) ChronoUnit.MONTHS.between(from, YearMonth.parse(bucket.getMonth()));
+            if (index >= 0 && index < months.size()) {
+                MonthTotalsDTO month = months.get(index);
+                month.setTotalIncome(bucket.getTotalIncome());
+                month.setTotalOutcome(bucket.getTotalOutcome());
+                month.setItemCount(bucket.getItemCount());
+            }
+        }
+        return months;
+    }
+
+    /**
+     * Add the months of a series to the same months of another series.
+     */
+    private static void addMonths(List<MonthTotalsDTO> series, List<MonthTotalsDTO> months) {
+        for (int i = 0; i < series.size(); i++) {
+            MonthTotalsDTO target = series.get(i);
+            MonthTotalsDTO month = months.get(i);
+            target.setTotalIncome(target.getTotalIncome().plus(month.getTotalIncome()));
+            target.setTotalOutcome(target.getTotalOutcome().plus(month.getTotalOutcome()));
+            target.setItemCount(target.getItemCount() + month.getItemCount());
+        }
+    }
+
+    /**
+     * Compute the averages, savings rate and balance trend of a budget, from its months.
+     * <p>
+     * The balance trend is the slope of the least squares line through the monthly balances.
+     */
+    static void computeTrend(BudgetTrendDTO trend, List<MonthTotalsDTO> months) {
+        trend.setMonths(months);
+        int n = months.size();
+        Money income = sum(months, MonthTotalsDTO::getTotalIncome);
+        Money outcome = sum(months, MonthTotalsDTO::getTotalOutcome);
+        trend.setAverageMonthlyIncome(Money.ofMinor(Math.round((double) income.getMinorUnits() / n), CURRENCY));
+        trend.setAverageMonthlyOutcome(Money.ofMinor(Math.round((double) outcome.getMinorUnits() / n), CURRENCY));
+        trend.setSavingsRate(savingsRate(income, outcome));
+        double meanX = (n - 1) / 2.0;
+        double meanY = (double) income.minus(outcome).getMinorUnits() / n;
+        double covariance = 0;
+        double variance = 0;
+        for (int x = 0; x < n; x++) {
+            double dx = x - meanX;
+            covariance += dx * (months.get(x).getBalance().getMinorUnits() - meanY);
+            variance += dx * dx;
+        }
+        trend.setBalanceTrend(Money.ofMinor(variance == 0 ? 0 : Math.round(covariance / variance), CURRENCY));
+    }
+
+    private static Money sum(List<MonthTotalsDTO> months, Function<MonthTotalsDTO, Money> amount) {
+        return Money.sum(months, amount, CURRENCY);
+    }
+
+    private static Double savingsRate(Money income, Money outcome) {
+        if (income.getMinorUnits() == 0) {
+            return null;
+        }
+        return (double) income.minus(outcome).getMinorUnits() / income.getMinorUnits();
+    }
+}
@@ -0,0 +1,212 @@
+package com.mycompany.myapp.service;
+
+import com.mycompany.myapp.domain.Budget;
+import com.mycompany.myapp.domain.BudgetMonth;
+import com.mycompany.myapp.repository.BudgetMonthRepository;
+import com.mycompany.myapp.repository.BudgetRepository;
+import com.mycompany.myapp.service.event.BudgetEvent;
+import com.mycompany.myapp.web.rest.errors.PreconditionFailedException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+
+import javax.validation.Validator;
+import java.time.YearMonth;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Service Implementation for managing Budget.
+ */
+@Service
+public class BudgetService {
+
+    private final Logger log = LoggerFactory.getLogger(BudgetService.class);
+
+    private static final String ENTITY_NAME = "budget";
+
+    private static final List<String> PATCHABLE_PROPERTIES = Arrays.asList("title", "description");
+
+    private final BudgetRepository budgetRepository;
+
+    private final BudgetMonthRepository budgetMonthRepository;
+
+    private final Validator validator;
+
+    private final ObjectMapper objectMapper;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    public BudgetService(BudgetRepository budgetRepository, BudgetMonthRepository budgetMonthRepository,
+                         Validator validator, ObjectMapper objectMapper, ApplicationEventPublisher eventPublisher) {
+        this.budgetRepository = budgetRepository;
+        this.budgetMonthRepository = budgetMonthRepository;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * Save a budget.
+     * <p>
+     * When an existing budget is updated, its running totals are kept as they are in the database. Its
+     * title is copied to the references held by its line items by the {@link LedgerProjector}.
+     *
+     * @param budget the entity to save
+     * @return the persisted entity
+     */
+    public Budget save(Budget budget) {
+        return save(budget, null);
+    }
+
+    /**
+     * Save a budget, if it still has the version the client read.
+     * <p>
+     * The version of a budget also changes with its line items and running totals, as they are part of
+     * its representation.
+     *
+     * @param budget the entity to save
+     * @param expectedVersion the version the budget must have, or null to update any version
+     * @return the persisted entity
+     * @throws PreconditionFailedException if the budget does not exist or has another version
+     */
+    public Budget save(Budget budget, Long expectedVersion) {
+        log.debug("Request to save Budget : {}", budget);
+        // The version is initialized by the repository
+        budget.setVersion(null);
+        if (budget.getId() == null) {
+            Budget result = budgetRepository.save(budget);
+            eventPublisher.publishEvent(new BudgetEvent(BudgetEvent.Type.CREATED, result.getId(), result.getTitle()));
+            return result;
+        }
+        Budget result = budgetRepository.updateDetails(budget, expectedVersion).orElseGet(() -> {
+            if (expectedVersion != null) {
+                throw new PreconditionFailedException("The budget was changed or deleted since it was read", ENTITY_NAME);
+            }
+            return budgetRepository.save(budget);
+        });
+        eventPublisher.publishEvent(new BudgetEvent(BudgetEvent.Type.UPDATED, result.getId(), result.getTitle()));
+        return result;
+    }
+
+    /**
+     * Partially update a budget with a JSON merge patch, writing only the patched fields.
+     * <p>
+     * Only the patched properties are validated, and the running totals are left untouched.
+     *
+     * @param id the id of the entity
+     * @param patch the JSON merge patch of its title and description
+     * @param expectedVersion the version the budget must have, or null to update any version
+     * @return the patched entity, without its line items, or an empty optional if it does not exist
+     * @throws PreconditionFailedException if the budget does not exist or has another version
+     */
+    public Optional<Budget> patch(String id, ObjectNode patch, Long expectedVersion) {
+        log.debug("Request to patch Budget : {}, {}", id, patch);
+        MergePatch mergePatch = MergePatch.read(patch, Budget.class, PATCHABLE_PROPERTIES, ENTITY_NAME, objectMapper, validator);
+        Optional<Budget> result = budgetRepository.updateFields(id, mergePatch.toUpdate(), expectedVersion);
+        if (!result.isPresent() && expectedVersion != null) {
+            throw new PreconditionFailedException("The budget was changed or deleted since it was read", ENTITY_NAME);
+        }
+        if (mergePatch.contains("title")) {
+            result.ifPresent(budget ->
+                eventPublisher.publishEvent(new BudgetEvent(BudgetEvent.Type.UPDATED, budget.getId(), budget.getTitle())));
+        }
+        return result;
+    }
+
+    /**
+     * Get all the budgets, with their incomes and outcomes.
+     *
+     * @param pageable the pagination information
+     * @return the list of entities
+     */
+    public Page<Budget> findAll(Pageable pageable) {
+        log.debug("Request to get all Budgets");
+        return budgetRepository.findAllWithEagerRelationships(pageable);
+    }
+
+    /**
+     * Get all the budgets, with only some of their properties.
+     *
+     * @param pageable the pagination information
+     * @param properties the properties to read, the incomes and outcomes being only read when requested
+     * @return the list of entities
+     */
+    public Page<Budget> findAll(Pageable pageable, Set<String> properties) {
+        log.debug("Request to get all Budgets with : {}", properties);
+        return budgetRepository.findAllWithProperties(pageable, properties);
+    }
+
+    /**
+     * Get the budgets following the given id, in id order, with their incomes and outcomes.
+     *
+     * @param after the id to seek after, or null to start from the first budget
+     * @param size the maximum number of entities
+     * @return the slice of entities
+     */
+    public Slice<Budget> findAllAfter(ObjectId after, int size) {
+        log.debug("Request to get Budgets after : {}", after);
+        return budgetRepository.findAllWithEagerRelationshipsAfter(after, size);
+    }
+
+    /**
+     * Get one budget by id, with its incomes and outcomes.
+     *
+     * @param id the id of the entity
+     * @return the entity
+     */
+    public Optional<Budget> findOne(String id) {
+        log.debug("Request to get Budget : {}", id);
+        return budgetRepository.findOneWithEagerRelationships(id);
+    }
+
+    /**
+     * Get the version of a budget, with a single indexed read of that field.
+     *
+     * @param id the id of the entity
+     * @return the version of the entity, changed by every change of the budget or of its line items
+     */
+    public Optional<Long> findVersion(String id) {
+        log.debug("Request to get the version of Budget : {}", id);
+        return budgetRepository.findVersionById(id);
+    }
+
+    /**
+     * Get the monthly totals of a budget, read from one bucket per month.
+     *
+     * @param id the id of the budget
+     * @param from the first month
+     * @param to the last month
+     * @return the totals of the months that have line items, in month order, or an empty optional if the
+     * budget does not exist
+     */
+    public Optional<List<BudgetMonth>> findMonths(String id, YearMonth from, YearMonth to) {
+        log.debug("Request to get the months of Budget : {} from {} to {}", id, from, to);
+        if (!budgetRepository.existsById(id)) {
+            return Optional.empty();
+        }
+        return Optional.of(budgetMonthRepository.findByBudgetIdAndMonthRange(id, from.toString(), to.toString(),
+            Sort.by(Sort.Direction.ASC, "month")));
+    }
+
+    /**
+     * Delete the budget by id.
+     *
+     * @param id the id of the entity
+     */
+    public void delete(String id) {
+        log.debug("Request to delete Budget : {}", id);
+        budgetRepository.deleteById(id);
+        eventPublisher.publishEvent(new BudgetEvent(BudgetEvent.Type.DELETED, id, null));
+    }
+}
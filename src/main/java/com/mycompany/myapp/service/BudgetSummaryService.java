@@ -0,0 +1,106 @@
+package com.mycompany.myapp.service;
+
+import com.mycompany.myapp.config.Constants;
+import com.mycompany.myapp.domain.Money;
+import com.mycompany.myapp.domain.util.MoneyConverters;
+import com.mycompany.myapp.repository.BudgetRepository;
+import com.mycompany.myapp.service.dto.BudgetSummaryDTO;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.stereotype.Service;
+
+import java.util.Optional;
+
+/**
+ * Service computing the totals of a budget's incomes and outcomes.
+ * <p>
+ * The totals are computed by Mongo: each line-item collection is reduced to a single
+ * document by a {@code $match}/{@code $group} pipeline, so the cost of a summary does not
+ * depend on the amount of data sent to the application. Amounts are summed as whole minor
+ * units, so the totals are exact.
+ * <p>
+ * A summary runs two pipelines, one per collection. A single pipeline would have to read the
+ * other collection with {@code $unionWith}, which needs Mongo 4.4 while the application runs on
+ * 4.0, or with a {@code $lookup} sub-pipeline, which needs Mongo 3.6 while the embedded Mongo of
+ * the tests is 3.2. Each pipeline is served by the budget index of its collection, so the second
+ * one only costs a round trip.
+ */
+@Service
+public class BudgetSummaryService {
+
+    private static final String INCOME_COLLECTION = "income";
+
+    private static final String OUTCOME_COLLECTION = "outcome";
+
+    private static final String AMOUNT_UNITS = "amount." + MoneyConverters.UNITS_FIELD;
+
+    private static final String AMOUNT_CURRENCY = "amount." + MoneyConverters.CURRENCY_FIELD;
+
+    private final Logger log = LoggerFactory.getLogger(BudgetSummaryService.class);
+
+    private final BudgetRepository budgetRepository;
+
+    private final MongoTemplate mongoTemplate;
+
+    public BudgetSummaryService(BudgetRepository budgetRepository, MongoTemplate mongoTemplate) {
+        this.budgetRepository = budgetRepository;
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    /**
+     * Get the summary of the "id" budget.
+     *
+     * @param id the id of the budget
+     * @return the summary, or an empty optional if the budget does not exist
+     */
+    public Optional<BudgetSummaryDTO> findOne(String id) {
+        log.debug("Request to get the summary of Budget : {}", id);
+        if (!budgetRepository.existsById(id)) {
+            return Optional.empty();
+        }
+        String currency = Constants.DEFAULT_CURRENCY;
+        BudgetSummaryDTO summary = new BudgetSummaryDTO(currency);
+        summary.setBudgetId(id);
+        Document incomes = aggregateLineItems(INCOME_COLLECTION, id, currency);
+        if (incomes != null) {
+            summary.setIncomeCount(((Number) incomes.get("count")).longValue());
+            summary.setTotalIncome(toMoney(incomes.get("total"), currency));
+            summary.setMinIncome(toMoney(incomes.get("min"), currency));
+            summary.setMaxIncome(toMoney(incomes.get("max"), currency));
+        }
+        Document outcomes = aggregateLineItems(OUTCOME_COLLECTION, id, currency);
+        if (outcomes != null) {
+            summary.setOutcomeCount(((Number) outcomes.get("count")).longValue());
+            summary.setTotalOutcome(toMoney(outcomes.get("total"), currency));
+            summary.setMinOutcome(toMoney(outcomes.get("min"), currency));
+            summary.setMaxOutcome(toMoney(outcomes.get("max"), currency));
+        }
+        return Optional.of(summary);
+    }
+
+    /**
+     * Reduce the line items of a budget to their count and the sum, minimum and maximum of their
+     * amounts, in minor units. Amounts are embedded documents rather than mapped properties, so the
+     * pipeline works on the stored field names.
+     */
+    private Document aggregateLineItems(String collectionName, String budgetId, String currency) {
+        Aggregation aggregation = Aggregation.newAggregation(
+            Aggregation.match(Criteria.where("budget._id").is(ObjectId.isValid(budgetId) ? new ObjectId(budgetId) : budgetId)
+                .and(AMOUNT_CURRENCY).is(currency)),
+            Aggregation.group()
+                .count().as("count")
+                .sum(AMOUNT_UNITS).as("total")
+                .min(AMOUNT_UNITS).as("min")
+                .max(AMOUNT_UNITS).as("max"));
+        return mongoTemplate.aggregate(aggregation, collectionName, Document.class).getUniqueMappedResult();
+    }
+
+    private static Money toMoney(Object minorUnits, String currency) {
+        return minorUnits == null ? null : Money.ofMinor(((Number) minorUnits).longValue(), currency);
+    }
+}
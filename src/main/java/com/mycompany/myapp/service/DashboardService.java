@@ -0,0 +1,97 @@
+package com.mycompany.myapp.service;
+
+import com.mycompany.myapp.config.ApplicationProperties;
+import com.mycompany.myapp.domain.Budget;
+import com.mycompany.myapp.domain.Income;
+import com.mycompany.myapp.domain.Outcome;
+import com.mycompany.myapp.repository.BudgetRepository;
+import com.mycompany.myapp.repository.IncomeRepository;
+import com.mycompany.myapp.repository.OutcomeRepository;
+import com.mycompany.myapp.service.dto.DashboardDTO;
+import com.mycompany.myapp.service.dto.UserDTO;
+import com.mycompany.myapp.service.util.AsyncUtil;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Service assembling the dashboard of the current user in one request.
+ * <p>
+ * The budgets, the recent incomes and the recent outcomes do not depend on each other, so they are read
+ * in parallel on the bounded "dashboardExecutor" pool, while the current user is read on the request
+ * thread, which holds the security context. A dashboard then takes about as long as its slowest query.
+ */
+@Service
+public class DashboardService {
+
+    private static final Sort RECENT_FIRST = Sort.by(Sort.Direction.DESC, "date", "id");
+
+    private final Logger log = LoggerFactory.getLogger(DashboardService.class);
+
+    private final UserService userService;
+
+    private final BudgetRepository budgetRepository;
+
+    private final IncomeRepository incomeRepository;
+
+    private final OutcomeRepository outcomeRepository;
+
+    private final Executor dashboardExecutor;
+
+    private final int budgets;
+
+    private final int recentItems;
+
+    public DashboardService(UserService userService, BudgetRepository budgetRepository, IncomeRepository incomeRepository,
+                            OutcomeRepository outcomeRepository, ApplicationProperties applicationProperties,
+                            @Qualifier("dashboardExecutor") Executor dashboardExecutor) {
+        this.userService = userService;
+        this.budgetRepository = budgetRepository;
+        this.incomeRepository = incomeRepository;
+        this.outcomeRepository = outcomeRepository;
+        this.dashboardExecutor = dashboardExecutor;
+        this.budgets = applicationProperties.getDashboard().getBudgets();
+        this.recentItems = applicationProperties.getDashboard().getRecentItems();
+    }
+
+    /**
+     * Get the dashboard of the current user.
+     *
+     * @return the dashboard, or an empty optional if the current user could not be found
+     */
+    public Optional<DashboardDTO> getDashboard() {
+        log.debug("Request to get the dashboard");
+        CompletableFuture<Page<Budget>> budgetPage = AsyncUtil.supplyAsync(() ->
+            budgetRepository.findAll(PageRequest.of(0, budgets, Sort.by(Sort.Direction.ASC, "id"))), dashboardExecutor);
+        CompletableFuture<List<Income>> incomes = AsyncUtil.supplyAsync(() ->
+            incomeRepository.findAllBy(PageRequest.of(0, recentItems, RECENT_FIRST)).getContent(), dashboardExecutor);
+        CompletableFuture<List<Outcome>> outcomes = AsyncUtil.supplyAsync(() ->
+            outcomeRepository.findAllBy(PageRequest.of(0, recentItems, RECENT_FIRST)).getContent(), dashboardExecutor);
+
+        Optional<UserDTO> account = userService.getUserWithAuthorities().map(UserDTO::new);
+        if (!account.isPresent()) {
+            budgetPage.cancel(false);
+            incomes.cancel(false);
+            outcomes.cancel(false);
+            return Optional.empty();
+        }
+        DashboardDTO dashboard = new DashboardDTO();
+        dashboard.setAccount(account.get());
+        Page<Budget> page = AsyncUtil.join(budgetPage);
+        dashboard.setBudgets(page.getContent());
+        dashboard.setBudgetCount(page.getTotalElements());
+        dashboard.setRecentIncomes(AsyncUtil.join(incomes));
+        dashboard.setRecentOutcomes(AsyncUtil.join(outcomes));
+        return Optional.of(dashboard);
+    }
+}
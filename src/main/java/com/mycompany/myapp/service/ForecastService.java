@@ -0,0 +1,97 @@
+package com.mycompany.myapp.service;
+
+import com.mycompany.myapp.config.Constants;
+import com.mycompany.myapp.domain.Budget;
+import com.mycompany.myapp.domain.Money;
+import com.mycompany.myapp.domain.RecurringRule;
+import com.mycompany.myapp.domain.enumeration.LineItemType;
+import com.mycompany.myapp.repository.BudgetRepository;
+import com.mycompany.myapp.repository.RecurringRuleRepository;
+import com.mycompany.myapp.service.dto.BudgetForecastDTO;
+import com.mycompany.myapp.service.dto.ForecastMonthDTO;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Service projecting the balance of a budget forward, from its running totals and its recurring rules.
+ */
+@Service
+public class ForecastService {
+
+    private final Logger log = LoggerFactory.getLogger(ForecastService.class);
+
+    private final BudgetRepository budgetRepository;
+
+    private final RecurringRuleRepository recurringRuleRepository;
+
+    private final RecurringRuleExpander recurringRuleExpander;
+
+    public ForecastService(BudgetRepository budgetRepository, RecurringRuleRepository recurringRuleRepository,
+                           RecurringRuleExpander recurringRuleExpander) {
+        this.budgetRepository = budgetRepository;
+        this.recurringRuleRepository = recurringRuleRepository;
+        this.recurringRuleExpander = recurringRuleExpander;
+    }
+
+    /**
+     * Get the forecast of a budget, from tomorrow to the end of a number of months.
+     *
+     * @param id the id of the budget
+     * @param months the number of months, including the current one
+     * @return the forecast, or empty if the budget does not exist
+     */
+    public Optional<BudgetForecastDTO> forecast(String id, int months) {
+        log.debug("Request to get the forecast of Budget : {} over {} months", id, months);
+        return budgetRepository.findById(id)
+            .map(budget -> forecast(budget, recurringRuleRepository.findAllByBudgetId(id), LocalDate.now().plusDays(1), months));
+    }
+
+    /**
+     * Project the balance of a budget with a set of rules.
+     *
+     * @param budget the budget, with its running totals
+     * @param rules the recurring rules of the budget
+     * @param from the first day of the forecast
+     * @param months the number of months, including the month of "from"
+     * @return the forecast
+     */
+    BudgetForecastDTO forecast(Budget budget, List<RecurringRule> rules, LocalDate from, int months) {
+        YearMonth first = YearMonth.from(from);
+        YearMonth last = first.plusMonths(months - 1);
+        long[] income = new long[months];
+        long[] outcome = new long[months];
+        for (RecurringRule rule : rules) {
+            if (!Constants.DEFAULT_CURRENCY.equals(rule.getAmount().getCurrency())) {
+                // Like the running totals, the forecast is in the default currency only
+                continue;
+            }
+            long[] totals = recurringRuleExpander.expand(rule, from, last);
+            long[] target = rule.getType() == LineItemType.INCOME ? income : outcome;
+            for (int i = 0; i < months; i++) {
+                target[i] += totals[i];
+            }
+        }
+
+        BudgetForecastDTO forecast = new BudgetForecastDTO();
+        forecast.setBudgetId(budget.getId());
+        forecast.setFrom(from.toString());
+        Money balance = budget.getTotalIncome().minus(budget.getTotalOutcome());
+        forecast.setStartingBalance(balance);
+        for (int i = 0; i < months; i++) {
+            ForecastMonthDTO month = new ForecastMonthDTO(first.plusMonths(i).toString());
+            month.setTotalIncome(Money.ofMinor(income[i], Constants.DEFAULT_CURRENCY));
+            month.setTotalOutcome(Money.ofMinor(outcome[i], Constants.DEFAULT_CURRENCY));
+            balance = balance.plus(month.getTotalIncome()).minus(month.getTotalOutcome());
+            month.setBalance(balance);
+            forecast.getMonths().add(month);
+        }
+        return forecast;
+    }
+}
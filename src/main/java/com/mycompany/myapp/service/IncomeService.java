@@ -0,0 +1,308 @@
+package com.mycompany.myapp.service;
+
+import com.mycompany.myapp.domain.BudgetReference;
+import com.mycompany.myapp.domain.Income;
+import com.mycompany.myapp.repository.BudgetRepository;
+import com.mycompany.myapp.repository.IncomeRepository;
+import com.mycompany.myapp.service.dto.BulkResultDTO;
+import com.mycompany.myapp.service.event.LineItemEvent;
+import com.mycompany.myapp.web.rest.errors.BadRequestAlertException;
+import com.mycompany.myapp.web.rest.errors.PreconditionFailedException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.repository.support.PageableExecutionUtils;
+import org.springframework.stereotype.Service;
+
+import javax.validation.Validator;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Service Implementation for managing Income.
+ */
+@Service
+public class IncomeService {
+
+    private final Logger log = LoggerFactory.getLogger(IncomeService.class);
+
+    private static final String ENTITY_NAME = "income";
+
+    private static final int MAX_SAVE_ATTEMPTS = 3;
+
+    private static final List<String> PATCHABLE_PROPERTIES = Arrays.asList("amount", "date", "budget");
+
+    private final IncomeRepository incomeRepository;
+
+    private final BudgetRepository budgetRepository;
+
+    private final MongoTemplate mongoTemplate;
+
+    private final Validator validator;
+
+    private final ObjectMapper objectMapper;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final LineItemBulkWriter<Income> bulkWriter;
+
+    public IncomeService(IncomeRepository incomeRepository, BudgetRepository budgetRepository,
+                         MongoTemplate mongoTemplate, Validator validator, ObjectMapper objectMapper,
+                         ApplicationEventPublisher eventPublisher) {
+        this.incomeRepository = incomeRepository;
+        this.budgetRepository = budgetRepository;
+        this.mongoTemplate = mongoTemplate;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.eventPublisher = eventPublisher;
+        this.bulkWriter = new LineItemBulkWriter<>(Income.class, ENTITY_NAME, mongoTemplate, budgetRepository, validator,
+            eventPublisher);
+    }
+
+    /**
+     * Save an income.
+     * <p>
+     * The budget reference sent by the client only needs an id: the title is read from the budget.
+     * A {@link LineItemEvent} is published, for the read models of the previous and the new budget, whose
+     * versions are incremented.
+     *
+     * @param income the entity to save
+     * @return the persisted entity
+     */
+    public Income save(Income income) {
+        return save(income, null);
+    }
+
+    /**
+     * Save an income, if it still has the version the client read.
+     * <p>
+     * The update is checked against the version of the income read before it, so that the event holds the
+     * values that were overwritten. Without an expected version, the update is tried again when the income
+     * changed in between.
+     *
+     * @param income the entity to save
+     * @param expectedVersion the version the income must have, or null to update any version
+     * @return the persisted entity
+     * @throws PreconditionFailedException if the income does not exist or has another version
+     */
+    public Income save(Income income, Long expectedVersion) {
+        log.debug("Request to save Income : {}", income);
+        income.setBudget(resolveBudget(income.getBudget()));
+        for (int attempt = 1; ; attempt++) {
+            Optional<Income> previous = income.getId() == null ? Optional.empty() : incomeRepository.findById(income.getId());
+            Long version = previous.map(Income::getVersion).orElse(null);
+            if (expectedVersion != null && !expectedVersion.equals(version)) {
+                throw new PreconditionFailedException("The income was changed or deleted since it was read", ENTITY_NAME);
+            }
+            // A null version creates the income, any other one is checked and incremented by the repository
+            income.setVersion(version);
+            Income result;
+            try {
+                result = incomeRepository.save(income);
+            } catch (OptimisticLockingFailureException e) {
+                if (expectedVersion != null) {
+                    throw new PreconditionFailedException("The income was changed since it was read", ENTITY_NAME);
+                }
+                if (attempt == MAX_SAVE_ATTEMPTS) {
+                    throw e;
+                }
+                log.debug("Income {} changed while it was saved, trying again", income.getId());
+                continue;
+            }
+            publish(LineItemEvent.of(previous.orElse(null), result));
+            return result;
+        }
+    }
+
+    /**
+     * Partially update an income with a JSON merge patch, writing only the patched fields.
+     * <p>
+     * Only the patched properties are validated. The update is checked against the version of the income
+     * read before it, like {@link #save(Income, Long)}, so that the published event holds the values that were
+     * overwritten.
+     *
+     * @param id the id of the entity
+     * @param patch the JSON merge patch of its amount, date and budget
+     * @param expectedVersion the version the income must have, or null to update any version
+     * @return the patched entity, or an empty optional if it does not exist
+     * @throws PreconditionFailedException if the income does not exist or has another version
+     */
+    public Optional<Income> patch(String id, ObjectNode patch, Long expectedVersion) {
+        log.debug("Request to patch Income : {}, {}", id, patch);
+        MergePatch mergePatch = MergePatch.read(patch, Income.class, PATCHABLE_PROPERTIES, ENTITY_NAME, objectMapper, validator);
+        if (mergePatch.contains("budget")) {
+            mergePatch.set("budget", resolveBudget((BudgetReference) mergePatch.get("budget")));
+        }
+        Update update = mergePatch.toUpdate();
+        for (int attempt = 1; ; attempt++) {
+            Optional<Income> previous = incomeRepository.findById(id);
+            Long version = previous.map(Income::getVersion).orElse(null);
+            if (expectedVersion != null && !expectedVersion.equals(version)) {
+                throw new PreconditionFailedException("The income was changed or deleted since it was read", ENTITY_NAME);
+            }
+            if (!previous.isPresent()) {
+                return Optional.empty();
+            }
+            Query query = Query.query(Criteria.where("id").is(id).and("version").is(version));
+            Income result = mongoTemplate.findAndModify(query, update, FindAndModifyOptions.options().returnNew(true), Income.class);
+            if (result == null) {
+                if (expectedVersion != null) {
+                    throw new PreconditionFailedException("The income was changed since it was read", ENTITY_NAME);
+                }
+                if (attempt == MAX_SAVE_ATTEMPTS) {
+                    throw new OptimisticLockingFailureException("The income " + id + " kept changing while it was patched");
+                }
+                log.debug("Income {} changed while it was patched, trying again", id);
+                continue;
+            }
+            publish(LineItemEvent.of(previous.get(), result));
+            return Optional.of(result);
+        }
+    }
+
+    /**
+     * Create several incomes, with a single bulk write.
+     *
+     * @param incomes the entities to create
+     * @return the result of each entity, in the order of the request
+     */
+    public BulkResultDTO createAll(List<Income> incomes) {
+        log.debug("Request to create {} Incomes", incomes.size());
+        return bulkWriter.create(incomes);
+    }
+
+    /**
+     * Update several incomes, with a single bulk write.
+     *
+     * @param incomes the entities to update
+     * @return the result of each entity, in the order of the request
+     */
+    public BulkResultDTO updateAll(List<Income> incomes) {
+        log.debug("Request to update {} Incomes", incomes.size());
+        return bulkWriter.update(incomes);
+    }
+
+    /**
+     * Delete several incomes by id, with a single bulk write.
+     *
+     * @param ids the ids of the entities
+     * @return the result of each id, in the order of the request
+     */
+    public BulkResultDTO deleteAll(List<String> ids) {
+        log.debug("Request to delete {} Incomes", ids.size());
+        return bulkWriter.delete(ids);
+    }
+
+    /**
+     * Get all the incomes.
+     *
+     * @param pageable the pagination information
+     * @return the list of entities
+     */
+    public Page<Income> findAll(Pageable pageable) {
+        log.debug("Request to get all Incomes");
+        return incomeRepository.findAll(pageable);
+    }
+
+    /**
+     * Get all the incomes, reading only some of their fields.
+     *
+     * @param pageable the pagination information
+     * @param properties the properties to read
+     * @return the list of entities, whose other properties are null
+     */
+    public Page<Income> findAll(Pageable pageable, Set<String> properties) {
+        log.debug("Request to get all Incomes with : {}", properties);
+        Query query = new Query().with(pageable);
+        properties.forEach(query.fields()::include);
+        List<Income> incomes = mongoTemplate.find(query, Income.class);
+        return PageableExecutionUtils.getPage(incomes, pageable, () -> mongoTemplate.count(new Query(), Income.class));
+    }
+
+    /**
+     * Get the incomes of a budget.
+     *
+     * @param budgetId the id of the budget
+     * @param pageable the pagination information
+     * @return the list of entities
+     */
+    public Page<Income> findAllByBudget(String budgetId, Pageable pageable) {
+        log.debug("Request to get the Incomes of Budget : {}", budgetId);
+        return incomeRepository.findByBudgetId(budgetId, pageable);
+    }
+
+    /**
+     * Get the incomes following the given id, in id order.
+     *
+     * @param budgetId the id of the budget of the incomes, or null for the incomes of all the budgets
+     * @param after the id to seek after, or null to start from the first income
+     * @param size the maximum number of entities
+     * @return the slice of entities
+     */
+    public Slice<Income> findAllAfter(String budgetId, ObjectId after, int size) {
+        log.debug("Request to get Incomes of Budget : {} after : {}", budgetId, after);
+        Pageable byId = PageRequest.of(0, size, Sort.by(Sort.Direction.ASC, "id"));
+        if (budgetId != null) {
+            return after == null ? incomeRepository.findAllByBudgetId(budgetId, byId)
+                : incomeRepository.findAllByBudgetIdAndIdGreaterThan(budgetId, after, byId);
+        }
+        if (after == null) {
+            return incomeRepository.findAllBy(byId);
+        }
+        return incomeRepository.findAllByIdGreaterThan(after, byId);
+    }
+
+    /**
+     * Get one income by id.
+     *
+     * @param id the id of the entity
+     * @return the entity
+     */
+    public Optional<Income> findOne(String id) {
+        log.debug("Request to get Income : {}", id);
+        return incomeRepository.findById(id);
+    }
+
+    /**
+     * Delete the income by id.
+     *
+     * @param id the id of the entity
+     */
+    public void delete(String id) {
+        log.debug("Request to delete Income : {}", id);
+        // A single findAndRemove, so that only the request that removed the income publishes its deletion
+        Income previous = mongoTemplate.findAndRemove(Query.query(Criteria.where("id").is(id)), Income.class);
+        if (previous != null) {
+            publish(LineItemEvent.of(previous, null));
+        }
+    }
+
+    private void publish(LineItemEvent event) {
+        budgetRepository.incrementVersions(event.getBudgetIds());
+        eventPublisher.publishEvent(event);
+    }
+
+    private BudgetReference resolveBudget(BudgetReference budget) {
+        if (budget == null || budget.getId() == null) {
+            return null;
+        }
+        return budgetRepository.findReferenceById(budget.getId())
+            .orElseThrow(() -> new BadRequestAlertException("Invalid budget", ENTITY_NAME, "budgetnotfound"));
+    }
+}
@@ -0,0 +1,278 @@
+package com.mycompany.myapp.service;
+
+import com.mycompany.myapp.config.Constants;
+import com.mycompany.myapp.domain.Money;
+import com.mycompany.myapp.domain.RecurringRule;
+import com.mycompany.myapp.domain.enumeration.LineItemType;
+import com.mycompany.myapp.service.dto.BudgetSummaryDTO;
+import com.mycompany.myapp.service.dto.ScenarioChangeDTO;
+import com.mycompany.myapp.web.rest.errors.BadRequestAlertException;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.LongUnaryOperator;
+
+/**
+ * A copy-on-write view of a {@link LedgerSnapshot} with the changes of a what-if scenario.
+ * <p>
+ * An overlay only holds what its scenario changed: the replaced or removed line items and rules by id,
+ * the added line items, and a factor per type for the changes that scale all the line items of a type.
+ * Applying a change returns a new overlay that copies these changes, never the snapshot, so that
+ * evaluating many scenarios against a large ledger costs one copy of the ledger in total.
+ * <p>
+ * Overlays are immutable, so they can be evaluated on any thread.
+ */
+final class LedgerOverlay {
+
+    private static final String ENTITY_NAME = "scenario";
+
+    private static final String CURRENCY = Constants.DEFAULT_CURRENCY;
+
+    private static final BigDecimal HUNDRED = BigDecimal.valueOf(100);
+
+    private static final BigDecimal MIN_PERCENT = HUNDRED.negate();
+
+    private final LedgerSnapshot base;
+
+    /**
+     * The replaced line items by id, with a null value for the removed ones.
+     */
+    private final Map<String, LedgerSnapshot.Entry> entries;
+
+    /**
+     * The replaced rules by id, with a null value for the removed ones. Replacements have no id, so that
+     * they are never mistaken for the stored rules in the cache of the expansions.
+     */
+    private final Map<String, RecurringRule> rules;
+
+    private final List<LedgerSnapshot.Entry> added;
+
+    private final BigDecimal incomeFactor;
+
+    private final BigDecimal outcomeFactor;
+
+    private LedgerOverlay(LedgerSnapshot base, Map<String, LedgerSnapshot.Entry> entries, Map<String, RecurringRule> rules,
+                          List<LedgerSnapshot.Entry> added, BigDecimal incomeFactor, BigDecimal outcomeFactor) {
+        this.base = base;
+        this.entries = entries;
+        this.rules = rules;
+        this.added = added;
+        this.incomeFactor = incomeFactor;
+        this.outcomeFactor = outcomeFactor;
+    }
+
+    /**
+     * @return an overlay without any change
+     */
+    static LedgerOverlay of(LedgerSnapshot base) {
+        return new LedgerOverlay(base, Collections.emptyMap(), Collections.emptyMap(), Collections.emptyList(),
+            BigDecimal.ONE, BigDecimal.ONE);
+    }
+
+    LedgerSnapshot getBase() {
+        return base;
+    }
+
+    /**
+     * Apply a change on top of this overlay.
+     *
+     * @param change the change
+     * @return a new overlay, this one is left unchanged
+     * @throws BadRequestAlertException if the change is not valid for the budget
+     */
+    LedgerOverlay apply(ScenarioChangeDTO change) {
+        if (change.getOperation() == null) {
+            throw invalid("A change must have an operation");
+        }
+        switch (change.getOperation()) {
+            case ADD:
+                if (change.getType() == null || change.getAmount() == null) {
+                    throw invalid("An added line item must have a type and an amount");
+                }
+                if (!CURRENCY.equals(change.getAmount().getCurrency())) {
+                    throw invalid("An added line item must be in " + CURRENCY);
+                }
+                List<LedgerSnapshot.Entry> newAdded = new ArrayList<>(added);
+                newAdded.add(new LedgerSnapshot.Entry(null, change.getType(), change.getAmount().getMinorUnits()));
+                return new LedgerOverlay(base, entries, rules, newAdded, incomeFactor, outcomeFactor);
+            case REMOVE:
+                return replace(change.getId(), null, null);
+            case SET_AMOUNT:
+                if (change.getAmount() == null || !CURRENCY.equals(change.getAmount().getCurrency())) {
+                    throw invalid("A new amount must be in " + CURRENCY);
+                }
+                return withUnits(change.getId(), units -> change.getAmount().getMinorUnits());
+            default:
+                if (change.getPercent() == null) {
+                    throw invalid("A scaling must have a percent");
+                }
+                if (change.getPercent().compareTo(MIN_PERCENT) < 0) {
+                    throw invalid("A scaling cannot lower an amount by more than 100 percent");
+                }
+                BigDecimal factor = BigDecimal.ONE.add(change.getPercent().divide(HUNDRED));
+                if (change.getId() != null) {
+                    return withUnits(change.getId(), units -> scale(units, factor));
+                }
+                if (change.getType() == null) {
+                    throw invalid("A scaling must have an id or a type");
+                }
+                return change.getType() == LineItemType.INCOME
+                    ? new LedgerOverlay(base, entries, rules, added, incomeFactor.multiply(factor), outcomeFactor)
+                    : new LedgerOverlay(base, entries, rules, added, incomeFactor, outcomeFactor.multiply(factor));
+        }
+    }
+
+    /**
+     * Summarize the line items as seen through this overlay.
+     */
+    BudgetSummaryDTO summarize() {
+        Totals income = new Totals();
+        Totals outcome = new Totals();
+        for (LedgerSnapshot.Entry entry : base.getEntries()) {
+            LedgerSnapshot.Entry effective = currentEntry(entry.getId());
+            if (effective != null) {
+                add(effective, income, outcome);
+            }
+        }
+        for (LedgerSnapshot.Entry entry : added) {
+            add(entry, income, outcome);
+        }
+        BudgetSummaryDTO summary = new BudgetSummaryDTO(CURRENCY);
+        summary.setBudgetId(base.getBudget().getId());
+        summary.setIncomeCount(income.count);
+        summary.setTotalIncome(Money.ofMinor(income.total, CURRENCY));
+        summary.setMinIncome(income.min());
+        summary.setMaxIncome(income.max());
+        summary.setOutcomeCount(outcome.count);
+        summary.setTotalOutcome(Money.ofMinor(outcome.total, CURRENCY));
+        summary.setMinOutcome(outcome.min());
+        summary.setMaxOutcome(outcome.max());
+        return summary;
+    }
+
+    /**
+     * @return the recurring rules as seen through this overlay
+     */
+    List<RecurringRule> rules() {
+        List<RecurringRule> result = new ArrayList<>();
+        for (RecurringRule rule : base.getRules()) {
+            RecurringRule effective = currentRule(rule.getId());
+            if (effective == null) {
+                continue;
+            }
+            BigDecimal factor = factor(effective.getType());
+            result.add(factor.compareTo(BigDecimal.ONE) == 0
+                ? effective : copy(effective, scale(effective.getAmount().getMinorUnits(), factor)));
+        }
+        return result;
+    }
+
+    private void add(LedgerSnapshot.Entry entry, Totals income, Totals outcome) {
+        long units = scale(entry.getUnits(), factor(entry.getType()));
+        (entry.getType() == LineItemType.INCOME ? income : outcome).add(units);
+    }
+
+    private BigDecimal factor(LineItemType type) {
+        return type == LineItemType.INCOME ? incomeFactor : outcomeFactor;
+    }
+
+    private LedgerOverlay withUnits(String id, LongUnaryOperator amount) {
+        LedgerSnapshot.Entry entry = currentEntry(id);
+        if (entry != null) {
+            return replace(id, entry.withUnits(amount.applyAsLong(entry.getUnits())), null);
+        }
+        RecurringRule rule = currentRule(id);
+        if (rule != null) {
+            return replace(id, null, copy(rule, amount.applyAsLong(rule.getAmount().getMinorUnits())));
+        }
+        throw unknown(id);
+    }
+
+    /**
+     * Replace or remove a line item or a rule: a null replacement removes it.
+     */
+    private LedgerOverlay replace(String id, LedgerSnapshot.Entry entry, RecurringRule rule) {
+        if (currentEntry(id) != null) {
+            Map<String, LedgerSnapshot.Entry> newEntries = new HashMap<>(entries);
+            newEntries.put(id, entry);
+            return new LedgerOverlay(base, newEntries, rules, added, incomeFactor, outcomeFactor);
+        }
+        if (currentRule(id) != null) {
+            Map<String, RecurringRule> newRules = new HashMap<>(rules);
+            newRules.put(id, rule);
+            return new LedgerOverlay(base, entries, newRules, added, incomeFactor, outcomeFactor);
+        }
+        throw unknown(id);
+    }
+
+    /**
+     * @return the line item as seen through this overlay, or null if it was removed or does not exist
+     */
+    private LedgerSnapshot.Entry currentEntry(String id) {
+        return entries.containsKey(id) ? entries.get(id) : base.getEntry(id);
+    }
+
+    /**
+     * @return the rule as seen through this overlay, or null if it was removed or does not exist
+     */
+    private RecurringRule currentRule(String id) {
+        return rules.containsKey(id) ? rules.get(id) : base.getRule(id);
+    }
+
+    private static RecurringRule copy(RecurringRule rule, long units) {
+        return new RecurringRule()
+            .title(rule.getTitle())
+            .type(rule.getType())
+            .amount(Money.ofMinor(units, CURRENCY))
+            .frequency(rule.getFrequency())
+            .interval(rule.getInterval())
+            .startDate(rule.getStartDate())
+            .endDate(rule.getEndDate());
+    }
+
+    private static long scale(long units, BigDecimal factor) {
+        if (factor.compareTo(BigDecimal.ONE) == 0) {
+            return units;
+        }
+        return BigDecimal.valueOf(units).multiply(factor).setScale(0, RoundingMode.HALF_EVEN).longValueExact();
+    }
+
+    private static BadRequestAlertException unknown(String id) {
+        return invalid("No line item nor rule of the budget has the id " + id);
+    }
+
+    private static BadRequestAlertException invalid(String message) {
+        return new BadRequestAlertException(message, ENTITY_NAME, "scenariochangeinvalid");
+    }
+
+    private static final class Totals {
+
+        private long count;
+
+        private long total;
+
+        private long min = Long.MAX_VALUE;
+
+        private long max = Long.MIN_VALUE;
+
+        void add(long units) {
+            count++;
+            total += units;
+            min = Math.min(min, units);
+            max = Math.max(max, units);
+        }
+
+        Money min() {
+            return count == 0 ? null : Money.ofMinor(min, CURRENCY);
+        }
+
+        Money max() {
+            return count == 0 ? null : Money.ofMinor(max, CURRENCY);
+        }
+    }
+}
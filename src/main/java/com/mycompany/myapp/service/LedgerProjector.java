@@ -0,0 +1,226 @@
+package com.mycompany.myapp.service;
+
+import com.mycompany.myapp.config.ApplicationProperties;
+import com.mycompany.myapp.domain.Budget;
+import com.mycompany.myapp.domain.BudgetReference;
+import com.mycompany.myapp.repository.BudgetMonthRepository;
+import com.mycompany.myapp.repository.BudgetRepository;
+import com.mycompany.myapp.service.event.BudgetEvent;
+import com.mycompany.myapp.service.event.LineItemEvent;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Service maintaining the read models of the budgets from the domain events: the running totals of the
+ * budgets, their monthly buckets, and the budget titles denormalized into the line items.
+ * <p>
+ * The events are queued as they are published, and projected in batches on the "projectionExecutor"
+ * thread, so that the write requests do not wait for the read models. The changes of a batch are
+ * coalesced: a budget gets one update of its totals per batch, whatever the number of its line items
+ * that changed. When the queue is full, the writers project the pending events themselves, so no event
+ * is dropped.
+ * <p>
+ * The events only live in memory: a batch that could not be projected is not retried, as part of it may
+ * have been applied, but it marks the projections as stale, and the nightly repair then replays them.
+ */
+@Service
+public class LedgerProjector {
+
+    private final Logger log = LoggerFactory.getLogger(LedgerProjector.class);
+
+    private final BudgetRepository budgetRepository;
+
+    private final BudgetMonthRepository budgetMonthRepository;
+
+    private final Executor projectionExecutor;
+
+    private final BlockingQueue<Object> events;
+
+    private final int batchSize;
+
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+
+    private final AtomicBoolean stale = new AtomicBoolean();
+
+    private final Lock projectionLock = new ReentrantLock();
+
+    public LedgerProjector(BudgetRepository budgetRepository, BudgetMonthRepository budgetMonthRepository,
+                           ApplicationProperties applicationProperties,
+                           @Qualifier("projectionExecutor") Executor projectionExecutor) {
+        this.budgetRepository = budgetRepository;
+        this.budgetMonthRepository = budgetMonthRepository;
+        this.projectionExecutor = projectionExecutor;
+        this.events = new LinkedBlockingQueue<>(applicationProperties.getProjection().getQueueCapacity());
+        this.batchSize = applicationProperties.getProjection().getBatchSize();
+    }
+
+    @EventListener
+    public void onLineItemEvent(LineItemEvent event) {
+        enqueue(event);
+    }
+
+    @EventListener
+    public void onBudgetEvent(BudgetEvent event) {
+        enqueue(event);
+    }
+
+    /**
+     * Project the events published so far, on the calling thread.
+     * <p>
+     * This returns once every event published before the call has been projected.
+     */
+    public void projectPending() {
+        projectionLock.lock();
+        try {
+            List<Object> batch = new ArrayList<>(batchSize);
+            while (events.drainTo(batch, batchSize) > 0) {
+                project(batch);
+                batch.clear();
+            }
+        } finally {
+            projectionLock.unlock();
+        }
+    }
+
+    /**
+     * Rebuild all the read models from the budgets and their line items.
+     * <p>
+     * The pending events are discarded, as the line items already hold their changes. This is meant to be
+     * run while no line item is being written.
+     */
+    public void replay() {
+        log.info("Replaying the projections of all budgets");
+        projectionLock.lock();
+        try {
+            events.clear();
+            stale.set(false);
+            long budgets = 0;
+            for (Budget budget : budgetRepository.findAll()) {
+                budgetRepository.updateReferences(new BudgetReference(budget));
+                budgets++;
+            }
+            long repaired = budgetRepository.repairTotals();
+            long months = budgetMonthRepository.rebuild();
+            log.info("Replayed the projections of {} budgets: {} totals repaired, {} monthly buckets", budgets, repaired, months);
+        } finally {
+            projectionLock.unlock();
+        }
+    }
+
+    /**
+     * Repair the read models, to fix any drift from the line items.
+     * <p>
+     * This is scheduled to get fired everyday, at 02:00 (am). The pending events are projected first, under
+     * the projection lock, so that the repaired totals are not incremented again by events they already
+     * count. The running totals are recomputed, and every projection is replayed if a batch of events could
+     * not be projected since the last repair.
+     */
+    @Scheduled(cron = "0 0 2 * * ?")
+    public void repair() {
+        projectionLock.lock();
+        try {
+            projectPending();
+            if (stale.get()) {
+                log.warn("Some events could not be projected, replaying the projections");
+                replay();
+                return;
+            }
+            long repaired = budgetRepository.repairTotals();
+            if (repaired > 0) {
+                log.warn("Repaired the running totals of {} budgets", repaired);
+            } else {
+                log.debug("The running totals of all budgets are up to date");
+            }
+        } finally {
+            projectionLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void destroy() {
+        projectPending();
+    }
+
+    private void enqueue(Object event) {
+        while (!events.offer(event)) {
+            // The projection is behind: project on the writer thread rather than dropping the event
+            projectPending();
+        }
+        schedule();
+    }
+
+    private void schedule() {
+        if (!scheduled.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            projectionExecutor.execute(this::run);
+        } catch (TaskRejectedException e) {
+            scheduled.set(false);
+            log.warn("Projection rejected, the events will be projected by the next write: {}", e.getMessage());
+        }
+    }
+
+    private void run() {
+        try {
+            projectPending();
+        } finally {
+            scheduled.set(false);
+            // An event queued after the last drain, but before the flag was cleared, has no projection scheduled
+            if (!events.isEmpty()) {
+                schedule();
+            }
+        }
+    }
+
+    private void project(List<Object> batch) {
+        LineItemTotals totals = new LineItemTotals(budgetRepository, budgetMonthRepository);
+        Map<String, BudgetEvent> budgets = new LinkedHashMap<>();
+        for (Object event : batch) {
+            if (event instanceof LineItemEvent) {
+                totals.add((LineItemEvent) event);
+            } else {
+                // Only the last change of a budget matters
+                BudgetEvent budgetEvent = (BudgetEvent) event;
+                budgets.remove(budgetEvent.getId());
+                budgets.put(budgetEvent.getId(), budgetEvent);
+            }
+        }
+        try {
+            totals.apply();
+            for (BudgetEvent event : budgets.values()) {
+                if (event.getType() == BudgetEvent.Type.UPDATED) {
+                    BudgetReference reference = new BudgetReference();
+                    reference.setId(event.getId());
+                    reference.setTitle(event.getTitle());
+                    budgetRepository.updateReferences(reference);
+                } else if (event.getType() == BudgetEvent.Type.DELETED) {
+                    budgetMonthRepository.deleteByBudgetId(event.getId());
+                }
+            }
+            log.debug("Projected {} events", batch.size());
+        } catch (RuntimeException e) {
+            // Part of the batch may have been applied, so it is not retried: the nightly repair replays the projections
+            stale.set(true);
+            log.error("Could not project {} events, the projections will be replayed by the nightly repair", batch.size(), e);
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.mycompany.myapp.service;
+
+import com.mycompany.myapp.domain.Budget;
+import com.mycompany.myapp.domain.RecurringRule;
+import com.mycompany.myapp.domain.enumeration.LineItemType;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An immutable copy of the line items and recurring rules of a budget, in the default currency.
+ * <p>
+ * A snapshot is read once per simulation and shared by the overlays of all its scenarios, which never
+ * modify it.
+ */
+final class LedgerSnapshot {
+
+    /**
+     * An immutable line item: only what the summaries need.
+     */
+    static final class Entry {
+
+        private final String id;
+
+        private final LineItemType type;
+
+        private final long units;
+
+        Entry(String id, LineItemType type, long units) {
+            this.id = id;
+            this.type = type;
+            this.units = units;
+        }
+
+        String getId() {
+            return id;
+        }
+
+        LineItemType getType() {
+            return type;
+        }
+
+        long getUnits() {
+            return units;
+        }
+
+        Entry withUnits(long units) {
+            return new Entry(id, type, units);
+        }
+    }
+
+    private final Budget budget;
+
+    private final List<Entry> entries;
+
+    private final Map<String, Entry> entriesById;
+
+    private final List<RecurringRule> rules;
+
+    private final Map<String, RecurringRule> rulesById;
+
+    LedgerSnapshot(Budget budget, List<Entry> entries, List<RecurringRule> rules) {
+        this.budget = budget;
+        this.entries = Collections.unmodifiableList(new ArrayList<>(entries));
+        this.rules = Collections.unmodifiableList(new ArrayList<>(rules));
+        Map<String, Entry> entriesById = new HashMap<>();
+        for (Entry entry : entries) {
+            entriesById.put(entry.getId(), entry);
+        }
+        this.entriesById = Collections.unmodifiableMap(entriesById);
+        Map<String, RecurringRule> rulesById = new HashMap<>();
+        for (RecurringRule rule : rules) {
+            rulesById.put(rule.getId(), rule);
+        }
+        this.rulesById = Collections.unmodifiableMap(rulesById);
+    }
+
+    Budget getBudget() {
+        return budget;
+    }
+
+    List<Entry> getEntries() {
+        return entries;
+    }
+
+    Entry getEntry(String id) {
+        return entriesById.get(id);
+    }
+
+    /**
+     * @return the rules of the budget: they must not be modified, as the expansions of their ids are cached
+     */
+    List<RecurringRule> getRules() {
+        return rules;
+    }
+
+    RecurringRule getRule(String id) {
+        return rulesById.get(id);
+    }
+}
@@ -0,0 +1,369 @@
+package com.mycompany.myapp.service;
+
+import com.mycompany.myapp.domain.BudgetReference;
+import com.mycompany.myapp.domain.LineItem;
+import com.mycompany.myapp.repository.BudgetRepository;
+import com.mycompany.myapp.service.dto.BulkItemResultDTO;
+import com.mycompany.myapp.service.dto.BulkResultDTO;
+import com.mycompany.myapp.service.event.LineItemEvent;
+import com.mycompany.myapp.web.rest.errors.BadRequestAlertException;
+
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.bulk.BulkWriteResult;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.mapping.PropertyHandler;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentProperty;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Writes incomes or outcomes in bulk.
+ * <p>
+ * Every item is validated on its own, then all the valid items are sent in a single unordered bulk
+ * write, so that a failing item does not prevent the others from being written. The existing items and
+ * the referenced budgets are read with one query each, and a {@link LineItemEvent} is published for every
+ * item written. The versions of the budgets of the written items are incremented with a single update.
+ * <p>
+ * An update or a delete only applies to the version of the item that was read, as the event is computed
+ * from it: an item changed by another request in between fails with a conflict, and publishes no event.
+ * The deletes are sent one by one, as a bulk write does not report which of its removals deleted a
+ * document.
+ *
+ * @param <T> the type of line item
+ */
+class LineItemBulkWriter<T extends LineItem> {
+
+    static final int MAX_ITEMS = 5000;
+
+    private static final String VERSION_FIELD = "version";
+
+    private final Class<T> type;
+
+    private final String entityName;
+
+    private final MongoTemplate mongoTemplate;
+
+    private final BudgetRepository budgetRepository;
+
+    private final Validator validator;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    LineItemBulkWriter(Class<T> type, String entityName, MongoTemplate mongoTemplate, BudgetRepository budgetRepository,
+                       Validator validator, ApplicationEventPublisher eventPublisher) {
+        this.type = type;
+        this.entityName = entityName;
+        this.mongoTemplate = mongoTemplate;
+        this.budgetRepository = budgetRepository;
+        this.validator = validator;
+        this.eventPublisher = eventPublisher;
+    }
+
+    BulkResultDTO create(List<T> items) {
+        checkSize(items);
+        Map<String, BudgetReference> budgets = findBudgets(items);
+        List<BulkItemResultDTO> results = new ArrayList<>(items.size());
+        List<Integer> indexes = new ArrayList<>();
+        List<T> written = new ArrayList<>();
+        BulkOperations bulkOperations = bulkOperations();
+        for (int i = 0; i < items.size(); i++) {
+            T item = items.get(i);
+            String error = item == null ? "Missing " + entityName
+                : item.getId() != null ? "A new " + entityName + " cannot already have an ID"
+                : validate(item, budgets);
+            if (error != null) {
+                results.add(BulkItemResultDTO.failure(i, null, error));
+                continue;
+            }
+            item.setId(new ObjectId().toHexString());
+            item.setVersion(0L);
+            bulkOperations.insert(item);
+            indexes.add(i);
+            written.add(item);
+        }
+        Map<Integer, String> errors = execute(bulkOperations, written.size()).errors;
+        List<LineItemEvent> events = new ArrayList<>(written.size());
+        for (int k = 0; k < written.size(); k++) {
+            T item = written.get(k);
+            if (errors.containsKey(k)) {
+                results.add(BulkItemResultDTO.failure(indexes.get(k), null, errors.get(k)));
+            } else {
+                results.add(BulkItemResultDTO.success(indexes.get(k), item.getId()));
+                events.add(LineItemEvent.of(null, item));
+            }
+        }
+        publish(events);
+        return new BulkResultDTO(results);
+    }
+
+    BulkResultDTO update(List<T> items) {
+        checkSize(items);
+        Map<String, BudgetReference> budgets = findBudgets(items);
+        Map<String, T> previous = findExisting(items.stream()
+            .filter(Objects::nonNull).map(LineItem::getId).filter(Objects::nonNull).collect(Collectors.toSet()));
+        MongoPersistentEntity<?> entity = mongoTemplate.getConverter().getMappingContext().getRequiredPersistentEntity(type);
+        Set<String> seen = new HashSet<>();
+        List<BulkItemResultDTO> results = new ArrayList<>(items.size());
+        List<Integer> indexes = new ArrayList<>();
+        List<T> written = new ArrayList<>();
+        BulkOperations bulkOperations = bulkOperations();
+        for (int i = 0; i < items.size(); i++) {
+            T item = items.get(i);
+            String id = item == null ? null : item.getId();
+            String error = item == null ? "Missing " + entityName
+                : id == null ? "Invalid id"
+                : !previous.containsKey(id) ? "No " + entityName + " with this id"
+                : !seen.add(id) ? "Duplicate id"
+                : validate(item, budgets);
+            if (error != null) {
+                results.add(BulkItemResultDTO.failure(i, id, error));
+                continue;
+            }
+            bulkOperations.updateOne(byVersion(previous.get(id)), toUpdate(item, entity));
+            indexes.add(i);
+            written.add(item);
+        }
+        Execution execution = execute(bulkOperations, written.size());
+        Map<Integer, String> errors = execution.errors;
+        Set<String> conflicts = execution.matchedCount + errors.size() < written.size()
+            ? findConflicts(written, previous, errors) : Collections.emptySet();
+        List<LineItemEvent> events = new ArrayList<>(written.size());
+        for (int k = 0; k < written.size(); k++) {
+            T item = written.get(k);
+            if (errors.containsKey(k)) {
+                results.add(BulkItemResultDTO.failure(indexes.get(k), item.getId(), errors.get(k)));
+            } else if (conflicts.contains(item.getId())) {
+                results.add(BulkItemResultDTO.failure(indexes.get(k), item.getId(), conflict()));
+            } else {
+                results.add(BulkItemResultDTO.success(indexes.get(k), item.getId()));
+                events.add(LineItemEvent.of(previous.get(item.getId()), item));
+            }
+        }
+        publish(events);
+        return new BulkResultDTO(results);
+    }
+
+    BulkResultDTO delete(List<String> ids) {
+        checkSize(ids);
+        Map<String, T> previous = findExisting(ids.stream().filter(Objects::nonNull).collect(Collectors.toSet()));
+        Set<String> seen = new HashSet<>();
+        List<BulkItemResultDTO> results = new ArrayList<>(ids.size());
+        List<LineItemEvent> events = new ArrayList<>(ids.size());
+        for (int i = 0; i < ids.size(); i++) {
+            String id = ids.get(i);
+            String error = id == null ? "Invalid id"
+                : !previous.containsKey(id) ? "No " + entityName + " with this id"
+                : !seen.add(id) ? "Duplicate id"
+                : null;
+            if (error != null) {
+                results.add(BulkItemResultDTO.failure(i, id, error));
+                continue;
+            }
+            try {
+                if (mongoTemplate.findAndRemove(byVersion(previous.get(id)), type) == null) {
+                    results.add(BulkItemResultDTO.failure(i, id, conflict()));
+                } else {
+                    results.add(BulkItemResultDTO.success(i, id));
+                    events.add(LineItemEvent.of(previous.get(id), null));
+                }
+            } catch (DataAccessException e) {
+                results.add(BulkItemResultDTO.failure(i, id, e.getMessage()));
+            }
+        }
+        publish(events);
+        return new BulkResultDTO(results);
+    }
+
+    private void publish(List<LineItemEvent> events) {
+        Set<String> budgetIds = new HashSet<>();
+        events.forEach(event -> budgetIds.addAll(event.getBudgetIds()));
+        budgetRepository.incrementVersions(budgetIds);
+        events.forEach(eventPublisher::publishEvent);
+    }
+
+    private void checkSize(List<?> items) {
+        if (items.size() > MAX_ITEMS) {
+            throw new BadRequestAlertException("A bulk request cannot hold more than " + MAX_ITEMS + " items",
+                entityName, "bulktoolarge");
+        }
+    }
+
+    private BulkOperations bulkOperations() {
+        return mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, mongoTemplate.getCollectionName(type));
+    }
+
+    /**
+     * Validate an item, and replace its budget reference by the one read from the database.
+     *
+     * @return the error message, or null if the item is valid
+     */
+    private String validate(T item, Map<String, BudgetReference> budgets) {
+        Set<ConstraintViolation<T>> violations = validator.validate(item);
+        if (!violations.isEmpty()) {
+            return violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining(", "));
+        }
+        if (item.getBudget() == null || item.getBudget().getId() == null) {
+            item.setBudget(null);
+            return null;
+        }
+        BudgetReference budget = budgets.get(item.getBudget().getId());
+        if (budget == null) {
+            return "Invalid budget";
+        }
+        item.setBudget(budget);
+        return null;
+    }
+
+    private Map<String, BudgetReference> findBudgets(List<T> items) {
+        return budgetRepository.findReferencesByIds(items.stream()
+            .filter(item -> item != null && item.getBudget() != null && item.getBudget().getId() != null)
+            .map(item -> item.getBudget().getId())
+            .collect(Collectors.toSet()));
+    }
+
+    private Map<String, T> findExisting(Set<String> ids) {
+        if (ids.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        Map<String, T> existing = new HashMap<>();
+        for (T item : mongoTemplate.find(Query.query(Criteria.where("id").in(ids)), type)) {
+            existing.put(item.getId(), item);
+        }
+        return existing;
+    }
+
+    /**
+     * Set every persistent field of the item, and unset the ones it has no value for, but the version,
+     * which is incremented.
+     */
+    private Update toUpdate(T item, MongoPersistentEntity<?> entity) {
+        Document document = new Document();
+        mongoTemplate.getConverter().write(item, document);
+        Update update = new Update();
+        entity.doWithProperties((PropertyHandler<MongoPersistentProperty>) property -> {
+            if (property.isIdProperty()) {
+                return;
+            }
+            String field = property.getFieldName();
+            if (field.equals(VERSION_FIELD)) {
+                update.inc(field, 1);
+                return;
+            }
+            if (document.containsKey(field)) {
+                update.set(field, document.get(field));
+            } else {
+                update.unset(field);
+            }
+        });
+        return update;
+    }
+
+    /**
+     * Find the updated items that were not written, as they no longer had the version that was read: the
+     * bulk write only reports how many items it matched, so the items are read again. An item that has the
+     * next version and the written fields is taken as written by this update.
+     *
+     * @return the ids of the items that were not written
+     */
+    private Set<String> findConflicts(List<T> written, Map<String, T> previous, Map<Integer, String> errors) {
+        Set<String> ids = new HashSet<>();
+        for (int k = 0; k < written.size(); k++) {
+            if (!errors.containsKey(k)) {
+                ids.add(written.get(k).getId());
+            }
+        }
+        Map<String, T> current = findExisting(ids);
+        Set<String> conflicts = new HashSet<>();
+        for (T item : written) {
+            T stored = current.get(item.getId());
+            if (ids.contains(item.getId()) && (stored == null
+                || !Objects.equals(stored.getVersion(), nextVersion(previous.get(item.getId())))
+                || !toDocument(stored).equals(toDocument(item)))) {
+                conflicts.add(item.getId());
+            }
+        }
+        return conflicts;
+    }
+
+    private Document toDocument(T item) {
+        Document document = new Document();
+        mongoTemplate.getConverter().write(item, document);
+        document.remove(VERSION_FIELD);
+        return document;
+    }
+
+    private String conflict() {
+        return "Conflict: the " + entityName + " was changed by another request";
+    }
+
+    private static Long nextVersion(LineItem item) {
+        return item.getVersion() == null ? 1L : item.getVersion() + 1;
+    }
+
+    /**
+     * @return the query of an item, as long as it has the version that was read
+     */
+    private static Query byVersion(LineItem item) {
+        return Query.query(Criteria.where("_id").is(ObjectId.isValid(item.getId()) ? new ObjectId(item.getId()) : item.getId())
+            .and(VERSION_FIELD).is(item.getVersion()));
+    }
+
+    /**
+     * Execute the bulk write, if it holds any operation.
+     *
+     * @return the error messages of the failed operations, by index of the operation, and the number of
+     * operations that matched a document
+     */
+    private static Execution execute(BulkOperations bulkOperations, int size) {
+        Execution execution = new Execution();
+        if (size == 0) {
+            return execution;
+        }
+        try {
+            execution.matchedCount = bulkOperations.execute().getMatchedCount();
+        } catch (BulkOperationException e) {
+            e.getErrors().forEach(error -> execution.errors.put(error.getIndex(), error.getMessage()));
+            execution.matchedCount = e.getResult().getMatchedCount();
+        } catch (MongoBulkWriteException e) {
+            execution.add(e);
+        } catch (DataAccessException e) {
+            if (!(e.getCause() instanceof MongoBulkWriteException)) {
+                throw e;
+            }
+            execution.add((MongoBulkWriteException) e.getCause());
+        }
+        return execution;
+    }
+
+    /**
+     * The outcome of a bulk write.
+     */
+    private static final class Execution {
+
+        private final Map<Integer, String> errors = new HashMap<>();
+
+        private int matchedCount;
+
+        private void add(MongoBulkWriteException e) {
+            e.getWriteErrors().forEach(error -> errors.put(error.getIndex(), error.getMessage()));
+            BulkWriteResult result = e.getWriteResult();
+            matchedCount = result.wasAcknowledged() ? result.getMatchedCount() : 0;
+        }
+    }
+}
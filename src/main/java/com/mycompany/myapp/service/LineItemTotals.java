@@ -0,0 +1,81 @@
+package com.mycompany.myapp.service;
+
+import com.mycompany.myapp.repository.BudgetMonthRepository;
+import com.mycompany.myapp.repository.BudgetRepository;
+import com.mycompany.myapp.service.event.LineItemEvent;
+
+import java.time.YearMonth;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Changes to the running totals of the budgets and of their monthly buckets, caused by writing
+ * incomes and outcomes.
+ * <p>
+ * The changes are collected per budget and month, then applied with one update per budget and one
+ * upsert per bucket.
+ */
+class LineItemTotals {
+
+    private static final int INCOME = 0;
+
+    private static final int OUTCOME = 1;
+
+    private static final int COUNT = 2;
+
+    private final BudgetRepository budgetRepository;
+
+    private final BudgetMonthRepository budgetMonthRepository;
+
+    private final Map<String, Map<YearMonth, long[]>> deltas = new HashMap<>();
+
+    LineItemTotals(BudgetRepository budgetRepository, BudgetMonthRepository budgetMonthRepository) {
+        this.budgetRepository = budgetRepository;
+        this.budgetMonthRepository = budgetMonthRepository;
+    }
+
+    /**
+     * Add the change of a line item to the totals.
+     *
+     * @param event the change
+     */
+    void add(LineItemEvent event) {
+        add(event.getPrevious(), -1);
+        add(event.getCurrent(), 1);
+    }
+
+    private void add(LineItemEvent.Snapshot item, int sign) {
+        if (item == null || item.getBudgetId() == null) {
+            return;
+        }
+        // A line item stored before it had a date only counts towards the totals of its budget
+        YearMonth month = item.getDate() == null ? null : YearMonth.from(item.getDate());
+        long[] delta = deltas.computeIfAbsent(item.getBudgetId(), id -> new HashMap<>())
+            .computeIfAbsent(month, m -> new long[3]);
+        delta[item.isIncome() ? INCOME : OUTCOME] += sign * item.getMinorUnits();
+        delta[COUNT] += sign;
+    }
+
+    void apply() {
+        deltas.forEach((budgetId, months) -> {
+            long[] total = new long[3];
+            for (Map.Entry<YearMonth, long[]> entry : months.entrySet()) {
+                long[] delta = entry.getValue();
+                for (int i = 0; i < total.length; i++) {
+                    total[i] += delta[i];
+                }
+                if (entry.getKey() != null && !isZero(delta)) {
+                    budgetMonthRepository.incrementTotals(budgetId, entry.getKey(), delta[INCOME], delta[OUTCOME], delta[COUNT]);
+                }
+            }
+            if (!isZero(total)) {
+                budgetRepository.incrementTotals(budgetId, total[INCOME], total[OUTCOME], total[COUNT]);
+            }
+        });
+        deltas.clear();
+    }
+
+    private static boolean isZero(long[] delta) {
+        return delta[INCOME] == 0 && delta[OUTCOME] == 0 && delta[COUNT] == 0;
+    }
+}
@@ -0,0 +1,106 @@
+package com.mycompany.myapp.service;
+
+import com.mycompany.myapp.web.rest.errors.BadRequestAlertException;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.springframework.beans.BeanUtils;
+import org.springframework.data.mongodb.core.query.Update;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.ConstraintViolationException;
+import javax.validation.Validator;
+import java.beans.PropertyDescriptor;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A JSON merge patch (RFC 7386) of some properties of an entity, read into the values to write.
+ * <p>
+ * Only the properties present in the patch are validated, against the constraints of the entity, and only
+ * they are written: a null value removes the property. The properties are replaced as a whole, including
+ * the embedded documents.
+ */
+final class MergePatch {
+
+    private static final String VERSION_FIELD = "version";
+
+    private final Map<String, Object> values;
+
+    private MergePatch(Map<String, Object> values) {
+        this.values = values;
+    }
+
+    /**
+     * Read and validate a patch.
+     *
+     * @param patch the JSON merge patch
+     * @param type the type of the entity
+     * @param properties the properties that can be patched
+     * @param entityName the name of the entity, for the errors
+     * @param objectMapper the mapper reading the values of the properties
+     * @param validator the validator of the entity
+     * @return the patch
+     * @throws BadRequestAlertException if the patch holds another property, or a value of the wrong type
+     * @throws ConstraintViolationException if a value does not match the constraints of its property
+     */
+    static <T> MergePatch read(ObjectNode patch, Class<T> type, Collection<String> properties, String entityName,
+                               ObjectMapper objectMapper, Validator validator) {
+        Map<String, Object> values = new LinkedHashMap<>();
+        Set<ConstraintViolation<T>> violations = new HashSet<>();
+        Iterator<Map.Entry<String, JsonNode>> fields = patch.fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            String property = field.getKey();
+            PropertyDescriptor descriptor = properties.contains(property) ? BeanUtils.getPropertyDescriptor(type, property) : null;
+            if (descriptor == null) {
+                throw new BadRequestAlertException("The property " + property + " cannot be patched", entityName, "patchinvalid");
+            }
+            Object value;
+            try {
+                value = field.getValue().isNull() ? null : objectMapper.convertValue(field.getValue(), descriptor.getPropertyType());
+            } catch (IllegalArgumentException e) {
+                throw new BadRequestAlertException("Invalid value of the property " + property, entityName, "patchinvalid");
+            }
+            violations.addAll(validator.validateValue(type, property, value));
+            values.put(property, value);
+        }
+        if (!violations.isEmpty()) {
+            throw new ConstraintViolationException(violations);
+        }
+        return new MergePatch(values);
+    }
+
+    boolean contains(String property) {
+        return values.containsKey(property);
+    }
+
+    Object get(String property) {
+        return values.get(property);
+    }
+
+    void set(String property, Object value) {
+        values.put(property, value);
+    }
+
+    /**
+     * @return the update setting the patched properties, unsetting the removed ones and incrementing the
+     * version of the entity
+     */
+    Update toUpdate() {
+        Update update = new Update();
+        values.forEach((property, value) -> {
+            if (value == null) {
+                update.unset(property);
+            } else {
+                update.set(property, value);
+            }
+        });
+        return update.inc(VERSION_FIELD, 1);
+    }
+}
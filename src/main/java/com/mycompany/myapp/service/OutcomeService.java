@@ -0,0 +1,308 @@
+package com.mycompany.myapp.service;
+
+import com.mycompany.myapp.domain.BudgetReference;
+import com.mycompany.myapp.domain.Outcome;
+import com.mycompany.myapp.repository.BudgetRepository;
+import com.mycompany.myapp.repository.OutcomeRepository;
+import com.mycompany.myapp.service.dto.BulkResultDTO;
+import com.mycompany.myapp.service.event.LineItemEvent;
+import com.mycompany.myapp.web.rest.errors.BadRequestAlertException;
+import com.mycompany.myapp.web.rest.errors.PreconditionFailedException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.repository.support.PageableExecutionUtils;
+import org.springframework.stereotype.Service;
+
+import javax.validation.Validator;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Service Implementation for managing Outcome.
+ */
+@Service
+public class OutcomeService {
+
+    private final Logger log = LoggerFactory.getLogger(OutcomeService.class);
+
+    private static final String ENTITY_NAME = "outcome";
+
+    private static final int MAX_SAVE_ATTEMPTS = 3;
+
+    private static final List<String> PATCHABLE_PROPERTIES = Arrays.asList("amount", "date", "category", "budget");
+
+    private final OutcomeRepository outcomeRepository;
+
+    private final BudgetRepository budgetRepository;
+
+    private final MongoTemplate mongoTemplate;
+
+    private final Validator validator;
+
+    private final ObjectMapper objectMapper;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final LineItemBulkWriter<Outcome> bulkWriter;
+
+    public OutcomeService(OutcomeRepository outcomeRepository, BudgetRepository budgetRepository,
+                          MongoTemplate mongoTemplate, Validator validator, ObjectMapper objectMapper,
+                          ApplicationEventPublisher eventPublisher) {
+        this.outcomeRepository = outcomeRepository;
+        this.budgetRepository = budgetRepository;
+        this.mongoTemplate = mongoTemplate;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.eventPublisher = eventPublisher;
+        this.bulkWriter = new LineItemBulkWriter<>(Outcome.class, ENTITY_NAME, mongoTemplate, budgetRepository, validator,
+            eventPublisher);
+    }
+
+    /**
+     * Save an outcome.
+     * <p>
+     * The budget reference sent by the client only needs an id: the title is read from the budget.
+     * A {@link LineItemEvent} is published, for the read models of the previous and the new budget, whose
+     * versions are incremented.
+     *
+     * @param outcome the entity to save
+     * @return the persisted entity
+     */
+    public Outcome save(Outcome outcome) {
+        return save(outcome, null);
+    }
+
+    /**
+     * Save an outcome, if it still has the version the client read.
+     * <p>
+     * The update is checked against the version of the outcome read before it, so that the event holds the
+     * values that were overwritten. Without an expected version, the update is tried again when the outcome
+     * changed in between.
+     *
+     * @param outcome the entity to save
+     * @param expectedVersion the version the outcome must have, or null to update any version
+     * @return the persisted entity
+     * @throws PreconditionFailedException if the outcome does not exist or has another version
+     */
+    public Outcome save(Outcome outcome, Long expectedVersion) {
+        log.debug("Request to save Outcome : {}", outcome);
+        outcome.setBudget(resolveBudget(outcome.getBudget()));
+        for (int attempt = 1; ; attempt++) {
+            Optional<Outcome> previous = outcome.getId() == null ? Optional.empty() : outcomeRepository.findById(outcome.getId());
+            Long version = previous.map(Outcome::getVersion).orElse(null);
+            if (expectedVersion != null && !expectedVersion.equals(version)) {
+                throw new PreconditionFailedException("The outcome was changed or deleted since it was read", ENTITY_NAME);
+            }
+            // A null version creates the outcome, any other one is checked and incremented by the repository
+            outcome.setVersion(version);
+            Outcome result;
+            try {
+                result = outcomeRepository.save(outcome);
+            } catch (OptimisticLockingFailureException e) {
+                if (expectedVersion != null) {
+                    throw new PreconditionFailedException("The outcome was changed since it was read", ENTITY_NAME);
+                }
+                if (attempt == MAX_SAVE_ATTEMPTS) {
+                    throw e;
+                }
+                log.debug("Outcome {} changed while it was saved, trying again", outcome.getId());
+                continue;
+            }
+            publish(LineItemEvent.of(previous.orElse(null), result));
+            return result;
+        }
+    }
+
+    /**
+     * Partially update an outcome with a JSON merge patch, writing only the patched fields.
+     * <p>
+     * Only the patched properties are validated. The update is checked against the version of the outcome
+     * read before it, like {@link #save(Outcome, Long)}, so that the published event holds the values that were
+     * overwritten.
+     *
+     * @param id the id of the entity
+     * @param patch the JSON merge patch of its amount, date, category and budget
+     * @param expectedVersion the version the outcome must have, or null to update any version
+     * @return the patched entity, or an empty optional if it does not exist
+     * @throws PreconditionFailedException if the outcome does not exist or has another version
+     */
+    public Optional<Outcome> patch(String id, ObjectNode patch, Long expectedVersion) {
+        log.debug("Request to patch Outcome : {}, {}", id, patch);
+        MergePatch mergePatch = MergePatch.read(patch, Outcome.class, PATCHABLE_PROPERTIES, ENTITY_NAME, objectMapper, validator);
+        if (mergePatch.contains("budget")) {
+            mergePatch.set("budget", resolveBudget((BudgetReference) mergePatch.get("budget")));
+        }
+        Update update = mergePatch.toUpdate();
+        for (int attempt = 1; ; attempt++) {
+            Optional<Outcome> previous = outcomeRepository.findById(id);
+            Long version = previous.map(Outcome::getVersion).orElse(null);
+            if (expectedVersion != null && !expectedVersion.equals(version)) {
+                throw new PreconditionFailedException("The outcome was changed or deleted since it was read", ENTITY_NAME);
+            }
+            if (!previous.isPresent()) {
+                return Optional.empty();
+            }
+            Query query = Query.query(Criteria.where("id").is(id).and("version").is(version));
+            Outcome result = mongoTemplate.findAndModify(query, update, FindAndModifyOptions.options().returnNew(true), Outcome.class);
+            if (result == null) {
+                if (expectedVersion != null) {
+                    throw new PreconditionFailedException("The outcome was changed since it was read", ENTITY_NAME);
+                }
+                if (attempt == MAX_SAVE_ATTEMPTS) {
+                    throw new OptimisticLockingFailureException("The outcome " + id + " kept changing while it was patched");
+                }
+                log.debug("Outcome {} changed while it was patched, trying again", id);
+                continue;
+            }
+            publish(LineItemEvent.of(previous.get(), result));
+            return Optional.of(result);
+        }
+    }
+
+    /**
+     * Create several outcomes, with a single bulk write.
+     *
+     * @param outcomes the entities to create
+     * @return the result of each entity, in the order of the request
+     */
+    public BulkResultDTO createAll(List<Outcome> outcomes) {
+        log.debug("Request to create {} Outcomes", outcomes.size());
+        return bulkWriter.create(outcomes);
+    }
+
+    /**
+     * Update several outcomes, with a single bulk write.
+     *
+     * @param outcomes the entities to update
+     * @return the result of each entity, in the order of the request
+     */
+    public BulkResultDTO updateAll(List<Outcome> outcomes) {
+        log.debug("Request to update {} Outcomes", outcomes.size());
+        return bulkWriter.update(outcomes);
+    }
+
+    /**
+     * Delete several outcomes by id, with a single bulk write.
+     *
+     * @param ids the ids of the entities
+     * @return the result of each id, in the order of the request
+     */
+    public BulkResultDTO deleteAll(List<String> ids) {
+        log.debug("Request to delete {} Outcomes", ids.size());
+        return bulkWriter.delete(ids);
+    }
+
+    /**
+     * Get all the outcomes.
+     *
+     * @param pageable the pagination information
+     * @return the list of entities
+     */
+    public Page<Outcome> findAll(Pageable pageable) {
+        log.debug("Request to get all Outcomes");
+        return outcomeRepository.findAll(pageable);
+    }
+
+    /**
+     * Get all the outcomes, reading only some of their fields.
+     *
+     * @param pageable the pagination information
+     * @param properties the properties to read
+     * @return the list of entities, whose other properties are null
+     */
+    public Page<Outcome> findAll(Pageable pageable, Set<String> properties) {
+        log.debug("Request to get all Outcomes with : {}", properties);
+        Query query = new Query().with(pageable);
+        properties.forEach(query.fields()::include);
+        List<Outcome> outcomes = mongoTemplate.find(query, Outcome.class);
+        return PageableExecutionUtils.getPage(outcomes, pageable, () -> mongoTemplate.count(new Query(), Outcome.class));
+    }
+
+    /**
+     * Get the outcomes of a budget.
+     *
+     * @param budgetId the id of the budget
+     * @param pageable the pagination information
+     * @return the list of entities
+     */
+    public Page<Outcome> findAllByBudget(String budgetId, Pageable pageable) {
+        log.debug("Request to get the Outcomes of Budget : {}", budgetId);
+        return outcomeRepository.findByBudgetId(budgetId, pageable);
+    }
+
+    /**
+     * Get the outcomes following the given id, in id order.
+     *
+     * @param budgetId the id of the budget of the outcomes, or null for the outcomes of all the budgets
+     * @param after the id to seek after, or null to start from the first outcome
+     * @param size the maximum number of entities
+     * @return the slice of entities
+     */
+    public Slice<Outcome> findAllAfter(String budgetId, ObjectId after, int size) {
+        log.debug("Request to get Outcomes of Budget : {} after : {}", budgetId, after);
+        Pageable byId = PageRequest.of(0, size, Sort.by(Sort.Direction.ASC, "id"));
+        if (budgetId != null) {
+            return after == null ? outcomeRepository.findAllByBudgetId(budgetId, byId)
+                : outcomeRepository.findAllByBudgetIdAndIdGreaterThan(budgetId, after, byId);
+        }
+        if (after == null) {
+            return outcomeRepository.findAllBy(byId);
+        }
+        return outcomeRepository.findAllByIdGreaterThan(after, byId);
+    }
+
+    /**
+     * Get one outcome by id.
+     *
+     * @param id the id of the entity
+     * @return the entity
+     */
+    public Optional<Outcome> findOne(String id) {
+        log.debug("Request to get Outcome : {}", id);
+        return outcomeRepository.findById(id);
+    }
+
+    /**
+     * Delete the outcome by id.
+     *
+     * @param id the id of the entity
+     */
+    public void delete(String id) {
+        log.debug("Request to delete Outcome : {}", id);
+        // A single findAndRemove, so that only the request that removed the outcome publishes its deletion
+        Outcome previous = mongoTemplate.findAndRemove(Query.query(Criteria.where("id").is(id)), Outcome.class);
+        if (previous != null) {
+            publish(LineItemEvent.of(previous, null));
+        }
+    }
+
+    private void publish(LineItemEvent event) {
+        budgetRepository.incrementVersions(event.getBudgetIds());
+        eventPublisher.publishEvent(event);
+    }
+
+    private BudgetReference resolveBudget(BudgetReference budget) {
+        if (budget == null || budget.getId() == null) {
+            return null;
+        }
+        return budgetRepository.findReferenceById(budget.getId())
+            .orElseThrow(() -> new BadRequestAlertException("Invalid budget", ENTITY_NAME, "budgetnotfound"));
+    }
+}
@@ -0,0 +1,182 @@
+package com.mycompany.myapp.service;
+
+import com.mycompany.myapp.config.Constants;
+import com.mycompany.myapp.domain.Money;
+import com.mycompany.myapp.service.dto.OutcomeStatsDTO;
+import com.mycompany.myapp.service.util.HyperLogLog;
+import com.mycompany.myapp.service.util.TDigest;
+import org.bson.Document;
+import org.bson.types.Binary;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Mergeable statistics of outcomes: their exact count and totals per day, a {@link TDigest} of their
+ * amounts and {@link HyperLogLog} sketches of their categories and budgets.
+ * <p>
+ * The sketches cannot forget a value, so they describe every amount, category and budget ever written,
+ * including the ones since updated or deleted; the counts and totals are exact. This class is not
+ * thread-safe.
+ */
+final class OutcomeStats {
+
+    private static final double COMPRESSION = 100;
+
+    private static final int PRECISION = 12;
+
+    private static final String CURRENCY = Constants.DEFAULT_CURRENCY;
+
+    private long count;
+
+    private long total;
+
+    private TDigest amounts = new TDigest(COMPRESSION);
+
+    private HyperLogLog categories = new HyperLogLog(PRECISION);
+
+    private HyperLogLog budgets = new HyperLogLog(PRECISION);
+
+    private final NavigableMap<LocalDate, Long> days = new TreeMap<>();
+
+    private boolean empty = true;
+
+    /**
+     * @return true if nothing was added to or removed from the statistics
+     */
+    boolean isEmpty() {
+        return empty;
+    }
+
+    void add(LocalDate date, long minorUnits, String category, String budgetId) {
+        empty = false;
+        count++;
+        total += minorUnits;
+        if (date != null) {
+            days.merge(date, minorUnits, Long::sum);
+        }
+        amounts.add(minorUnits);
+        if (category != null) {
+            categories.add(category);
+        }
+        if (budgetId != null) {
+            budgets.add(budgetId);
+        }
+    }
+
+    void remove(LocalDate date, long minorUnits) {
+        empty = false;
+        count--;
+        total -= minorUnits;
+        if (date != null) {
+            days.merge(date, -minorUnits, Long::sum);
+        }
+    }
+
+    void merge(OutcomeStats other) {
+        empty &= other.empty;
+        count += other.count;
+        total += other.total;
+        other.days.forEach((date, minorUnits) -> days.merge(date, minorUnits, Long::sum));
+        amounts.merge(other.amounts);
+        categories.merge(other.categories);
+        budgets.merge(other.budgets);
+    }
+
+    OutcomeStats copy() {
+        OutcomeStats copy = new OutcomeStats();
+        copy.merge(this);
+        return copy;
+    }
+
+    /**
+     * Compress the buffered amounts, after which the statistics can be read concurrently.
+     */
+    void compress() {
+        amounts.compress();
+    }
+
+    /**
+     * Describe the statistics, with the totals of the days of a range.
+     *
+     * @param from the first day
+     * @param to the last day
+     * @return the statistics
+     */
+    OutcomeStatsDTO toDTO(LocalDate from, LocalDate to) {
+        OutcomeStatsDTO stats = new OutcomeStatsDTO();
+        stats.setCount(count);
+        stats.setTotal(Money.ofMinor(total, CURRENCY));
+        if (amounts.getTotalWeight() > 0) {
+            stats.setMin(toMoney(amounts.getMin()));
+            stats.setP50(toMoney(amounts.quantile(0.5)));
+            stats.setP90(toMoney(amounts.quantile(0.9)));
+            stats.setP99(toMoney(amounts.quantile(0.99)));
+            stats.setMax(toMoney(amounts.getMax()));
+        }
+        stats.setDistinctCategories(categories.cardinality());
+        stats.setDistinctBudgets(budgets.cardinality());
+        for (Map.Entry<LocalDate, Long> day : days.subMap(from, true, to, true).entrySet()) {
+            stats.getDays().put(day.getKey().toString(), Money.ofMinor(day.getValue(), CURRENCY));
+        }
+        return stats;
+    }
+
+    private static Money toMoney(double minorUnits) {
+        return Money.ofMinor(Math.round(minorUnits), CURRENCY);
+    }
+
+    Document toDocument() {
+        Document days = new Document();
+        this.days.forEach((date, minorUnits) -> days.append(date.toString(), minorUnits));
+        return new Document("count", count)
+            .append("total", total)
+            .append("amounts", new Document("means", toList(amounts.getMeans()))
+                .append("weights", toList(amounts.getWeights()))
+                .append("min", amounts.getMin())
+                .append("max", amounts.getMax()))
+            .append("categories", new Binary(categories.getRegisters()))
+            .append("budgets", new Binary(budgets.getRegisters()))
+            .append("days", days);
+    }
+
+    static OutcomeStats fromDocument(Document document) {
+        OutcomeStats stats = new OutcomeStats();
+        stats.empty = false;
+        stats.count = ((Number) document.get("count")).longValue();
+        stats.total = ((Number) document.get("total")).longValue();
+        Document amounts = (Document) document.get("amounts");
+        stats.amounts = TDigest.of(COMPRESSION, toArray(amounts.get("means")), toArray(amounts.get("weights")),
+            ((Number) amounts.get("min")).doubleValue(), ((Number) amounts.get("max")).doubleValue());
+        stats.categories = HyperLogLog.of(toBytes(document.get("categories")));
+        stats.budgets = HyperLogLog.of(toBytes(document.get("budgets")));
+        Document days = (Document) document.get("days");
+        days.forEach((date, minorUnits) -> stats.days.put(LocalDate.parse(date), ((Number) minorUnits).longValue()));
+        return stats;
+    }
+
+    private static List<Double> toList(double[] values) {
+        List<Double> list = new ArrayList<>(values.length);
+        for (double value : values) {
+            list.add(value);
+        }
+        return list;
+    }
+
+    private static double[] toArray(Object values) {
+        List<?> list = (List<?>) values;
+        double[] array = new double[list.size()];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = ((Number) list.get(i)).doubleValue();
+        }
+        return array;
+    }
+
+    private static byte[] toBytes(Object value) {
+        return value instanceof Binary ? ((Binary) value).getData() : (byte[]) value;
+    }
+}
@@ -0,0 +1,258 @@
+package com.mycompany.myapp.service;
+
+import com.mycompany.myapp.domain.Outcome;
+import com.mycompany.myapp.service.dto.OutcomeStatsDTO;
+import com.mycompany.myapp.service.event.LineItemEvent;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.UpdateOptions;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.util.CloseableIterator;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.time.LocalDate;
+
+/**
+ * Service maintaining the statistics of all the outcomes, so that they are read without scanning the
+ * outcomes.
+ * <p>
+ * Every written outcome is added to the pending statistics of this instance. These are periodically
+ * merged into the statistics shared by all the instances, stored as a single versioned document: an
+ * instance reads the shared document, merges its pending statistics and writes it back if no other
+ * instance wrote it in between, or tries again. The statistics served are the shared ones as of the last
+ * merge, plus the pending ones, precomputed once per change.
+ * <p>
+ * The shared document also holds the generation of the statistics, incremented by every rebuild. The
+ * pending statistics of an instance belong to the generation it last read, and are dropped when merged
+ * into a later generation, as the rebuild already counted their outcomes.
+ */
+@Service
+public class OutcomeStatsService {
+
+    static final String COLLECTION = "outcome_stats";
+
+    private static final String ID = "outcome";
+
+    private static final String VERSION = "version";
+
+    private static final String GENERATION = "generation";
+
+    private final Logger log = LoggerFactory.getLogger(OutcomeStatsService.class);
+
+    private final MongoTemplate mongoTemplate;
+
+    private final Object lock = new Object();
+
+    private OutcomeStats shared = new OutcomeStats();
+
+    private OutcomeStats pending = new OutcomeStats();
+
+    /**
+     * The generation of the shared statistics the pending ones belong to, or null until it is read.
+     */
+    private Long generation;
+
+    private volatile OutcomeStats view;
+
+    public OutcomeStatsService(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    /**
+     * Read the shared statistics, and their generation, when the instance starts.
+     */
+    @PostConstruct
+    public void load() {
+        try {
+            Document stored = mongoTemplate.getCollection(COLLECTION).find(Filters.eq("_id", ID)).first();
+            synchronized (lock) {
+                shared = stored == null ? new OutcomeStats() : OutcomeStats.fromDocument(stored);
+                generation = generationOf(stored);
+                view = null;
+            }
+        } catch (RuntimeException e) {
+            log.warn("Could not read the outcome statistics, they will be read at the next flush: {}", e.getMessage());
+        }
+    }
+
+    @EventListener
+    public void onLineItemEvent(LineItemEvent event) {
+        LineItemEvent.Snapshot previous = event.getPrevious();
+        LineItemEvent.Snapshot current = event.getCurrent();
+        synchronized (lock) {
+            if (previous != null && !previous.isIncome()) {
+                pending.remove(previous.getDate(), previous.getMinorUnits());
+                view = null;
+            }
+            if (current != null && !current.isIncome()) {
+                pending.add(current.getDate(), current.getMinorUnits(), current.getCategory(), current.getBudgetId());
+                view = null;
+            }
+        }
+    }
+
+    /**
+     * Get the statistics of all the outcomes.
+     *
+     * @param from the first day of the totals per day
+     * @param to the last day of the totals per day
+     * @return the statistics
+     */
+    public OutcomeStatsDTO getStats(LocalDate from, LocalDate to) {
+        OutcomeStats stats = view;
+        if (stats == null) {
+            synchronized (lock) {
+                if (view == null) {
+                    OutcomeStats merged = shared.copy();
+                    merged.merge(pending);
+                    merged.compress();
+                    view = merged;
+                }
+                stats = view;
+            }
+        }
+        return stats.toDTO(from, to);
+    }
+
+    /**
+     * Merge the pending statistics of this instance into the shared statistics, and read the statistics
+     * merged by the other instances.
+     */
+    @Scheduled(initialDelayString = "${application.stats.flush-interval-ms:60000}",
+        fixedDelayString = "${application.stats.flush-interval-ms:60000}")
+    public void flush() {
+        OutcomeStats delta;
+        Long deltaGeneration;
+        synchronized (lock) {
+            delta = pending;
+            deltaGeneration = generation;
+            pending = new OutcomeStats();
+        }
+        try {
+            Merged merged = save(delta, deltaGeneration);
+            synchronized (lock) {
+                shared = merged.stats;
+                generation = merged.generation;
+                view = null;
+            }
+        } catch (RuntimeException e) {
+            // Keep the pending statistics for the next flush
+            synchronized (lock) {
+                delta.merge(pending);
+                pending = delta;
+            }
+            log.warn("Could not flush the outcome statistics: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void destroy() {
+        flush();
+    }
+
+    /**
+     * Rebuild the shared statistics from all the outcomes.
+     * <p>
+     * The pending statistics of this instance are discarded, as the outcomes already hold their changes,
+     * and so are the ones of the other instances, at their next flush, as the generation is incremented.
+     * This is meant to be run while no outcome is being written: the outcomes written during the rebuild,
+     * or on another instance before it flushes, may be left out of the statistics until the next rebuild.
+     */
+    public void rebuild() {
+        log.info("Rebuilding the outcome statistics");
+        OutcomeStats rebuilt = new OutcomeStats();
+        try (CloseableIterator<Outcome> outcomes = mongoTemplate.stream(new Query(), Outcome.class)) {
+            while (outcomes.hasNext()) {
+                Outcome outcome = outcomes.next();
+                rebuilt.add(outcome.getDate(), outcome.getAmount().getMinorUnits(), outcome.getCategory(),
+                    outcome.getBudget() == null ? null : outcome.getBudget().getId());
+            }
+        }
+        MongoCollection<Document> collection = mongoTemplate.getCollection(COLLECTION);
+        Document stored = collection.find(Filters.eq("_id", ID)).first();
+        long version = stored == null ? 0 : ((Number) stored.get(VERSION)).longValue();
+        long rebuiltGeneration = generationOf(stored) + 1;
+        collection.replaceOne(Filters.eq("_id", ID), rebuilt.toDocument().append("_id", ID).append(VERSION, version + 1)
+            .append(GENERATION, rebuiltGeneration), new UpdateOptions().upsert(true));
+        synchronized (lock) {
+            shared = rebuilt;
+            pending = new OutcomeStats();
+            generation = rebuiltGeneration;
+            view = null;
+        }
+        log.info("Rebuilt the outcome statistics");
+    }
+
+    /**
+     * Merge statistics into the shared statistics, with optimistic locking on the version of the document.
+     *
+     * @param delta the statistics to merge
+     * @param deltaGeneration the generation of the statistics to merge, or null if it is not known
+     * @return the shared statistics, including the merged ones unless they belong to an older generation
+     */
+    private Merged save(OutcomeStats delta, Long deltaGeneration) {
+        MongoCollection<Document> collection = mongoTemplate.getCollection(COLLECTION);
+        while (true) {
+            Document stored = collection.find(Filters.eq("_id", ID)).first();
+            OutcomeStats merged = stored == null ? new OutcomeStats() : OutcomeStats.fromDocument(stored);
+            long storedGeneration = generationOf(stored);
+            if (delta.isEmpty()) {
+                return new Merged(merged, storedGeneration);
+            }
+            if (deltaGeneration != null && deltaGeneration < storedGeneration) {
+                log.info("The outcome statistics were rebuilt, dropping the pending statistics of this instance");
+                return new Merged(merged, storedGeneration);
+            }
+            merged.merge(delta);
+            Document document = merged.toDocument().append("_id", ID).append(GENERATION, storedGeneration);
+            if (stored == null) {
+                try {
+                    mongoTemplate.insert(document.append(VERSION, 1L), COLLECTION);
+                    return new Merged(merged, storedGeneration);
+                } catch (DuplicateKeyException e) {
+                    log.debug("The outcome statistics were created by another instance, merging again");
+                    continue;
+                }
+            }
+            long version = ((Number) stored.get(VERSION)).longValue();
+            document.append(VERSION, version + 1);
+            if (collection.replaceOne(Filters.and(Filters.eq("_id", ID), Filters.eq(VERSION, version)), document)
+                .getMatchedCount() == 1) {
+                return new Merged(merged, storedGeneration);
+            }
+            log.debug("The outcome statistics were changed by another instance, merging again");
+        }
+    }
+
+    /**
+     * @return the generation of the stored statistics, 0 if they were stored before they had one
+     */
+    private static long generationOf(Document stored) {
+        Object generation = stored == null ? null : stored.get(GENERATION);
+        return generation == null ? 0 : ((Number) generation).longValue();
+    }
+
+    /**
+     * The shared statistics, with their generation.
+     */
+    private static final class Merged {
+
+        private final OutcomeStats stats;
+
+        private final long generation;
+
+        private Merged(OutcomeStats stats, long generation) {
+            this.stats = stats;
+            this.generation = generation;
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.mycompany.myapp.service;
+
+import com.mycompany.myapp.domain.RecurringRule;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Service expanding the occurrences of the recurring rules into monthly totals.
+ * <p>
+ * Only the occurrences within the horizon are computed, starting from the first period that can reach
+ * it, and the monthly totals of each rule and horizon are cached: repeated forecasts do not expand the
+ * rules again. The cache is cleared by the {@link RecurringRuleService} whenever a rule changes.
+ */
+@Service
+public class RecurringRuleExpander {
+
+    public static final String OCCURRENCES_CACHE = "recurringRuleOccurrences";
+
+    private final Logger log = LoggerFactory.getLogger(RecurringRuleExpander.class);
+
+    /**
+     * Get the total amount, in minor units, of the occurrences of a rule in each month of a horizon.
+     *
+     * @param rule the rule to expand
+     * @param from the first day of the horizon
+     * @param to the last month of the horizon
+     * @return the total of each month, from the month of "from" to "to"
+     */
+    @Cacheable(cacheNames = OCCURRENCES_CACHE, key = "#rule.id + ':' + #from + ':' + #to", condition = "#rule.id != null")
+    public long[] expand(RecurringRule rule, LocalDate from, YearMonth to) {
+        YearMonth first = YearMonth.from(from);
+        long[] totals = new long[(int) ChronoUnit.MONTHS.between(first, to) + 1];
+        LocalDate last = to.atEndOfMonth();
+        if (rule.getEndDate() != null && rule.getEndDate().isBefore(last)) {
+            last = rule.getEndDate();
+        }
+        int occurrences = 0;
+        for (long n = firstOccurrence(rule, from); ; n++) {
+            LocalDate date = rule.occurrence(n);
+            if (date.isAfter(last)) {
+                break;
+            }
+            if (!date.isBefore(from)) {
+                totals[(int) ChronoUnit.MONTHS.between(first, YearMonth.from(date))] += rule.getAmount().getMinorUnits();
+                occurrences++;
+            }
+        }
+        log.debug("Expanded {} occurrences of RecurringRule : {} from {} to {}", occurrences, rule.getId(), from, to);
+        return totals;
+    }
+
+    /**
+     * Get the index of an occurrence at most one period before a date, so that the occurrences before the
+     * horizon are skipped without being computed.
+     */
+    private static long firstOccurrence(RecurringRule rule, LocalDate from) {
+        if (!from.isAfter(rule.getStartDate())) {
+            return 0;
+        }
+        ChronoUnit unit;
+        switch (rule.getFrequency()) {
+            case WEEKLY:
+                unit = ChronoUnit.WEEKS;
+                break;
+            case MONTHLY:
+                unit = ChronoUnit.MONTHS;
+                break;
+            default:
+                unit = ChronoUnit.YEARS;
+        }
+        return Math.max(0, unit.between(rule.getStartDate(), from) / rule.getInterval() - 1);
+    }
+}
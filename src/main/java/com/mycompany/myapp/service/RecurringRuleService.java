@@ -0,0 +1,105 @@
+package com.mycompany.myapp.service;
+
+import com.mycompany.myapp.domain.BudgetReference;
+import com.mycompany.myapp.domain.RecurringRule;
+import com.mycompany.myapp.repository.BudgetRepository;
+import com.mycompany.myapp.repository.RecurringRuleRepository;
+import com.mycompany.myapp.web.rest.errors.BadRequestAlertException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+
+import java.util.Optional;
+
+/**
+ * Service Implementation for managing RecurringRule.
+ * <p>
+ * Every change of a rule clears the cached expansions of the rules, which are rarely written.
+ */
+@Service
+public class RecurringRuleService {
+
+    private final Logger log = LoggerFactory.getLogger(RecurringRuleService.class);
+
+    private static final String ENTITY_NAME = "recurringRule";
+
+    private final RecurringRuleRepository recurringRuleRepository;
+
+    private final BudgetRepository budgetRepository;
+
+    public RecurringRuleService(RecurringRuleRepository recurringRuleRepository, BudgetRepository budgetRepository) {
+        this.recurringRuleRepository = recurringRuleRepository;
+        this.budgetRepository = budgetRepository;
+    }
+
+    /**
+     * Save a recurringRule.
+     * <p>
+     * The budget reference sent by the client only needs an id: the title is read from the budget.
+     *
+     * @param recurringRule the entity to save
+     * @return the persisted entity
+     */
+    @CacheEvict(cacheNames = RecurringRuleExpander.OCCURRENCES_CACHE, allEntries = true)
+    public RecurringRule save(RecurringRule recurringRule) {
+        log.debug("Request to save RecurringRule : {}", recurringRule);
+        recurringRule.setBudget(resolveBudget(recurringRule.getBudget()));
+        return recurringRuleRepository.save(recurringRule);
+    }
+
+    /**
+     * Get all the recurringRules.
+     *
+     * @param pageable the pagination information
+     * @return the list of entities
+     */
+    public Page<RecurringRule> findAll(Pageable pageable) {
+        log.debug("Request to get all RecurringRules");
+        return recurringRuleRepository.findAll(pageable);
+    }
+
+    /**
+     * Get the recurringRules of a budget.
+     *
+     * @param budgetId the id of the budget
+     * @param pageable the pagination information
+     * @return the list of entities
+     */
+    public Page<RecurringRule> findAllByBudget(String budgetId, Pageable pageable) {
+        log.debug("Request to get the RecurringRules of Budget : {}", budgetId);
+        return recurringRuleRepository.findByBudgetId(budgetId, pageable);
+    }
+
+    /**
+     * Get one recurringRule by id.
+     *
+     * @param id the id of the entity
+     * @return the entity
+     */
+    public Optional<RecurringRule> findOne(String id) {
+        log.debug("Request to get RecurringRule : {}", id);
+        return recurringRuleRepository.findById(id);
+    }
+
+    /**
+     * Delete the recurringRule by id.
+     *
+     * @param id the id of the entity
+     */
+    @CacheEvict(cacheNames = RecurringRuleExpander.OCCURRENCES_CACHE, allEntries = true)
+    public void delete(String id) {
+        log.debug("Request to delete RecurringRule : {}", id);
+        recurringRuleRepository.deleteById(id);
+    }
+
+    private BudgetReference resolveBudget(BudgetReference budget) {
+        if (budget == null || budget.getId() == null) {
+            return null;
+        }
+        return budgetRepository.findReferenceById(budget.getId())
+            .orElseThrow(() -> new BadRequestAlertException("Invalid budget", ENTITY_NAME, "budgetnotfound"));
+    }
+}
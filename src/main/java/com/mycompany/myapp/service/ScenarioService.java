@@ -0,0 +1,159 @@
+package com.mycompany.myapp.service;
+
+import com.mycompany.myapp.config.Constants;
+import com.mycompany.myapp.domain.Budget;
+import com.mycompany.myapp.domain.Income;
+import com.mycompany.myapp.domain.LineItem;
+import com.mycompany.myapp.domain.Outcome;
+import com.mycompany.myapp.domain.RecurringRule;
+import com.mycompany.myapp.domain.enumeration.LineItemType;
+import com.mycompany.myapp.repository.BudgetRepository;
+import com.mycompany.myapp.repository.IncomeRepository;
+import com.mycompany.myapp.repository.OutcomeRepository;
+import com.mycompany.myapp.repository.RecurringRuleRepository;
+import com.mycompany.myapp.service.dto.BudgetSummaryDTO;
+import com.mycompany.myapp.service.dto.ScenarioChangeDTO;
+import com.mycompany.myapp.service.dto.ScenarioDTO;
+import com.mycompany.myapp.service.dto.ScenarioResultDTO;
+import com.mycompany.myapp.service.dto.SimulationDTO;
+import com.mycompany.myapp.service.util.AsyncUtil;
+import com.mycompany.myapp.web.rest.errors.BadRequestAlertException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.stream.Stream;
+
+/**
+ * Service evaluating what-if scenarios against a budget, without persisting anything.
+ * <p>
+ * The line items and rules of the budget are read once into a {@link LedgerSnapshot}, and each scenario
+ * is a {@link LedgerOverlay} of its changes on top of it. The scenarios are then evaluated in parallel on
+ * the "scenarioExecutor" pool.
+ */
+@Service
+public class ScenarioService {
+
+    static final int MAX_SCENARIOS = 50;
+
+    static final int MAX_CHANGES = 100;
+
+    private static final String ENTITY_NAME = "scenario";
+
+    private final Logger log = LoggerFactory.getLogger(ScenarioService.class);
+
+    private final BudgetRepository budgetRepository;
+
+    private final IncomeRepository incomeRepository;
+
+    private final OutcomeRepository outcomeRepository;
+
+    private final RecurringRuleRepository recurringRuleRepository;
+
+    private final ForecastService forecastService;
+
+    private final Executor scenarioExecutor;
+
+    public ScenarioService(BudgetRepository budgetRepository, IncomeRepository incomeRepository,
+                           OutcomeRepository outcomeRepository, RecurringRuleRepository recurringRuleRepository,
+                           ForecastService forecastService, @Qualifier("scenarioExecutor") Executor scenarioExecutor) {
+        this.budgetRepository = budgetRepository;
+        this.incomeRepository = incomeRepository;
+        this.outcomeRepository = outcomeRepository;
+        this.recurringRuleRepository = recurringRuleRepository;
+        this.forecastService = forecastService;
+        this.scenarioExecutor = scenarioExecutor;
+    }
+
+    /**
+     * Evaluate scenarios against a budget.
+     *
+     * @param budgetId the id of the budget
+     * @param scenarios the scenarios
+     * @param months the number of months of the forecasts, including the current one
+     * @return the results, or empty if the budget does not exist
+     * @throws BadRequestAlertException if there are too many scenarios, or if a change is not valid
+     */
+    public Optional<SimulationDTO> simulate(String budgetId, List<ScenarioDTO> scenarios, int months) {
+        log.debug("Request to simulate {} scenarios on Budget : {}", scenarios.size(), budgetId);
+        if (scenarios.size() > MAX_SCENARIOS) {
+            throw new BadRequestAlertException("A simulation cannot hold more than " + MAX_SCENARIOS + " scenarios",
+                ENTITY_NAME, "toomanyscenarios");
+        }
+        Optional<Budget> budget = budgetRepository.findById(budgetId);
+        if (!budget.isPresent()) {
+            return Optional.empty();
+        }
+        LedgerSnapshot snapshot = readSnapshot(budget.get());
+
+        // Apply the changes first, so that an invalid change fails the request before any evaluation
+        LedgerOverlay baseline = LedgerOverlay.of(snapshot);
+        List<LedgerOverlay> overlays = new ArrayList<>(scenarios.size());
+        for (ScenarioDTO scenario : scenarios) {
+            if (scenario.getChanges().size() > MAX_CHANGES) {
+                throw new BadRequestAlertException("A scenario cannot hold more than " + MAX_CHANGES + " changes",
+                    ENTITY_NAME, "toomanychanges");
+            }
+            LedgerOverlay overlay = baseline;
+            for (ScenarioChangeDTO change : scenario.getChanges()) {
+                overlay = overlay.apply(change);
+            }
+            overlays.add(overlay);
+        }
+
+        LocalDate from = LocalDate.now().plusDays(1);
+        CompletableFuture<ScenarioResultDTO> baselineResult = AsyncUtil.supplyAsync(() -> evaluate(null, baseline, from, months),
+            scenarioExecutor);
+        List<CompletableFuture<ScenarioResultDTO>> results = new ArrayList<>(overlays.size());
+        for (int i = 0; i < overlays.size(); i++) {
+            String name = scenarios.get(i).getName();
+            LedgerOverlay overlay = overlays.get(i);
+            results.add(AsyncUtil.supplyAsync(() -> evaluate(name, overlay, from, months), scenarioExecutor));
+        }
+
+        SimulationDTO simulation = new SimulationDTO();
+        simulation.setBaseline(AsyncUtil.join(baselineResult));
+        for (CompletableFuture<ScenarioResultDTO> result : results) {
+            simulation.getScenarios().add(AsyncUtil.join(result));
+        }
+        return Optional.of(simulation);
+    }
+
+    private ScenarioResultDTO evaluate(String name, LedgerOverlay overlay, LocalDate from, int months) {
+        BudgetSummaryDTO summary = overlay.summarize();
+        Budget totals = new Budget().totalIncome(summary.getTotalIncome()).totalOutcome(summary.getTotalOutcome());
+        totals.setId(summary.getBudgetId());
+        ScenarioResultDTO result = new ScenarioResultDTO();
+        result.setName(name);
+        result.setSummary(summary);
+        result.setForecast(forecastService.forecast(totals, overlay.rules(), from, months));
+        return result;
+    }
+
+    private LedgerSnapshot readSnapshot(Budget budget) {
+        List<LedgerSnapshot.Entry> entries = new ArrayList<>();
+        try (Stream<Income> incomes = incomeRepository.findAllByBudgetIdOrderById(budget.getId())) {
+            incomes.forEach(income -> addEntry(entries, income, LineItemType.INCOME));
+        }
+        try (Stream<Outcome> outcomes = outcomeRepository.findAllByBudgetIdOrderById(budget.getId())) {
+            outcomes.forEach(outcome -> addEntry(entries, outcome, LineItemType.OUTCOME));
+        }
+        List<RecurringRule> rules = recurringRuleRepository.findAllByBudgetId(budget.getId());
+        return new LedgerSnapshot(budget, entries, rules);
+    }
+
+    private static void addEntry(List<LedgerSnapshot.Entry> entries, LineItem item, LineItemType type) {
+        // Like the summaries, the scenarios are in the default currency only
+        if (item.getAmount() != null && Constants.DEFAULT_CURRENCY.equals(item.getAmount().getCurrency())) {
+            entries.add(new LedgerSnapshot.Entry(item.getId(), type, item.getAmount().getMinorUnits()));
+        }
+    }
+}
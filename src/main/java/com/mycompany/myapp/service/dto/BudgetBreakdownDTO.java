@@ -0,0 +1,92 @@
+package com.mycompany.myapp.service.dto;
+
+import com.mycompany.myapp.config.Constants;
+import com.mycompany.myapp.domain.Money;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A DTO representing the outcomes of a budget broken down by category: the largest categories, and the
+ * rest of the outcomes grouped as "other".
+ */
+public class BudgetBreakdownDTO {
+
+    private String budgetId;
+
+    private Money totalOutcome = Money.zero(Constants.DEFAULT_CURRENCY);
+
+    private long outcomeCount;
+
+    private List<CategoryTotalDTO> categories = new ArrayList<>();
+
+    private Money otherTotal = Money.zero(Constants.DEFAULT_CURRENCY);
+
+    private long otherCount;
+
+    public String getBudgetId() {
+        return budgetId;
+    }
+
+    public void setBudgetId(String budgetId) {
+        this.budgetId = budgetId;
+    }
+
+    public Money getTotalOutcome() {
+        return totalOutcome;
+    }
+
+    public void setTotalOutcome(Money totalOutcome) {
+        this.totalOutcome = totalOutcome;
+    }
+
+    public long getOutcomeCount() {
+        return outcomeCount;
+    }
+
+    public void setOutcomeCount(long outcomeCount) {
+        this.outcomeCount = outcomeCount;
+    }
+
+    /**
+     * @return the largest categories, by descending total
+     */
+    public List<CategoryTotalDTO> getCategories() {
+        return categories;
+    }
+
+    public void setCategories(List<CategoryTotalDTO> categories) {
+        this.categories = categories;
+    }
+
+    /**
+     * @return the total of the outcomes that are not in the largest categories
+     */
+    public Money getOtherTotal() {
+        return otherTotal;
+    }
+
+    public void setOtherTotal(Money otherTotal) {
+        this.otherTotal = otherTotal;
+    }
+
+    public long getOtherCount() {
+        return otherCount;
+    }
+
+    public void setOtherCount(long otherCount) {
+        this.otherCount = otherCount;
+    }
+
+    @Override
+    public String toString() {
+        return "BudgetBreakdownDTO{" +
+            "budgetId='" + budgetId + "'" +
+            ", totalOutcome=" + totalOutcome +
+            ", outcomeCount=" + outcomeCount +
+            ", categories=" + categories +
+            ", otherTotal=" + otherTotal +
+            ", otherCount=" + otherCount +
+            "}";
+    }
+}
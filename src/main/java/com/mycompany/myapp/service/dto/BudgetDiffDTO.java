@@ -0,0 +1,150 @@
+package com.mycompany.myapp.service.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A DTO representing the changes of a budget's line items from one month to another.
+ * <p>
+ * Only the first changes of each kind are listed, all of them are counted: the diff is complete when
+ * every change is listed.
+ */
+public class BudgetDiffDTO {
+
+    private String budgetId;
+
+    private String from;
+
+    private String to;
+
+    private boolean complete = true;
+
+    private List<LineItemChangeDTO> added = new ArrayList<>();
+
+    private List<LineItemChangeDTO> removed = new ArrayList<>();
+
+    private List<LineItemChangeDTO> changed = new ArrayList<>();
+
+    private long addedCount;
+
+    private long removedCount;
+
+    private long changedCount;
+
+    private long unchangedCount;
+
+    private List<CategoryDeltaDTO> categories = new ArrayList<>();
+
+    public String getBudgetId() {
+        return budgetId;
+    }
+
+    public void setBudgetId(String budgetId) {
+        this.budgetId = budgetId;
+    }
+
+    public String getFrom() {
+        return from;
+    }
+
+    public void setFrom(String from) {
+        this.from = from;
+    }
+
+    public String getTo() {
+        return to;
+    }
+
+    public void setTo(String to) {
+        this.to = to;
+    }
+
+    public boolean isComplete() {
+        return complete;
+    }
+
+    public void setComplete(boolean complete) {
+        this.complete = complete;
+    }
+
+    public List<LineItemChangeDTO> getAdded() {
+        return added;
+    }
+
+    public void setAdded(List<LineItemChangeDTO> added) {
+        this.added = added;
+    }
+
+    public List<LineItemChangeDTO> getRemoved() {
+        return removed;
+    }
+
+    public void setRemoved(List<LineItemChangeDTO> removed) {
+        this.removed = removed;
+    }
+
+    public List<LineItemChangeDTO> getChanged() {
+        return changed;
+    }
+
+    public void setChanged(List<LineItemChangeDTO> changed) {
+        this.changed = changed;
+    }
+
+    public long getAddedCount() {
+        return addedCount;
+    }
+
+    public void setAddedCount(long addedCount) {
+        this.addedCount = addedCount;
+    }
+
+    public long getRemovedCount() {
+        return removedCount;
+    }
+
+    public void setRemovedCount(long removedCount) {
+        this.removedCount = removedCount;
+    }
+
+    public long getChangedCount() {
+        return changedCount;
+    }
+
+    public void setChangedCount(long changedCount) {
+        this.changedCount = changedCount;
+    }
+
+    public long getUnchangedCount() {
+        return unchangedCount;
+    }
+
+    public void setUnchangedCount(long unchangedCount) {
+        this.unchangedCount = unchangedCount;
+    }
+
+    /**
+     * @return the deltas of the categories, incomes first, then by category
+     */
+    public List<CategoryDeltaDTO> getCategories() {
+        return categories;
+    }
+
+    public void setCategories(List<CategoryDeltaDTO> categories) {
+        this.categories = categories;
+    }
+
+    @Override
+    public String toString() {
+        return "BudgetDiffDTO{" +
+            "budgetId='" + budgetId + "'" +
+            ", from='" + from + "'" +
+            ", to='" + to + "'" +
+            ", complete=" + complete +
+            ", addedCount=" + addedCount +
+            ", removedCount=" + removedCount +
+            ", changedCount=" + changedCount +
+            ", unchangedCount=" + unchangedCount +
+            "}";
+    }
+}
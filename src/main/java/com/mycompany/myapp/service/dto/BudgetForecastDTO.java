@@ -0,0 +1,69 @@
+package com.mycompany.myapp.service.dto;
+
+import com.mycompany.myapp.config.Constants;
+import com.mycompany.myapp.domain.Money;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A DTO representing the balance of a budget projected from its recurring rules.
+ */
+public class BudgetForecastDTO {
+
+    private String budgetId;
+
+    private String from;
+
+    private Money startingBalance = Money.zero(Constants.DEFAULT_CURRENCY);
+
+    private List<ForecastMonthDTO> months = new ArrayList<>();
+
+    public String getBudgetId() {
+        return budgetId;
+    }
+
+    public void setBudgetId(String budgetId) {
+        this.budgetId = budgetId;
+    }
+
+    /**
+     * @return the first day of the forecast, the occurrences before it are already line items
+     */
+    public String getFrom() {
+        return from;
+    }
+
+    public void setFrom(String from) {
+        this.from = from;
+    }
+
+    /**
+     * @return the current balance of the budget
+     */
+    public Money getStartingBalance() {
+        return startingBalance;
+    }
+
+    public void setStartingBalance(Money startingBalance) {
+        this.startingBalance = startingBalance;
+    }
+
+    public List<ForecastMonthDTO> getMonths() {
+        return months;
+    }
+
+    public void setMonths(List<ForecastMonthDTO> months) {
+        this.months = months;
+    }
+
+    @Override
+    public String toString() {
+        return "BudgetForecastDTO{" +
+            "budgetId='" + budgetId + "'" +
+            ", from='" + from + "'" +
+            ", startingBalance=" + startingBalance +
+            ", months=" + months.size() +
+            "}";
+    }
+}
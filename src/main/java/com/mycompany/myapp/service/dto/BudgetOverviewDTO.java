@@ -0,0 +1,113 @@
+package com.mycompany.myapp.service.dto;
+
+import com.mycompany.myapp.config.Constants;
+import com.mycompany.myapp.domain.Money;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A DTO representing the combined totals and trends of several budgets.
+ */
+public class BudgetOverviewDTO {
+
+    private String from;
+
+    private String to;
+
+    private boolean complete = true;
+
+    private Money totalIncome = Money.zero(Constants.DEFAULT_CURRENCY);
+
+    private Money totalOutcome = Money.zero(Constants.DEFAULT_CURRENCY);
+
+    private Double savingsRate;
+
+    private List<MonthTotalsDTO> months = new ArrayList<>();
+
+    private List<BudgetTrendDTO> budgets = new ArrayList<>();
+
+    public String getFrom() {
+        return from;
+    }
+
+    public void setFrom(String from) {
+        this.from = from;
+    }
+
+    public String getTo() {
+        return to;
+    }
+
+    public void setTo(String to) {
+        this.to = to;
+    }
+
+    /**
+     * @return true if the trends of all the budgets were computed, false if some are missing from the
+     * combined months
+     */
+    public boolean isComplete() {
+        return complete;
+    }
+
+    public void setComplete(boolean complete) {
+        this.complete = complete;
+    }
+
+    public Money getTotalIncome() {
+        return totalIncome;
+    }
+
+    public void setTotalIncome(Money totalIncome) {
+        this.totalIncome = totalIncome;
+    }
+
+    public Money getTotalOutcome() {
+        return totalOutcome;
+    }
+
+    public void setTotalOutcome(Money totalOutcome) {
+        this.totalOutcome = totalOutcome;
+    }
+
+    public Money getBalance() {
+        return totalIncome.minus(totalOutcome);
+    }
+
+    public Double getSavingsRate() {
+        return savingsRate;
+    }
+
+    public void setSavingsRate(Double savingsRate) {
+        this.savingsRate = savingsRate;
+    }
+
+    public List<MonthTotalsDTO> getMonths() {
+        return months;
+    }
+
+    public void setMonths(List<MonthTotalsDTO> months) {
+        this.months = months;
+    }
+
+    public List<BudgetTrendDTO> getBudgets() {
+        return budgets;
+    }
+
+    public void setBudgets(List<BudgetTrendDTO> budgets) {
+        this.budgets = budgets;
+    }
+
+    @Override
+    public String toString() {
+        return "BudgetOverviewDTO{" +
+            "from='" + from + "'" +
+            ", to='" + to + "'" +
+            ", complete=" + complete +
+            ", totalIncome=" + totalIncome +
+            ", totalOutcome=" + totalOutcome +
+            ", budgets=" + budgets.size() +
+            "}";
+    }
+}
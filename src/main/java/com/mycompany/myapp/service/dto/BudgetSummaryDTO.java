@@ -0,0 +1,128 @@
+package com.mycompany.myapp.service.dto;
+
+import com.mycompany.myapp.config.Constants;
+import com.mycompany.myapp.domain.Money;
+
+/**
+ * A DTO representing the totals of a budget's incomes and outcomes.
+ */
+public class BudgetSummaryDTO {
+
+    private String budgetId;
+
+    private Money totalIncome;
+
+    private Money totalOutcome;
+
+    private long incomeCount;
+
+    private long outcomeCount;
+
+    private Money minIncome;
+
+    private Money maxIncome;
+
+    private Money minOutcome;
+
+    private Money maxOutcome;
+
+    public BudgetSummaryDTO() {
+        this(Constants.DEFAULT_CURRENCY);
+    }
+
+    public BudgetSummaryDTO(String currency) {
+        this.totalIncome = Money.zero(currency);
+        this.totalOutcome = Money.zero(currency);
+    }
+
+    public String getBudgetId() {
+        return budgetId;
+    }
+
+    public void setBudgetId(String budgetId) {
+        this.budgetId = budgetId;
+    }
+
+    public Money getTotalIncome() {
+        return totalIncome;
+    }
+
+    public void setTotalIncome(Money totalIncome) {
+        this.totalIncome = totalIncome;
+    }
+
+    public Money getTotalOutcome() {
+        return totalOutcome;
+    }
+
+    public void setTotalOutcome(Money totalOutcome) {
+        this.totalOutcome = totalOutcome;
+    }
+
+    public Money getBalance() {
+        return totalIncome.minus(totalOutcome);
+    }
+
+    public long getIncomeCount() {
+        return incomeCount;
+    }
+
+    public void setIncomeCount(long incomeCount) {
+        this.incomeCount = incomeCount;
+    }
+
+    public long getOutcomeCount() {
+        return outcomeCount;
+    }
+
+    public void setOutcomeCount(long outcomeCount) {
+        this.outcomeCount = outcomeCount;
+    }
+
+    public Money getMinIncome() {
+        return minIncome;
+    }
+
+    public void setMinIncome(Money minIncome) {
+        this.minIncome = minIncome;
+    }
+
+    public Money getMaxIncome() {
+        return maxIncome;
+    }
+
+    public void setMaxIncome(Money maxIncome) {
+        this.maxIncome = maxIncome;
+    }
+
+    public Money getMinOutcome() {
+        return minOutcome;
+    }
+
+    public void setMinOutcome(Money minOutcome) {
+        this.minOutcome = minOutcome;
+    }
+
+    public Money getMaxOutcome() {
+        return maxOutcome;
+    }
+
+    public void setMaxOutcome(Money maxOutcome) {
+        this.maxOutcome = maxOutcome;
+    }
+
+    @Override
+    public String toString() {
+        return "BudgetSummaryDTO{" +
+            "budgetId='" + budgetId + '\'' +
+            ", totalIncome=" + totalIncome +
+            ", totalOutcome=" + totalOutcome +
+            ", incomeCount=" + incomeCount +
+            ", outcomeCount=" + outcomeCount +
+            ", minIncome=" + minIncome +
+            ", maxIncome=" + maxIncome +
+            ", minOutcome=" + minOutcome +
+            ", maxOutcome=" + maxOutcome +
+            "}";
+    }
+}
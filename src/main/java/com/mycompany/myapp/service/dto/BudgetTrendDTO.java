@@ -0,0 +1,162 @@
+package com.mycompany.myapp.service.dto;
+
+import com.mycompany.myapp.config.Constants;
+import com.mycompany.myapp.domain.Money;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A DTO representing the totals, monthly trend and ratios of one budget, in a portfolio overview.
+ */
+public class BudgetTrendDTO {
+
+    public enum Status {
+        /**
+         * The trend was computed.
+         */
+        COMPLETE,
+        /**
+         * The trend was not computed within the time budget of the request: only the totals are set.
+         */
+        TIMED_OUT,
+        /**
+         * The trend could not be computed: only the totals are set.
+         */
+        FAILED
+    }
+
+    private String budgetId;
+
+    private String title;
+
+    private Status status = Status.COMPLETE;
+
+    private Money totalIncome = Money.zero(Constants.DEFAULT_CURRENCY);
+
+    private Money totalOutcome = Money.zero(Constants.DEFAULT_CURRENCY);
+
+    private long itemCount;
+
+    private Double savingsRate;
+
+    private Money averageMonthlyIncome;
+
+    private Money averageMonthlyOutcome;
+
+    private Money balanceTrend;
+
+    private List<MonthTotalsDTO> months = new ArrayList<>();
+
+    public String getBudgetId() {
+        return budgetId;
+    }
+
+    public void setBudgetId(String budgetId) {
+        this.budgetId = budgetId;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
+    public Money getTotalIncome() {
+        return totalIncome;
+    }
+
+    public void setTotalIncome(Money totalIncome) {
+        this.totalIncome = totalIncome;
+    }
+
+    public Money getTotalOutcome() {
+        return totalOutcome;
+    }
+
+    public void setTotalOutcome(Money totalOutcome) {
+        this.totalOutcome = totalOutcome;
+    }
+
+    public Money getBalance() {
+        return totalIncome.minus(totalOutcome);
+    }
+
+    public long getItemCount() {
+        return itemCount;
+    }
+
+    public void setItemCount(long itemCount) {
+        this.itemCount = itemCount;
+    }
+
+    /**
+     * @return the share of the income that is not spent, or null if there is no income
+     */
+    public Double getSavingsRate() {
+        return savingsRate;
+    }
+
+    public void setSavingsRate(Double savingsRate) {
+        this.savingsRate = savingsRate;
+    }
+
+    public Money getAverageMonthlyIncome() {
+        return averageMonthlyIncome;
+    }
+
+    public void setAverageMonthlyIncome(Money averageMonthlyIncome) {
+        this.averageMonthlyIncome = averageMonthlyIncome;
+    }
+
+    public Money getAverageMonthlyOutcome() {
+        return averageMonthlyOutcome;
+    }
+
+    public void setAverageMonthlyOutcome(Money averageMonthlyOutcome) {
+        this.averageMonthlyOutcome = averageMonthlyOutcome;
+    }
+
+    /**
+     * @return the change of the monthly balance per month, fitted over the months of the overview
+     */
+    public Money getBalanceTrend() {
+        return balanceTrend;
+    }
+
+    public void setBalanceTrend(Money balanceTrend) {
+        this.balanceTrend = balanceTrend;
+    }
+
+    public List<MonthTotalsDTO> getMonths() {
+        return months;
+    }
+
+    public void setMonths(List<MonthTotalsDTO> months) {
+        this.months = months;
+    }
+
+    @Override
+    public String toString() {
+        return "BudgetTrendDTO{" +
+            "budgetId='" + budgetId + "'" +
+            ", title='" + title + "'" +
+            ", status=" + status +
+            ", totalIncome=" + totalIncome +
+            ", totalOutcome=" + totalOutcome +
+            ", itemCount=" + itemCount +
+            ", savingsRate=" + savingsRate +
+            ", balanceTrend=" + balanceTrend +
+            "}";
+    }
+}
@@ -0,0 +1,77 @@
+package com.mycompany.myapp.service.dto;
+
+/**
+ * A DTO representing the outcome of one item of a bulk request.
+ */
+public class BulkItemResultDTO {
+
+    private int index;
+
+    private String id;
+
+    private boolean success;
+
+    private String error;
+
+    public BulkItemResultDTO() {
+        // Empty constructor needed for Jackson.
+    }
+
+    public static BulkItemResultDTO success(int index, String id) {
+        BulkItemResultDTO result = new BulkItemResultDTO();
+        result.index = index;
+        result.id = id;
+        result.success = true;
+        return result;
+    }
+
+    public static BulkItemResultDTO failure(int index, String id, String error) {
+        BulkItemResultDTO result = new BulkItemResultDTO();
+        result.index = index;
+        result.id = id;
+        result.error = error;
+        return result;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public void setIndex(int index) {
+        this.index = index;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public boolean isSuccess() {
+        return success;
+    }
+
+    public void setSuccess(boolean success) {
+        this.success = success;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    @Override
+    public String toString() {
+        return "BulkItemResultDTO{" +
+            "index=" + index +
+            ", id='" + id + '\'' +
+            ", success=" + success +
+            ", error='" + error + '\'' +
+            "}";
+    }
+}
@@ -0,0 +1,46 @@
+package com.mycompany.myapp.service.dto;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * A DTO representing the outcome of a bulk request, item by item, in the order of the request.
+ */
+public class BulkResultDTO {
+
+    private List<BulkItemResultDTO> items = new ArrayList<>();
+
+    public BulkResultDTO() {
+        // Empty constructor needed for Jackson.
+    }
+
+    public BulkResultDTO(List<BulkItemResultDTO> items) {
+        this.items = new ArrayList<>(items);
+        this.items.sort(Comparator.comparingInt(BulkItemResultDTO::getIndex));
+    }
+
+    public List<BulkItemResultDTO> getItems() {
+        return items;
+    }
+
+    public void setItems(List<BulkItemResultDTO> items) {
+        this.items = items;
+    }
+
+    public long getSucceeded() {
+        return items.stream().filter(BulkItemResultDTO::isSuccess).count();
+    }
+
+    public long getFailed() {
+        return items.size() - getSucceeded();
+    }
+
+    @Override
+    public String toString() {
+        return "BulkResultDTO{" +
+            "succeeded=" + getSucceeded() +
+            ", failed=" + getFailed() +
+            "}";
+    }
+}
@@ -0,0 +1,99 @@
+package com.mycompany.myapp.service.dto;
+
+import com.mycompany.myapp.config.Constants;
+import com.mycompany.myapp.domain.Money;
+import com.mycompany.myapp.domain.enumeration.LineItemType;
+
+/**
+ * A DTO representing the change of the total of a category between two months.
+ */
+public class CategoryDeltaDTO {
+
+    private LineItemType type;
+
+    private String category;
+
+    private Money fromTotal = Money.zero(Constants.DEFAULT_CURRENCY);
+
+    private Money toTotal = Money.zero(Constants.DEFAULT_CURRENCY);
+
+    private long fromCount;
+
+    private long toCount;
+
+    public CategoryDeltaDTO() {
+        // Empty constructor needed for Jackson.
+    }
+
+    public CategoryDeltaDTO(LineItemType type, String category) {
+        this.type = type;
+        this.category = category;
+    }
+
+    public LineItemType getType() {
+        return type;
+    }
+
+    public void setType(LineItemType type) {
+        this.type = type;
+    }
+
+    /**
+     * @return the category, or null for the incomes and the outcomes without a category
+     */
+    public String getCategory() {
+        return category;
+    }
+
+    public void setCategory(String category) {
+        this.category = category;
+    }
+
+    public Money getFromTotal() {
+        return fromTotal;
+    }
+
+    public void setFromTotal(Money fromTotal) {
+        this.fromTotal = fromTotal;
+    }
+
+    public Money getToTotal() {
+        return toTotal;
+    }
+
+    public void setToTotal(Money toTotal) {
+        this.toTotal = toTotal;
+    }
+
+    public long getFromCount() {
+        return fromCount;
+    }
+
+    public void setFromCount(long fromCount) {
+        this.fromCount = fromCount;
+    }
+
+    public long getToCount() {
+        return toCount;
+    }
+
+    public void setToCount(long toCount) {
+        this.toCount = toCount;
+    }
+
+    public Money getDelta() {
+        return toTotal.minus(fromTotal);
+    }
+
+    @Override
+    public String toString() {
+        return "CategoryDeltaDTO{" +
+            "type=" + type +
+            ", category='" + category + "'" +
+            ", fromTotal=" + fromTotal +
+            ", toTotal=" + toTotal +
+            ", fromCount=" + fromCount +
+            ", toCount=" + toCount +
+            "}";
+    }
+}
@@ -0,0 +1,61 @@
+package com.mycompany.myapp.service.dto;
+
+import com.mycompany.myapp.domain.Money;
+
+/**
+ * A DTO representing the total of the outcomes of a category.
+ */
+public class CategoryTotalDTO {
+
+    private String category;
+
+    private Money total;
+
+    private long count;
+
+    public CategoryTotalDTO() {
+        // Empty constructor needed for Jackson.
+    }
+
+    public CategoryTotalDTO(String category, Money total, long count) {
+        this.category = category;
+        this.total = total;
+        this.count = count;
+    }
+
+    /**
+     * @return the category, or null for the outcomes without a category
+     */
+    public String getCategory() {
+        return category;
+    }
+
+    public void setCategory(String category) {
+        this.category = category;
+    }
+
+    public Money getTotal() {
+        return total;
+    }
+
+    public void setTotal(Money total) {
+        this.total = total;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public void setCount(long count) {
+        this.count = count;
+    }
+
+    @Override
+    public String toString() {
+        return "CategoryTotalDTO{" +
+            "category='" + category + "'" +
+            ", total=" + total +
+            ", count=" + count +
+            "}";
+    }
+}
@@ -0,0 +1,84 @@
+package com.mycompany.myapp.service.dto;
+
+import com.mycompany.myapp.domain.Budget;
+import com.mycompany.myapp.domain.Income;
+import com.mycompany.myapp.domain.Outcome;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A DTO representing what the front end shows on load: the current user, the budgets with their totals,
+ * and the most recent line items.
+ */
+public class DashboardDTO {
+
+    private UserDTO account;
+
+    private List<Budget> budgets = new ArrayList<>();
+
+    private long budgetCount;
+
+    private List<Income> recentIncomes = new ArrayList<>();
+
+    private List<Outcome> recentOutcomes = new ArrayList<>();
+
+    public UserDTO getAccount() {
+        return account;
+    }
+
+    public void setAccount(UserDTO account) {
+        this.account = account;
+    }
+
+    /**
+     * @return the first budgets in id order, with their running totals
+     */
+    public List<Budget> getBudgets() {
+        return budgets;
+    }
+
+    public void setBudgets(List<Budget> budgets) {
+        this.budgets = budgets;
+    }
+
+    public long getBudgetCount() {
+        return budgetCount;
+    }
+
+    public void setBudgetCount(long budgetCount) {
+        this.budgetCount = budgetCount;
+    }
+
+    /**
+     * @return the most recent incomes, by descending date
+     */
+    public List<Income> getRecentIncomes() {
+        return recentIncomes;
+    }
+
+    public void setRecentIncomes(List<Income> recentIncomes) {
+        this.recentIncomes = recentIncomes;
+    }
+
+    /**
+     * @return the most recent outcomes, by descending date
+     */
+    public List<Outcome> getRecentOutcomes() {
+        return recentOutcomes;
+    }
+
+    public void setRecentOutcomes(List<Outcome> recentOutcomes) {
+        this.recentOutcomes = recentOutcomes;
+    }
+
+    @Override
+    public String toString() {
+        return "DashboardDTO{" +
+            "account=" + account +
+            ", budgetCount=" + budgetCount +
+            ", recentIncomes=" + recentIncomes.size() +
+            ", recentOutcomes=" + recentOutcomes.size() +
+            "}";
+    }
+}
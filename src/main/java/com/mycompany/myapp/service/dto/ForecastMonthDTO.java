@@ -0,0 +1,71 @@
+package com.mycompany.myapp.service.dto;
+
+import com.mycompany.myapp.config.Constants;
+import com.mycompany.myapp.domain.Money;
+
+/**
+ * A DTO representing the projected incomes, outcomes and balance of a budget in one month.
+ */
+public class ForecastMonthDTO {
+
+    private String month;
+
+    private Money totalIncome = Money.zero(Constants.DEFAULT_CURRENCY);
+
+    private Money totalOutcome = Money.zero(Constants.DEFAULT_CURRENCY);
+
+    private Money balance = Money.zero(Constants.DEFAULT_CURRENCY);
+
+    public ForecastMonthDTO() {
+        // Empty constructor needed for Jackson.
+    }
+
+    public ForecastMonthDTO(String month) {
+        this.month = month;
+    }
+
+    public String getMonth() {
+        return month;
+    }
+
+    public void setMonth(String month) {
+        this.month = month;
+    }
+
+    public Money getTotalIncome() {
+        return totalIncome;
+    }
+
+    public void setTotalIncome(Money totalIncome) {
+        this.totalIncome = totalIncome;
+    }
+
+    public Money getTotalOutcome() {
+        return totalOutcome;
+    }
+
+    public void setTotalOutcome(Money totalOutcome) {
+        this.totalOutcome = totalOutcome;
+    }
+
+    /**
+     * @return the projected balance of the budget at the end of the month
+     */
+    public Money getBalance() {
+        return balance;
+    }
+
+    public void setBalance(Money balance) {
+        this.balance = balance;
+    }
+
+    @Override
+    public String toString() {
+        return "ForecastMonthDTO{" +
+            "month='" + month + "'" +
+            ", totalIncome=" + totalIncome +
+            ", totalOutcome=" + totalOutcome +
+            ", balance=" + balance +
+            "}";
+    }
+}
@@ -0,0 +1,105 @@
+package com.mycompany.myapp.service.dto;
+
+import com.mycompany.myapp.domain.Money;
+import com.mycompany.myapp.domain.enumeration.LineItemType;
+
+import java.time.LocalDate;
+
+/**
+ * A DTO representing a line item added, removed or changed between two months: the "from" values are
+ * null for an added line item, and the "to" values are null for a removed one.
+ */
+public class LineItemChangeDTO {
+
+    private LineItemType type;
+
+    private String category;
+
+    private String fromId;
+
+    private LocalDate fromDate;
+
+    private Money fromAmount;
+
+    private String toId;
+
+    private LocalDate toDate;
+
+    private Money toAmount;
+
+    public LineItemType getType() {
+        return type;
+    }
+
+    public void setType(LineItemType type) {
+        this.type = type;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public void setCategory(String category) {
+        this.category = category;
+    }
+
+    public String getFromId() {
+        return fromId;
+    }
+
+    public void setFromId(String fromId) {
+        this.fromId = fromId;
+    }
+
+    public LocalDate getFromDate() {
+        return fromDate;
+    }
+
+    public void setFromDate(LocalDate fromDate) {
+        this.fromDate = fromDate;
+    }
+
+    public Money getFromAmount() {
+        return fromAmount;
+    }
+
+    public void setFromAmount(Money fromAmount) {
+        this.fromAmount = fromAmount;
+    }
+
+    public String getToId() {
+        return toId;
+    }
+
+    public void setToId(String toId) {
+        this.toId = toId;
+    }
+
+    public LocalDate getToDate() {
+        return toDate;
+    }
+
+    public void setToDate(LocalDate toDate) {
+        this.toDate = toDate;
+    }
+
+    public Money getToAmount() {
+        return toAmount;
+    }
+
+    public void setToAmount(Money toAmount) {
+        this.toAmount = toAmount;
+    }
+
+    @Override
+    public String toString() {
+        return "LineItemChangeDTO{" +
+            "type=" + type +
+            ", category='" + category + "'" +
+            ", fromId='" + fromId + "'" +
+            ", fromAmount=" + fromAmount +
+            ", toId='" + toId + "'" +
+            ", toAmount=" + toAmount +
+            "}";
+    }
+}
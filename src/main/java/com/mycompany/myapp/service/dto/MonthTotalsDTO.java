@@ -0,0 +1,72 @@
+package com.mycompany.myapp.service.dto;
+
+import com.mycompany.myapp.config.Constants;
+import com.mycompany.myapp.domain.Money;
+
+/**
+ * A DTO representing the totals of the line items of one month.
+ */
+public class MonthTotalsDTO {
+
+    private String month;
+
+    private Money totalIncome = Money.zero(Constants.DEFAULT_CURRENCY);
+
+    private Money totalOutcome = Money.zero(Constants.DEFAULT_CURRENCY);
+
+    private long itemCount;
+
+    public MonthTotalsDTO() {
+        // Empty constructor needed for Jackson.
+    }
+
+    public MonthTotalsDTO(String month) {
+        this.month = month;
+    }
+
+    public String getMonth() {
+        return month;
+    }
+
+    public void setMonth(String month) {
+        this.month = month;
+    }
+
+    public Money getTotalIncome() {
+        return totalIncome;
+    }
+
+    public void setTotalIncome(Money totalIncome) {
+        this.totalIncome = totalIncome;
+    }
+
+    public Money getTotalOutcome() {
+        return totalOutcome;
+    }
+
+    public void setTotalOutcome(Money totalOutcome) {
+        this.totalOutcome = totalOutcome;
+    }
+
+    public Money getBalance() {
+        return totalIncome.minus(totalOutcome);
+    }
+
+    public long getItemCount() {
+        return itemCount;
+    }
+
+    public void setItemCount(long itemCount) {
+        this.itemCount = itemCount;
+    }
+
+    @Override
+    public String toString() {
+        return "MonthTotalsDTO{" +
+            "month='" + month + "'" +
+            ", totalIncome=" + totalIncome +
+            ", totalOutcome=" + totalOutcome +
+            ", itemCount=" + itemCount +
+            "}";
+    }
+}
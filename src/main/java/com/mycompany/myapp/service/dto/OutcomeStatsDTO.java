@@ -0,0 +1,131 @@
+package com.mycompany.myapp.service.dto;
+
+import com.mycompany.myapp.domain.Money;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A DTO representing the statistics of all the outcomes.
+ * <p>
+ * The count, total and totals per day are exact. The quantiles and distinct counts are estimated from
+ * sketches, over every outcome amount ever written.
+ */
+public class OutcomeStatsDTO {
+
+    private long count;
+
+    private Money total;
+
+    private Money min;
+
+    private Money p50;
+
+    private Money p90;
+
+    private Money p99;
+
+    private Money max;
+
+    private long distinctCategories;
+
+    private long distinctBudgets;
+
+    private Map<String, Money> days = new LinkedHashMap<>();
+
+    public long getCount() {
+        return count;
+    }
+
+    public void setCount(long count) {
+        this.count = count;
+    }
+
+    public Money getTotal() {
+        return total;
+    }
+
+    public void setTotal(Money total) {
+        this.total = total;
+    }
+
+    public Money getMin() {
+        return min;
+    }
+
+    public void setMin(Money min) {
+        this.min = min;
+    }
+
+    public Money getP50() {
+        return p50;
+    }
+
+    public void setP50(Money p50) {
+        this.p50 = p50;
+    }
+
+    public Money getP90() {
+        return p90;
+    }
+
+    public void setP90(Money p90) {
+        this.p90 = p90;
+    }
+
+    public Money getP99() {
+        return p99;
+    }
+
+    public void setP99(Money p99) {
+        this.p99 = p99;
+    }
+
+    public Money getMax() {
+        return max;
+    }
+
+    public void setMax(Money max) {
+        this.max = max;
+    }
+
+    public long getDistinctCategories() {
+        return distinctCategories;
+    }
+
+    public void setDistinctCategories(long distinctCategories) {
+        this.distinctCategories = distinctCategories;
+    }
+
+    public long getDistinctBudgets() {
+        return distinctBudgets;
+    }
+
+    public void setDistinctBudgets(long distinctBudgets) {
+        this.distinctBudgets = distinctBudgets;
+    }
+
+    /**
+     * @return the total of the outcomes of each day, by ascending date
+     */
+    public Map<String, Money> getDays() {
+        return days;
+    }
+
+    public void setDays(Map<String, Money> days) {
+        this.days = days;
+    }
+
+    @Override
+    public String toString() {
+        return "OutcomeStatsDTO{" +
+            "count=" + count +
+            ", total=" + total +
+            ", p50=" + p50 +
+            ", p90=" + p90 +
+            ", p99=" + p99 +
+            ", distinctCategories=" + distinctCategories +
+            ", distinctBudgets=" + distinctBudgets +
+            "}";
+    }
+}
@@ -0,0 +1,95 @@
+package com.mycompany.myapp.service.dto;
+
+import com.mycompany.myapp.domain.Money;
+import com.mycompany.myapp.domain.enumeration.LineItemType;
+
+import java.math.BigDecimal;
+
+/**
+ * A DTO representing one hypothetical change of a what-if scenario.
+ * <p>
+ * The "id" refers to an income, an outcome or a recurring rule of the budget.
+ */
+public class ScenarioChangeDTO {
+
+    public enum Operation {
+        /**
+         * Add a line item of a "type" and "amount".
+         */
+        ADD,
+        /**
+         * Remove the "id" line item or rule.
+         */
+        REMOVE,
+        /**
+         * Replace the amount of the "id" line item or rule by "amount".
+         */
+        SET_AMOUNT,
+        /**
+         * Raise, or lower if negative, by "percent" the amount of the "id" line item or rule, or of all the
+         * line items and rules of a "type". An amount cannot be lowered by more than 100 percent.
+         */
+        SCALE
+    }
+
+    private Operation operation;
+
+    private String id;
+
+    private LineItemType type;
+
+    private Money amount;
+
+    private BigDecimal percent;
+
+    public Operation getOperation() {
+        return operation;
+    }
+
+    public void setOperation(Operation operation) {
+        this.operation = operation;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public LineItemType getType() {
+        return type;
+    }
+
+    public void setType(LineItemType type) {
+        this.type = type;
+    }
+
+    public Money getAmount() {
+        return amount;
+    }
+
+    public void setAmount(Money amount) {
+        this.amount = amount;
+    }
+
+    public BigDecimal getPercent() {
+        return percent;
+    }
+
+    public void setPercent(BigDecimal percent) {
+        this.percent = percent;
+    }
+
+    @Override
+    public String toString() {
+        return "ScenarioChangeDTO{" +
+            "operation=" + operation +
+            ", id='" + id + "'" +
+            ", type=" + type +
+            ", amount=" + amount +
+            ", percent=" + percent +
+            "}";
+    }
+}
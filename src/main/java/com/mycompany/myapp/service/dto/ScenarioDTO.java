@@ -0,0 +1,38 @@
+package com.mycompany.myapp.service.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A DTO representing a what-if scenario: hypothetical changes applied, in order, to a budget.
+ */
+public class ScenarioDTO {
+
+    private String name;
+
+    private List<ScenarioChangeDTO> changes = new ArrayList<>();
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public List<ScenarioChangeDTO> getChanges() {
+        return changes;
+    }
+
+    public void setChanges(List<ScenarioChangeDTO> changes) {
+        this.changes = changes;
+    }
+
+    @Override
+    public String toString() {
+        return "ScenarioDTO{" +
+            "name='" + name + "'" +
+            ", changes=" + changes +
+            "}";
+    }
+}
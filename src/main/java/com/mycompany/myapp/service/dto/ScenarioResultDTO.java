@@ -0,0 +1,46 @@
+package com.mycompany.myapp.service.dto;
+
+/**
+ * A DTO representing the summary and the forecast of a budget under a what-if scenario.
+ */
+public class ScenarioResultDTO {
+
+    private String name;
+
+    private BudgetSummaryDTO summary;
+
+    private BudgetForecastDTO forecast;
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public BudgetSummaryDTO getSummary() {
+        return summary;
+    }
+
+    public void setSummary(BudgetSummaryDTO summary) {
+        this.summary = summary;
+    }
+
+    public BudgetForecastDTO getForecast() {
+        return forecast;
+    }
+
+    public void setForecast(BudgetForecastDTO forecast) {
+        this.forecast = forecast;
+    }
+
+    @Override
+    public String toString() {
+        return "ScenarioResultDTO{" +
+            "name='" + name + "'" +
+            ", summary=" + summary +
+            ", forecast=" + forecast +
+            "}";
+    }
+}
@@ -0,0 +1,41 @@
+package com.mycompany.myapp.service.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A DTO representing the results of what-if scenarios, next to the budget as it is stored.
+ */
+public class SimulationDTO {
+
+    private ScenarioResultDTO baseline;
+
+    private List<ScenarioResultDTO> scenarios = new ArrayList<>();
+
+    public ScenarioResultDTO getBaseline() {
+        return baseline;
+    }
+
+    public void setBaseline(ScenarioResultDTO baseline) {
+        this.baseline = baseline;
+    }
+
+    /**
+     * @return the result of each scenario, in the order of the request
+     */
+    public List<ScenarioResultDTO> getScenarios() {
+        return scenarios;
+    }
+
+    public void setScenarios(List<ScenarioResultDTO> scenarios) {
+        this.scenarios = scenarios;
+    }
+
+    @Override
+    public String toString() {
+        return "SimulationDTO{" +
+            "baseline=" + baseline +
+            ", scenarios=" + scenarios.size() +
+            "}";
+    }
+}
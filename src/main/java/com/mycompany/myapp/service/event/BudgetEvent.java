@@ -0,0 +1,47 @@
+package com.mycompany.myapp.service.event;
+
+/**
+ * A budget was created, updated or deleted.
+ */
+public final class BudgetEvent {
+
+    public enum Type {
+        CREATED, UPDATED, DELETED
+    }
+
+    private final Type type;
+
+    private final String id;
+
+    private final String title;
+
+    public BudgetEvent(Type type, String id, String title) {
+        this.type = type;
+        this.id = id;
+        this.title = title;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    /**
+     * @return the title of the budget after the change, or null if it was deleted
+     */
+    public String getTitle() {
+        return title;
+    }
+
+    @Override
+    public String toString() {
+        return "BudgetEvent{" +
+            "type=" + type +
+            ", id='" + id + "'" +
+            ", title='" + title + "'" +
+            "}";
+    }
+}
@@ -0,0 +1,163 @@
+package com.mycompany.myapp.service.event;
+
+import com.mycompany.myapp.domain.Income;
+import com.mycompany.myapp.domain.LineItem;
+import com.mycompany.myapp.domain.Outcome;
+
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * An income or an outcome was created, updated or deleted.
+ * <p>
+ * The event holds a copy of the values the projections depend on, before and after the change, so that
+ * it can be projected after the entity has changed again.
+ */
+public final class LineItemEvent {
+
+    public enum Type {
+        CREATED, UPDATED, DELETED
+    }
+
+    private final Type type;
+
+    private final String id;
+
+    private final Snapshot previous;
+
+    private final Snapshot current;
+
+    private LineItemEvent(Type type, String id, Snapshot previous, Snapshot current) {
+        this.type = type;
+        this.id = id;
+        this.previous = previous;
+        this.current = current;
+    }
+
+    /**
+     * Create the event of a change.
+     *
+     * @param previous the line item as it was stored before the change, or null if it was created
+     * @param current the line item as it is stored after the change, or null if it was deleted
+     * @return the event
+     */
+    public static LineItemEvent of(LineItem previous, LineItem current) {
+        Type type = previous == null ? Type.CREATED : current == null ? Type.DELETED : Type.UPDATED;
+        String id = current == null ? previous.getId() : current.getId();
+        return new LineItemEvent(type, id, Snapshot.of(previous), Snapshot.of(current));
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    /**
+     * @return the line item before the change, or null if it was created
+     */
+    public Snapshot getPrevious() {
+        return previous;
+    }
+
+    /**
+     * @return the line item after the change, or null if it was deleted
+     */
+    public Snapshot getCurrent() {
+        return current;
+    }
+
+    /**
+     * @return the ids of the budgets the line item belonged to before and after the change
+     */
+    public Set<String> getBudgetIds() {
+        Set<String> budgetIds = new HashSet<>();
+        if (previous != null && previous.getBudgetId() != null) {
+            budgetIds.add(previous.getBudgetId());
+        }
+        if (current != null && current.getBudgetId() != null) {
+            budgetIds.add(current.getBudgetId());
+        }
+        return budgetIds;
+    }
+
+    @Override
+    public String toString() {
+        return "LineItemEvent{" +
+            "type=" + type +
+            ", id='" + id + "'" +
+            ", previous=" + previous +
+            ", current=" + current +
+            "}";
+    }
+
+    /**
+     * The values of a line item that the projections depend on.
+     */
+    public static final class Snapshot {
+
+        private final boolean income;
+
+        private final String budgetId;
+
+        private final LocalDate date;
+
+        private final long minorUnits;
+
+        private final String category;
+
+        public Snapshot(boolean income, String budgetId, LocalDate date, long minorUnits, String category) {
+            this.income = income;
+            this.budgetId = budgetId;
+            this.date = date;
+            this.minorUnits = minorUnits;
+            this.category = category;
+        }
+
+        static Snapshot of(LineItem item) {
+            if (item == null) {
+                return null;
+            }
+            String budgetId = item.getBudget() == null ? null : item.getBudget().getId();
+            String category = item instanceof Outcome ? ((Outcome) item).getCategory() : null;
+            return new Snapshot(item instanceof Income, budgetId, item.getDate(), item.getAmount().getMinorUnits(), category);
+        }
+
+        public boolean isIncome() {
+            return income;
+        }
+
+        public String getBudgetId() {
+            return budgetId;
+        }
+
+        public LocalDate getDate() {
+            return date;
+        }
+
+        public long getMinorUnits() {
+            return minorUnits;
+        }
+
+        /**
+         * @return the category of an outcome, or null
+         */
+        public String getCategory() {
+            return category;
+        }
+
+        @Override
+        public String toString() {
+            return "Snapshot{" +
+                "income=" + income +
+                ", budgetId='" + budgetId + "'" +
+                ", date=" + date +
+                ", minorUnits=" + minorUnits +
+                ", category='" + category + "'" +
+                "}";
+        }
+    }
+}
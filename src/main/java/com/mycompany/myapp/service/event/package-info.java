@@ -0,0 +1,4 @@
+/**
+ * Domain events published when budgets and line items are written.
+ */
+package com.mycompany.myapp.service.event;
@@ -0,0 +1,57 @@
+package com.mycompany.myapp.service.util;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+
+/**
+ * Utility class for running work on the bounded pools of the application.
+ */
+public final class AsyncUtil {
+
+    private AsyncUtil() {
+    }
+
+    /**
+     * Run a task on a pool, or on the calling thread if the pool is saturated, so that a request is slowed
+     * down rather than failed.
+     *
+     * @param task the task
+     * @param executor the pool
+     * @param <T> the type of the result
+     * @return the result of the task, completed exceptionally if the task failed, also on the calling thread
+     */
+    public static <T> CompletableFuture<T> supplyAsync(Supplier<T> task, Executor executor) {
+        try {
+            return CompletableFuture.supplyAsync(task, executor);
+        } catch (RejectedExecutionException e) {
+            CompletableFuture<T> result = new CompletableFuture<>();
+            try {
+                result.complete(task.get());
+            } catch (RuntimeException | Error failure) {
+                result.completeExceptionally(failure);
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Wait for the result of a task, throwing its failure as is.
+     *
+     * @param future the result of the task
+     * @param <T> the type of the result
+     * @return the result
+     */
+    public static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.mycompany.myapp.service.util;
+
+/**
+ * A mergeable sketch of the number of distinct values, with a standard error of about
+ * 1.04 / sqrt(2<sup>precision</sup>) in 2<sup>precision</sup> bytes.
+ * <p>
+ * Two sketches of the same precision are merged by keeping the largest of each register. This class is
+ * not thread-safe.
+ */
+public final class HyperLogLog {
+
+    private final int precision;
+
+    private final byte[] registers;
+
+    public HyperLogLog(int precision) {
+        this(precision, new byte[1 << precision]);
+    }
+
+    private HyperLogLog(int precision, byte[] registers) {
+        if (precision < 4 || precision > 18) {
+            throw new IllegalArgumentException("The precision must be between 4 and 18: " + precision);
+        }
+        this.precision = precision;
+        this.registers = registers;
+    }
+
+    /**
+     * Create a sketch from its registers, as returned by {@link #getRegisters()}.
+     */
+    public static HyperLogLog of(byte[] registers) {
+        int precision = Integer.numberOfTrailingZeros(registers.length);
+        if (registers.length != 1 << precision) {
+            throw new IllegalArgumentException("The number of registers must be a power of 2: " + registers.length);
+        }
+        return new HyperLogLog(precision, registers.clone());
+    }
+
+    public void add(String value) {
+        long hash = hash(value);
+        int index = (int) (hash >>> (64 - precision));
+        // The sentinel bit bounds the rank to the bits left after the index
+        int rank = Long.numberOfLeadingZeros((hash << precision) | (1L << (precision - 1))) + 1;
+        if (rank > registers[index]) {
+            registers[index] = (byte) rank;
+        }
+    }
+
+    /**
+     * Add the values of another sketch to this one.
+     */
+    public void merge(HyperLogLog other) {
+        if (other.precision != precision) {
+            throw new IllegalArgumentException("Cannot merge sketches of precisions " + precision + " and " + other.precision);
+        }
+        for (int i = 0; i < registers.length; i++) {
+            registers[i] = (byte) Math.max(registers[i], other.registers[i]);
+        }
+    }
+
+    public HyperLogLog copy() {
+        return new HyperLogLog(precision, registers.clone());
+    }
+
+    /**
+     * @return the estimated number of distinct values
+     */
+    public long cardinality() {
+        int m = registers.length;
+        double sum = 0;
+        int zeros = 0;
+        for (byte register : registers) {
+            sum += 1.0 / (1L << register);
+            if (register == 0) {
+                zeros++;
+            }
+        }
+        double alpha = 0.7213 / (1 + 1.079 / m);
+        double estimate = alpha * m * m / sum;
+        if (estimate <= 2.5 * m && zeros > 0) {
+            // Linear counting is more accurate for small cardinalities
+            estimate = m * Math.log((double) m / zeros);
+        }
+        return Math.round(estimate);
+    }
+
+    public byte[] getRegisters() {
+        return registers.clone();
+    }
+
+    /**
+     * A 64-bit FNV-1a hash of the characters, finished with the MurmurHash3 mixer so that all its bits
+     * are well distributed.
+     */
+    private static long hash(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb93fe53e87c5L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
@@ -0,0 +1,209 @@
+package com.mycompany.myapp.service.util;
+
+import java.util.Arrays;
+
+/**
+ * A mergeable sketch of the distribution of values, answering quantile queries with a small relative
+ * error, most accurate in the tails (Dunning's merging t-digest).
+ * <p>
+ * Values are buffered, then merged into at most about {@code compression} centroids, whose size is bounded
+ * by the k1 scale function. Two digests are merged by adding the centroids of one to the other. This
+ * class is not thread-safe.
+ */
+public final class TDigest {
+
+    private final double compression;
+
+    private double[] means;
+
+    private double[] weights;
+
+    private final double[] bufferMeans;
+
+    private final double[] bufferWeights;
+
+    private int buffered;
+
+    private double totalWeight;
+
+    private double min = Double.POSITIVE_INFINITY;
+
+    private double max = Double.NEGATIVE_INFINITY;
+
+    public TDigest(double compression) {
+        this.compression = compression;
+        this.means = new double[0];
+        this.weights = new double[0];
+        int bufferSize = (int) Math.ceil(5 * compression);
+        this.bufferMeans = new double[bufferSize];
+        this.bufferWeights = new double[bufferSize];
+    }
+
+    /**
+     * Create a digest from its centroids, as returned by {@link #getMeans()} and {@link #getWeights()}.
+     */
+    public static TDigest of(double compression, double[] means, double[] weights, double min, double max) {
+        TDigest digest = new TDigest(compression);
+        digest.means = means.clone();
+        digest.weights = weights.clone();
+        for (double weight : weights) {
+            digest.totalWeight += weight;
+        }
+        if (means.length > 0) {
+            digest.min = min;
+            digest.max = max;
+        }
+        return digest;
+    }
+
+    public void add(double value) {
+        add(value, 1);
+    }
+
+    public void add(double value, double weight) {
+        if (buffered == bufferMeans.length) {
+            compress();
+        }
+        bufferMeans[buffered] = value;
+        bufferWeights[buffered] = weight;
+        buffered++;
+        totalWeight += weight;
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+    }
+
+    /**
+     * Add the values of another digest to this one.
+     */
+    public void merge(TDigest other) {
+        other.compress();
+        for (int i = 0; i < other.means.length; i++) {
+            add(other.means[i], other.weights[i]);
+        }
+        if (other.totalWeight > 0) {
+            min = Math.min(min, other.min);
+            max = Math.max(max, other.max);
+        }
+    }
+
+    public TDigest copy() {
+        compress();
+        return of(compression, means, weights, min, max);
+    }
+
+    /**
+     * Merge the buffered values into the centroids.
+     */
+    public void compress() {
+        if (buffered == 0) {
+            return;
+        }
+        int n = means.length + buffered;
+        double[] allMeans = Arrays.copyOf(means, n);
+        double[] allWeights = Arrays.copyOf(weights, n);
+        System.arraycopy(bufferMeans, 0, allMeans, means.length, buffered);
+        System.arraycopy(bufferWeights, 0, allWeights, means.length, buffered);
+        buffered = 0;
+        sort(allMeans, allWeights);
+
+        double total = 0;
+        for (double weight : allWeights) {
+            total += weight;
+        }
+        int last = 0;
+        double done = 0;
+        double limit = total * qLimit(0);
+        for (int i = 1; i < n; i++) {
+            if (done + allWeights[last] + allWeights[i] <= limit) {
+                allWeights[last] += allWeights[i];
+                allMeans[last] += (allMeans[i] - allMeans[last]) * allWeights[i] / allWeights[last];
+            } else {
+                done += allWeights[last];
+                limit = total * qLimit(done / total);
+                last++;
+                allMeans[last] = allMeans[i];
+                allWeights[last] = allWeights[i];
+            }
+        }
+        means = Arrays.copyOf(allMeans, last + 1);
+        weights = Arrays.copyOf(allWeights, last + 1);
+    }
+
+    /**
+     * The largest quantile that a centroid starting at quantile q can reach: one unit of the k1 scale
+     * function, k(q) = compression / 2π · asin(2q - 1), further.
+     */
+    private double qLimit(double q) {
+        double k = Math.asin(2 * q - 1) + 2 * Math.PI / compression;
+        return k >= Math.PI / 2 ? 1 : (Math.sin(k) + 1) / 2;
+    }
+
+    /**
+     * Estimate a quantile, interpolating between the centroids.
+     *
+     * @param q the quantile, between 0 and 1
+     * @return the estimated value, or NaN if the digest is empty
+     */
+    public double quantile(double q) {
+        compress();
+        int n = means.length;
+        if (n == 0) {
+            return Double.NaN;
+        }
+        if (n == 1) {
+            return means[0];
+        }
+        double index = q * totalWeight;
+        if (index < weights[0] / 2) {
+            return min + (means[0] - min) * index / (weights[0] / 2);
+        }
+        double cumulative = weights[0] / 2;
+        for (int i = 0; i < n - 1; i++) {
+            double step = (weights[i] + weights[i + 1]) / 2;
+            if (cumulative + step > index) {
+                return means[i] + (means[i + 1] - means[i]) * (index - cumulative) / step;
+            }
+            cumulative += step;
+        }
+        double tail = weights[n - 1] / 2;
+        return Math.min(max, means[n - 1] + (max - means[n - 1]) * (index - cumulative) / tail);
+    }
+
+    public double getTotalWeight() {
+        return totalWeight;
+    }
+
+    public double getMin() {
+        return min;
+    }
+
+    public double getMax() {
+        return max;
+    }
+
+    public double[] getMeans() {
+        compress();
+        return means.clone();
+    }
+
+    public double[] getWeights() {
+        compress();
+        return weights.clone();
+    }
+
+    private static void sort(double[] means, double[] weights) {
+        Integer[] order = new Integer[means.length];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> Double.compare(means[a], means[b]));
+        double[] sortedMeans = new double[means.length];
+        double[] sortedWeights = new double[weights.length];
+        for (int i = 0; i < order.length; i++) {
+            sortedMeans[i] = means[order[i]];
+            sortedWeights[i] = weights[order[i]];
+        }
+        System.arraycopy(sortedMeans, 0, means, 0, means.length);
+        System.arraycopy(sortedWeights, 0, weights, 0, weights.length);
+    }
+}
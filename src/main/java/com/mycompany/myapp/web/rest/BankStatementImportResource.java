@@ -0,0 +1,83 @@
+package com.mycompany.myapp.web.rest;
+
+import com.codahale.metrics.annotation.Timed;
+import com.mycompany.myapp.service.BankStatementImportService;
+import com.mycompany.myapp.service.dto.ImportJobDTO;
+import com.mycompany.myapp.web.rest.errors.BadRequestAlertException;
+import io.github.jhipster.web.util.ResponseUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+
+/**
+ * REST controller for importing bank statements into budgets.
+ */
+@RestController
+@RequestMapping("/api")
+public class BankStatementImportResource {
+
+    private final Logger log = LoggerFactory.getLogger(BankStatementImportResource.class);
+
+    private static final String ENTITY_NAME = "import";
+
+    private final BankStatementImportService bankStatementImportService;
+
+    public BankStatementImportResource(BankStatementImportService bankStatementImportService) {
+        this.bankStatementImportService = bankStatementImportService;
+    }
+
+    /**
+     * POST  /budgets/:id/imports : Start importing a CSV bank statement into the "id" budget.
+     * <p>
+     * The statement is imported in the background: the progress of the import is given by the
+     * resource in the Location header.
+     *
+     * @param id the id of the budget
+     * @param file the CSV bank statement, with an "amount" column
+     * @return the ResponseEntity with status 202 (Accepted) and with body the import job,
+     * or with status 400 (Bad Request) if the file is empty, or with status 404 (Not Found)
+     * @throws IOException if the file could not be stored
+     * @throws URISyntaxException if the Location URI syntax is incorrect
+     */
+    @PostMapping("/budgets/{id}/imports")
+    @Timed
+    public ResponseEntity<ImportJobDTO> importBankStatement(@PathVariable String id, @RequestParam("file") MultipartFile file)
+        throws IOException, URISyntaxException {
+        log.debug("REST request to import a bank statement into Budget : {}", id);
+        if (file.isEmpty()) {
+            throw new BadRequestAlertException("The bank statement is empty", ENTITY_NAME, "fileempty");
+        }
+        // The upload is deleted at the end of the request, so keep a copy for the import
+        Path statement = Files.createTempFile("bank-statement-", ".csv");
+        file.transferTo(statement.toFile());
+        Optional<ImportJobDTO> job = bankStatementImportService.start(id, statement);
+        if (!job.isPresent()) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.accepted()
+            .location(new URI("/api/imports/" + job.get().getId()))
+            .body(job.get());
+    }
+
+    /**
+     * GET  /imports/:id : get the progress of the "id" import.
+     *
+     * @param id the id of the import
+     * @return the ResponseEntity with status 200 (OK) and with body the import job, or with status 404 (Not Found)
+     */
+    @GetMapping("/imports/{id}")
+    @Timed
+    public ResponseEntity<ImportJobDTO> getImport(@PathVariable String id) {
+        log.debug("REST request to get bank statement import : {}", id);
+        return ResponseUtil.wrapOrNotFound(bankStatementImportService.findOne(id));
+    }
+}
@@ -1,22 +1,53 @@
 package com.mycompany.myapp.web.rest;
 
 import com.codahale.metrics.annotation.Timed;
+import com.mycompany.myapp.config.Constants;
 import com.mycompany.myapp.domain.Budget;
-import com.mycompany.myapp.repository.BudgetRepository;
+import com.mycompany.myapp.domain.BudgetMonth;
+import com.mycompany.myapp.service.BudgetBreakdownService;
+import com.mycompany.myapp.service.BudgetDiffService;
+import com.mycompany.myapp.service.BudgetExportService;
+import com.mycompany.myapp.service.BudgetOverviewService;
+import com.mycompany.myapp.service.BudgetService;
+import com.mycompany.myapp.service.BudgetSummaryService;
+import com.mycompany.myapp.service.ForecastService;
+import com.mycompany.myapp.service.dto.BudgetBreakdownDTO;
+import com.mycompany.myapp.service.dto.BudgetDiffDTO;
+import com.mycompany.myapp.service.dto.BudgetForecastDTO;
+import com.mycompany.myapp.service.dto.BudgetOverviewDTO;
+import com.mycompany.myapp.service.dto.BudgetSummaryDTO;
 import com.mycompany.myapp.web.rest.errors.BadRequestAlertException;
+import com.mycompany.myapp.web.rest.util.FieldsetUtil;
 import com.mycompany.myapp.web.rest.util.HeaderUtil;
+import com.mycompany.myapp.web.rest.util.PaginationUtil;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import io.github.jhipster.web.util.ResponseUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.util.UriComponentsBuilder;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import javax.validation.Valid;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
 
+import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * REST controller for managing Budget.
@@ -29,10 +60,40 @@ public class BudgetResource {
 
     private static final String ENTITY_NAME = "budget";
 
-    private final BudgetRepository budgetRepository;
+    private static final int DEFAULT_MONTHS = 24;
 
-    public BudgetResource(BudgetRepository budgetRepository) {
-        this.budgetRepository = budgetRepository;
+    private static final int DEFAULT_OVERVIEW_MONTHS = 12;
+
+    private static final int DEFAULT_BREAKDOWN_TOP = 10;
+
+    private final BudgetService budgetService;
+
+    private final BudgetSummaryService budgetSummaryService;
+
+    private final BudgetExportService budgetExportService;
+
+    private final BudgetOverviewService budgetOverviewService;
+
+    private final ForecastService forecastService;
+
+    private final BudgetBreakdownService budgetBreakdownService;
+
+    private final BudgetDiffService budgetDiffService;
+
+    private final ObjectMapper objectMapper;
+
+    public BudgetResource(BudgetService budgetService, BudgetSummaryService budgetSummaryService,
+                          BudgetExportService budgetExportService, BudgetOverviewService budgetOverviewService,
+                          ForecastService forecastService, BudgetBreakdownService budgetBreakdownService,
+                          BudgetDiffService budgetDiffService, ObjectMapper objectMapper) {
+        this.budgetService = budgetService;
+        this.budgetSummaryService = budgetSummaryService;
+        this.budgetExportService = budgetExportService;
+        this.budgetOverviewService = budgetOverviewService;
+        this.forecastService = forecastService;
+        this.budgetBreakdownService = budgetBreakdownService;
+        this.budgetDiffService = budgetDiffService;
+        this.objectMapper = objectMapper;
     }
 
     /**
@@ -49,58 +110,318 @@ public class BudgetResource {
         if (budget.getId() != null) {
             throw new BadRequestAlertException("A new budget cannot already have an ID", ENTITY_NAME, "idexists");
         }
-        Budget result = budgetRepository.save(budget);
+        Budget result = budgetService.save(budget);
         return ResponseEntity.created(new URI("/api/budgets/" + result.getId()))
             .headers(HeaderUtil.createEntityCreationAlert(ENTITY_NAME, result.getId().toString()))
+            .eTag(HeaderUtil.createETag(result.getVersion()))
             .body(result);
     }
 
     /**
      * PUT  /budgets : Updates an existing budget.
+     * <p>
+     * With an If-Match header, holding the ETag the budget was read with, the budget is only updated if it
+     * did not change since.
      *
      * @param budget the budget to update
-     * @return the ResponseEntity with status 200 (OK) and with body the updated budget,
+     * @param ifMatch the ETag of the version to update, if any
+     * @return the ResponseEntity with status 200 (OK) and with body the updated budget and its new ETag,
      * or with status 400 (Bad Request) if the budget is not valid,
+     * or with status 412 (Precondition Failed) if the budget does not match the If-Match header,
      * or with status 500 (Internal Server Error) if the budget couldn't be updated
      * @throws URISyntaxException if the Location URI syntax is incorrect
      */
     @PutMapping("/budgets")
     @Timed
-    public ResponseEntity<Budget> updateBudget(@Valid @RequestBody Budget budget) throws URISyntaxException {
+    public ResponseEntity<Budget> updateBudget(@Valid @RequestBody Budget budget,
+                                               @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch)
+        throws URISyntaxException {
         log.debug("REST request to update Budget : {}", budget);
         if (budget.getId() == null) {
             throw new BadRequestAlertException("Invalid id", ENTITY_NAME, "idnull");
         }
-        Budget result = budgetRepository.save(budget);
+        Budget result = budgetService.save(budget, HeaderUtil.parseIfMatch(ifMatch, ENTITY_NAME));
         return ResponseEntity.ok()
             .headers(HeaderUtil.createEntityUpdateAlert(ENTITY_NAME, budget.getId().toString()))
+            .eTag(HeaderUtil.createETag(result.getVersion()))
             .body(result);
     }
 
+    /**
+     * PATCH  /budgets/:id : Partially updates an existing budget, with a JSON merge patch of its title and description.
+     * <p>
+     * Only the patched fields are validated and written; a null value removes a field. With an If-Match
+     * header, the budget is only updated if it did not change since it was read.
+     *
+     * @param id the id of the budget to update
+     * @param patch the JSON merge patch
+     * @param ifMatch the ETag of the version to update, if any
+     * @return the ResponseEntity with status 200 (OK) and with body the updated budget and its new ETag,
+     * or with status 400 (Bad Request) if the patch is not valid,
+     * or with status 404 (Not Found) if the budget does not exist,
+     * or with status 412 (Precondition Failed) if the budget does not match the If-Match header
+     */
+    @PatchMapping("/budgets/{id}")
+    @Timed
+    public ResponseEntity<Budget> patchBudget(@PathVariable String id, @RequestBody ObjectNode patch,
+                                              @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        log.debug("REST request to patch Budget : {}, {}", id, patch);
+        return budgetService.patch(id, patch, HeaderUtil.parseIfMatch(ifMatch, ENTITY_NAME))
+            .map(result -> ResponseEntity.ok()
+                .headers(HeaderUtil.createEntityUpdateAlert(ENTITY_NAME, id))
+                .eTag(HeaderUtil.createETag(result.getVersion()))
+                .body(result))
+            .orElse(new ResponseEntity<>(HttpStatus.NOT_FOUND));
+    }
+
     /**
      * GET  /budgets : get all the budgets.
      *
+     * @param pageable the pagination information
      * @return the ResponseEntity with status 200 (OK) and the list of budgets in body
      */
     @GetMapping("/budgets")
     @Timed
-    public List<Budget> getAllBudgets() {
-        log.debug("REST request to get all Budgets");
-        return budgetRepository.findAll();
+    public ResponseEntity<List<Budget>> getAllBudgets(Pageable pageable) {
+        log.debug("REST request to get a page of Budgets");
+        Page<Budget> page = budgetService.findAll(pageable);
+        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(page, "/api/budgets");
+        return new ResponseEntity<>(page.getContent(), headers, HttpStatus.OK);
+    }
+
+    /**
+     * GET  /budgets?fields=:property,:property : get all the budgets, with only some of their properties.
+     * <p>
+     * Only the requested fields are read from the database, the incomes and outcomes being only
+     * read when requested. The fields cannot be combined with a cursor.
+     *
+     * @param fields the comma separated properties to return, besides the id
+     * @param after must be absent
+     * @param pageable the pagination information
+     * @return the ResponseEntity with status 200 (OK) and the list of budgets in body,
+     * or with status 400 (Bad Request) if a property is unknown or if a cursor is given
+     */
+    @GetMapping(value = "/budgets", params = "fields")
+    @Timed
+    public ResponseEntity<List<ObjectNode>> getAllBudgetFields(@RequestParam String fields,
+                                                               @RequestParam(required = false) String after,
+                                                               Pageable pageable) {
+        log.debug("REST request to get a page of Budgets with : {}", fields);
+        if (after != null) {
+            throw new BadRequestAlertException("Fields cannot be combined with a cursor", ENTITY_NAME, "fieldsunsupported");
+        }
+        Set<String> properties = FieldsetUtil.parseFields(fields, Budget.class, ENTITY_NAME, objectMapper);
+        Page<Budget> page = budgetService.findAll(pageable, properties);
+        String baseUrl = UriComponentsBuilder.fromPath("/api/budgets").queryParam("fields", fields).toUriString();
+        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(page, baseUrl);
+        return new ResponseEntity<>(FieldsetUtil.select(page.getContent(), properties, objectMapper), headers, HttpStatus.OK);
+    }
+
+    /**
+     * GET  /budgets?after=:id : get the budgets following the "id" budget, in id order.
+     * <p>
+     * Keyset pagination: the cost of a page does not depend on its depth, and the Link header
+     * holds the cursor of the next page.
+     *
+     * @param after the id of the last budget of the previous page, or empty for the first page
+     * @param pageable the pagination information, only the page size is used
+     * @return the ResponseEntity with status 200 (OK) and the list of budgets in body,
+     * or with status 400 (Bad Request) if the cursor is not a valid id
+     */
+    @GetMapping(value = "/budgets", params = {"after", "!fields"})
+    @Timed
+    public ResponseEntity<List<Budget>> getAllBudgetsAfter(@RequestParam String after, Pageable pageable) {
+        log.debug("REST request to get a slice of Budgets after : {}", after);
+        Slice<Budget> slice = budgetService.findAllAfter(PaginationUtil.parseKeysetCursor(after, ENTITY_NAME), pageable.getPageSize());
+        HttpHeaders headers = PaginationUtil.generateKeysetPaginationHttpHeaders(slice, Budget::getId, "/api/budgets");
+        return new ResponseEntity<>(slice.getContent(), headers, HttpStatus.OK);
+    }
+
+    /**
+     * GET  /budgets/overview?ids=:id,:id&to=yyyy-MM&months=12 : get the combined totals and trends of budgets.
+     * <p>
+     * The budgets are aggregated in parallel within a time budget: the budgets that could not be aggregated
+     * in time have their totals only, and the overview is marked as not complete.
+     *
+     * @param ids the ids of the budgets, all the budgets up to the configured maximum by default
+     * @param to the last month, the current month by default
+     * @param months the number of months of the trends, 12 by default
+     * @return the ResponseEntity with status 200 (OK) and with body the overview,
+     * or with status 400 (Bad Request) if there are too many budgets or months
+     */
+    @GetMapping("/budgets/overview")
+    @Timed
+    public ResponseEntity<BudgetOverviewDTO> getBudgetOverview(@RequestParam(required = false) List<String> ids,
+                                                               @RequestParam(required = false) YearMonth to,
+                                                               @RequestParam(defaultValue = "" + DEFAULT_OVERVIEW_MONTHS) int months) {
+        log.debug("REST request to get the overview of Budgets : {} to {} over {} months", ids, to, months);
+        Set<String> budgetIds = ids != null ? new LinkedHashSet<>(ids) : Collections.emptySet();
+        if (budgetIds.size() > budgetOverviewService.getMaxBudgets()) {
+            throw new BadRequestAlertException("An overview can hold at most " + budgetOverviewService.getMaxBudgets()
+                + " budgets", ENTITY_NAME, "toomanybudgets");
+        }
+        if (months < 1 || months > Constants.MAX_MONTHS) {
+            throw new BadRequestAlertException("A range of months must span from 1 to " + Constants.MAX_MONTHS + " months",
+                ENTITY_NAME, "monthrangeinvalid");
+        }
+        YearMonth last = to != null ? to : YearMonth.now();
+        return ResponseEntity.ok(budgetOverviewService.getOverview(budgetIds, last.minusMonths(months - 1), last));
     }
 
     /**
      * GET  /budgets/:id : get the "id" budget.
+     * <p>
+     * The version of the budget is read first: when it matches the If-None-Match header, the budget and
+     * its line items are not read.
      *
      * @param id the id of the budget to retrieve
-     * @return the ResponseEntity with status 200 (OK) and with body the budget, or with status 404 (Not Found)
+     * @param request the request, for its If-None-Match header
+     * @return the ResponseEntity with status 200 (OK) and with body the budget, or with status 304 (Not Modified)
+     * if the client has its current version, or with status 404 (Not Found)
      */
     @GetMapping("/budgets/{id}")
     @Timed
-    public ResponseEntity<Budget> getBudget(@PathVariable String id) {
+    public ResponseEntity<Budget> getBudget(@PathVariable String id, WebRequest request) {
         log.debug("REST request to get Budget : {}", id);
-        Optional<Budget> budget = budgetRepository.findById(id);
-        return ResponseUtil.wrapOrNotFound(budget);
+        Optional<Long> version = budgetService.findVersion(id);
+        if (!version.isPresent()) {
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        }
+        if (request.checkNotModified(HeaderUtil.createETag(version.get()))) {
+            return null;
+        }
+        Optional<Budget> budget = budgetService.findOne(id);
+        return budget
+            .map(response -> ResponseEntity.ok().eTag(HeaderUtil.createETag(response.getVersion())).body(response))
+            .orElse(new ResponseEntity<>(HttpStatus.NOT_FOUND));
+    }
+
+    /**
+     * GET  /budgets/:id/summary : get the totals of the "id" budget.
+     *
+     * @param id the id of the budget to summarize
+     * @return the ResponseEntity with status 200 (OK) and with body the summary, or with status 404 (Not Found)
+     */
+    @GetMapping("/budgets/{id}/summary")
+    @Timed
+    public ResponseEntity<BudgetSummaryDTO> getBudgetSummary(@PathVariable String id) {
+        log.debug("REST request to get the summary of Budget : {}", id);
+        Optional<BudgetSummaryDTO> summary = budgetSummaryService.findOne(id);
+        return ResponseUtil.wrapOrNotFound(summary);
+    }
+
+    /**
+     * GET  /budgets/:id/breakdown?top=10 : get the outcomes of the "id" budget by category.
+     *
+     * @param id the id of the budget
+     * @param top the number of categories, 10 by default
+     * @return the ResponseEntity with status 200 (OK) and with body the breakdown,
+     * or with status 400 (Bad Request) if the number of categories is invalid, or with status 404 (Not Found)
+     */
+    @GetMapping("/budgets/{id}/breakdown")
+    @Timed
+    public ResponseEntity<BudgetBreakdownDTO> getBudgetBreakdown(@PathVariable String id,
+                                                                 @RequestParam(defaultValue = "" + DEFAULT_BREAKDOWN_TOP) int top) {
+        log.debug("REST request to get the breakdown of Budget : {} in {} categories", id, top);
+        if (top < 1 || top > BudgetBreakdownService.MAX_TOP) {
+            throw new BadRequestAlertException("A breakdown must have from 1 to " + BudgetBreakdownService.MAX_TOP + " categories",
+                ENTITY_NAME, "topinvalid");
+        }
+        return ResponseUtil.wrapOrNotFound(budgetBreakdownService.findOne(id, top));
+    }
+
+    /**
+     * GET  /budgets/:id/diff?from=yyyy-MM&to=yyyy-MM : get the changes of the line items of the "id" budget
+     * from one month to another.
+     *
+     * @param id the id of the budget
+     * @param from the month to compare from, the month before the other one by default
+     * @param to the month to compare to, the current month by default
+     * @return the ResponseEntity with status 200 (OK) and with body the diff, or with status 404 (Not Found)
+     */
+    @GetMapping("/budgets/{id}/diff")
+    @Timed
+    public ResponseEntity<BudgetDiffDTO> getBudgetDiff(@PathVariable String id,
+                                                       @RequestParam(required = false) YearMonth from,
+                                                       @RequestParam(required = false) YearMonth to) {
+        log.debug("REST request to diff Budget : {} from {} to {}", id, from, to);
+        YearMonth last = to != null ? to : from != null ? from.plusMonths(1) : YearMonth.now();
+        YearMonth first = from != null ? from : last.minusMonths(1);
+        return ResponseUtil.wrapOrNotFound(budgetDiffService.diff(id, first, last));
+    }
+
+    /**
+     * GET  /budgets/:id/months?from=yyyy-MM&to=yyyy-MM : get the monthly totals of the "id" budget.
+     * <p>
+     * Only the months that have line items are returned. By default, the last 24 months are returned.
+     *
+     * @param id the id of the budget
+     * @param from the first month, 23 months before the last one by default
+     * @param to the last month, the current month by default
+     * @return the ResponseEntity with status 200 (OK) and with body the list of months,
+     * or with status 400 (Bad Request) if the range is invalid, or with status 404 (Not Found)
+     */
+    @GetMapping("/budgets/{id}/months")
+    @Timed
+    public ResponseEntity<List<BudgetMonth>> getBudgetMonths(@PathVariable String id,
+                                                             @RequestParam(required = false) YearMonth from,
+                                                             @RequestParam(required = false) YearMonth to) {
+        log.debug("REST request to get the months of Budget : {} from {} to {}", id, from, to);
+        YearMonth last = to != null ? to : from != null ? from.plusMonths(DEFAULT_MONTHS - 1) : YearMonth.now();
+        YearMonth first = from != null ? from : last.minusMonths(DEFAULT_MONTHS - 1);
+        if (first.isAfter(last) || ChronoUnit.MONTHS.between(first, last) >= Constants.MAX_MONTHS) {
+            throw new BadRequestAlertException("A range of months must span from 1 to " + Constants.MAX_MONTHS + " months",
+                ENTITY_NAME, "monthrangeinvalid");
+        }
+        return ResponseUtil.wrapOrNotFound(budgetService.findMonths(id, first, last));
+    }
+
+    /**
+     * GET  /budgets/:id/forecast?months=12 : project the balance of the "id" budget from its recurring rules.
+     *
+     * @param id the id of the budget
+     * @param months the number of months, including the current one, 12 by default
+     * @return the ResponseEntity with status 200 (OK) and with body the forecast,
+     * or with status 400 (Bad Request) if the number of months is invalid, or with status 404 (Not Found)
+     */
+    @GetMapping("/budgets/{id}/forecast")
+    @Timed
+    public ResponseEntity<BudgetForecastDTO> getBudgetForecast(@PathVariable String id,
+                                                               @RequestParam(defaultValue = "" + Constants.DEFAULT_FORECAST_MONTHS) int months) {
+        log.debug("REST request to get the forecast of Budget : {} over {} months", id, months);
+        if (months < 1 || months > Constants.MAX_MONTHS) {
+            throw new BadRequestAlertException("A range of months must span from 1 to " + Constants.MAX_MONTHS + " months",
+                ENTITY_NAME, "monthrangeinvalid");
+        }
+        return ResponseUtil.wrapOrNotFound(forecastService.forecast(id, months));
+    }
+
+    /**
+     * GET  /budgets/:id/export?format=csv|ndjson : export the incomes and outcomes of the "id" budget.
+     * <p>
+     * The export is streamed from a database cursor as it is written.
+     *
+     * @param id the id of the budget to export
+     * @param format the format of the export, csv by default
+     * @return the ResponseEntity with status 200 (OK) and with body the export,
+     * or with status 400 (Bad Request) if the format is not supported, or with status 404 (Not Found)
+     */
+    @GetMapping("/budgets/{id}/export")
+    @Timed
+    public ResponseEntity<StreamingResponseBody> exportBudget(@PathVariable String id,
+                                                              @RequestParam(defaultValue = "csv") String format) {
+        log.debug("REST request to export Budget : {} as {}", id, format);
+        BudgetExportService.Format exportFormat = BudgetExportService.Format.fromName(format)
+            .orElseThrow(() -> new BadRequestAlertException("Invalid export format", ENTITY_NAME, "formatinvalid"));
+        if (!budgetExportService.exists(id)) {
+            return ResponseEntity.notFound().build();
+        }
+        StreamingResponseBody body = out -> budgetExportService.export(id, exportFormat, out);
+        return ResponseEntity.ok()
+            .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+            .header(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"budget-" + id + "." + exportFormat.getExtension() + "\"")
+            .body(body);
     }
 
     /**
@@ -114,7 +435,7 @@ public class BudgetResource {
     public ResponseEntity<Void> deleteBudget(@PathVariable String id) {
         log.debug("REST request to delete Budget : {}", id);
 
-        budgetRepository.deleteById(id);
+        budgetService.delete(id);
         return ResponseEntity.ok().headers(HeaderUtil.createEntityDeletionAlert(ENTITY_NAME, id)).build();
     }
 }
@@ -0,0 +1,42 @@
+package com.mycompany.myapp.web.rest;
+
+import com.codahale.metrics.annotation.Timed;
+import com.mycompany.myapp.service.DashboardService;
+import com.mycompany.myapp.service.dto.DashboardDTO;
+import com.mycompany.myapp.web.rest.errors.InternalServerErrorException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * REST controller for the dashboard of the front end.
+ */
+@RestController
+@RequestMapping("/api")
+public class DashboardResource {
+
+    private final Logger log = LoggerFactory.getLogger(DashboardResource.class);
+
+    private final DashboardService dashboardService;
+
+    public DashboardResource(DashboardService dashboardService) {
+        this.dashboardService = dashboardService;
+    }
+
+    /**
+     * GET  /dashboard : get the current user, the budgets with their totals and the most recent line items,
+     * in one round trip.
+     *
+     * @return the dashboard
+     * @throws RuntimeException 500 (Internal Server Error) if the user couldn't be returned
+     */
+    @GetMapping("/dashboard")
+    @Timed
+    public DashboardDTO getDashboard() {
+        log.debug("REST request to get the dashboard");
+        return dashboardService.getDashboard()
+            .orElseThrow(() -> new InternalServerErrorException("User could not be found"));
+    }
+}
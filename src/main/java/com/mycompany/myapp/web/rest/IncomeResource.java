@@ -2,14 +2,24 @@ package com.mycompany.myapp.web.rest;
 
 import com.codahale.metrics.annotation.Timed;
 import com.mycompany.myapp.domain.Income;
-import com.mycompany.myapp.repository.IncomeRepository;
+import com.mycompany.myapp.service.IncomeService;
+import com.mycompany.myapp.service.dto.BulkResultDTO;
 import com.mycompany.myapp.web.rest.errors.BadRequestAlertException;
+import com.mycompany.myapp.web.rest.util.FieldsetUtil;
 import com.mycompany.myapp.web.rest.util.HeaderUtil;
-import io.github.jhipster.web.util.ResponseUtil;
+import com.mycompany.myapp.web.rest.util.PaginationUtil;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.util.UriComponentsBuilder;
 
 import javax.validation.Valid;
 import java.net.URI;
@@ -17,6 +27,7 @@ import java.net.URISyntaxException;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * REST controller for managing Income.
@@ -29,10 +40,13 @@ public class IncomeResource {
 
     private static final String ENTITY_NAME = "income";
 
-    private final IncomeRepository incomeRepository;
+    private final IncomeService incomeService;
 
-    public IncomeResource(IncomeRepository incomeRepository) {
-        this.incomeRepository = incomeRepository;
+    private final ObjectMapper objectMapper;
+
+    public IncomeResource(IncomeService incomeService, ObjectMapper objectMapper) {
+        this.incomeService = incomeService;
+        this.objectMapper = objectMapper;
     }
 
     /**
@@ -49,58 +63,229 @@ public class IncomeResource {
         if (income.getId() != null) {
             throw new BadRequestAlertException("A new income cannot already have an ID", ENTITY_NAME, "idexists");
         }
-        Income result = incomeRepository.save(income);
+        Income result = incomeService.save(income);
         return ResponseEntity.created(new URI("/api/incomes/" + result.getId()))
             .headers(HeaderUtil.createEntityCreationAlert(ENTITY_NAME, result.getId().toString()))
+            .eTag(HeaderUtil.createETag(result.getVersion()))
             .body(result);
     }
 
     /**
      * PUT  /incomes : Updates an existing income.
+     * <p>
+     * With an If-Match header, holding the ETag the income was read with, the income is only updated if it
+     * did not change since.
      *
      * @param income the income to update
-     * @return the ResponseEntity with status 200 (OK) and with body the updated income,
+     * @param ifMatch the ETag of the version to update, if any
+     * @return the ResponseEntity with status 200 (OK) and with body the updated income and its new ETag,
      * or with status 400 (Bad Request) if the income is not valid,
+     * or with status 412 (Precondition Failed) if the income does not match the If-Match header,
      * or with status 500 (Internal Server Error) if the income couldn't be updated
      * @throws URISyntaxException if the Location URI syntax is incorrect
      */
     @PutMapping("/incomes")
     @Timed
-    public ResponseEntity<Income> updateIncome(@Valid @RequestBody Income income) throws URISyntaxException {
+    public ResponseEntity<Income> updateIncome(@Valid @RequestBody Income income,
+                                               @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch)
+        throws URISyntaxException {
         log.debug("REST request to update Income : {}", income);
         if (income.getId() == null) {
             throw new BadRequestAlertException("Invalid id", ENTITY_NAME, "idnull");
         }
-        Income result = incomeRepository.save(income);
+        Income result = incomeService.save(income, HeaderUtil.parseIfMatch(ifMatch, ENTITY_NAME));
         return ResponseEntity.ok()
             .headers(HeaderUtil.createEntityUpdateAlert(ENTITY_NAME, income.getId().toString()))
+            .eTag(HeaderUtil.createETag(result.getVersion()))
+            .body(result);
+    }
+
+    /**
+     * PATCH  /incomes/:id : Partially updates an existing income, with a JSON merge patch of its amount, date and budget.
+     * <p>
+     * Only the patched fields are validated and written; a null value removes a field. With an If-Match
+     * header, the income is only updated if it did not change since it was read.
+     *
+     * @param id the id of the income to update
+     * @param patch the JSON merge patch
+     * @param ifMatch the ETag of the version to update, if any
+     * @return the ResponseEntity with status 200 (OK) and with body the updated income and its new ETag,
+     * or with status 400 (Bad Request) if the patch is not valid,
+     * or with status 404 (Not Found) if the income does not exist,
+     * or with status 412 (Precondition Failed) if the income does not match the If-Match header
+     */
+    @PatchMapping("/incomes/{id}")
+    @Timed
+    public ResponseEntity<Income> patchIncome(@PathVariable String id, @RequestBody ObjectNode patch,
+                                              @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        log.debug("REST request to patch Income : {}, {}", id, patch);
+        return incomeService.patch(id, patch, HeaderUtil.parseIfMatch(ifMatch, ENTITY_NAME))
+            .map(result -> ResponseEntity.ok()
+                .headers(HeaderUtil.createEntityUpdateAlert(ENTITY_NAME, id))
+                .eTag(HeaderUtil.createETag(result.getVersion()))
+                .body(result))
+            .orElse(new ResponseEntity<>(HttpStatus.NOT_FOUND));
+    }
+
+    /**
+     * POST  /incomes/bulk : Create several incomes.
+     * <p>
+     * Each income is validated on its own: the valid ones are created even if others are not.
+     *
+     * @param incomes the incomes to create
+     * @return the ResponseEntity with status 200 (OK) and with body the result of each income,
+     * or with status 400 (Bad Request) if there are too many incomes
+     */
+    @PostMapping("/incomes/bulk")
+    @Timed
+    public ResponseEntity<BulkResultDTO> createIncomes(@RequestBody List<Income> incomes) {
+        log.debug("REST request to create {} Incomes", incomes.size());
+        BulkResultDTO result = incomeService.createAll(incomes);
+        return ResponseEntity.ok()
+            .headers(HeaderUtil.createAlert(result.getSucceeded() + " " + ENTITY_NAME + "s are created", String.valueOf(result.getSucceeded())))
+            .body(result);
+    }
+
+    /**
+     * PUT  /incomes/bulk : Updates several existing incomes.
+     * <p>
+     * Each income is validated on its own: the valid ones are updated even if others are not.
+     *
+     * @param incomes the incomes to update
+     * @return the ResponseEntity with status 200 (OK) and with body the result of each income,
+     * or with status 400 (Bad Request) if there are too many incomes
+     */
+    @PutMapping("/incomes/bulk")
+    @Timed
+    public ResponseEntity<BulkResultDTO> updateIncomes(@RequestBody List<Income> incomes) {
+        log.debug("REST request to update {} Incomes", incomes.size());
+        BulkResultDTO result = incomeService.updateAll(incomes);
+        return ResponseEntity.ok()
+            .headers(HeaderUtil.createAlert(result.getSucceeded() + " " + ENTITY_NAME + "s are updated", String.valueOf(result.getSucceeded())))
+            .body(result);
+    }
+
+    /**
+     * DELETE  /incomes/bulk : delete several incomes.
+     *
+     * @param ids the ids of the incomes to delete
+     * @return the ResponseEntity with status 200 (OK) and with body the result of each id,
+     * or with status 400 (Bad Request) if there are too many ids
+     */
+    @DeleteMapping("/incomes/bulk")
+    @Timed
+    public ResponseEntity<BulkResultDTO> deleteIncomes(@RequestBody List<String> ids) {
+        log.debug("REST request to delete {} Incomes", ids.size());
+        BulkResultDTO result = incomeService.deleteAll(ids);
+        return ResponseEntity.ok()
+            .headers(HeaderUtil.createAlert(result.getSucceeded() + " " + ENTITY_NAME + "s are deleted", String.valueOf(result.getSucceeded())))
             .body(result);
     }
 
     /**
      * GET  /incomes : get all the incomes.
      *
+     * @param pageable the pagination information
      * @return the ResponseEntity with status 200 (OK) and the list of incomes in body
      */
     @GetMapping("/incomes")
     @Timed
-    public List<Income> getAllIncomes() {
-        log.debug("REST request to get all Incomes");
-        return incomeRepository.findAll();
+    public ResponseEntity<List<Income>> getAllIncomes(Pageable pageable) {
+        log.debug("REST request to get a page of Incomes");
+        Page<Income> page = incomeService.findAll(pageable);
+        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(page, "/api/incomes");
+        return new ResponseEntity<>(page.getContent(), headers, HttpStatus.OK);
+    }
+
+    /**
+     * GET  /incomes?fields=:property,:property : get all the incomes, with only some of their properties.
+     * <p>
+     * Only the requested fields are read from the database. The fields cannot be combined with a budgetId
+     * or a cursor.
+     *
+     * @param fields the comma separated properties to return, besides the id
+     * @param budgetId must be absent
+     * @param after must be absent
+     * @param pageable the pagination information
+     * @return the ResponseEntity with status 200 (OK) and the list of incomes in body,
+     * or with status 400 (Bad Request) if a property is unknown or if a budgetId or a cursor is given
+     */
+    @GetMapping(value = "/incomes", params = "fields")
+    @Timed
+    public ResponseEntity<List<ObjectNode>> getAllIncomeFields(@RequestParam String fields,
+                                                          @RequestParam(required = false) String budgetId,
+                                                          @RequestParam(required = false) String after,
+                                                          Pageable pageable) {
+        log.debug("REST request to get a page of Incomes with : {}", fields);
+        if (budgetId != null || after != null) {
+            throw new BadRequestAlertException("Fields cannot be combined with a budgetId or a cursor", ENTITY_NAME, "fieldsunsupported");
+        }
+        Set<String> properties = FieldsetUtil.parseFields(fields, Income.class, ENTITY_NAME, objectMapper);
+        Page<Income> page = incomeService.findAll(pageable, properties);
+        String baseUrl = UriComponentsBuilder.fromPath("/api/incomes").queryParam("fields", fields).toUriString();
+        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(page, baseUrl);
+        return new ResponseEntity<>(FieldsetUtil.select(page.getContent(), properties, objectMapper), headers, HttpStatus.OK);
+    }
+
+    /**
+     * GET  /incomes?budgetId=:id : get the incomes of the "id" budget.
+     *
+     * @param budgetId the id of the budget
+     * @param pageable the pagination information
+     * @return the ResponseEntity with status 200 (OK) and the list of incomes in body
+     */
+    @GetMapping(value = "/incomes", params = {"budgetId", "!after", "!fields"})
+    @Timed
+    public ResponseEntity<List<Income>> getAllIncomesByBudget(@RequestParam String budgetId, Pageable pageable) {
+        log.debug("REST request to get a page of Incomes of Budget : {}", budgetId);
+        Page<Income> page = incomeService.findAllByBudget(budgetId, pageable);
+        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(page,
+            UriComponentsBuilder.fromPath("/api/incomes").queryParam("budgetId", budgetId).toUriString());
+        return new ResponseEntity<>(page.getContent(), headers, HttpStatus.OK);
+    }
+
+    /**
+     * GET  /incomes?after=:id : get the incomes following the "id" income, in id order.
+     * <p>
+     * Keyset pagination: the cost of a page does not depend on its depth, and the Link header
+     * holds the cursor of the next page. With a budgetId, only the incomes of that budget are returned.
+     *
+     * @param budgetId the id of the budget of the incomes, if any
+     * @param after the id of the last income of the previous page, or empty for the first page
+     * @param pageable the pagination information, only the page size is used
+     * @return the ResponseEntity with status 200 (OK) and the list of incomes in body,
+     * or with status 400 (Bad Request) if the cursor is not a valid id
+     */
+    @GetMapping(value = "/incomes", params = {"after", "!fields"})
+    @Timed
+    public ResponseEntity<List<Income>> getAllIncomesAfter(@RequestParam(required = false) String budgetId, @RequestParam String after,
+                                                           Pageable pageable) {
+        log.debug("REST request to get a slice of Incomes of Budget : {} after : {}", budgetId, after);
+        Slice<Income> slice = incomeService.findAllAfter(budgetId, PaginationUtil.parseKeysetCursor(after, ENTITY_NAME),
+            pageable.getPageSize());
+        UriComponentsBuilder baseUrl = UriComponentsBuilder.fromPath("/api/incomes");
+        if (budgetId != null) {
+            baseUrl.queryParam("budgetId", budgetId);
+        }
+        HttpHeaders headers = PaginationUtil.generateKeysetPaginationHttpHeaders(slice, Income::getId, baseUrl.toUriString());
+        return new ResponseEntity<>(slice.getContent(), headers, HttpStatus.OK);
     }
 
     /**
      * GET  /incomes/:id : get the "id" income.
      *
      * @param id the id of the income to retrieve
-     * @return the ResponseEntity with status 200 (OK) and with body the income, or with status 404 (Not Found)
+     * @return the ResponseEntity with status 200 (OK) and with body the income, or with status 304 (Not Modified)
+     * if it matches the If-None-Match header, or with status 404 (Not Found)
      */
     @GetMapping("/incomes/{id}")
     @Timed
     public ResponseEntity<Income> getIncome(@PathVariable String id) {
         log.debug("REST request to get Income : {}", id);
-        Optional<Income> income = incomeRepository.findById(id);
-        return ResponseUtil.wrapOrNotFound(income);
+        Optional<Income> income = incomeService.findOne(id);
+        return income
+            .map(response -> ResponseEntity.ok().eTag(HeaderUtil.createETag(response.getVersion())).body(response))
+            .orElse(new ResponseEntity<>(HttpStatus.NOT_FOUND));
     }
 
     /**
@@ -114,7 +299,7 @@ public class IncomeResource {
     public ResponseEntity<Void> deleteIncome(@PathVariable String id) {
         log.debug("REST request to delete Income : {}", id);
 
-        incomeRepository.deleteById(id);
+        incomeService.delete(id);
         return ResponseEntity.ok().headers(HeaderUtil.createEntityDeletionAlert(ENTITY_NAME, id)).build();
     }
 }
@@ -2,14 +2,24 @@ package com.mycompany.myapp.web.rest;
 
 import com.codahale.metrics.annotation.Timed;
 import com.mycompany.myapp.domain.Outcome;
-import com.mycompany.myapp.repository.OutcomeRepository;
+import com.mycompany.myapp.service.OutcomeService;
+import com.mycompany.myapp.service.dto.BulkResultDTO;
 import com.mycompany.myapp.web.rest.errors.BadRequestAlertException;
+import com.mycompany.myapp.web.rest.util.FieldsetUtil;
 import com.mycompany.myapp.web.rest.util.HeaderUtil;
-import io.github.jhipster.web.util.ResponseUtil;
+import com.mycompany.myapp.web.rest.util.PaginationUtil;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.util.UriComponentsBuilder;
 
 import javax.validation.Valid;
 import java.net.URI;
@@ -17,6 +27,7 @@ import java.net.URISyntaxException;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * REST controller for managing Outcome.
@@ -29,10 +40,13 @@ public class OutcomeResource {
 
     private static final String ENTITY_NAME = "outcome";
 
-    private final OutcomeRepository outcomeRepository;
+    private final OutcomeService outcomeService;
 
-    public OutcomeResource(OutcomeRepository outcomeRepository) {
-        this.outcomeRepository = outcomeRepository;
+    private final ObjectMapper objectMapper;
+
+    public OutcomeResource(OutcomeService outcomeService, ObjectMapper objectMapper) {
+        this.outcomeService = outcomeService;
+        this.objectMapper = objectMapper;
     }
 
     /**
@@ -49,58 +63,229 @@ public class OutcomeResource {
         if (outcome.getId() != null) {
             throw new BadRequestAlertException("A new outcome cannot already have an ID", ENTITY_NAME, "idexists");
         }
-        Outcome result = outcomeRepository.save(outcome);
+        Outcome result = outcomeService.save(outcome);
         return ResponseEntity.created(new URI("/api/outcomes/" + result.getId()))
             .headers(HeaderUtil.createEntityCreationAlert(ENTITY_NAME, result.getId().toString()))
+            .eTag(HeaderUtil.createETag(result.getVersion()))
             .body(result);
     }
 
     /**
      * PUT  /outcomes : Updates an existing outcome.
+     * <p>
+     * With an If-Match header, holding the ETag the outcome was read with, the outcome is only updated if it
+     * did not change since.
      *
      * @param outcome the outcome to update
-     * @return the ResponseEntity with status 200 (OK) and with body the updated outcome,
+     * @param ifMatch the ETag of the version to update, if any
+     * @return the ResponseEntity with status 200 (OK) and with body the updated outcome and its new ETag,
      * or with status 400 (Bad Request) if the outcome is not valid,
+     * or with status 412 (Precondition Failed) if the outcome does not match the If-Match header,
      * or with status 500 (Internal Server Error) if the outcome couldn't be updated
      * @throws URISyntaxException if the Location URI syntax is incorrect
      */
     @PutMapping("/outcomes")
     @Timed
-    public ResponseEntity<Outcome> updateOutcome(@Valid @RequestBody Outcome outcome) throws URISyntaxException {
+    public ResponseEntity<Outcome> updateOutcome(@Valid @RequestBody Outcome outcome,
+                                                 @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch)
+        throws URISyntaxException {
         log.debug("REST request to update Outcome : {}", outcome);
         if (outcome.getId() == null) {
             throw new BadRequestAlertException("Invalid id", ENTITY_NAME, "idnull");
         }
-        Outcome result = outcomeRepository.save(outcome);
+        Outcome result = outcomeService.save(outcome, HeaderUtil.parseIfMatch(ifMatch, ENTITY_NAME));
         return ResponseEntity.ok()
             .headers(HeaderUtil.createEntityUpdateAlert(ENTITY_NAME, outcome.getId().toString()))
+            .eTag(HeaderUtil.createETag(result.getVersion()))
+            .body(result);
+    }
+
+    /**
+     * PATCH  /outcomes/:id : Partially updates an existing outcome, with a JSON merge patch of its amount, date, category and budget.
+     * <p>
+     * Only the patched fields are validated and written; a null value removes a field. With an If-Match
+     * header, the outcome is only updated if it did not change since it was read.
+     *
+     * @param id the id of the outcome to update
+     * @param patch the JSON merge patch
+     * @param ifMatch the ETag of the version to update, if any
+     * @return the ResponseEntity with status 200 (OK) and with body the updated outcome and its new ETag,
+     * or with status 400 (Bad Request) if the patch is not valid,
+     * or with status 404 (Not Found) if the outcome does not exist,
+     * or with status 412 (Precondition Failed) if the outcome does not match the If-Match header
+     */
+    @PatchMapping("/outcomes/{id}")
+    @Timed
+    public ResponseEntity<Outcome> patchOutcome(@PathVariable String id, @RequestBody ObjectNode patch,
+                                                @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        log.debug("REST request to patch Outcome : {}, {}", id, patch);
+        return outcomeService.patch(id, patch, HeaderUtil.parseIfMatch(ifMatch, ENTITY_NAME))
+            .map(result -> ResponseEntity.ok()
+                .headers(HeaderUtil.createEntityUpdateAlert(ENTITY_NAME, id))
+                .eTag(HeaderUtil.createETag(result.getVersion()))
+                .body(result))
+            .orElse(new ResponseEntity<>(HttpStatus.NOT_FOUND));
+    }
+
+    /**
+     * POST  /outcomes/bulk : Create several outcomes.
+     * <p>
+     * Each outcome is validated on its own: the valid ones are created even if others are not.
+     *
+     * @param outcomes the outcomes to create
+     * @return the ResponseEntity with status 200 (OK) and with body the result of each outcome,
+     * or with status 400 (Bad Request) if there are too many outcomes
+     */
+    @PostMapping("/outcomes/bulk")
+    @Timed
+    public ResponseEntity<BulkResultDTO> createOutcomes(@RequestBody List<Outcome> outcomes) {
+        log.debug("REST request to create {} Outcomes", outcomes.size());
+        BulkResultDTO result = outcomeService.createAll(outcomes);
+        return ResponseEntity.ok()
+            .headers(HeaderUtil.createAlert(result.getSucceeded() + " " + ENTITY_NAME + "s are created", String.valueOf(result.getSucceeded())))
+            .body(result);
+    }
+
+    /**
+     * PUT  /outcomes/bulk : Updates several existing outcomes.
+     * <p>
+     * Each outcome is validated on its own: the valid ones are updated even if others are not.
+     *
+     * @param outcomes the outcomes to update
+     * @return the ResponseEntity with status 200 (OK) and with body the result of each outcome,
+     * or with status 400 (Bad Request) if there are too many outcomes
+     */
+    @PutMapping("/outcomes/bulk")
+    @Timed
+    public ResponseEntity<BulkResultDTO> updateOutcomes(@RequestBody List<Outcome> outcomes) {
+        log.debug("REST request to update {} Outcomes", outcomes.size());
+        BulkResultDTO result = outcomeService.updateAll(outcomes);
+        return ResponseEntity.ok()
+            .headers(HeaderUtil.createAlert(result.getSucceeded() + " " + ENTITY_NAME + "s are updated", String.valueOf(result.getSucceeded())))
+            .body(result);
+    }
+
+    /**
+     * DELETE  /outcomes/bulk : delete several outcomes.
+     *
+     * @param ids the ids of the outcomes to delete
+     * @return the ResponseEntity with status 200 (OK) and with body the result of each id,
+     * or with status 400 (Bad Request) if there are too many ids
+     */
+    @DeleteMapping("/outcomes/bulk")
+    @Timed
+    public ResponseEntity<BulkResultDTO> deleteOutcomes(@RequestBody List<String> ids) {
+        log.debug("REST request to delete {} Outcomes", ids.size());
+        BulkResultDTO result = outcomeService.deleteAll(ids);
+        return ResponseEntity.ok()
+            .headers(HeaderUtil.createAlert(result.getSucceeded() + " " + ENTITY_NAME + "s are deleted", String.valueOf(result.getSucceeded())))
             .body(result);
     }
 
     /**
      * GET  /outcomes : get all the outcomes.
      *
+     * @param pageable the pagination information
      * @return the ResponseEntity with status 200 (OK) and the list of outcomes in body
      */
     @GetMapping("/outcomes")
     @Timed
-    public List<Outcome> getAllOutcomes() {
-        log.debug("REST request to get all Outcomes");
-        return outcomeRepository.findAll();
+    public ResponseEntity<List<Outcome>> getAllOutcomes(Pageable pageable) {
+        log.debug("REST request to get a page of Outcomes");
+        Page<Outcome> page = outcomeService.findAll(pageable);
+        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(page, "/api/outcomes");
+        return new ResponseEntity<>(page.getContent(), headers, HttpStatus.OK);
+    }
+
+    /**
+     * GET  /outcomes?fields=:property,:property : get all the outcomes, with only some of their properties.
+     * <p>
+     * Only the requested fields are read from the database. The fields cannot be combined with a budgetId
+     * or a cursor.
+     *
+     * @param fields the comma separated properties to return, besides the id
+     * @param budgetId must be absent
+     * @param after must be absent
+     * @param pageable the pagination information
+     * @return the ResponseEntity with status 200 (OK) and the list of outcomes in body,
+     * or with status 400 (Bad Request) if a property is unknown or if a budgetId or a cursor is given
+     */
+    @GetMapping(value = "/outcomes", params = "fields")
+    @Timed
+    public ResponseEntity<List<ObjectNode>> getAllOutcomeFields(@RequestParam String fields,
+                                                          @RequestParam(required = false) String budgetId,
+                                                          @RequestParam(required = false) String after,
+                                                          Pageable pageable) {
+        log.debug("REST request to get a page of Outcomes with : {}", fields);
+        if (budgetId != null || after != null) {
+            throw new BadRequestAlertException("Fields cannot be combined with a budgetId or a cursor", ENTITY_NAME, "fieldsunsupported");
+        }
+        Set<String> properties = FieldsetUtil.parseFields(fields, Outcome.class, ENTITY_NAME, objectMapper);
+        Page<Outcome> page = outcomeService.findAll(pageable, properties);
+        String baseUrl = UriComponentsBuilder.fromPath("/api/outcomes").queryParam("fields", fields).toUriString();
+        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(page, baseUrl);
+        return new ResponseEntity<>(FieldsetUtil.select(page.getContent(), properties, objectMapper), headers, HttpStatus.OK);
+    }
+
+    /**
+     * GET  /outcomes?budgetId=:id : get the outcomes of the "id" budget.
+     *
+     * @param budgetId the id of the budget
+     * @param pageable the pagination information
+     * @return the ResponseEntity with status 200 (OK) and the list of outcomes in body
+     */
+    @GetMapping(value = "/outcomes", params = {"budgetId", "!after", "!fields"})
+    @Timed
+    public ResponseEntity<List<Outcome>> getAllOutcomesByBudget(@RequestParam String budgetId, Pageable pageable) {
+        log.debug("REST request to get a page of Outcomes of Budget : {}", budgetId);
+        Page<Outcome> page = outcomeService.findAllByBudget(budgetId, pageable);
+        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(page,
+            UriComponentsBuilder.fromPath("/api/outcomes").queryParam("budgetId", budgetId).toUriString());
+        return new ResponseEntity<>(page.getContent(), headers, HttpStatus.OK);
+    }
+
+    /**
+     * GET  /outcomes?after=:id : get the outcomes following the "id" outcome, in id order.
+     * <p>
+     * Keyset pagination: the cost of a page does not depend on its depth, and the Link header
+     * holds the cursor of the next page. With a budgetId, only the outcomes of that budget are returned.
+     *
+     * @param budgetId the id of the budget of the outcomes, if any
+     * @param after the id of the last outcome of the previous page, or empty for the first page
+     * @param pageable the pagination information, only the page size is used
+     * @return the ResponseEntity with status 200 (OK) and the list of outcomes in body,
+     * or with status 400 (Bad Request) if the cursor is not a valid id
+     */
+    @GetMapping(value = "/outcomes", params = {"after", "!fields"})
+    @Timed
+    public ResponseEntity<List<Outcome>> getAllOutcomesAfter(@RequestParam(required = false) String budgetId, @RequestParam String after,
+                                                             Pageable pageable) {
+        log.debug("REST request to get a slice of Outcomes of Budget : {} after : {}", budgetId, after);
+        Slice<Outcome> slice = outcomeService.findAllAfter(budgetId, PaginationUtil.parseKeysetCursor(after, ENTITY_NAME),
+            pageable.getPageSize());
+        UriComponentsBuilder baseUrl = UriComponentsBuilder.fromPath("/api/outcomes");
+        if (budgetId != null) {
+            baseUrl.queryParam("budgetId", budgetId);
+        }
+        HttpHeaders headers = PaginationUtil.generateKeysetPaginationHttpHeaders(slice, Outcome::getId, baseUrl.toUriString());
+        return new ResponseEntity<>(slice.getContent(), headers, HttpStatus.OK);
     }
 
     /**
      * GET  /outcomes/:id : get the "id" outcome.
      *
      * @param id the id of the outcome to retrieve
-     * @return the ResponseEntity with status 200 (OK) and with body the outcome, or with status 404 (Not Found)
+     * @return the ResponseEntity with status 200 (OK) and with body the outcome, or with status 304 (Not Modified)
+     * if it matches the If-None-Match header, or with status 404 (Not Found)
      */
     @GetMapping("/outcomes/{id}")
     @Timed
     public ResponseEntity<Outcome> getOutcome(@PathVariable String id) {
         log.debug("REST request to get Outcome : {}", id);
-        Optional<Outcome> outcome = outcomeRepository.findById(id);
-        return ResponseUtil.wrapOrNotFound(outcome);
+        Optional<Outcome> outcome = outcomeService.findOne(id);
+        return outcome
+            .map(response -> ResponseEntity.ok().eTag(HeaderUtil.createETag(response.getVersion())).body(response))
+            .orElse(new ResponseEntity<>(HttpStatus.NOT_FOUND));
     }
 
     /**
@@ -114,7 +299,7 @@ public class OutcomeResource {
     public ResponseEntity<Void> deleteOutcome(@PathVariable String id) {
         log.debug("REST request to delete Outcome : {}", id);
 
-        outcomeRepository.deleteById(id);
+        outcomeService.delete(id);
         return ResponseEntity.ok().headers(HeaderUtil.createEntityDeletionAlert(ENTITY_NAME, id)).build();
     }
 }
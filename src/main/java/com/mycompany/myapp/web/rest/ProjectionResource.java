@@ -0,0 +1,37 @@
+package com.mycompany.myapp.web.rest;
+
+import com.mycompany.myapp.service.LedgerProjector;
+
+import com.codahale.metrics.annotation.Timed;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Controller for rebuilding the read models of the budgets.
+ */
+@RestController
+@RequestMapping("/management")
+public class ProjectionResource {
+
+    private final Logger log = LoggerFactory.getLogger(ProjectionResource.class);
+
+    private final LedgerProjector ledgerProjector;
+
+    public ProjectionResource(LedgerProjector ledgerProjector) {
+        this.ledgerProjector = ledgerProjector;
+    }
+
+    /**
+     * POST  /projections/replay : rebuild the running totals, the monthly buckets and the budget references
+     * of all the budgets from their line items.
+     */
+    @PostMapping("/projections/replay")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    @Timed
+    public void replay() {
+        log.debug("REST request to replay the projections");
+        ledgerProjector.replay();
+    }
+}
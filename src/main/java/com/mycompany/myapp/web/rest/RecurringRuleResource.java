@@ -0,0 +1,144 @@
+package com.mycompany.myapp.web.rest;
+
+import com.codahale.metrics.annotation.Timed;
+import com.mycompany.myapp.domain.RecurringRule;
+import com.mycompany.myapp.service.RecurringRuleService;
+import com.mycompany.myapp.web.rest.errors.BadRequestAlertException;
+import com.mycompany.myapp.web.rest.util.HeaderUtil;
+import com.mycompany.myapp.web.rest.util.PaginationUtil;
+import io.github.jhipster.web.util.ResponseUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import javax.validation.Valid;
+import java.net.URI;
+import java.net.URISyntaxException;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * REST controller for managing RecurringRule.
+ */
+@RestController
+@RequestMapping("/api")
+public class RecurringRuleResource {
+
+    private final Logger log = LoggerFactory.getLogger(RecurringRuleResource.class);
+
+    private static final String ENTITY_NAME = "recurringRule";
+
+    private final RecurringRuleService recurringRuleService;
+
+    public RecurringRuleResource(RecurringRuleService recurringRuleService) {
+        this.recurringRuleService = recurringRuleService;
+    }
+
+    /**
+     * POST  /recurring-rules : Create a new recurringRule.
+     *
+     * @param recurringRule the recurringRule to create
+     * @return the ResponseEntity with status 201 (Created) and with body the new recurringRule, or with status 400 (Bad Request) if the recurringRule has already an ID
+     * @throws URISyntaxException if the Location URI syntax is incorrect
+     */
+    @PostMapping("/recurring-rules")
+    @Timed
+    public ResponseEntity<RecurringRule> createRecurringRule(@Valid @RequestBody RecurringRule recurringRule) throws URISyntaxException {
+        log.debug("REST request to save RecurringRule : {}", recurringRule);
+        if (recurringRule.getId() != null) {
+            throw new BadRequestAlertException("A new recurringRule cannot already have an ID", ENTITY_NAME, "idexists");
+        }
+        RecurringRule result = recurringRuleService.save(recurringRule);
+        return ResponseEntity.created(new URI("/api/recurring-rules/" + result.getId()))
+            .headers(HeaderUtil.createEntityCreationAlert(ENTITY_NAME, result.getId().toString()))
+            .body(result);
+    }
+
+    /**
+     * PUT  /recurring-rules : Updates an existing recurringRule.
+     *
+     * @param recurringRule the recurringRule to update
+     * @return the ResponseEntity with status 200 (OK) and with body the updated recurringRule,
+     * or with status 400 (Bad Request) if the recurringRule is not valid,
+     * or with status 500 (Internal Server Error) if the recurringRule couldn't be updated
+     * @throws URISyntaxException if the Location URI syntax is incorrect
+     */
+    @PutMapping("/recurring-rules")
+    @Timed
+    public ResponseEntity<RecurringRule> updateRecurringRule(@Valid @RequestBody RecurringRule recurringRule) throws URISyntaxException {
+        log.debug("REST request to update RecurringRule : {}", recurringRule);
+        if (recurringRule.getId() == null) {
+            throw new BadRequestAlertException("Invalid id", ENTITY_NAME, "idnull");
+        }
+        RecurringRule result = recurringRuleService.save(recurringRule);
+        return ResponseEntity.ok()
+            .headers(HeaderUtil.createEntityUpdateAlert(ENTITY_NAME, recurringRule.getId().toString()))
+            .body(result);
+    }
+
+    /**
+     * GET  /recurring-rules : get all the recurringRules.
+     *
+     * @param pageable the pagination information
+     * @return the ResponseEntity with status 200 (OK) and the list of recurringRules in body
+     */
+    @GetMapping("/recurring-rules")
+    @Timed
+    public ResponseEntity<List<RecurringRule>> getAllRecurringRules(Pageable pageable) {
+        log.debug("REST request to get a page of RecurringRules");
+        Page<RecurringRule> page = recurringRuleService.findAll(pageable);
+        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(page, "/api/recurring-rules");
+        return new ResponseEntity<>(page.getContent(), headers, HttpStatus.OK);
+    }
+
+    /**
+     * GET  /recurring-rules?budgetId=:id : get the recurringRules of the "id" budget.
+     *
+     * @param budgetId the id of the budget
+     * @param pageable the pagination information
+     * @return the ResponseEntity with status 200 (OK) and the list of recurringRules in body
+     */
+    @GetMapping(value = "/recurring-rules", params = "budgetId")
+    @Timed
+    public ResponseEntity<List<RecurringRule>> getAllRecurringRulesByBudget(@RequestParam String budgetId, Pageable pageable) {
+        log.debug("REST request to get a page of RecurringRules of Budget : {}", budgetId);
+        Page<RecurringRule> page = recurringRuleService.findAllByBudget(budgetId, pageable);
+        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(page, "/api/recurring-rules?budgetId=" + budgetId);
+        return new ResponseEntity<>(page.getContent(), headers, HttpStatus.OK);
+    }
+
+    /**
+     * GET  /recurring-rules/:id : get the "id" recurringRule.
+     *
+     * @param id the id of the recurringRule to retrieve
+     * @return the ResponseEntity with status 200 (OK) and with body the recurringRule, or with status 404 (Not Found)
+     */
+    @GetMapping("/recurring-rules/{id}")
+    @Timed
+    public ResponseEntity<RecurringRule> getRecurringRule(@PathVariable String id) {
+        log.debug("REST request to get RecurringRule : {}", id);
+        Optional<RecurringRule> recurringRule = recurringRuleService.findOne(id);
+        return ResponseUtil.wrapOrNotFound(recurringRule);
+    }
+
+    /**
+     * DELETE  /recurring-rules/:id : delete the "id" recurringRule.
+     *
+     * @param id the id of the recurringRule to delete
+     * @return the ResponseEntity with status 200 (OK)
+     */
+    @DeleteMapping("/recurring-rules/{id}")
+    @Timed
+    public ResponseEntity<Void> deleteRecurringRule(@PathVariable String id) {
+        log.debug("REST request to delete RecurringRule : {}", id);
+
+        recurringRuleService.delete(id);
+        return ResponseEntity.ok().headers(HeaderUtil.createEntityDeletionAlert(ENTITY_NAME, id)).build();
+    }
+}
@@ -0,0 +1,57 @@
+package com.mycompany.myapp.web.rest;
+
+import com.codahale.metrics.annotation.Timed;
+import com.mycompany.myapp.config.Constants;
+import com.mycompany.myapp.service.ScenarioService;
+import com.mycompany.myapp.service.dto.ScenarioDTO;
+import com.mycompany.myapp.service.dto.SimulationDTO;
+import com.mycompany.myapp.web.rest.errors.BadRequestAlertException;
+import io.github.jhipster.web.util.ResponseUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * REST controller for simulating what-if scenarios against budgets.
+ */
+@RestController
+@RequestMapping("/api")
+public class ScenarioResource {
+
+    private final Logger log = LoggerFactory.getLogger(ScenarioResource.class);
+
+    private static final String ENTITY_NAME = "scenario";
+
+    private final ScenarioService scenarioService;
+
+    public ScenarioResource(ScenarioService scenarioService) {
+        this.scenarioService = scenarioService;
+    }
+
+    /**
+     * POST  /budgets/:id/scenarios?months=12 : evaluate what-if scenarios against the "id" budget.
+     * <p>
+     * Nothing is persisted: each scenario gets the summary and the forecast the budget would have with
+     * its changes, next to the ones of the budget as it is.
+     *
+     * @param id the id of the budget
+     * @param scenarios the scenarios to evaluate
+     * @param months the number of months of the forecasts, including the current one, 12 by default
+     * @return the ResponseEntity with status 200 (OK) and with body the results,
+     * or with status 400 (Bad Request) if a scenario is not valid, or with status 404 (Not Found)
+     */
+    @PostMapping("/budgets/{id}/scenarios")
+    @Timed
+    public ResponseEntity<SimulationDTO> simulateScenarios(@PathVariable String id, @RequestBody List<ScenarioDTO> scenarios,
+                                                           @RequestParam(defaultValue = "" + Constants.DEFAULT_FORECAST_MONTHS) int months) {
+        log.debug("REST request to simulate {} scenarios on Budget : {}", scenarios.size(), id);
+        if (months < 1 || months > Constants.MAX_MONTHS) {
+            throw new BadRequestAlertException("A range of months must span from 1 to " + Constants.MAX_MONTHS + " months",
+                ENTITY_NAME, "monthrangeinvalid");
+        }
+        return ResponseUtil.wrapOrNotFound(scenarioService.simulate(id, scenarios, months));
+    }
+}
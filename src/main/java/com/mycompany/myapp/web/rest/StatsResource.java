@@ -0,0 +1,67 @@
+package com.mycompany.myapp.web.rest;
+
+import com.mycompany.myapp.service.OutcomeStatsService;
+import com.mycompany.myapp.service.dto.OutcomeStatsDTO;
+import com.mycompany.myapp.web.rest.errors.BadRequestAlertException;
+
+import com.codahale.metrics.annotation.Timed;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+
+/**
+ * Controller for reading the statistics of all the outcomes.
+ */
+@RestController
+@RequestMapping("/management")
+public class StatsResource {
+
+    private final Logger log = LoggerFactory.getLogger(StatsResource.class);
+
+    private static final String ENTITY_NAME = "stats";
+
+    private static final int DEFAULT_DAYS = 31;
+
+    private static final int MAX_DAYS = 366;
+
+    private final OutcomeStatsService outcomeStatsService;
+
+    public StatsResource(OutcomeStatsService outcomeStatsService) {
+        this.outcomeStatsService = outcomeStatsService;
+    }
+
+    /**
+     * GET  /stats?to=yyyy-MM-dd&days=31 : get the distribution of the amounts of all the outcomes, their
+     * number of distinct categories and budgets, and their totals per day.
+     *
+     * @param to the last day of the totals per day, today by default
+     * @param days the number of days of the totals per day, 31 by default
+     * @return the statistics
+     */
+    @GetMapping("/stats")
+    @Timed
+    public OutcomeStatsDTO getStats(@RequestParam(required = false) LocalDate to,
+                                    @RequestParam(defaultValue = "" + DEFAULT_DAYS) int days) {
+        log.debug("REST request to get the outcome statistics over {} days to {}", days, to);
+        if (days < 1 || days > MAX_DAYS) {
+            throw new BadRequestAlertException("A range of days must span from 1 to " + MAX_DAYS + " days",
+                ENTITY_NAME, "dayrangeinvalid");
+        }
+        LocalDate last = to != null ? to : LocalDate.now();
+        return outcomeStatsService.getStats(last.minusDays(days - 1), last);
+    }
+
+    /**
+     * POST  /stats/rebuild : rebuild the statistics from all the outcomes.
+     */
+    @PostMapping("/stats/rebuild")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    @Timed
+    public void rebuild() {
+        log.debug("REST request to rebuild the outcome statistics");
+        outcomeStatsService.rebuild();
+    }
+}
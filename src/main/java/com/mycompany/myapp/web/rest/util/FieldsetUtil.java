@@ -0,0 +1,75 @@
+package com.mycompany.myapp.web.rest.util;
+
+import com.mycompany.myapp.web.rest.errors.BadRequestAlertException;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.introspect.BeanPropertyDefinition;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.springframework.util.StringUtils;
+
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Utility class for handling sparse fieldsets.
+ * <p>
+ * The {@code fields} request parameter lists the properties of the entities to return, comma separated. Only
+ * these properties, and the id of the entities, are read from the database and written in the response.
+ */
+public final class FieldsetUtil {
+
+    private static final String ID_PROPERTY = "id";
+
+    private FieldsetUtil() {
+    }
+
+    /**
+     * Parse the properties listed by a {@code fields} request parameter.
+     *
+     * @param fields the comma separated properties
+     * @param type the type of the entities
+     * @param entityName the name of the entity, for the errors
+     * @param objectMapper the mapper writing the entities
+     * @return the properties, starting with the id
+     * @throws BadRequestAlertException if a property is not written for the entities
+     */
+    public static Set<String> parseFields(String fields, Class<?> type, String entityName, ObjectMapper objectMapper) {
+        Set<String> known = new HashSet<>();
+        for (BeanPropertyDefinition property : objectMapper.getSerializationConfig()
+            .introspect(objectMapper.constructType(type)).findProperties()) {
+            if (property.couldSerialize()) {
+                known.add(property.getName());
+            }
+        }
+        Set<String> properties = new LinkedHashSet<>();
+        properties.add(ID_PROPERTY);
+        for (String field : StringUtils.commaDelimitedListToSet(fields)) {
+            String property = field.trim();
+            if (property.isEmpty()) {
+                continue;
+            }
+            if (!known.contains(property)) {
+                throw new BadRequestAlertException("Unknown field " + property, entityName, "fieldinvalid");
+            }
+            properties.add(property);
+        }
+        return properties;
+    }
+
+    /**
+     * Write only some properties of entities.
+     *
+     * @param entities the entities
+     * @param properties the properties to keep
+     * @param objectMapper the mapper writing the entities
+     * @return the JSON objects of the entities, with only these properties
+     */
+    public static List<ObjectNode> select(List<?> entities, Set<String> properties, ObjectMapper objectMapper) {
+        return entities.stream()
+            .map(entity -> objectMapper.<ObjectNode>valueToTree(entity).retain(properties))
+            .collect(Collectors.toList());
+    }
+}
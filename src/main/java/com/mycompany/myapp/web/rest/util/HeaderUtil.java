@@ -1,9 +1,16 @@
 package com.mycompany.myapp.web.rest.util;
 
+import com.mycompany.myapp.web.rest.errors.PreconditionFailedException;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpHeaders;
 
+import java.util.HashSet;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
 /**
  * Utility class for HTTP headers creation.
  */
@@ -13,6 +20,8 @@ public final class HeaderUtil {
 
     private static final String APPLICATION_NAME = "monthlyBudgetApp";
 
+    private static final Pattern VERSION_ETAG = Pattern.compile("\"(\\d{1,18})\"");
+
     private HeaderUtil() {
     }
 
@@ -35,6 +44,41 @@ public final class HeaderUtil {
         return createAlert("A " + entityName + " is deleted with identifier " + param, param);
     }
 
+    /**
+     * Create the strong ETag of a versioned entity.
+     *
+     * @param version the version of the entity, or null if it was stored before entities had a version
+     * @return the quoted ETag
+     */
+    public static String createETag(Long version) {
+        return "\"" + (version == null ? 0 : version) + "\"";
+    }
+
+    /**
+     * Parse the version expected by an If-Match header, holding an ETag created by {@link #createETag(Long)}.
+     *
+     * @param ifMatch the If-Match header, or null
+     * @param entityName the name of the entity, for the error
+     * @return the expected version, or null if there is no header or it matches any version ("*")
+     * @throws PreconditionFailedException if the header holds no ETag of a version, or several ones
+     */
+    public static Long parseIfMatch(String ifMatch, String entityName) {
+        if (ifMatch == null || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        Set<Long> versions = new HashSet<>();
+        for (String eTag : ifMatch.split(",")) {
+            Matcher matcher = VERSION_ETAG.matcher(eTag.trim());
+            if (matcher.matches()) {
+                versions.add(Long.valueOf(matcher.group(1)));
+            }
+        }
+        if (versions.size() != 1) {
+            throw new PreconditionFailedException("The If-Match header must hold the ETag of one version", entityName);
+        }
+        return versions.iterator().next();
+    }
+
     public static HttpHeaders createFailureAlert(String entityName, String errorKey, String defaultMessage) {
         log.error("Entity processing failed, {}", defaultMessage);
         HttpHeaders headers = new HttpHeaders();
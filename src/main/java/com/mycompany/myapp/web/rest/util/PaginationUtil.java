@@ -1,9 +1,15 @@
 package com.mycompany.myapp.web.rest.util;
 
+import com.mycompany.myapp.web.rest.errors.BadRequestAlertException;
+
+import org.bson.types.ObjectId;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpHeaders;
 import org.springframework.web.util.UriComponentsBuilder;
 
+import java.util.function.Function;
+
 /**
  * Utility class for handling pagination.
  *
@@ -39,7 +45,52 @@ public final class PaginationUtil {
         return headers;
     }
 
+    /**
+     * Generate the Link header of a keyset (seek) paginated slice.
+     * <p>
+     * The "next" link resumes after the last element of the slice, so that deep pages cost the same as the first one.
+     *
+     * @param slice the slice of elements, ordered by their cursor
+     * @param cursor the function giving the cursor of an element
+     * @param baseUrl the url of the resource
+     * @return the pagination headers
+     */
+    public static <T> HttpHeaders generateKeysetPaginationHttpHeaders(Slice<T> slice, Function<T, String> cursor, String baseUrl) {
+
+        HttpHeaders headers = new HttpHeaders();
+        String link = "";
+        if (slice.hasNext()) {
+            String after = cursor.apply(slice.getContent().get(slice.getNumberOfElements() - 1));
+            link = "<" + generateKeysetUri(baseUrl, after, slice.getSize()) + ">; rel=\"next\",";
+        }
+        link += "<" + generateKeysetUri(baseUrl, "", slice.getSize()) + ">; rel=\"first\"";
+        headers.add(HttpHeaders.LINK, link);
+        return headers;
+    }
+
+    /**
+     * Parse the cursor of a keyset paginated request.
+     *
+     * @param after the id to seek after, or an empty string to start from the beginning
+     * @param entityName the name of the paginated entity
+     * @return the id to seek after, or null to start from the beginning
+     * @throws BadRequestAlertException if the cursor is not a valid id
+     */
+    public static ObjectId parseKeysetCursor(String after, String entityName) {
+        if (after.isEmpty()) {
+            return null;
+        }
+        if (!ObjectId.isValid(after)) {
+            throw new BadRequestAlertException("Invalid cursor", entityName, "cursorinvalid");
+        }
+        return new ObjectId(after);
+    }
+
     private static String generateUri(String baseUrl, int page, int size) {
         return UriComponentsBuilder.fromUriString(baseUrl).queryParam("page", page).queryParam("size", size).toUriString();
     }
+
+    private static String generateKeysetUri(String baseUrl, String after, int size) {
+        return UriComponentsBuilder.fromUriString(baseUrl).queryParam("after", after).queryParam("size", size).toUriString();
+    }
 }
@@ -1,13 +1,13 @@
 import React from 'react';
 import { connect } from 'react-redux';
 import { Link, RouteComponentProps } from 'react-router-dom';
-import { Button, Row, Col } from 'reactstrap';
+import { Button, Row, Col, Progress, Table } from 'reactstrap';
 // tslint:disable-next-line:no-unused-variable
 import { ICrudGetAction } from 'react-jhipster';
 import { FontAwesomeIcon } from '@fortawesome/react-fontawesome';
 
 import { IRootState } from 'app/shared/reducers';
-import { getEntity } from './budget.reducer';
+import { getEntity, getSummary, getBreakdown } from './budget.reducer';
 import { IBudget } from 'app/shared/model/budget.model';
 // tslint:disable-next-line:no-unused-variable
 import { APP_DATE_FORMAT, APP_LOCAL_DATE_FORMAT } from 'app/config/constants';
@@ -17,10 +17,13 @@ export interface IBudgetDetailProps extends StateProps, DispatchProps, RouteComp
 export class BudgetDetail extends React.Component<IBudgetDetailProps> {
   componentDidMount() {
     this.props.getEntity(this.props.match.params.id);
+    this.props.getSummary(this.props.match.params.id);
+    this.props.getBreakdown(this.props.match.params.id);
   }
 
   render() {
-    const { budgetEntity } = this.props;
+    const { budgetEntity, budgetSummary, budgetBreakdown } = this.props;
+    const share = (total: number) => (budgetBreakdown.totalOutcome ? (100 * total) / budgetBreakdown.totalOutcome : 0);
     return (
       <Row>
         <Col md="8">
@@ -36,7 +39,58 @@ export class BudgetDetail extends React.Component<IBudgetDetailProps> {
               <span id="description">Description</span>
             </dt>
             <dd>{budgetEntity.description}</dd>
+            <dt>
+              <span id="totalIncome">Total income</span>
+            </dt>
+            <dd>
+              {budgetSummary.totalIncome} ({budgetSummary.incomeCount} incomes)
+            </dd>
+            <dt>
+              <span id="totalOutcome">Total outcome</span>
+            </dt>
+            <dd>
+              {budgetSummary.totalOutcome} ({budgetSummary.outcomeCount} outcomes)
+            </dd>
+            <dt>
+              <span id="balance">Balance</span>
+            </dt>
+            <dd>{budgetSummary.balance}</dd>
           </dl>
+          {budgetBreakdown.categories && budgetBreakdown.categories.length > 0 ? (
+            <Table responsive size="sm">
+              <thead>
+                <tr>
+                  <th>Category</th>
+                  <th>Outcome</th>
+                  <th>Share</th>
+                </tr>
+              </thead>
+              <tbody>
+                {budgetBreakdown.categories.map((category, i) => (
+                  <tr key={`category-${i}`}>
+                    <td>{category.category || 'Uncategorized'}</td>
+                    <td>
+                      {category.total} ({category.count} outcomes)
+                    </td>
+                    <td>
+                      <Progress value={share(category.total)} />
+                    </td>
+                  </tr>
+                ))}
+                {budgetBreakdown.otherCount > 0 ? (
+                  <tr>
+                    <td>Other</td>
+                    <td>
+                      {budgetBreakdown.otherTotal} ({budgetBreakdown.otherCount} outcomes)
+                    </td>
+                    <td>
+                      <Progress color="secondary" value={share(budgetBreakdown.otherTotal)} />
+                    </td>
+                  </tr>
+                ) : null}
+              </tbody>
+            </Table>
+          ) : null}
           <Button tag={Link} to="/entity/budget" replace color="info">
             <FontAwesomeIcon icon="arrow-left" /> <span className="d-none d-md-inline">Back</span>
           </Button>&nbsp;
@@ -50,10 +104,12 @@ export class BudgetDetail extends React.Component<IBudgetDetailProps> {
 }
 
 const mapStateToProps = ({ budget }: IRootState) => ({
-  budgetEntity: budget.entity
+  budgetEntity: budget.entity,
+  budgetSummary: budget.summary,
+  budgetBreakdown: budget.breakdown
 });
 
-const mapDispatchToProps = { getEntity };
+const mapDispatchToProps = { getEntity, getSummary, getBreakdown };
 
 type StateProps = ReturnType<typeof mapStateToProps>;
 type DispatchProps = typeof mapDispatchToProps;
@@ -1,14 +1,18 @@
 import axios from 'axios';
 import { ICrudGetAction, ICrudGetAllAction, ICrudPutAction, ICrudDeleteAction } from 'react-jhipster';
 
-import { cleanEntity } from 'app/shared/util/entity-utils';
+import { cleanEntity, ifMatch } from 'app/shared/util/entity-utils';
 import { REQUEST, SUCCESS, FAILURE } from 'app/shared/reducers/action-type.util';
 
 import { IBudget, defaultValue } from 'app/shared/model/budget.model';
+import { IBudgetSummary, defaultValue as defaultSummaryValue } from 'app/shared/model/budget-summary.model';
+import { IBudgetBreakdown, defaultValue as defaultBreakdownValue } from 'app/shared/model/budget-breakdown.model';
 
 export const ACTION_TYPES = {
   FETCH_BUDGET_LIST: 'budget/FETCH_BUDGET_LIST',
   FETCH_BUDGET: 'budget/FETCH_BUDGET',
+  FETCH_BUDGET_SUMMARY: 'budget/FETCH_BUDGET_SUMMARY',
+  FETCH_BUDGET_BREAKDOWN: 'budget/FETCH_BUDGET_BREAKDOWN',
   CREATE_BUDGET: 'budget/CREATE_BUDGET',
   UPDATE_BUDGET: 'budget/UPDATE_BUDGET',
   DELETE_BUDGET: 'budget/DELETE_BUDGET',
@@ -20,6 +24,9 @@ const initialState = {
   errorMessage: null,
   entities: [] as ReadonlyArray<IBudget>,
   entity: defaultValue,
+  summary: defaultSummaryValue,
+  breakdown: defaultBreakdownValue,
+  totalItems: 0,
   updating: false,
   updateSuccess: false
 };
@@ -32,6 +39,8 @@ export default (state: BudgetState = initialState, action): BudgetState => {
   switch (action.type) {
     case REQUEST(ACTION_TYPES.FETCH_BUDGET_LIST):
     case REQUEST(ACTION_TYPES.FETCH_BUDGET):
+    case REQUEST(ACTION_TYPES.FETCH_BUDGET_SUMMARY):
+    case REQUEST(ACTION_TYPES.FETCH_BUDGET_BREAKDOWN):
       return {
         ...state,
         errorMessage: null,
@@ -49,6 +58,8 @@ export default (state: BudgetState = initialState, action): BudgetState => {
       };
     case FAILURE(ACTION_TYPES.FETCH_BUDGET_LIST):
     case FAILURE(ACTION_TYPES.FETCH_BUDGET):
+    case FAILURE(ACTION_TYPES.FETCH_BUDGET_SUMMARY):
+    case FAILURE(ACTION_TYPES.FETCH_BUDGET_BREAKDOWN):
     case FAILURE(ACTION_TYPES.CREATE_BUDGET):
     case FAILURE(ACTION_TYPES.UPDATE_BUDGET):
     case FAILURE(ACTION_TYPES.DELETE_BUDGET):
@@ -63,6 +74,7 @@ export default (state: BudgetState = initialState, action): BudgetState => {
       return {
         ...state,
         loading: false,
+        totalItems: action.payload.headers['x-total-count'],
         entities: action.payload.data
       };
     case SUCCESS(ACTION_TYPES.FETCH_BUDGET):
@@ -71,6 +83,18 @@ export default (state: BudgetState = initialState, action): BudgetState => {
         loading: false,
         entity: action.payload.data
       };
+    case SUCCESS(ACTION_TYPES.FETCH_BUDGET_SUMMARY):
+      return {
+        ...state,
+        loading: false,
+        summary: action.payload.data
+      };
+    case SUCCESS(ACTION_TYPES.FETCH_BUDGET_BREAKDOWN):
+      return {
+        ...state,
+        loading: false,
+        breakdown: action.payload.data
+      };
     case SUCCESS(ACTION_TYPES.CREATE_BUDGET):
     case SUCCESS(ACTION_TYPES.UPDATE_BUDGET):
       return {
@@ -99,10 +123,13 @@ const apiUrl = 'api/budgets';
 
 // Actions
 
-export const getEntities: ICrudGetAllAction<IBudget> = (page, size, sort) => ({
-  type: ACTION_TYPES.FETCH_BUDGET_LIST,
-  payload: axios.get<IBudget>(`${apiUrl}?cacheBuster=${new Date().getTime()}`)
-});
+export const getEntities: ICrudGetAllAction<IBudget> = (page, size, sort) => {
+  const requestUrl = `${apiUrl}${sort ? `?page=${page}&size=${size}&sort=${sort}` : ''}`;
+  return {
+    type: ACTION_TYPES.FETCH_BUDGET_LIST,
+    payload: axios.get<IBudget>(`${requestUrl}${sort ? '&' : '?'}cacheBuster=${new Date().getTime()}`)
+  };
+};
 
 export const getEntity: ICrudGetAction<IBudget> = id => {
   const requestUrl = `${apiUrl}/${id}`;
@@ -112,6 +139,22 @@ export const getEntity: ICrudGetAction<IBudget> = id => {
   };
 };
 
+export const getSummary: ICrudGetAction<IBudgetSummary> = id => {
+  const requestUrl = `${apiUrl}/${id}/summary`;
+  return {
+    type: ACTION_TYPES.FETCH_BUDGET_SUMMARY,
+    payload: axios.get<IBudgetSummary>(requestUrl)
+  };
+};
+
+export const getBreakdown = (id: string, top = 10) => {
+  const requestUrl = `${apiUrl}/${id}/breakdown?top=${top}`;
+  return {
+    type: ACTION_TYPES.FETCH_BUDGET_BREAKDOWN,
+    payload: axios.get<IBudgetBreakdown>(requestUrl)
+  };
+};
+
 export const createEntity: ICrudPutAction<IBudget> = entity => async dispatch => {
   const result = await dispatch({
     type: ACTION_TYPES.CREATE_BUDGET,
@@ -124,7 +167,7 @@ export const createEntity: ICrudPutAction<IBudget> = entity => async dispatch =>
 export const updateEntity: ICrudPutAction<IBudget> = entity => async dispatch => {
   const result = await dispatch({
     type: ACTION_TYPES.UPDATE_BUDGET,
-    payload: axios.put(apiUrl, cleanEntity(entity))
+    payload: axios.put(apiUrl, cleanEntity(entity), ifMatch(entity))
   });
   dispatch(getEntities());
   return result;
@@ -3,7 +3,7 @@ import { connect } from 'react-redux';
 import { Link, RouteComponentProps } from 'react-router-dom';
 import { Button, Row, Col } from 'reactstrap';
 // tslint:disable-next-line:no-unused-variable
-import { ICrudGetAction } from 'react-jhipster';
+import { ICrudGetAction, TextFormat } from 'react-jhipster';
 import { FontAwesomeIcon } from '@fortawesome/react-fontawesome';
 
 import { IRootState } from 'app/shared/reducers';
@@ -32,8 +32,14 @@ export class IncomeDetail extends React.Component<IIncomeDetailProps> {
               <span id="amount">Amount</span>
             </dt>
             <dd>{incomeEntity.amount}</dd>
+            <dt>
+              <span id="date">Date</span>
+            </dt>
+            <dd>
+              <TextFormat value={incomeEntity.date} type="date" format={APP_LOCAL_DATE_FORMAT} />
+            </dd>
             <dt>Budget</dt>
-            <dd>{incomeEntity.budget ? incomeEntity.budget.id : ''}</dd>
+            <dd>{incomeEntity.budget ? incomeEntity.budget.title : ''}</dd>
           </dl>
           <Button tag={Link} to="/entity/income" replace color="info">
             <FontAwesomeIcon icon="arrow-left" /> <span className="d-none d-md-inline">Back</span>
@@ -106,6 +106,20 @@ export class IncomeUpdate extends React.Component<IIncomeUpdateProps, IIncomeUpd
                     }}
                   />
                 </AvGroup>
+                <AvGroup>
+                  <Label id="dateLabel" for="date">
+                    Date
+                  </Label>
+                  <AvField
+                    id="income-date"
+                    type="date"
+                    className="form-control"
+                    name="date"
+                    validate={{
+                      required: { value: true, errorMessage: 'This field is required.' }
+                    }}
+                  />
+                </AvGroup>
                 <AvGroup>
                   <Label for="budget.id">Budget</Label>
                   <AvInput id="income-budget" type="select" className="form-control" name="budget.id">
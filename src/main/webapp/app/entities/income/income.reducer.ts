@@ -1,7 +1,7 @@
 import axios from 'axios';
 import { ICrudGetAction, ICrudGetAllAction, ICrudPutAction, ICrudDeleteAction } from 'react-jhipster';
 
-import { cleanEntity } from 'app/shared/util/entity-utils';
+import { cleanEntity, ifMatch } from 'app/shared/util/entity-utils';
 import { REQUEST, SUCCESS, FAILURE } from 'app/shared/reducers/action-type.util';
 
 import { IIncome, defaultValue } from 'app/shared/model/income.model';
@@ -20,6 +20,7 @@ const initialState = {
   errorMessage: null,
   entities: [] as ReadonlyArray<IIncome>,
   entity: defaultValue,
+  totalItems: 0,
   updating: false,
   updateSuccess: false
 };
@@ -63,6 +64,7 @@ export default (state: IncomeState = initialState, action): IncomeState => {
       return {
         ...state,
         loading: false,
+        totalItems: action.payload.headers['x-total-count'],
         entities: action.payload.data
       };
     case SUCCESS(ACTION_TYPES.FETCH_INCOME):
@@ -99,10 +101,13 @@ const apiUrl = 'api/incomes';
 
 // Actions
 
-export const getEntities: ICrudGetAllAction<IIncome> = (page, size, sort) => ({
-  type: ACTION_TYPES.FETCH_INCOME_LIST,
-  payload: axios.get<IIncome>(`${apiUrl}?cacheBuster=${new Date().getTime()}`)
-});
+export const getEntities: ICrudGetAllAction<IIncome> = (page, size, sort) => {
+  const requestUrl = `${apiUrl}${sort ? `?page=${page}&size=${size}&sort=${sort}` : ''}`;
+  return {
+    type: ACTION_TYPES.FETCH_INCOME_LIST,
+    payload: axios.get<IIncome>(`${requestUrl}${sort ? '&' : '?'}cacheBuster=${new Date().getTime()}`)
+  };
+};
 
 export const getEntity: ICrudGetAction<IIncome> = id => {
   const requestUrl = `${apiUrl}/${id}`;
@@ -124,7 +129,7 @@ export const createEntity: ICrudPutAction<IIncome> = entity => async dispatch =>
 export const updateEntity: ICrudPutAction<IIncome> = entity => async dispatch => {
   const result = await dispatch({
     type: ACTION_TYPES.UPDATE_INCOME,
-    payload: axios.put(apiUrl, cleanEntity(entity))
+    payload: axios.put(apiUrl, cleanEntity(entity), ifMatch(entity))
   });
   dispatch(getEntities());
   return result;
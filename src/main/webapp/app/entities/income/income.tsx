@@ -3,7 +3,7 @@ import { connect } from 'react-redux';
 import { Link, RouteComponentProps } from 'react-router-dom';
 import { Button, Col, Row, Table } from 'reactstrap';
 // tslint:disable-next-line:no-unused-variable
-import { ICrudGetAllAction } from 'react-jhipster';
+import { ICrudGetAllAction, TextFormat, getSortState, IPaginationBaseState, getPaginationItemsNumber, JhiPagination } from 'react-jhipster';
 import { FontAwesomeIcon } from '@fortawesome/react-fontawesome';
 
 import { IRootState } from 'app/shared/reducers';
@@ -11,16 +11,45 @@ import { getEntities } from './income.reducer';
 import { IIncome } from 'app/shared/model/income.model';
 // tslint:disable-next-line:no-unused-variable
 import { APP_DATE_FORMAT, APP_LOCAL_DATE_FORMAT } from 'app/config/constants';
+import { ITEMS_PER_PAGE } from 'app/shared/util/pagination.constants';
 
 export interface IIncomeProps extends StateProps, DispatchProps, RouteComponentProps<{ url: string }> {}
 
-export class Income extends React.Component<IIncomeProps> {
+export type IIncomeState = IPaginationBaseState;
+
+export class Income extends React.Component<IIncomeProps, IIncomeState> {
+  state: IIncomeState = {
+    ...getSortState(this.props.location, ITEMS_PER_PAGE)
+  };
+
   componentDidMount() {
-    this.props.getEntities();
+    this.getEntities();
+  }
+
+  sort = prop => () => {
+    this.setState(
+      {
+        order: this.state.order === 'asc' ? 'desc' : 'asc',
+        sort: prop
+      },
+      () => this.sortEntities()
+    );
+  };
+
+  sortEntities() {
+    this.getEntities();
+    this.props.history.push(`${this.props.location.pathname}?page=${this.state.activePage}&sort=${this.state.sort},${this.state.order}`);
   }
 
+  handlePagination = activePage => this.setState({ activePage }, () => this.sortEntities());
+
+  getEntities = () => {
+    const { activePage, itemsPerPage, sort, order } = this.state;
+    this.props.getEntities(activePage - 1, itemsPerPage, `${sort},${order}`);
+  };
+
   render() {
-    const { incomeList, match } = this.props;
+    const { incomeList, match, totalItems } = this.props;
     return (
       <div>
         <h2 id="income-heading">
@@ -33,8 +62,15 @@ export class Income extends React.Component<IIncomeProps> {
           <Table responsive>
             <thead>
               <tr>
-                <th>ID</th>
-                <th>Amount</th>
+                <th className="hand" onClick={this.sort('id')}>
+                  ID <FontAwesomeIcon icon="sort" />
+                </th>
+                <th className="hand" onClick={this.sort('amount')}>
+                  Amount <FontAwesomeIcon icon="sort" />
+                </th>
+                <th className="hand" onClick={this.sort('date')}>
+                  Date <FontAwesomeIcon icon="sort" />
+                </th>
                 <th>Budget</th>
                 <th />
               </tr>
@@ -48,7 +84,10 @@ export class Income extends React.Component<IIncomeProps> {
                     </Button>
                   </td>
                   <td>{income.amount}</td>
-                  <td>{income.budget ? <Link to={`budget/${income.budget.id}`}>{income.budget.id}</Link> : ''}</td>
+                  <td>
+                    <TextFormat type="date" value={income.date} format={APP_LOCAL_DATE_FORMAT} />
+                  </td>
+                  <td>{income.budget ? <Link to={`budget/${income.budget.id}`}>{income.budget.title}</Link> : ''}</td>
                   <td className="text-right">
                     <div className="btn-group flex-btn-group-container">
                       <Button tag={Link} to={`${match.url}/${income.id}`} color="info" size="sm">
@@ -67,13 +106,22 @@ export class Income extends React.Component<IIncomeProps> {
             </tbody>
           </Table>
         </div>
+        <Row className="justify-content-center">
+          <JhiPagination
+            items={getPaginationItemsNumber(totalItems, this.state.itemsPerPage)}
+            activePage={this.state.activePage}
+            onSelect={this.handlePagination}
+            maxButtons={5}
+          />
+        </Row>
       </div>
     );
   }
 }
 
 const mapStateToProps = ({ income }: IRootState) => ({
-  incomeList: income.entities
+  incomeList: income.entities,
+  totalItems: income.totalItems
 });
 
 const mapDispatchToProps = {
@@ -3,7 +3,7 @@ import { connect } from 'react-redux';
 import { Link, RouteComponentProps } from 'react-router-dom';
 import { Button, Row, Col } from 'reactstrap';
 // tslint:disable-next-line:no-unused-variable
-import { ICrudGetAction } from 'react-jhipster';
+import { ICrudGetAction, TextFormat } from 'react-jhipster';
 import { FontAwesomeIcon } from '@fortawesome/react-fontawesome';
 
 import { IRootState } from 'app/shared/reducers';
@@ -32,8 +32,18 @@ export class OutcomeDetail extends React.Component<IOutcomeDetailProps> {
               <span id="amount">Amount</span>
             </dt>
             <dd>{outcomeEntity.amount}</dd>
+            <dt>
+              <span id="date">Date</span>
+            </dt>
+            <dd>
+              <TextFormat value={outcomeEntity.date} type="date" format={APP_LOCAL_DATE_FORMAT} />
+            </dd>
+            <dt>
+              <span id="category">Category</span>
+            </dt>
+            <dd>{outcomeEntity.category}</dd>
             <dt>Budget</dt>
-            <dd>{outcomeEntity.budget ? outcomeEntity.budget.id : ''}</dd>
+            <dd>{outcomeEntity.budget ? outcomeEntity.budget.title : ''}</dd>
           </dl>
           <Button tag={Link} to="/entity/outcome" replace color="info">
             <FontAwesomeIcon icon="arrow-left" /> <span className="d-none d-md-inline">Back</span>
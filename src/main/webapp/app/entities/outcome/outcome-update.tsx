@@ -106,6 +106,26 @@ export class OutcomeUpdate extends React.Component<IOutcomeUpdateProps, IOutcome
                     }}
                   />
                 </AvGroup>
+                <AvGroup>
+                  <Label id="dateLabel" for="date">
+                    Date
+                  </Label>
+                  <AvField
+                    id="outcome-date"
+                    type="date"
+                    className="form-control"
+                    name="date"
+                    validate={{
+                      required: { value: true, errorMessage: 'This field is required.' }
+                    }}
+                  />
+                </AvGroup>
+                <AvGroup>
+                  <Label id="categoryLabel" for="category">
+                    Category
+                  </Label>
+                  <AvField id="outcome-category" type="text" name="category" />
+                </AvGroup>
                 <AvGroup>
                   <Label for="budget.id">Budget</Label>
                   <AvInput id="outcome-budget" type="select" className="form-control" name="budget.id">
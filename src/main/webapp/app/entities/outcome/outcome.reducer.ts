@@ -1,7 +1,7 @@
 import axios from 'axios';
 import { ICrudGetAction, ICrudGetAllAction, ICrudPutAction, ICrudDeleteAction } from 'react-jhipster';
 
-import { cleanEntity } from 'app/shared/util/entity-utils';
+import { cleanEntity, ifMatch } from 'app/shared/util/entity-utils';
 import { REQUEST, SUCCESS, FAILURE } from 'app/shared/reducers/action-type.util';
 
 import { IOutcome, defaultValue } from 'app/shared/model/outcome.model';
@@ -20,6 +20,7 @@ const initialState = {
   errorMessage: null,
   entities: [] as ReadonlyArray<IOutcome>,
   entity: defaultValue,
+  totalItems: 0,
   updating: false,
   updateSuccess: false
 };
@@ -63,6 +64,7 @@ export default (state: OutcomeState = initialState, action): OutcomeState => {
       return {
         ...state,
         loading: false,
+        totalItems: action.payload.headers['x-total-count'],
         entities: action.payload.data
       };
     case SUCCESS(ACTION_TYPES.FETCH_OUTCOME):
@@ -99,10 +101,13 @@ const apiUrl = 'api/outcomes';
 
 // Actions
 
-export const getEntities: ICrudGetAllAction<IOutcome> = (page, size, sort) => ({
-  type: ACTION_TYPES.FETCH_OUTCOME_LIST,
-  payload: axios.get<IOutcome>(`${apiUrl}?cacheBuster=${new Date().getTime()}`)
-});
+export const getEntities: ICrudGetAllAction<IOutcome> = (page, size, sort) => {
+  const requestUrl = `${apiUrl}${sort ? `?page=${page}&size=${size}&sort=${sort}` : ''}`;
+  return {
+    type: ACTION_TYPES.FETCH_OUTCOME_LIST,
+    payload: axios.get<IOutcome>(`${requestUrl}${sort ? '&' : '?'}cacheBuster=${new Date().getTime()}`)
+  };
+};
 
 export const getEntity: ICrudGetAction<IOutcome> = id => {
   const requestUrl = `${apiUrl}/${id}`;
@@ -124,7 +129,7 @@ export const createEntity: ICrudPutAction<IOutcome> = entity => async dispatch =
 export const updateEntity: ICrudPutAction<IOutcome> = entity => async dispatch => {
   const result = await dispatch({
     type: ACTION_TYPES.UPDATE_OUTCOME,
-    payload: axios.put(apiUrl, cleanEntity(entity))
+    payload: axios.put(apiUrl, cleanEntity(entity), ifMatch(entity))
   });
   dispatch(getEntities());
   return result;
@@ -3,7 +3,7 @@ import { connect } from 'react-redux';
 import { Link, RouteComponentProps } from 'react-router-dom';
 import { Button, Col, Row, Table } from 'reactstrap';
 // tslint:disable-next-line:no-unused-variable
-import { ICrudGetAllAction } from 'react-jhipster';
+import { ICrudGetAllAction, TextFormat, getSortState, IPaginationBaseState, getPaginationItemsNumber, JhiPagination } from 'react-jhipster';
 import { FontAwesomeIcon } from '@fortawesome/react-fontawesome';
 
 import { IRootState } from 'app/shared/reducers';
@@ -11,16 +11,45 @@ import { getEntities } from './outcome.reducer';
 import { IOutcome } from 'app/shared/model/outcome.model';
 // tslint:disable-next-line:no-unused-variable
 import { APP_DATE_FORMAT, APP_LOCAL_DATE_FORMAT } from 'app/config/constants';
+import { ITEMS_PER_PAGE } from 'app/shared/util/pagination.constants';
 
 export interface IOutcomeProps extends StateProps, DispatchProps, RouteComponentProps<{ url: string }> {}
 
-export class Outcome extends React.Component<IOutcomeProps> {
+export type IOutcomeState = IPaginationBaseState;
+
+export class Outcome extends React.Component<IOutcomeProps, IOutcomeState> {
+  state: IOutcomeState = {
+    ...getSortState(this.props.location, ITEMS_PER_PAGE)
+  };
+
   componentDidMount() {
-    this.props.getEntities();
+    this.getEntities();
+  }
+
+  sort = prop => () => {
+    this.setState(
+      {
+        order: this.state.order === 'asc' ? 'desc' : 'asc',
+        sort: prop
+      },
+      () => this.sortEntities()
+    );
+  };
+
+  sortEntities() {
+    this.getEntities();
+    this.props.history.push(`${this.props.location.pathname}?page=${this.state.activePage}&sort=${this.state.sort},${this.state.order}`);
   }
 
+  handlePagination = activePage => this.setState({ activePage }, () => this.sortEntities());
+
+  getEntities = () => {
+    const { activePage, itemsPerPage, sort, order } = this.state;
+    this.props.getEntities(activePage - 1, itemsPerPage, `${sort},${order}`);
+  };
+
   render() {
-    const { outcomeList, match } = this.props;
+    const { outcomeList, match, totalItems } = this.props;
     return (
       <div>
         <h2 id="outcome-heading">
@@ -33,8 +62,18 @@ export class Outcome extends React.Component<IOutcomeProps> {
           <Table responsive>
             <thead>
               <tr>
-                <th>ID</th>
-                <th>Amount</th>
+                <th className="hand" onClick={this.sort('id')}>
+                  ID <FontAwesomeIcon icon="sort" />
+                </th>
+                <th className="hand" onClick={this.sort('amount')}>
+                  Amount <FontAwesomeIcon icon="sort" />
+                </th>
+                <th className="hand" onClick={this.sort('date')}>
+                  Date <FontAwesomeIcon icon="sort" />
+                </th>
+                <th className="hand" onClick={this.sort('category')}>
+                  Category <FontAwesomeIcon icon="sort" />
+                </th>
                 <th>Budget</th>
                 <th />
               </tr>
@@ -48,7 +87,11 @@ export class Outcome extends React.Component<IOutcomeProps> {
                     </Button>
                   </td>
                   <td>{outcome.amount}</td>
-                  <td>{outcome.budget ? <Link to={`budget/${outcome.budget.id}`}>{outcome.budget.id}</Link> : ''}</td>
+                  <td>
+                    <TextFormat type="date" value={outcome.date} format={APP_LOCAL_DATE_FORMAT} />
+                  </td>
+                  <td>{outcome.category}</td>
+                  <td>{outcome.budget ? <Link to={`budget/${outcome.budget.id}`}>{outcome.budget.title}</Link> : ''}</td>
                   <td className="text-right">
                     <div className="btn-group flex-btn-group-container">
                       <Button tag={Link} to={`${match.url}/${outcome.id}`} color="info" size="sm">
@@ -67,13 +110,22 @@ export class Outcome extends React.Component<IOutcomeProps> {
             </tbody>
           </Table>
         </div>
+        <Row className="justify-content-center">
+          <JhiPagination
+            items={getPaginationItemsNumber(totalItems, this.state.itemsPerPage)}
+            activePage={this.state.activePage}
+            onSelect={this.handlePagination}
+            maxButtons={5}
+          />
+        </Row>
       </div>
     );
   }
 }
 
 const mapStateToProps = ({ outcome }: IRootState) => ({
-  outcomeList: outcome.entities
+  outcomeList: outcome.entities,
+  totalItems: outcome.totalItems
 });
 
 const mapDispatchToProps = {
@@ -0,0 +1,51 @@
+import axios from 'axios';
+
+import { REQUEST, SUCCESS, FAILURE } from 'app/shared/reducers/action-type.util';
+
+import { IDashboard, defaultValue } from 'app/shared/model/dashboard.model';
+
+export const ACTION_TYPES = {
+  FETCH_DASHBOARD: 'dashboard/FETCH_DASHBOARD'
+};
+
+const initialState = {
+  loading: false,
+  errorMessage: null,
+  dashboard: defaultValue
+};
+
+export type DashboardState = Readonly<typeof initialState>;
+
+// Reducer
+
+export default (state: DashboardState = initialState, action): DashboardState => {
+  switch (action.type) {
+    case REQUEST(ACTION_TYPES.FETCH_DASHBOARD):
+      return {
+        ...state,
+        errorMessage: null,
+        loading: true
+      };
+    case FAILURE(ACTION_TYPES.FETCH_DASHBOARD):
+      return {
+        ...state,
+        loading: false,
+        errorMessage: action.payload
+      };
+    case SUCCESS(ACTION_TYPES.FETCH_DASHBOARD):
+      return {
+        ...state,
+        loading: false,
+        dashboard: action.payload.data
+      };
+    default:
+      return state;
+  }
+};
+
+// Actions
+
+export const getDashboard = () => ({
+  type: ACTION_TYPES.FETCH_DASHBOARD,
+  payload: axios.get<IDashboard>('api/dashboard')
+});
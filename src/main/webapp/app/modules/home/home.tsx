@@ -4,20 +4,32 @@ import React from 'react';
 import { Link } from 'react-router-dom';
 
 import { connect } from 'react-redux';
-import { Row, Col, Alert } from 'reactstrap';
+import { Row, Col, Alert, Table } from 'reactstrap';
+import { TextFormat } from 'react-jhipster';
 
 import { IRootState } from 'app/shared/reducers';
 import { getSession } from 'app/shared/reducers/authentication';
+import { getDashboard } from './dashboard.reducer';
+import { APP_LOCAL_DATE_FORMAT } from 'app/config/constants';
 
 export interface IHomeProp extends StateProps, DispatchProps {}
 
 export class Home extends React.Component<IHomeProp> {
   componentDidMount() {
     this.props.getSession();
+    if (this.props.isAuthenticated) {
+      this.props.getDashboard();
+    }
+  }
+
+  componentDidUpdate(prevProps: IHomeProp) {
+    if (this.props.isAuthenticated && !prevProps.isAuthenticated) {
+      this.props.getDashboard();
+    }
   }
 
   render() {
-    const { account } = this.props;
+    const { account, dashboard } = this.props;
     return (
       <Row>
         <Col md="9">
@@ -26,6 +38,42 @@ export class Home extends React.Component<IHomeProp> {
           {account && account.login ? (
             <div>
               <Alert color="success">You are logged in as user {account.login}.</Alert>
+              <h4>Budgets ({dashboard.budgetCount})</h4>
+              <Table responsive size="sm">
+                <tbody>
+                  {dashboard.budgets.map((budget, i) => (
+                    <tr key={`budget-${i}`}>
+                      <td>
+                        <Link to={`/entity/budget/${budget.id}`}>{budget.title}</Link>
+                      </td>
+                      <td className="text-right">{budget.balance}</td>
+                    </tr>
+                  ))}
+                </tbody>
+              </Table>
+              <h4>Recent transactions</h4>
+              <Table responsive size="sm">
+                <tbody>
+                  {dashboard.recentIncomes.map((income, i) => (
+                    <tr key={`income-${i}`}>
+                      <td>
+                        <TextFormat type="date" value={income.date} format={APP_LOCAL_DATE_FORMAT} />
+                      </td>
+                      <td>{income.budget ? income.budget.title : ''}</td>
+                      <td className="text-right text-success">+{income.amount}</td>
+                    </tr>
+                  ))}
+                  {dashboard.recentOutcomes.map((outcome, i) => (
+                    <tr key={`outcome-${i}`}>
+                      <td>
+                        <TextFormat type="date" value={outcome.date} format={APP_LOCAL_DATE_FORMAT} />
+                      </td>
+                      <td>{outcome.budget ? outcome.budget.title : ''}</td>
+                      <td className="text-right text-danger">-{outcome.amount}</td>
+                    </tr>
+                  ))}
+                </tbody>
+              </Table>
             </div>
           ) : (
             <div>
@@ -96,10 +144,11 @@ export class Home extends React.Component<IHomeProp> {
 
 const mapStateToProps = storeState => ({
   account: storeState.authentication.account,
-  isAuthenticated: storeState.authentication.isAuthenticated
+  isAuthenticated: storeState.authentication.isAuthenticated,
+  dashboard: storeState.dashboard.dashboard
 });
 
-const mapDispatchToProps = { getSession };
+const mapDispatchToProps = { getSession, getDashboard };
 
 type StateProps = ReturnType<typeof mapStateToProps>;
 type DispatchProps = typeof mapDispatchToProps;
@@ -0,0 +1,16 @@
+export interface ICategoryTotal {
+  category?: string;
+  total?: number;
+  count?: number;
+}
+
+export interface IBudgetBreakdown {
+  budgetId?: string;
+  totalOutcome?: number;
+  outcomeCount?: number;
+  categories?: ICategoryTotal[];
+  otherTotal?: number;
+  otherCount?: number;
+}
+
+export const defaultValue: Readonly<IBudgetBreakdown> = { categories: [] };
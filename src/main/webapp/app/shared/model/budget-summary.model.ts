@@ -0,0 +1,14 @@
+export interface IBudgetSummary {
+  budgetId?: string;
+  totalIncome?: number;
+  totalOutcome?: number;
+  balance?: number;
+  incomeCount?: number;
+  outcomeCount?: number;
+  minIncome?: number;
+  maxIncome?: number;
+  minOutcome?: number;
+  maxOutcome?: number;
+}
+
+export const defaultValue: Readonly<IBudgetSummary> = {};
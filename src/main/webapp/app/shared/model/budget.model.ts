@@ -5,6 +5,11 @@ export interface IBudget {
   id?: string;
   title?: string;
   description?: string;
+  totalIncome?: number;
+  totalOutcome?: number;
+  balance?: number;
+  itemCount?: number;
+  version?: number;
   incomes?: IIncome[];
   outcomes?: IOutcome[];
 }
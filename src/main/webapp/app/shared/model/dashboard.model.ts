@@ -0,0 +1,18 @@
+import { IUser } from 'app/shared/model/user.model';
+import { IBudget } from 'app/shared/model/budget.model';
+import { IIncome } from 'app/shared/model/income.model';
+import { IOutcome } from 'app/shared/model/outcome.model';
+
+export interface IDashboard {
+  account?: IUser;
+  budgets?: IBudget[];
+  budgetCount?: number;
+  recentIncomes?: IIncome[];
+  recentOutcomes?: IOutcome[];
+}
+
+export const defaultValue: Readonly<IDashboard> = {
+  budgets: [],
+  recentIncomes: [],
+  recentOutcomes: []
+};
@@ -1,9 +1,12 @@
+import { Moment } from 'moment';
 import { IBudget } from 'app/shared/model//budget.model';
 
 export interface IIncome {
   id?: string;
   amount?: number;
+  date?: Moment;
   budget?: IBudget;
+  version?: number;
 }
 
 export const defaultValue: Readonly<IIncome> = {};
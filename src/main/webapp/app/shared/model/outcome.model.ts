@@ -1,9 +1,13 @@
+import { Moment } from 'moment';
 import { IBudget } from 'app/shared/model//budget.model';
 
 export interface IOutcome {
   id?: string;
   amount?: number;
+  date?: Moment;
+  category?: string;
   budget?: IBudget;
+  version?: number;
 }
 
 export const defaultValue: Readonly<IOutcome> = {};
@@ -11,6 +11,7 @@ import activate, { ActivateState } from 'app/modules/account/activate/activate.r
 import password, { PasswordState } from 'app/modules/account/password/password.reducer';
 import settings, { SettingsState } from 'app/modules/account/settings/settings.reducer';
 import passwordReset, { PasswordResetState } from 'app/modules/account/password-reset/password-reset.reducer';
+import dashboard, { DashboardState } from 'app/modules/home/dashboard.reducer';
 // prettier-ignore
 import budget, {
   BudgetState
@@ -35,6 +36,7 @@ export interface IRootState {
   readonly passwordReset: PasswordResetState;
   readonly password: PasswordState;
   readonly settings: SettingsState;
+  readonly dashboard: DashboardState;
   readonly budget: BudgetState;
   readonly income: IncomeState;
   readonly outcome: OutcomeState;
@@ -52,6 +54,7 @@ const rootReducer = combineReducers<IRootState>({
   passwordReset,
   password,
   settings,
+  dashboard,
   budget,
   income,
   outcome,
@@ -22,3 +22,12 @@ export const cleanEntity = entity => {
  */
 export const mapIdList = (idList: ReadonlyArray<any>) =>
   idList.filter((entityId: any) => entityId !== '').map((entityId: any) => ({ id: entityId }));
+
+/**
+ * Build the request config updating a versioned entity only if it did not change since it was read.
+ *
+ * @param entity Entity read from the server, with its version.
+ * @returns The axios config with an If-Match header, if the entity has a version.
+ */
+export const ifMatch = (entity: { version?: number }) =>
+  entity.version === undefined || entity.version === null ? {} : { headers: { 'If-Match': `"${entity.version}"` } };
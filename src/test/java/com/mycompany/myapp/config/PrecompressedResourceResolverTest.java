@@ -0,0 +1,104 @@
+package com.mycompany.myapp.config;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockServletContext;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.resource.PathResourceResolver;
+import org.springframework.web.servlet.resource.ResourceHttpRequestHandler;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for the PrecompressedResourceResolver class.
+ *
+ * @see PrecompressedResourceResolver
+ */
+public class PrecompressedResourceResolverTest {
+
+    private static final String BUNDLE = "main.0123456789abcdef0123.bundle.js";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private ResourceHttpRequestHandler handler;
+
+    @Before
+    public void setup() throws Exception {
+        write(BUNDLE, "original");
+        write(BUNDLE + ".gz", "gzip");
+        write(BUNDLE + ".br", "brotli");
+        write("logo.svg", "logo");
+
+        handler = new ResourceHttpRequestHandler();
+        handler.setLocations(Collections.singletonList(new FileSystemResource(folder.getRoot().getPath() + "/")));
+        handler.setResourceResolvers(Arrays.asList(new PrecompressedResourceResolver(), new PathResourceResolver()));
+        handler.setServletContext(new MockServletContext());
+        handler.afterPropertiesSet();
+    }
+
+    private void write(String filename, String content) throws Exception {
+        Files.write(new File(folder.getRoot(), filename).toPath(), content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private MockHttpServletResponse get(String path, String acceptEncoding) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/app/" + path);
+        request.setAttribute(HandlerMapping.PATH_WITHIN_HANDLER_MAPPING_ATTRIBUTE, path);
+        if (acceptEncoding != null) {
+            request.addHeader(HttpHeaders.ACCEPT_ENCODING, acceptEncoding);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        handler.handleRequest(request, response);
+        return response;
+    }
+
+    @Test
+    public void testBrotliIsPreferred() throws Exception {
+        MockHttpServletResponse response = get(BUNDLE, "gzip, deflate, br");
+
+        assertThat(response.getContentAsString()).isEqualTo("brotli");
+        assertThat(response.getHeader(HttpHeaders.CONTENT_ENCODING)).isEqualTo("br");
+        assertThat(response.getHeader(HttpHeaders.VARY)).isEqualTo(HttpHeaders.ACCEPT_ENCODING);
+        assertThat(response.getContentType()).isEqualTo("application/javascript");
+        assertThat(response.getHeader(HttpHeaders.CACHE_CONTROL)).contains("immutable");
+    }
+
+    @Test
+    public void testGzip() throws Exception {
+        MockHttpServletResponse response = get(BUNDLE, "gzip, br;q=0");
+
+        assertThat(response.getContentAsString()).isEqualTo("gzip");
+        assertThat(response.getHeader(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+    }
+
+    @Test
+    public void testIdentity() throws Exception {
+        MockHttpServletResponse response = get(BUNDLE, null);
+
+        assertThat(response.getContentAsString()).isEqualTo("original");
+        assertThat(response.getHeader(HttpHeaders.CONTENT_ENCODING)).isNull();
+        assertThat(response.getHeader(HttpHeaders.VARY)).isEqualTo(HttpHeaders.ACCEPT_ENCODING);
+    }
+
+    @Test
+    public void testNotHashedNorCompressed() throws Exception {
+        MockHttpServletResponse response = get("logo.svg", "gzip, br");
+
+        assertThat(response.getContentAsString()).isEqualTo("logo");
+        assertThat(response.getHeader(HttpHeaders.CONTENT_ENCODING)).isNull();
+        assertThat(response.getHeader(HttpHeaders.VARY)).isNull();
+        assertThat(response.getHeader(HttpHeaders.CACHE_CONTROL)).isNull();
+    }
+}
@@ -0,0 +1,105 @@
+package com.mycompany.myapp.repository;
+
+import com.mycompany.myapp.MonthlyBudgetApp;
+import com.mycompany.myapp.config.Constants;
+import com.mycompany.myapp.domain.Budget;
+import com.mycompany.myapp.domain.BudgetMonth;
+import com.mycompany.myapp.domain.BudgetReference;
+import com.mycompany.myapp.domain.Income;
+import com.mycompany.myapp.domain.Money;
+import com.mycompany.myapp.domain.Outcome;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test class for the BudgetMonthRepository.
+ *
+ * @see BudgetMonthRepositoryImpl
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest(classes = MonthlyBudgetApp.class)
+public class BudgetMonthRepositoryIntTest {
+
+    private static final int MONTHS = 12;
+
+    @Autowired
+    private BudgetRepository budgetRepository;
+
+    @Autowired
+    private BudgetMonthRepository budgetMonthRepository;
+
+    @Autowired
+    private IncomeRepository incomeRepository;
+
+    @Autowired
+    private OutcomeRepository outcomeRepository;
+
+    private Budget budget;
+
+    @Before
+    public void setup() {
+        budgetRepository.deleteAll();
+        budgetMonthRepository.deleteAll();
+        incomeRepository.deleteAll();
+        outcomeRepository.deleteAll();
+
+        budget = budgetRepository.save(new Budget().title("budget"));
+        BudgetReference reference = new BudgetReference(budget);
+        for (int i = 0; i < MONTHS; i++) {
+            LocalDate date = LocalDate.of(2018, 1, 1).plusMonths(i);
+            Money amount = Money.ofMinor(100, Constants.DEFAULT_CURRENCY);
+            incomeRepository.save(new Income().amount(amount).date(date).budget(reference));
+            incomeRepository.save(new Income().amount(amount).date(date.plusDays(27)).budget(reference));
+            outcomeRepository.save(new Outcome().amount(amount).date(date).budget(reference));
+        }
+    }
+
+    @Test
+    public void rebuildSumsTheLineItemsOfEachMonth() {
+        assertThat(budgetMonthRepository.rebuild()).isEqualTo(MONTHS);
+
+        BudgetMonth month = budgetMonthRepository.findById(BudgetMonth.id(budget.getId(), YearMonth.of(2018, 2))).get();
+        assertThat(month.getBudgetId()).isEqualTo(budget.getId());
+        assertThat(month.getMonth()).isEqualTo("2018-02");
+        assertThat(month.getTotalIncome().getMinorUnits()).isEqualTo(200);
+        assertThat(month.getTotalOutcome().getMinorUnits()).isEqualTo(100);
+        assertThat(month.getItemCount()).isEqualTo(3);
+    }
+
+    @Test
+    public void incrementTotalsUpsertsTheBucket() {
+        YearMonth month = YearMonth.of(2017, 6);
+        budgetMonthRepository.incrementTotals(budget.getId(), month, 250, 0, 1);
+        budgetMonthRepository.incrementTotals(budget.getId(), month, 0, 100, 1);
+
+        BudgetMonth bucket = budgetMonthRepository.findById(BudgetMonth.id(budget.getId(), month)).get();
+        assertThat(bucket.getMonth()).isEqualTo("2017-06");
+        assertThat(bucket.getTotalIncome()).isEqualTo(Money.ofMinor(250, Constants.DEFAULT_CURRENCY));
+        assertThat(bucket.getTotalOutcome()).isEqualTo(Money.ofMinor(100, Constants.DEFAULT_CURRENCY));
+        assertThat(bucket.getBalance()).isEqualTo(Money.ofMinor(150, Constants.DEFAULT_CURRENCY));
+        assertThat(bucket.getItemCount()).isEqualTo(2);
+    }
+
+    @Test
+    public void findByBudgetIdAndMonthRangeReadsOneBucketPerMonth() {
+        budgetMonthRepository.rebuild();
+
+        List<BudgetMonth> months = budgetMonthRepository.findByBudgetIdAndMonthRange(budget.getId(), "2018-03", "2018-08",
+            Sort.by(Sort.Direction.ASC, "month"));
+
+        assertThat(months).extracting(BudgetMonth::getMonth)
+            .containsExactly("2018-03", "2018-04", "2018-05", "2018-06", "2018-07", "2018-08");
+    }
+}
@@ -0,0 +1,204 @@
+package com.mycompany.myapp.repository;
+
+import com.mycompany.myapp.MonthlyBudgetApp;
+import com.mycompany.myapp.config.Constants;
+import com.mycompany.myapp.domain.Budget;
+import com.mycompany.myapp.domain.BudgetReference;
+import com.mycompany.myapp.domain.Income;
+import com.mycompany.myapp.domain.Money;
+import com.mycompany.myapp.domain.Outcome;
+
+import com.mongodb.MongoClient;
+import com.mongodb.MongoClientOptions;
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+import org.bson.types.ObjectId;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.mongo.MongoProperties;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.SimpleMongoDbFactory;
+import org.springframework.data.mongodb.core.convert.DefaultDbRefResolver;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test class for the BudgetRepositoryImpl class.
+ *
+ * @see BudgetRepositoryImpl
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest(classes = MonthlyBudgetApp.class)
+public class BudgetRepositoryIntTest {
+
+    private static final int BUDGET_COUNT = 3;
+
+    private static final int ITEMS_PER_BUDGET = 5;
+
+    private static final LocalDate DATE = LocalDate.of(2018, 11, 25);
+
+    @Autowired
+    private BudgetRepository budgetRepository;
+
+    @Autowired
+    private IncomeRepository incomeRepository;
+
+    @Autowired
+    private OutcomeRepository outcomeRepository;
+
+    @Autowired
+    private MongoClient mongoClient;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private MongoProperties mongoProperties;
+
+    @Autowired
+    private MongoCustomConversions customConversions;
+
+    private final AtomicInteger findCommands = new AtomicInteger();
+
+    private MongoClient countingClient;
+
+    private MongoTemplate countingTemplate;
+
+    @Before
+    public void setup() {
+        budgetRepository.deleteAll();
+        incomeRepository.deleteAll();
+        outcomeRepository.deleteAll();
+
+        CommandListener listener = new CommandListener() {
+            @Override
+            public void commandStarted(CommandStartedEvent event) {
+                if ("find".equals(event.getCommandName())) {
+                    findCommands.incrementAndGet();
+                }
+            }
+
+            @Override
+            public void commandSucceeded(CommandSucceededEvent event) {
+            }
+
+            @Override
+            public void commandFailed(CommandFailedEvent event) {
+            }
+        };
+        countingClient = new MongoClient(mongoClient.getAddress(),
+            MongoClientOptions.builder().addCommandListener(listener).build());
+        SimpleMongoDbFactory dbFactory = new SimpleMongoDbFactory(countingClient, mongoProperties.getMongoClientDatabase());
+        MappingMongoConverter converter = new MappingMongoConverter(new DefaultDbRefResolver(dbFactory),
+            mongoTemplate.getConverter().getMappingContext());
+        converter.setCustomConversions(customConversions);
+        converter.afterPropertiesSet();
+        countingTemplate = new MongoTemplate(dbFactory, converter);
+
+        for (int i = 0; i < BUDGET_COUNT; i++) {
+            Budget budget = budgetRepository.save(new Budget().title("budget-" + i));
+            BudgetReference reference = new BudgetReference(budget);
+            for (int j = 0; j < ITEMS_PER_BUDGET; j++) {
+                Money amount = Money.ofMinor(j, Constants.DEFAULT_CURRENCY);
+                incomeRepository.save(new Income().amount(amount).date(DATE).budget(reference));
+                outcomeRepository.save(new Outcome().amount(amount).date(DATE).budget(reference));
+            }
+        }
+    }
+
+    @After
+    public void tearDown() {
+        countingClient.close();
+    }
+
+    @Test
+    public void findAllWithEagerRelationshipsUsesOneQueryPerCollection() {
+        BudgetRepositoryImpl repository = new BudgetRepositoryImpl(countingTemplate);
+
+        findCommands.set(0);
+        List<Budget> budgets = repository.findAllWithEagerRelationships(Pageable.unpaged()).getContent();
+
+        assertThat(findCommands.get()).isEqualTo(3);
+        assertThat(budgets).hasSize(BUDGET_COUNT);
+        for (Budget budget : budgets) {
+            assertThat(budget.getIncomes()).hasSize(ITEMS_PER_BUDGET);
+            assertThat(budget.getOutcomes()).hasSize(ITEMS_PER_BUDGET);
+            assertThat(budget.getIncomes()).allMatch(income -> budget.getId().equals(income.getBudget().getId()));
+            assertThat(budget.getOutcomes()).allMatch(outcome -> budget.getId().equals(outcome.getBudget().getId()));
+        }
+    }
+
+    @Test
+    public void findOneWithEagerRelationshipsUsesOneQueryPerCollection() {
+        BudgetRepositoryImpl repository = new BudgetRepositoryImpl(countingTemplate);
+        String id = budgetRepository.findAll().get(0).getId();
+
+        findCommands.set(0);
+        Optional<Budget> budget = repository.findOneWithEagerRelationships(id);
+
+        assertThat(findCommands.get()).isEqualTo(3);
+        assertThat(budget).isPresent();
+        assertThat(budget.get().getIncomes()).hasSize(ITEMS_PER_BUDGET);
+        assertThat(budget.get().getOutcomes()).hasSize(ITEMS_PER_BUDGET);
+    }
+
+    @Test
+    public void findAllWithEagerRelationshipsAfterSeeksById() {
+        BudgetRepositoryImpl repository = new BudgetRepositoryImpl(countingTemplate);
+
+        findCommands.set(0);
+        Slice<Budget> first = repository.findAllWithEagerRelationshipsAfter(null, 2);
+
+        assertThat(findCommands.get()).isEqualTo(3);
+        assertThat(first.getContent()).hasSize(2);
+        assertThat(first.hasNext()).isTrue();
+        assertThat(first.getContent().get(0).getIncomes()).hasSize(ITEMS_PER_BUDGET);
+
+        ObjectId after = new ObjectId(first.getContent().get(1).getId());
+        Slice<Budget> last = repository.findAllWithEagerRelationshipsAfter(after, 2);
+
+        assertThat(last.getContent()).hasSize(1);
+        assertThat(last.hasNext()).isFalse();
+        assertThat(new ObjectId(last.getContent().get(0).getId())).isGreaterThan(after);
+    }
+
+    @Test
+    public void budgetsDoNotStoreTheirLineItems() {
+        findCommands.set(0);
+        List<Budget> budgets = countingTemplate.findAll(Budget.class);
+
+        assertThat(budgets).hasSize(BUDGET_COUNT);
+        assertThat(findCommands.get()).isEqualTo(1);
+        assertThat(mongoTemplate.getCollection("budget").find().first()).doesNotContainKeys("income", "outcome");
+    }
+
+    @Test
+    public void repairTotalsFixesDriftedBudgets() {
+        // The line items were saved without going through the services, so every budget drifted
+        assertThat(budgetRepository.repairTotals()).isEqualTo(BUDGET_COUNT);
+
+        long expectedUnits = ITEMS_PER_BUDGET * (ITEMS_PER_BUDGET - 1) / 2;
+        for (Budget budget : budgetRepository.findAll()) {
+            assertThat(budget.getTotalIncome().getMinorUnits()).isEqualTo(expectedUnits);
+            assertThat(budget.getTotalOutcome().getMinorUnits()).isEqualTo(expectedUnits);
+            assertThat(budget.getItemCount()).isEqualTo(2 * ITEMS_PER_BUDGET);
+        }
+        assertThat(budgetRepository.repairTotals()).isZero();
+    }
+}
@@ -0,0 +1,142 @@
+package com.mycompany.myapp.repository;
+
+import com.mycompany.myapp.MonthlyBudgetApp;
+import com.mycompany.myapp.config.Constants;
+import com.mycompany.myapp.config.dbmigrations.LineItemDiffIndexMigration;
+import com.mycompany.myapp.config.dbmigrations.LineItemIndexMigration;
+import com.mycompany.myapp.domain.Budget;
+import com.mycompany.myapp.domain.BudgetReference;
+import com.mycompany.myapp.domain.Income;
+import com.mycompany.myapp.domain.Money;
+import com.mycompany.myapp.domain.Outcome;
+
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test class for the budget-scoped finders and queries of the IncomeRepository and OutcomeRepository.
+ *
+ * @see LineItemIndexMigration
+ * @see LineItemDiffIndexMigration
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest(classes = MonthlyBudgetApp.class)
+public class LineItemRepositoryIntTest {
+
+    private static final int ITEMS_PER_BUDGET = 5;
+
+    private static final LocalDate DATE = LocalDate.of(2018, 11, 25);
+
+    @Autowired
+    private BudgetRepository budgetRepository;
+
+    @Autowired
+    private IncomeRepository incomeRepository;
+
+    @Autowired
+    private OutcomeRepository outcomeRepository;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    private Budget budget;
+
+    @Before
+    public void setup() {
+        budgetRepository.deleteAll();
+        incomeRepository.deleteAll();
+        outcomeRepository.deleteAll();
+
+        budget = budgetRepository.save(new Budget().title("budget"));
+        Budget other = budgetRepository.save(new Budget().title("other"));
+        for (Budget owner : new Budget[] { budget, other }) {
+            for (int i = 0; i < ITEMS_PER_BUDGET; i++) {
+                Money amount = Money.ofMinor(i, Constants.DEFAULT_CURRENCY);
+                incomeRepository.save(new Income().amount(amount).date(DATE).budget(new BudgetReference(owner)));
+                outcomeRepository.save(new Outcome().amount(amount).date(DATE).budget(new BudgetReference(owner)));
+            }
+        }
+    }
+
+    @Test
+    public void findByBudgetIdReturnsThePageOfTheBudget() {
+        Page<Income> page = incomeRepository.findByBudgetId(budget.getId(), PageRequest.of(0, 2));
+
+        assertThat(page.getTotalElements()).isEqualTo(ITEMS_PER_BUDGET);
+        assertThat(page.getContent()).hasSize(2);
+        assertThat(page.getContent()).allMatch(income -> budget.getId().equals(income.getBudget().getId()));
+    }
+
+    @Test
+    public void findAllByBudgetIdOrderByIdStreamsTheBudgetInIdOrder() {
+        List<String> ids;
+        try (Stream<Outcome> outcomes = outcomeRepository.findAllByBudgetIdOrderById(budget.getId())) {
+            ids = outcomes.map(Outcome::getId).collect(Collectors.toList());
+        }
+
+        assertThat(ids).hasSize(ITEMS_PER_BUDGET);
+        assertThat(ids).isSortedAccordingTo((a, b) -> new ObjectId(a).compareTo(new ObjectId(b)));
+    }
+
+    @Test
+    public void budgetQueriesUseTheBudgetIndex() {
+        for (String collectionName : new String[] { "income", "outcome" }) {
+            // An index scan on the budget index, with no collection scan nor in-memory sort stage
+            assertThat(winningPlan(collectionName))
+                .contains("IXSCAN")
+                .contains(LineItemIndexMigration.BUDGET_INDEX)
+                .doesNotContain("COLLSCAN")
+                .doesNotContain("\"SORT\"");
+        }
+    }
+
+    @Test
+    public void diffQueriesUseTheDiffIndexes() {
+        // The queries of the BudgetDiffService, streamed in index order with no in-memory sort stage
+        assertThat(winningPlan("income", new Document("date", 1).append("_id", 1)))
+            .contains(LineItemDiffIndexMigration.INCOME_DIFF_INDEX)
+            .doesNotContain("\"SORT\"");
+        assertThat(winningPlan("outcome", new Document("category", 1).append("date", 1).append("_id", 1)))
+            .contains(LineItemDiffIndexMigration.OUTCOME_DIFF_INDEX)
+            .doesNotContain("\"SORT\"");
+    }
+
+    private String winningPlan(String collectionName, Document sort) {
+        Document find = new Document("find", collectionName)
+            .append("filter", new Document("budget._id", new ObjectId(budget.getId()))
+                .append("date", new Document("$gte", Date.valueOf(DATE.withDayOfMonth(1)))
+                    .append("$lt", Date.valueOf(DATE.withDayOfMonth(1).plusMonths(1))))
+                .append("amount.currency", Constants.DEFAULT_CURRENCY))
+            .append("sort", sort);
+        Document explain = mongoTemplate.getDb().runCommand(new Document("explain", find));
+        return ((Document) explain.get("queryPlanner")).get("winningPlan", Document.class).toJson();
+    }
+
+    /**
+     * Explain the query of the finders, sorted by id as the streaming finder is.
+     */
+    private String winningPlan(String collectionName) {
+        Document find = new Document("find", collectionName)
+            .append("filter", new Document("budget._id", new ObjectId(budget.getId())))
+            .append("sort", new Document("_id", 1));
+        Document explain = mongoTemplate.getDb().runCommand(new Document("explain", find));
+        return ((Document) explain.get("queryPlanner")).get("winningPlan", Document.class).toJson();
+    }
+}
@@ -0,0 +1,78 @@
+package com.mycompany.myapp.service;
+
+import com.mycompany.myapp.config.Constants;
+import com.mycompany.myapp.domain.Money;
+import com.mycompany.myapp.domain.Outcome;
+import com.mycompany.myapp.domain.enumeration.LineItemType;
+import com.mycompany.myapp.service.dto.BudgetDiffDTO;
+import com.mycompany.myapp.service.dto.CategoryDeltaDTO;
+
+import org.junit.Test;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * Test class for the BudgetDiffService.
+ *
+ * @see BudgetDiffService
+ */
+public class BudgetDiffServiceUnitTest {
+
+    private static Outcome outcome(String id, String category, long minorUnits) {
+        Outcome outcome = new Outcome()
+            .amount(Money.ofMinor(minorUnits, Constants.DEFAULT_CURRENCY))
+            .date(LocalDate.of(2018, 11, 1))
+            .category(category);
+        outcome.setId(id);
+        return outcome;
+    }
+
+    private static BudgetDiffDTO merge(List<Outcome> from, List<Outcome> to, int maxReportedChanges) {
+        BudgetDiffDTO diff = new BudgetDiffDTO();
+        BudgetDiffService.merge(LineItemType.OUTCOME, from.iterator(), to.iterator(), Outcome::getCategory, diff, maxReportedChanges);
+        return diff;
+    }
+
+    @Test
+    public void lineItemsArePairedByRankWithinTheirCategory() {
+        BudgetDiffDTO diff = merge(
+            Arrays.asList(outcome("a", null, 100), outcome("b", "food", 200), outcome("c", "food", 300)),
+            Arrays.asList(outcome("d", null, 100), outcome("e", "food", 250), outcome("f", "rent", 900)),
+            10);
+
+        assertThat(diff.getUnchangedCount()).isEqualTo(1);
+        assertThat(diff.getChanged()).extracting("fromId", "toId").containsExactly(tuple("b", "e"));
+        assertThat(diff.getRemoved()).extracting("fromId").containsExactly("c");
+        assertThat(diff.getAdded()).extracting("toId").containsExactly("f");
+        assertThat(diff.getCategories()).extracting(CategoryDeltaDTO::getCategory).containsExactly(null, "food", "rent");
+        assertThat(diff.getCategories().get(1).getDelta().getMinorUnits()).isEqualTo(-250);
+        assertThat(diff.isComplete()).isTrue();
+    }
+
+    @Test
+    public void onlyTheFirstChangesAreReported() {
+        BudgetDiffDTO diff = merge(
+            Collections.emptyList(),
+            Arrays.asList(outcome("a", "food", 100), outcome("b", "food", 200), outcome("c", "food", 300)),
+            2);
+
+        assertThat(diff.getAddedCount()).isEqualTo(3);
+        assertThat(diff.getAdded()).extracting("toId").containsExactly("a", "b");
+        assertThat(diff.getCategories().get(0).getToTotal().getMinorUnits()).isEqualTo(600);
+        assertThat(diff.isComplete()).isFalse();
+    }
+
+    @Test
+    public void categoriesAreComparedByCodePoints() {
+        // U+FF5E sorts before U+1F600 in UTF-8, but after its surrogates in UTF-16
+        assertThat(BudgetDiffService.compareCodePoints("\uFF5E", "\uD83D\uDE00")).isNegative();
+        assertThat(BudgetDiffService.compareCodePoints("food", "foods")).isNegative();
+        assertThat(BudgetDiffService.compareCodePoints("rent", "food")).isPositive();
+    }
+}
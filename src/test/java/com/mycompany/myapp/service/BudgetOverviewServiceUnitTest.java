@@ -0,0 +1,102 @@
+package com.mycompany.myapp.service;
+
+import com.mycompany.myapp.config.ApplicationProperties;
+import com.mycompany.myapp.config.Constants;
+import com.mycompany.myapp.domain.Budget;
+import com.mycompany.myapp.domain.Money;
+import com.mycompany.myapp.repository.BudgetMonthRepository;
+import com.mycompany.myapp.repository.BudgetRepository;
+import com.mycompany.myapp.service.dto.BudgetOverviewDTO;
+import com.mycompany.myapp.service.dto.BudgetTrendDTO;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.domain.Sort;
+
+import java.time.YearMonth;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+/**
+ * Test class for the time budget of the BudgetOverviewService.
+ *
+ * @see BudgetOverviewService
+ */
+public class BudgetOverviewServiceUnitTest {
+
+    private static final YearMonth FROM = YearMonth.of(2018, 1);
+
+    private static final YearMonth TO = YearMonth.of(2018, 12);
+
+    @Mock
+    private BudgetRepository budgetRepository;
+
+    @Mock
+    private BudgetMonthRepository budgetMonthRepository;
+
+    private ApplicationProperties applicationProperties;
+
+    private List<String> ids;
+
+    @Before
+    public void setup() {
+        MockitoAnnotations.initMocks(this);
+        applicationProperties = new ApplicationProperties();
+        applicationProperties.getOverview().setTimeoutMs(10);
+        Budget budget = new Budget().title("budget").totalIncome(Money.ofMinor(500, Constants.DEFAULT_CURRENCY));
+        budget.setId("budget-id");
+        ids = Collections.singletonList(budget.getId());
+        when(budgetRepository.findAllById(anyCollection())).thenReturn(Arrays.asList(budget));
+    }
+
+    @Test
+    public void budgetsNotAggregatedInTimeKeepTheirTotals() {
+        BudgetOverviewService service = new BudgetOverviewService(budgetRepository, budgetMonthRepository,
+            applicationProperties, TestExecutors.neverRunning());
+
+        BudgetOverviewDTO overview = service.getOverview(ids, FROM, TO);
+
+        assertThat(overview.isComplete()).isFalse();
+        assertThat(overview.getTotalIncome().getMinorUnits()).isEqualTo(500);
+        assertThat(overview.getMonths()).hasSize(12).allMatch(month -> month.getItemCount() == 0);
+        BudgetTrendDTO trend = overview.getBudgets().get(0);
+        assertThat(trend.getStatus()).isEqualTo(BudgetTrendDTO.Status.TIMED_OUT);
+        assertThat(trend.getTotalIncome().getMinorUnits()).isEqualTo(500);
+        assertThat(trend.getMonths()).isEmpty();
+    }
+
+    @Test
+    public void budgetsRejectedByTheExecutorAreAggregatedOnTheRequestThread() {
+        BudgetOverviewService service = new BudgetOverviewService(budgetRepository, budgetMonthRepository,
+            applicationProperties, TestExecutors.saturated());
+
+        BudgetOverviewDTO overview = service.getOverview(ids, FROM, TO);
+
+        assertThat(overview.isComplete()).isTrue();
+        assertThat(overview.getBudgets().get(0).getStatus()).isEqualTo(BudgetTrendDTO.Status.COMPLETE);
+        assertThat(overview.getBudgets().get(0).getMonths()).hasSize(12);
+    }
+
+    @Test
+    public void budgetsFailingOnTheRequestThreadFail() {
+        when(budgetMonthRepository.findByBudgetIdAndMonthRange(anyString(), anyString(), anyString(), any(Sort.class)))
+            .thenThrow(new DataAccessResourceFailureException("unavailable"));
+        BudgetOverviewService service = new BudgetOverviewService(budgetRepository, budgetMonthRepository,
+            applicationProperties, TestExecutors.saturated());
+
+        BudgetOverviewDTO overview = service.getOverview(ids, FROM, TO);
+
+        assertThat(overview.isComplete()).isFalse();
+        assertThat(overview.getBudgets().get(0).getStatus()).isEqualTo(BudgetTrendDTO.Status.FAILED);
+    }
+}
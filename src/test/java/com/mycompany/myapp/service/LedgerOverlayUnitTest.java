@@ -0,0 +1,46 @@
+package com.mycompany.myapp.service;
+
+import com.mycompany.myapp.domain.Budget;
+import com.mycompany.myapp.domain.enumeration.LineItemType;
+import com.mycompany.myapp.service.dto.ScenarioChangeDTO;
+
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test class for the LedgerOverlay.
+ *
+ * @see LedgerOverlay
+ */
+public class LedgerOverlayUnitTest {
+
+    private final LedgerSnapshot snapshot = new LedgerSnapshot(new Budget(), Arrays.asList(
+        new LedgerSnapshot.Entry("income", LineItemType.INCOME, 1000),
+        new LedgerSnapshot.Entry("outcome", LineItemType.OUTCOME, 300)), Collections.emptyList());
+
+    @Test
+    public void changesDoNotModifyTheOverlayTheyAreAppliedTo() {
+        LedgerOverlay baseline = LedgerOverlay.of(snapshot);
+        ScenarioChangeDTO remove = new ScenarioChangeDTO();
+        remove.setOperation(ScenarioChangeDTO.Operation.REMOVE);
+        remove.setId("outcome");
+        ScenarioChangeDTO scale = new ScenarioChangeDTO();
+        scale.setOperation(ScenarioChangeDTO.Operation.SCALE);
+        scale.setId("income");
+        scale.setPercent(new BigDecimal("-2.5"));
+
+        LedgerOverlay removed = baseline.apply(remove);
+        LedgerOverlay scaled = removed.apply(scale);
+
+        assertThat(baseline.summarize().getBalance().getMinorUnits()).isEqualTo(700);
+        assertThat(removed.summarize().getBalance().getMinorUnits()).isEqualTo(1000);
+        assertThat(scaled.summarize().getBalance().getMinorUnits()).isEqualTo(975);
+        assertThat(scaled.summarize().getOutcomeCount()).isZero();
+        assertThat(scaled.getBase()).isSameAs(baseline.getBase());
+    }
+}
@@ -0,0 +1,162 @@
+package com.mycompany.myapp.service;
+
+import com.mycompany.myapp.MonthlyBudgetApp;
+import com.mycompany.myapp.config.ApplicationProperties;
+import com.mycompany.myapp.config.Constants;
+import com.mycompany.myapp.domain.Budget;
+import com.mycompany.myapp.domain.BudgetMonth;
+import com.mycompany.myapp.domain.BudgetReference;
+import com.mycompany.myapp.domain.Income;
+import com.mycompany.myapp.domain.Money;
+import com.mycompany.myapp.domain.Outcome;
+import com.mycompany.myapp.repository.BudgetMonthRepository;
+import com.mycompany.myapp.repository.BudgetRepository;
+import com.mycompany.myapp.repository.IncomeRepository;
+import com.mycompany.myapp.repository.OutcomeRepository;
+import com.mycompany.myapp.service.event.BudgetEvent;
+import com.mycompany.myapp.service.event.LineItemEvent;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test class for the LedgerProjector.
+ *
+ * @see LedgerProjector
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest(classes = MonthlyBudgetApp.class)
+public class LedgerProjectorIntTest {
+
+    private static final LocalDate DATE = LocalDate.of(2018, 11, 25);
+
+    @Autowired
+    private LedgerProjector ledgerProjector;
+
+    @Autowired
+    private BudgetRepository budgetRepository;
+
+    @Autowired
+    private BudgetMonthRepository budgetMonthRepository;
+
+    @Autowired
+    private IncomeRepository incomeRepository;
+
+    @Autowired
+    private OutcomeRepository outcomeRepository;
+
+    @Mock
+    private BudgetRepository mockBudgetRepository;
+
+    @Mock
+    private BudgetMonthRepository mockBudgetMonthRepository;
+
+    @Before
+    public void setup() {
+        MockitoAnnotations.initMocks(this);
+        budgetRepository.deleteAll();
+        budgetMonthRepository.deleteAll();
+        incomeRepository.deleteAll();
+        outcomeRepository.deleteAll();
+    }
+
+    @Test
+    public void eventsOfABudgetAreCoalesced() {
+        LedgerProjector projector = new LedgerProjector(mockBudgetRepository, mockBudgetMonthRepository,
+            new ApplicationProperties(), TestExecutors.neverRunning());
+        BudgetReference budget = new BudgetReference();
+        budget.setId("budget-id");
+        for (int i = 1; i <= 3; i++) {
+            Income income = new Income().amount(Money.ofMinor(100 * i, Constants.DEFAULT_CURRENCY)).date(DATE).budget(budget);
+            projector.onLineItemEvent(LineItemEvent.of(null, income));
+        }
+        projector.onBudgetEvent(new BudgetEvent(BudgetEvent.Type.UPDATED, "budget-id", "first"));
+        projector.onBudgetEvent(new BudgetEvent(BudgetEvent.Type.UPDATED, "budget-id", "last"));
+        verifyZeroInteractions(mockBudgetRepository, mockBudgetMonthRepository);
+
+        projector.projectPending();
+
+        verify(mockBudgetRepository).incrementTotals("budget-id", 600, 0, 3);
+        verify(mockBudgetMonthRepository).incrementTotals("budget-id", YearMonth.from(DATE), 600, 0, 3);
+        ArgumentCaptor<BudgetReference> reference = ArgumentCaptor.forClass(BudgetReference.class);
+        verify(mockBudgetRepository).updateReferences(reference.capture());
+        assertThat(reference.getValue().getTitle()).isEqualTo("last");
+    }
+
+    @Test
+    public void replayRebuildsTheProjectionsFromTheLineItems() {
+        // Write the line items without publishing events, so that every projection is stale
+        Budget budget = budgetRepository.save(new Budget().title("budget"));
+        BudgetReference staleReference = new BudgetReference(budget);
+        staleReference.setTitle("stale");
+        incomeRepository.save(new Income().amount(Money.ofMinor(500, Constants.DEFAULT_CURRENCY)).date(DATE).budget(staleReference));
+        outcomeRepository.save(new Outcome().amount(Money.ofMinor(200, Constants.DEFAULT_CURRENCY)).date(DATE).budget(staleReference));
+
+        ledgerProjector.replay();
+
+        Budget testBudget = budgetRepository.findById(budget.getId()).get();
+        assertThat(testBudget.getTotalIncome().getMinorUnits()).isEqualTo(500);
+        assertThat(testBudget.getTotalOutcome().getMinorUnits()).isEqualTo(200);
+        assertThat(testBudget.getItemCount()).isEqualTo(2);
+        BudgetMonth testMonth = budgetMonthRepository.findById(BudgetMonth.id(budget.getId(), YearMonth.from(DATE))).get();
+        assertThat(testMonth.getBalance().getMinorUnits()).isEqualTo(300);
+        assertThat(testMonth.getItemCount()).isEqualTo(2);
+        assertThat(incomeRepository.findAll()).allMatch(income -> "budget".equals(income.getBudget().getTitle()));
+        assertThat(outcomeRepository.findAll()).allMatch(outcome -> "budget".equals(outcome.getBudget().getTitle()));
+    }
+
+    @Test
+    public void repairProjectsThePendingEventsFirst() {
+        LedgerProjector projector = new LedgerProjector(budgetRepository, budgetMonthRepository,
+            new ApplicationProperties(), TestExecutors.neverRunning());
+        Budget budget = budgetRepository.save(new Budget().title("budget"));
+        Income income = incomeRepository.save(new Income().amount(Money.ofMinor(500, Constants.DEFAULT_CURRENCY)).date(DATE)
+            .budget(new BudgetReference(budget)));
+        projector.onLineItemEvent(LineItemEvent.of(null, income));
+
+        projector.repair();
+        projector.projectPending();
+
+        Budget testBudget = budgetRepository.findById(budget.getId()).get();
+        assertThat(testBudget.getTotalIncome().getMinorUnits()).isEqualTo(500);
+        assertThat(testBudget.getItemCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void repairReplaysTheProjectionsAfterAFailedBatch() {
+        LedgerProjector projector = new LedgerProjector(mockBudgetRepository, mockBudgetMonthRepository,
+            new ApplicationProperties(), TestExecutors.neverRunning());
+        doThrow(new DataAccessResourceFailureException("Unavailable"))
+            .when(mockBudgetRepository).incrementTotals(anyString(), anyLong(), anyLong(), anyLong());
+        BudgetReference budget = new BudgetReference();
+        budget.setId("budget-id");
+        projector.onLineItemEvent(LineItemEvent.of(null,
+            new Income().amount(Money.ofMinor(100, Constants.DEFAULT_CURRENCY)).date(DATE).budget(budget)));
+        projector.projectPending();
+
+        projector.repair();
+
+        verify(mockBudgetMonthRepository).rebuild();
+        verify(mockBudgetRepository).repairTotals();
+
+        // The replay cleared the stale projections
+        projector.repair();
+
+        verify(mockBudgetMonthRepository).rebuild();
+        verify(mockBudgetRepository, times(2)).repairTotals();
+    }
+}
@@ -0,0 +1,117 @@
+package com.mycompany.myapp.service;
+
+import com.mycompany.myapp.MonthlyBudgetApp;
+import com.mycompany.myapp.config.Constants;
+import com.mycompany.myapp.domain.Income;
+import com.mycompany.myapp.domain.Money;
+import com.mycompany.myapp.repository.BudgetRepository;
+import com.mycompany.myapp.repository.IncomeRepository;
+import com.mycompany.myapp.service.dto.BulkResultDTO;
+import com.mycompany.myapp.service.event.LineItemEvent;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import javax.validation.Validator;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test class for the optimistic checks of the LineItemBulkWriter.
+ *
+ * @see LineItemBulkWriter
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest(classes = MonthlyBudgetApp.class)
+public class LineItemBulkWriterIntTest {
+
+    private static final LocalDate DATE = LocalDate.of(2018, 11, 25);
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private IncomeRepository incomeRepository;
+
+    @Autowired
+    private BudgetRepository budgetRepository;
+
+    @Autowired
+    private Validator validator;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private MongoTemplate template;
+
+    private LineItemBulkWriter<Income> bulkWriter;
+
+    @Before
+    public void setup() {
+        MockitoAnnotations.initMocks(this);
+        incomeRepository.deleteAll();
+        template = spy(mongoTemplate);
+        bulkWriter = new LineItemBulkWriter<>(Income.class, "income", template, budgetRepository, validator, eventPublisher);
+    }
+
+    private static Income income(long minorUnits) {
+        return new Income().amount(Money.ofMinor(minorUnits, Constants.DEFAULT_CURRENCY)).date(DATE);
+    }
+
+    @Test
+    public void updatesOfItemsChangedConcurrentlyConflict() {
+        Income changed = incomeRepository.save(income(100));
+        Income unchanged = incomeRepository.save(income(200));
+        // Another request updates an income after the bulk writer read it
+        doAnswer(invocation -> {
+            incomeRepository.save(incomeRepository.findById(changed.getId()).get().amount(Money.ofMinor(150, Constants.DEFAULT_CURRENCY)));
+            return invocation.callRealMethod();
+        }).when(template).bulkOps(any(BulkOperations.BulkMode.class), anyString());
+
+        Income changedUpdate = income(300);
+        changedUpdate.setId(changed.getId());
+        Income unchangedUpdate = income(400);
+        unchangedUpdate.setId(unchanged.getId());
+        BulkResultDTO result = bulkWriter.update(Arrays.asList(changedUpdate, unchangedUpdate));
+
+        assertThat(result.getItems().get(0).isSuccess()).isFalse();
+        assertThat(result.getItems().get(0).getError()).startsWith("Conflict");
+        assertThat(result.getItems().get(1).isSuccess()).isTrue();
+        assertThat(incomeRepository.findById(changed.getId()).get().getAmount().getMinorUnits()).isEqualTo(150);
+        assertThat(incomeRepository.findById(unchanged.getId()).get().getAmount().getMinorUnits()).isEqualTo(400);
+        verify(eventPublisher, times(1)).publishEvent(any(LineItemEvent.class));
+    }
+
+    @Test
+    public void deletesOfItemsDeletedConcurrentlyConflict() {
+        Income deleted = incomeRepository.save(income(100));
+        // Another request deletes the income after the bulk writer read it
+        doAnswer(invocation -> {
+            incomeRepository.deleteById(deleted.getId());
+            return invocation.callRealMethod();
+        }).when(template).findAndRemove(any(Query.class), eq(Income.class));
+
+        BulkResultDTO result = bulkWriter.delete(Collections.singletonList(deleted.getId()));
+
+        assertThat(result.getItems().get(0).isSuccess()).isFalse();
+        assertThat(result.getItems().get(0).getError()).startsWith("Conflict");
+        verifyZeroInteractions(eventPublisher);
+    }
+}
@@ -0,0 +1,66 @@
+package com.mycompany.myapp.service;
+
+import com.mycompany.myapp.config.Constants;
+import com.mycompany.myapp.domain.Money;
+import com.mycompany.myapp.domain.RecurringRule;
+import com.mycompany.myapp.domain.enumeration.Frequency;
+import com.mycompany.myapp.domain.enumeration.LineItemType;
+
+import org.junit.Test;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test class for the RecurringRuleExpander.
+ *
+ * @see RecurringRuleExpander
+ */
+public class RecurringRuleExpanderUnitTest {
+
+    private final RecurringRuleExpander expander = new RecurringRuleExpander();
+
+    private static RecurringRule rule(Frequency frequency, int interval, LocalDate startDate) {
+        return new RecurringRule()
+            .type(LineItemType.OUTCOME)
+            .amount(Money.ofMinor(100, Constants.DEFAULT_CURRENCY))
+            .frequency(frequency)
+            .interval(interval)
+            .startDate(startDate);
+    }
+
+    @Test
+    public void monthlyRulesDoNotDriftFromTheEndOfTheMonth() {
+        RecurringRule rule = rule(Frequency.MONTHLY, 1, LocalDate.of(2019, 1, 31));
+
+        assertThat(rule.occurrence(1)).isEqualTo(LocalDate.of(2019, 2, 28));
+        assertThat(rule.occurrence(2)).isEqualTo(LocalDate.of(2019, 3, 31));
+        assertThat(expander.expand(rule, LocalDate.of(2019, 1, 1), YearMonth.of(2019, 4)))
+            .containsExactly(100, 100, 100, 100);
+    }
+
+    @Test
+    public void occurrencesBeforeTheHorizonAreSkipped() {
+        // Every other week since 2000: only the occurrences from the 15th count
+        RecurringRule rule = rule(Frequency.WEEKLY, 2, LocalDate.of(2000, 1, 3));
+
+        long[] totals = expander.expand(rule, LocalDate.of(2019, 1, 15), YearMonth.of(2019, 2));
+
+        // 2019-01-21 and 2019-02-04, 2019-02-18
+        assertThat(totals).containsExactly(100, 200);
+    }
+
+    @Test
+    public void occurrencesStopAtTheEndDate() {
+        RecurringRule rule = rule(Frequency.YEARLY, 1, LocalDate.of(2018, 6, 1)).endDate(LocalDate.of(2020, 6, 1));
+
+        long[] totals = expander.expand(rule, LocalDate.of(2019, 1, 1), YearMonth.of(2021, 12));
+
+        assertThat(totals).hasSize(36);
+        assertThat(totals[5]).isEqualTo(100);
+        assertThat(totals[17]).isEqualTo(100);
+        assertThat(totals[29]).isZero();
+    }
+}
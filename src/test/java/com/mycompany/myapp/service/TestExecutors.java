@@ -0,0 +1,30 @@
+package com.mycompany.myapp.service;
+
+import org.springframework.core.task.TaskRejectedException;
+
+import java.util.concurrent.Executor;
+
+/**
+ * Executors standing in for the pools of the application in the tests.
+ */
+public final class TestExecutors {
+
+    private TestExecutors() {
+    }
+
+    /**
+     * @return an executor that accepts its tasks but never runs them, so that they stay pending
+     */
+    public static Executor neverRunning() {
+        return task -> { };
+    }
+
+    /**
+     * @return an executor that rejects its tasks, like a pool whose queue is full
+     */
+    public static Executor saturated() {
+        return task -> {
+            throw new TaskRejectedException("saturated");
+        };
+    }
+}
@@ -0,0 +1,46 @@
+package com.mycompany.myapp.service.util;
+
+import com.mycompany.myapp.service.TestExecutors;
+
+import org.junit.Test;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Test class for the AsyncUtil.
+ *
+ * @see AsyncUtil
+ */
+public class AsyncUtilUnitTest {
+
+    @Test
+    public void testSupplyAsyncOnThePool() {
+        CompletableFuture<String> result = AsyncUtil.supplyAsync(() -> Thread.currentThread().getName(),
+            task -> new Thread(task, "pool-thread").start());
+
+        assertThat(AsyncUtil.join(result)).isEqualTo("pool-thread");
+    }
+
+    @Test
+    public void testSupplyAsyncOnTheCallerWhenThePoolIsSaturated() {
+        CompletableFuture<String> result = AsyncUtil.supplyAsync(() -> Thread.currentThread().getName(),
+            TestExecutors.saturated());
+
+        assertThat(result).isCompletedWithValue(Thread.currentThread().getName());
+    }
+
+    @Test
+    public void testFailureOnTheCallerIsAFailedFuture() {
+        CompletableFuture<String> result = AsyncUtil.supplyAsync(() -> {
+            throw new IllegalStateException("failed");
+        }, TestExecutors.saturated());
+
+        assertThat(result).isCompletedExceptionally();
+        assertThatThrownBy(() -> AsyncUtil.join(result))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessage("failed");
+    }
+}
@@ -0,0 +1,56 @@
+package com.mycompany.myapp.service.util;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * Test class for the HyperLogLog.
+ *
+ * @see HyperLogLog
+ */
+public class HyperLogLogUnitTest {
+
+    @Test
+    public void testSmallCardinality() {
+        HyperLogLog sketch = new HyperLogLog(12);
+        for (int i = 0; i < 100; i++) {
+            sketch.add("value-" + (i % 10));
+        }
+
+        assertThat(sketch.cardinality()).isCloseTo(10L, within(1L));
+    }
+
+    @Test
+    public void testLargeCardinality() {
+        HyperLogLog sketch = new HyperLogLog(12);
+        for (int i = 0; i < 100_000; i++) {
+            sketch.add("value-" + i);
+        }
+
+        // Five times the standard error of 1.6%
+        assertThat((double) sketch.cardinality()).isCloseTo(100_000, within(8_000.0));
+    }
+
+    @Test
+    public void testMerge() {
+        HyperLogLog first = new HyperLogLog(12);
+        HyperLogLog second = new HyperLogLog(12);
+        for (int i = 0; i < 1000; i++) {
+            first.add("value-" + i);
+            second.add("value-" + (i + 500));
+        }
+
+        HyperLogLog merged = HyperLogLog.of(first.getRegisters());
+        merged.merge(second);
+
+        assertThat((double) merged.cardinality()).isCloseTo(1500, within(120.0));
+        assertThat(first.cardinality()).isEqualTo(HyperLogLog.of(first.getRegisters()).cardinality());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMergeDifferentPrecisions() {
+        new HyperLogLog(12).merge(new HyperLogLog(10));
+    }
+}
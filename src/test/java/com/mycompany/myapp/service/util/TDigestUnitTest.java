@@ -0,0 +1,68 @@
+package com.mycompany.myapp.service.util;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * Test class for the TDigest.
+ *
+ * @see TDigest
+ */
+public class TDigestUnitTest {
+
+    @Test
+    public void testQuantiles() {
+        TDigest digest = new TDigest(100);
+        Random random = new Random(42);
+        for (int i = 0; i < 100_000; i++) {
+            digest.add(random.nextDouble());
+        }
+
+        assertThat(digest.getTotalWeight()).isEqualTo(100_000);
+        assertThat(digest.quantile(0.5)).isCloseTo(0.5, within(0.01));
+        assertThat(digest.quantile(0.9)).isCloseTo(0.9, within(0.01));
+        assertThat(digest.quantile(0.99)).isCloseTo(0.99, within(0.002));
+        assertThat(digest.quantile(0)).isEqualTo(digest.getMin());
+        assertThat(digest.quantile(1)).isCloseTo(digest.getMax(), within(1e-9));
+        assertThat(digest.getMeans().length).isLessThanOrEqualTo(100);
+    }
+
+    @Test
+    public void testMerge() {
+        TDigest low = new TDigest(100);
+        TDigest high = new TDigest(100);
+        for (int i = 1; i <= 1000; i++) {
+            low.add(i);
+            high.add(1000 + i);
+        }
+
+        low.merge(high);
+
+        assertThat(low.getTotalWeight()).isEqualTo(2000);
+        assertThat(low.getMin()).isEqualTo(1);
+        assertThat(low.getMax()).isEqualTo(2000);
+        assertThat(low.quantile(0.5)).isCloseTo(1000.5, within(20.0));
+    }
+
+    @Test
+    public void testRestore() {
+        TDigest digest = new TDigest(100);
+        for (int i = 1; i <= 1000; i++) {
+            digest.add(i);
+        }
+
+        TDigest restored = TDigest.of(100, digest.getMeans(), digest.getWeights(), digest.getMin(), digest.getMax());
+
+        assertThat(restored.getTotalWeight()).isEqualTo(1000);
+        assertThat(restored.quantile(0.9)).isEqualTo(digest.quantile(0.9));
+    }
+
+    @Test
+    public void testEmpty() {
+        assertThat(new TDigest(100).quantile(0.5)).isNaN();
+    }
+}
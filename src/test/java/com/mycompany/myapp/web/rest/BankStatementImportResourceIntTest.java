@@ -0,0 +1,178 @@
+package com.mycompany.myapp.web.rest;
+
+import com.mycompany.myapp.MonthlyBudgetApp;
+import com.mycompany.myapp.domain.Budget;
+import com.mycompany.myapp.domain.Income;
+import com.mycompany.myapp.domain.Money;
+import com.mycompany.myapp.domain.Outcome;
+import com.mycompany.myapp.repository.BudgetRepository;
+import com.mycompany.myapp.repository.IncomeRepository;
+import com.mycompany.myapp.repository.OutcomeRepository;
+import com.mycompany.myapp.service.BankStatementImportService;
+import com.mycompany.myapp.service.LedgerProjector;
+import com.mycompany.myapp.service.dto.ImportJobDTO;
+import com.mycompany.myapp.web.rest.errors.ExceptionTranslator;
+
+import com.jayway.jsonpath.JsonPath;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Test class for the BankStatementImportResource REST controller.
+ *
+ * @see BankStatementImportResource
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest(classes = MonthlyBudgetApp.class)
+public class BankStatementImportResourceIntTest {
+
+    private static final String STATEMENT =
+        "date;description;amount\n" +
+        "2018-11-25;Salary;25000,00\n" +
+        "2018-11-26;\"Rent; November\";-8500,50\n" +
+        "2018-11-27;Groceries;-1 234,10\n" +
+        "2018-11-28;Typo;12,3,4\n" +
+        "\n" +
+        "2018-11-29;Refund;99.5\n";
+
+    @Autowired
+    private BudgetRepository budgetRepository;
+
+    @Autowired
+    private LedgerProjector ledgerProjector;
+
+    @Autowired
+    private IncomeRepository incomeRepository;
+
+    @Autowired
+    private OutcomeRepository outcomeRepository;
+
+    @Autowired
+    private BankStatementImportService bankStatementImportService;
+
+    @Autowired
+    private MappingJackson2HttpMessageConverter jacksonMessageConverter;
+
+    @Autowired
+    private ExceptionTranslator exceptionTranslator;
+
+    private MockMvc restImportMockMvc;
+
+    private Budget budget;
+
+    @Before
+    public void setup() {
+        final BankStatementImportResource importResource = new BankStatementImportResource(bankStatementImportService);
+        this.restImportMockMvc = MockMvcBuilders.standaloneSetup(importResource)
+            .setControllerAdvice(exceptionTranslator)
+            .setMessageConverters(jacksonMessageConverter).build();
+
+        budgetRepository.deleteAll();
+        incomeRepository.deleteAll();
+        outcomeRepository.deleteAll();
+        budget = budgetRepository.save(BudgetResourceIntTest.createEntity());
+    }
+
+    @Test
+    public void importBankStatement() throws Exception {
+        MockMultipartFile file = new MockMultipartFile("file", "statement.csv", "text/csv",
+            STATEMENT.getBytes(StandardCharsets.UTF_8));
+
+        // Start the import
+        MvcResult result = restImportMockMvc.perform(multipart("/api/budgets/{id}/imports", budget.getId()).file(file))
+            .andExpect(status().isAccepted())
+            .andExpect(header().string(HttpHeaders.LOCATION, containsString("/api/imports/")))
+            .andExpect(jsonPath("$.budgetId").value(budget.getId()))
+            .andReturn();
+
+        ImportJobDTO job = awaitCompletion(result);
+        assertThat(job.getStatus()).isEqualTo(ImportJobDTO.Status.COMPLETED);
+        assertThat(job.getRowsProcessed()).isEqualTo(5);
+        assertThat(job.getRowsRejected()).isEqualTo(1);
+        assertThat(job.getErrors()).containsExactly("Row 5: invalid amount '12,3,4'");
+
+        // Validate the line items and the budget totals in the database
+        List<Income> incomes = incomeRepository.findAll();
+        List<Outcome> outcomes = outcomeRepository.findAll();
+        assertThat(incomes).extracting(Income::getAmount)
+            .containsExactlyInAnyOrder(Money.of(new BigDecimal("25000.00")), Money.of(new BigDecimal("99.50")));
+        assertThat(outcomes).extracting(Outcome::getAmount)
+            .containsExactlyInAnyOrder(Money.of(new BigDecimal("8500.50")), Money.of(new BigDecimal("1234.10")));
+        ledgerProjector.projectPending();
+        Budget testBudget = budgetRepository.findById(budget.getId()).get();
+        assertThat(testBudget.getTotalIncome()).isEqualTo(Money.of(new BigDecimal("25099.50")));
+        assertThat(testBudget.getTotalOutcome()).isEqualTo(Money.of(new BigDecimal("9734.60")));
+        assertThat(testBudget.getItemCount()).isEqualTo(4);
+
+        // Get the progress
+        restImportMockMvc.perform(get("/api/imports/{id}", job.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.status").value("COMPLETED"))
+            .andExpect(jsonPath("$.rowsProcessed").value(5))
+            .andExpect(jsonPath("$.rowsRejected").value(1));
+    }
+
+    @Test
+    public void importBankStatementWithoutAmountColumn() throws Exception {
+        MockMultipartFile file = new MockMultipartFile("file", "statement.csv", "text/csv",
+            "date,description\n2018-11-25,Salary\n".getBytes(StandardCharsets.UTF_8));
+
+        MvcResult result = restImportMockMvc.perform(multipart("/api/budgets/{id}/imports", budget.getId()).file(file))
+            .andExpect(status().isAccepted())
+            .andReturn();
+
+        ImportJobDTO job = awaitCompletion(result);
+        assertThat(job.getStatus()).isEqualTo(ImportJobDTO.Status.FAILED);
+        assertThat(job.getFailure()).contains("amount");
+    }
+
+    @Test
+    public void importBankStatementIntoNonExistingBudget() throws Exception {
+        MockMultipartFile file = new MockMultipartFile("file", "statement.csv", "text/csv",
+            STATEMENT.getBytes(StandardCharsets.UTF_8));
+
+        restImportMockMvc.perform(multipart("/api/budgets/{id}/imports", Long.MAX_VALUE).file(file))
+            .andExpect(status().isNotFound());
+    }
+
+    @Test
+    public void getNonExistingImport() throws Exception {
+        restImportMockMvc.perform(get("/api/imports/{id}", "unknown"))
+            .andExpect(status().isNotFound());
+    }
+
+    /**
+     * Wait for the import started by a request to finish.
+     */
+    private ImportJobDTO awaitCompletion(MvcResult result) throws Exception {
+        String id = JsonPath.read(result.getResponse().getContentAsString(), "$.id");
+        long deadline = System.currentTimeMillis() + 10000;
+        while (System.currentTimeMillis() < deadline) {
+            ImportJobDTO job = bankStatementImportService.findOne(id).get();
+            if (job.getStatus() != ImportJobDTO.Status.RUNNING) {
+                return job;
+            }
+            Thread.sleep(50);
+        }
+        throw new AssertionError("The import did not finish in time");
+    }
+}
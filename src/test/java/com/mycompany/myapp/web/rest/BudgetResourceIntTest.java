@@ -3,7 +3,28 @@ package com.mycompany.myapp.web.rest;
 import com.mycompany.myapp.MonthlyBudgetApp;
 
 import com.mycompany.myapp.domain.Budget;
+import com.mycompany.myapp.domain.BudgetReference;
+import com.mycompany.myapp.domain.Income;
+import com.mycompany.myapp.domain.Money;
+import com.mycompany.myapp.domain.Outcome;
+import com.mycompany.myapp.domain.RecurringRule;
+import com.mycompany.myapp.domain.enumeration.Frequency;
+import com.mycompany.myapp.domain.enumeration.LineItemType;
 import com.mycompany.myapp.repository.BudgetRepository;
+import com.mycompany.myapp.repository.IncomeRepository;
+import com.mycompany.myapp.repository.OutcomeRepository;
+import com.mycompany.myapp.repository.RecurringRuleRepository;
+import com.mycompany.myapp.service.BudgetBreakdownService;
+import com.mycompany.myapp.service.BudgetDiffService;
+import com.mycompany.myapp.service.BudgetExportService;
+import com.mycompany.myapp.service.BudgetOverviewService;
+import com.mycompany.myapp.service.BudgetService;
+import com.mycompany.myapp.service.BudgetSummaryService;
+import com.mycompany.myapp.service.ForecastService;
+import com.mycompany.myapp.service.IncomeService;
+import com.mycompany.myapp.service.LedgerProjector;
+import com.mycompany.myapp.service.OutcomeService;
+import com.mycompany.myapp.service.RecurringRuleService;
 import com.mycompany.myapp.web.rest.errors.ExceptionTranslator;
 
 import org.junit.Before;
@@ -13,19 +34,28 @@ import org.mockito.MockitoAnnotations;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.data.web.PageableHandlerMethodArgumentResolver;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
 import org.springframework.test.context.junit4.SpringRunner;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.validation.Validator;
 
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Collections;
 import java.util.List;
 
 
 import static com.mycompany.myapp.web.rest.TestUtil.createFormattingConversionService;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.closeTo;
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.not;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -44,9 +74,53 @@ public class BudgetResourceIntTest {
     private static final String DEFAULT_DESCRIPTION = "AAAAAAAAAA";
     private static final String UPDATED_DESCRIPTION = "BBBBBBBBBB";
 
+    private static final LocalDate LINE_ITEM_DATE = LocalDate.of(2018, 11, 25);
+
     @Autowired
     private BudgetRepository budgetRepository;
 
+    @Autowired
+    private BudgetService budgetService;
+
+    @Autowired
+    private BudgetSummaryService budgetSummaryService;
+
+    @Autowired
+    private BudgetExportService budgetExportService;
+
+    @Autowired
+    private BudgetOverviewService budgetOverviewService;
+
+    @Autowired
+    private ForecastService forecastService;
+
+    @Autowired
+    private BudgetBreakdownService budgetBreakdownService;
+
+    @Autowired
+    private BudgetDiffService budgetDiffService;
+
+    @Autowired
+    private IncomeRepository incomeRepository;
+
+    @Autowired
+    private IncomeService incomeService;
+
+    @Autowired
+    private OutcomeService outcomeService;
+
+    @Autowired
+    private LedgerProjector ledgerProjector;
+
+    @Autowired
+    private OutcomeRepository outcomeRepository;
+
+    @Autowired
+    private RecurringRuleRepository recurringRuleRepository;
+
+    @Autowired
+    private RecurringRuleService recurringRuleService;
+
     @Autowired
     private MappingJackson2HttpMessageConverter jacksonMessageConverter;
 
@@ -66,7 +140,9 @@ public class BudgetResourceIntTest {
     @Before
     public void setup() {
         MockitoAnnotations.initMocks(this);
-        final BudgetResource budgetResource = new BudgetResource(budgetRepository);
+        final BudgetResource budgetResource = new BudgetResource(budgetService, budgetSummaryService, budgetExportService,
+            budgetOverviewService, forecastService, budgetBreakdownService, budgetDiffService,
+            jacksonMessageConverter.getObjectMapper());
         this.restBudgetMockMvc = MockMvcBuilders.standaloneSetup(budgetResource)
             .setCustomArgumentResolvers(pageableArgumentResolver)
             .setControllerAdvice(exceptionTranslator)
@@ -91,6 +167,8 @@ public class BudgetResourceIntTest {
     @Before
     public void initTest() {
         budgetRepository.deleteAll();
+        incomeRepository.deleteAll();
+        outcomeRepository.deleteAll();
         budget = createEntity();
     }
 
@@ -160,7 +238,81 @@ public class BudgetResourceIntTest {
             .andExpect(jsonPath("$.[*].title").value(hasItem(DEFAULT_TITLE.toString())))
             .andExpect(jsonPath("$.[*].description").value(hasItem(DEFAULT_DESCRIPTION.toString())));
     }
-    
+
+    @Test
+    public void getAllBudgetFields() throws Exception {
+        // Initialize the database
+        budgetRepository.save(budget);
+        incomeRepository.save(new Income().amount(Money.of(new BigDecimal("1.10"))).date(LINE_ITEM_DATE).budget(new BudgetReference(budget)));
+
+        // Get only the title and the incomes
+        restBudgetMockMvc.perform(get("/api/budgets?sort=id,desc&fields=title,incomes"))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_UTF8_VALUE))
+            .andExpect(jsonPath("$.[0].id").value(budget.getId()))
+            .andExpect(jsonPath("$.[0].title").value(DEFAULT_TITLE))
+            .andExpect(jsonPath("$.[0].incomes.[0].amount").value(1.1))
+            .andExpect(jsonPath("$.[0].description").doesNotExist())
+            .andExpect(jsonPath("$.[0].totalIncome").doesNotExist())
+            .andExpect(jsonPath("$.[0].outcomes").doesNotExist())
+            .andExpect(header().string("Link", containsString("fields=title,incomes")));
+
+        restBudgetMockMvc.perform(get("/api/budgets?fields=title,secret"))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.message").value("error.fieldinvalid"));
+
+        // The fields are not applied to the keyset pages
+        restBudgetMockMvc.perform(get("/api/budgets?fields=title&after="))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.message").value("error.fieldsunsupported"));
+    }
+
+    @Test
+    public void getAllBudgetBalances() throws Exception {
+        // Initialize the database
+        budgetRepository.save(budget);
+        budgetRepository.incrementTotals(budget.getId(), 500, 200, 3);
+
+        // The balance is read from the totals it is computed from, which are not written
+        restBudgetMockMvc.perform(get("/api/budgets?sort=id,desc&fields=balance"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[0].id").value(budget.getId()))
+            .andExpect(jsonPath("$.[0].balance").value(3.0))
+            .andExpect(jsonPath("$.[0].totalIncome").doesNotExist())
+            .andExpect(jsonPath("$.[0].totalOutcome").doesNotExist());
+    }
+
+    @Test
+    public void getAllBudgetsAfter() throws Exception {
+        // Initialize the database
+        Budget first = budgetRepository.save(createEntity());
+        Budget second = budgetRepository.save(createEntity());
+        Budget third = budgetRepository.save(createEntity());
+
+        // Get the first slice
+        restBudgetMockMvc.perform(get("/api/budgets?after=&size=2"))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_UTF8_VALUE))
+            .andExpect(jsonPath("$.length()").value(2))
+            .andExpect(jsonPath("$.[0].id").value(first.getId()))
+            .andExpect(jsonPath("$.[1].id").value(second.getId()))
+            .andExpect(header().string(HttpHeaders.LINK, containsString("after=" + second.getId())))
+            .andExpect(header().doesNotExist("X-Total-Count"));
+
+        // Get the last slice
+        restBudgetMockMvc.perform(get("/api/budgets?after={after}&size=2", second.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(1))
+            .andExpect(jsonPath("$.[0].id").value(third.getId()))
+            .andExpect(header().string(HttpHeaders.LINK, not(containsString("rel=\"next\""))));
+    }
+
+    @Test
+    public void getAllBudgetsAfterInvalidCursor() throws Exception {
+        restBudgetMockMvc.perform(get("/api/budgets?after=invalid"))
+            .andExpect(status().isBadRequest());
+    }
+
     @Test
     public void getBudget() throws Exception {
         // Initialize the database
@@ -175,6 +327,376 @@ public class BudgetResourceIntTest {
             .andExpect(jsonPath("$.description").value(DEFAULT_DESCRIPTION.toString()));
     }
 
+    @Test
+    public void getBudgetIfNoneMatch() throws Exception {
+        // Initialize the database
+        budgetRepository.save(budget);
+
+        restBudgetMockMvc.perform(get("/api/budgets/{id}", budget.getId()))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, "\"0\""));
+
+        // The budget did not change
+        restBudgetMockMvc.perform(get("/api/budgets/{id}", budget.getId()).header(HttpHeaders.IF_NONE_MATCH, "\"0\""))
+            .andExpect(status().isNotModified())
+            .andExpect(header().string(HttpHeaders.ETAG, "\"0\""))
+            .andExpect(content().string(""));
+
+        // Adding an outcome changes the version of its budget, then the projection of its totals does
+        outcomeService.save(new Outcome().amount(Money.of(new BigDecimal("2.00"))).date(LINE_ITEM_DATE)
+            .budget(new BudgetReference(budget)));
+        ledgerProjector.projectPending();
+
+        restBudgetMockMvc.perform(get("/api/budgets/{id}", budget.getId()).header(HttpHeaders.IF_NONE_MATCH, "\"0\""))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, "\"2\""))
+            .andExpect(jsonPath("$.totalOutcome").value(2.0))
+            .andExpect(jsonPath("$.outcomes.[*].amount").value(hasItem(2.0)));
+    }
+
+    @Test
+    public void getBudgetSummary() throws Exception {
+        // Initialize the database
+        budgetRepository.save(budget);
+        incomeRepository.save(new Income().amount(Money.of(new BigDecimal("1.10"))).date(LINE_ITEM_DATE).budget(new BudgetReference(budget)));
+        incomeRepository.save(new Income().amount(Money.of(new BigDecimal("4.20"))).date(LINE_ITEM_DATE).budget(new BudgetReference(budget)));
+        outcomeRepository.save(new Outcome().amount(Money.of(new BigDecimal("2.00"))).date(LINE_ITEM_DATE).budget(new BudgetReference(budget)));
+        incomeRepository.save(new Income().amount(Money.of(new BigDecimal("8.00"))).date(LINE_ITEM_DATE));
+
+        // Get the summary
+        restBudgetMockMvc.perform(get("/api/budgets/{id}/summary", budget.getId()))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_UTF8_VALUE))
+            .andExpect(jsonPath("$.budgetId").value(budget.getId()))
+            .andExpect(jsonPath("$.totalIncome").value(5.3))
+            .andExpect(jsonPath("$.totalOutcome").value(2.0))
+            .andExpect(jsonPath("$.balance").value(3.3))
+            .andExpect(jsonPath("$.incomeCount").value(2))
+            .andExpect(jsonPath("$.outcomeCount").value(1))
+            .andExpect(jsonPath("$.minIncome").value(1.1))
+            .andExpect(jsonPath("$.maxIncome").value(4.2))
+            .andExpect(jsonPath("$.minOutcome").value(2.0))
+            .andExpect(jsonPath("$.maxOutcome").value(2.0));
+    }
+
+    @Test
+    public void getEmptyBudgetSummary() throws Exception {
+        // Initialize the database
+        budgetRepository.save(budget);
+
+        // Get the summary
+        restBudgetMockMvc.perform(get("/api/budgets/{id}/summary", budget.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.totalIncome").value(0.0))
+            .andExpect(jsonPath("$.incomeCount").value(0))
+            .andExpect(jsonPath("$.minIncome").isEmpty());
+    }
+
+    @Test
+    public void getNonExistingBudgetSummary() throws Exception {
+        restBudgetMockMvc.perform(get("/api/budgets/{id}/summary", Long.MAX_VALUE))
+            .andExpect(status().isNotFound());
+    }
+
+    @Test
+    public void getBudgetMonths() throws Exception {
+        // Initialize the database
+        budgetRepository.save(budget);
+        BudgetReference reference = new BudgetReference(budget);
+        incomeService.save(new Income().amount(Money.of(new BigDecimal("1.10"))).date(LINE_ITEM_DATE).budget(reference));
+        incomeService.save(new Income().amount(Money.of(new BigDecimal("4.20"))).date(LocalDate.of(2018, 11, 1)).budget(reference));
+        outcomeService.save(new Outcome().amount(Money.of(new BigDecimal("2.00"))).date(LocalDate.of(2018, 12, 31)).budget(reference));
+        outcomeService.save(new Outcome().amount(Money.of(new BigDecimal("3.00"))).date(LocalDate.of(2019, 1, 1)).budget(reference));
+        ledgerProjector.projectPending();
+
+        // Get the months
+        restBudgetMockMvc.perform(get("/api/budgets/{id}/months?from=2018-01&to=2018-12", budget.getId()))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_UTF8_VALUE))
+            .andExpect(jsonPath("$.length()").value(2))
+            .andExpect(jsonPath("$.[0].month").value("2018-11"))
+            .andExpect(jsonPath("$.[0].totalIncome").value(5.3))
+            .andExpect(jsonPath("$.[0].totalOutcome").value(0.0))
+            .andExpect(jsonPath("$.[0].itemCount").value(2))
+            .andExpect(jsonPath("$.[1].month").value("2018-12"))
+            .andExpect(jsonPath("$.[1].totalOutcome").value(2.0))
+            .andExpect(jsonPath("$.[1].balance").value(-2.0));
+    }
+
+    @Test
+    public void getBudgetMonthsWithInvalidRange() throws Exception {
+        budgetRepository.save(budget);
+
+        restBudgetMockMvc.perform(get("/api/budgets/{id}/months?from=2018-12&to=2018-01", budget.getId()))
+            .andExpect(status().isBadRequest());
+        restBudgetMockMvc.perform(get("/api/budgets/{id}/months?from=2000-01&to=2018-01", budget.getId()))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void getNonExistingBudgetMonths() throws Exception {
+        restBudgetMockMvc.perform(get("/api/budgets/{id}/months", Long.MAX_VALUE))
+            .andExpect(status().isNotFound());
+    }
+
+    @Test
+    public void getBudgetOverview() throws Exception {
+        // Initialize the database
+        budgetRepository.save(budget);
+        Budget other = budgetRepository.save(createEntity().title(UPDATED_TITLE));
+        BudgetReference reference = new BudgetReference(budget);
+        incomeService.save(new Income().amount(Money.of(new BigDecimal("1.10"))).date(LocalDate.of(2018, 11, 1)).budget(reference));
+        outcomeService.save(new Outcome().amount(Money.of(new BigDecimal("2.00"))).date(LocalDate.of(2018, 12, 1)).budget(reference));
+        incomeService.save(new Income().amount(Money.of(new BigDecimal("4.00"))).date(LocalDate.of(2018, 12, 1)).budget(new BudgetReference(other)));
+        incomeService.save(new Income().amount(Money.of(new BigDecimal("9.00"))).date(LocalDate.of(2018, 1, 1)).budget(new BudgetReference(other)));
+        ledgerProjector.projectPending();
+
+        // Get the overview of the last two months
+        restBudgetMockMvc.perform(get("/api/budgets/overview?ids={id},{other}&to=2018-12&months=2", budget.getId(), other.getId()))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_UTF8_VALUE))
+            .andExpect(jsonPath("$.from").value("2018-11"))
+            .andExpect(jsonPath("$.to").value("2018-12"))
+            .andExpect(jsonPath("$.complete").value(true))
+            .andExpect(jsonPath("$.totalIncome").value(14.1))
+            .andExpect(jsonPath("$.totalOutcome").value(2.0))
+            .andExpect(jsonPath("$.savingsRate").value(closeTo(0.6078, 0.0001)))
+            .andExpect(jsonPath("$.months.length()").value(2))
+            .andExpect(jsonPath("$.months.[0].totalIncome").value(1.1))
+            .andExpect(jsonPath("$.months.[1].totalIncome").value(4.0))
+            .andExpect(jsonPath("$.months.[1].totalOutcome").value(2.0))
+            .andExpect(jsonPath("$.budgets.length()").value(2))
+            .andExpect(jsonPath("$.budgets.[?(@.budgetId == '" + budget.getId() + "')].balanceTrend").value(hasItem(-3.1)))
+            .andExpect(jsonPath("$.budgets.[?(@.budgetId == '" + budget.getId() + "')].averageMonthlyOutcome").value(hasItem(1.0)))
+            .andExpect(jsonPath("$.budgets.[?(@.budgetId == '" + other.getId() + "')].totalIncome").value(hasItem(13.0)))
+            .andExpect(jsonPath("$.budgets.[?(@.budgetId == '" + other.getId() + "')].savingsRate").value(hasItem(1.0)))
+            .andExpect(jsonPath("$.budgets.[?(@.budgetId == '" + other.getId() + "')].status").value(hasItem("COMPLETE")));
+    }
+
+    @Test
+    public void getBudgetOverviewWithInvalidRange() throws Exception {
+        restBudgetMockMvc.perform(get("/api/budgets/overview?months=0"))
+            .andExpect(status().isBadRequest());
+        restBudgetMockMvc.perform(get("/api/budgets/overview?months=121"))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void getBudgetForecast() throws Exception {
+        // Initialize the database
+        recurringRuleRepository.deleteAll();
+        budgetRepository.save(budget.totalIncome(Money.of(new BigDecimal("10.00"))));
+        BudgetReference reference = new BudgetReference(budget);
+        YearMonth first = YearMonth.from(LocalDate.now().plusDays(1));
+        LocalDate start = first.plusMonths(1).atDay(1);
+        RecurringRule salary = recurringRuleService.save(new RecurringRule().title("salary").type(LineItemType.INCOME)
+            .amount(Money.of(new BigDecimal("100.00"))).frequency(Frequency.MONTHLY).startDate(start).budget(reference));
+        recurringRuleService.save(new RecurringRule().title("insurance").type(LineItemType.OUTCOME)
+            .amount(Money.of(new BigDecimal("50.00"))).frequency(Frequency.YEARLY).startDate(start).budget(reference));
+
+        // Get the forecast
+        restBudgetMockMvc.perform(get("/api/budgets/{id}/forecast?months=3", budget.getId()))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_UTF8_VALUE))
+            .andExpect(jsonPath("$.startingBalance").value(10.0))
+            .andExpect(jsonPath("$.months.length()").value(3))
+            .andExpect(jsonPath("$.months.[0].month").value(first.toString()))
+            .andExpect(jsonPath("$.months.[0].balance").value(10.0))
+            .andExpect(jsonPath("$.months.[1].totalIncome").value(100.0))
+            .andExpect(jsonPath("$.months.[1].totalOutcome").value(50.0))
+            .andExpect(jsonPath("$.months.[1].balance").value(60.0))
+            .andExpect(jsonPath("$.months.[2].totalOutcome").value(0.0))
+            .andExpect(jsonPath("$.months.[2].balance").value(160.0));
+
+        // A changed rule is expanded again
+        recurringRuleService.save(salary.amount(Money.of(new BigDecimal("200.00"))));
+        restBudgetMockMvc.perform(get("/api/budgets/{id}/forecast?months=3", budget.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.months.[2].balance").value(360.0));
+    }
+
+    @Test
+    public void getBudgetForecastWithInvalidRange() throws Exception {
+        budgetRepository.save(budget);
+
+        restBudgetMockMvc.perform(get("/api/budgets/{id}/forecast?months=0", budget.getId()))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void getNonExistingBudgetForecast() throws Exception {
+        restBudgetMockMvc.perform(get("/api/budgets/{id}/forecast", Long.MAX_VALUE))
+            .andExpect(status().isNotFound());
+    }
+
+    @Test
+    public void getBudgetBreakdown() throws Exception {
+        // Initialize the database
+        budgetRepository.save(budget);
+        BudgetReference reference = new BudgetReference(budget);
+        outcomeService.save(new Outcome().amount(Money.of(new BigDecimal("5.00"))).date(LINE_ITEM_DATE).category("rent").budget(reference));
+        outcomeService.save(new Outcome().amount(Money.of(new BigDecimal("1.00"))).date(LINE_ITEM_DATE).category("food").budget(reference));
+        outcomeService.save(new Outcome().amount(Money.of(new BigDecimal("2.00"))).date(LINE_ITEM_DATE).category("food").budget(reference));
+        outcomeService.save(new Outcome().amount(Money.of(new BigDecimal("0.50"))).date(LINE_ITEM_DATE).budget(reference));
+        outcomeService.save(new Outcome().amount(Money.of(new BigDecimal("9.00"))).date(LINE_ITEM_DATE).category("rent"));
+
+        // Get the breakdown
+        restBudgetMockMvc.perform(get("/api/budgets/{id}/breakdown?top=2", budget.getId()))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_UTF8_VALUE))
+            .andExpect(jsonPath("$.totalOutcome").value(8.5))
+            .andExpect(jsonPath("$.outcomeCount").value(4))
+            .andExpect(jsonPath("$.categories.length()").value(2))
+            .andExpect(jsonPath("$.categories.[0].category").value("rent"))
+            .andExpect(jsonPath("$.categories.[0].total").value(5.0))
+            .andExpect(jsonPath("$.categories.[1].category").value("food"))
+            .andExpect(jsonPath("$.categories.[1].count").value(2))
+            .andExpect(jsonPath("$.otherTotal").value(0.5))
+            .andExpect(jsonPath("$.otherCount").value(1));
+
+        // A changed outcome increments the budget version, out of the cached breakdown
+        outcomeService.save(new Outcome().amount(Money.of(new BigDecimal("4.00"))).date(LINE_ITEM_DATE).category("food").budget(reference));
+        restBudgetMockMvc.perform(get("/api/budgets/{id}/breakdown?top=1", budget.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.categories.[0].category").value("food"))
+            .andExpect(jsonPath("$.categories.[0].total").value(7.0))
+            .andExpect(jsonPath("$.otherTotal").value(5.5))
+            .andExpect(jsonPath("$.otherCount").value(2));
+    }
+
+    @Test
+    public void getBudgetBreakdownChangedByAnotherInstance() throws Exception {
+        // Initialize the database
+        budgetRepository.save(budget);
+        BudgetReference reference = new BudgetReference(budget);
+        outcomeService.save(new Outcome().amount(Money.of(new BigDecimal("5.00"))).date(LINE_ITEM_DATE).category("rent").budget(reference));
+
+        restBudgetMockMvc.perform(get("/api/budgets/{id}/breakdown?top=1", budget.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.categories.[0].category").value("rent"));
+
+        // An outcome saved by another instance publishes no event here, but increments the budget version
+        outcomeRepository.save(new Outcome().amount(Money.of(new BigDecimal("8.00"))).date(LINE_ITEM_DATE).category("food").budget(reference));
+        budgetRepository.incrementVersions(Collections.singleton(budget.getId()));
+
+        restBudgetMockMvc.perform(get("/api/budgets/{id}/breakdown?top=1", budget.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.categories.[0].category").value("food"))
+            .andExpect(jsonPath("$.totalOutcome").value(13.0))
+            .andExpect(jsonPath("$.outcomeCount").value(2));
+    }
+
+    @Test
+    public void getBudgetBreakdownWithInvalidTop() throws Exception {
+        budgetRepository.save(budget);
+
+        restBudgetMockMvc.perform(get("/api/budgets/{id}/breakdown?top=0", budget.getId()))
+            .andExpect(status().isBadRequest());
+        restBudgetMockMvc.perform(get("/api/budgets/{id}/breakdown?top=51", budget.getId()))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void getNonExistingBudgetBreakdown() throws Exception {
+        restBudgetMockMvc.perform(get("/api/budgets/{id}/breakdown", Long.MAX_VALUE))
+            .andExpect(status().isNotFound());
+    }
+
+    @Test
+    public void getBudgetDiff() throws Exception {
+        // Initialize the database
+        budgetRepository.save(budget);
+        BudgetReference reference = new BudgetReference(budget);
+        incomeRepository.save(new Income().amount(Money.of(new BigDecimal("10.00"))).date(LocalDate.of(2018, 10, 25)).budget(reference));
+        incomeRepository.save(new Income().amount(Money.of(new BigDecimal("10.00"))).date(LocalDate.of(2018, 11, 25)).budget(reference));
+        outcomeRepository.save(new Outcome().amount(Money.of(new BigDecimal("5.00"))).date(LocalDate.of(2018, 10, 1)).category("rent").budget(reference));
+        Outcome rent = outcomeRepository.save(new Outcome().amount(Money.of(new BigDecimal("6.00"))).date(LocalDate.of(2018, 11, 2)).category("rent").budget(reference));
+        Outcome food = outcomeRepository.save(new Outcome().amount(Money.of(new BigDecimal("1.00"))).date(LocalDate.of(2018, 10, 31)).category("food").budget(reference));
+        Outcome bike = outcomeRepository.save(new Outcome().amount(Money.of(new BigDecimal("3.00"))).date(LocalDate.of(2018, 11, 30)).category("bike").budget(reference));
+        outcomeRepository.save(new Outcome().amount(Money.of(new BigDecimal("7.00"))).date(LocalDate.of(2018, 12, 1)).category("food").budget(reference));
+
+        // Get the diff
+        restBudgetMockMvc.perform(get("/api/budgets/{id}/diff?from=2018-10&to=2018-11", budget.getId()))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_UTF8_VALUE))
+            .andExpect(jsonPath("$.complete").value(true))
+            .andExpect(jsonPath("$.unchangedCount").value(1))
+            .andExpect(jsonPath("$.changedCount").value(1))
+            .andExpect(jsonPath("$.changed.[0].toId").value(rent.getId()))
+            .andExpect(jsonPath("$.changed.[0].fromAmount").value(5.0))
+            .andExpect(jsonPath("$.changed.[0].toAmount").value(6.0))
+            .andExpect(jsonPath("$.addedCount").value(1))
+            .andExpect(jsonPath("$.added.[0].toId").value(bike.getId()))
+            .andExpect(jsonPath("$.removedCount").value(1))
+            .andExpect(jsonPath("$.removed.[0].fromId").value(food.getId()))
+            .andExpect(jsonPath("$.categories.length()").value(4))
+            .andExpect(jsonPath("$.categories.[0].type").value("INCOME"))
+            .andExpect(jsonPath("$.categories.[0].delta").value(0.0))
+            .andExpect(jsonPath("$.categories.[1].category").value("bike"))
+            .andExpect(jsonPath("$.categories.[2].category").value("food"))
+            .andExpect(jsonPath("$.categories.[2].delta").value(-1.0))
+            .andExpect(jsonPath("$.categories.[3].category").value("rent"))
+            .andExpect(jsonPath("$.categories.[3].delta").value(1.0));
+    }
+
+    @Test
+    public void getNonExistingBudgetDiff() throws Exception {
+        restBudgetMockMvc.perform(get("/api/budgets/{id}/diff", Long.MAX_VALUE))
+            .andExpect(status().isNotFound());
+    }
+
+    @Test
+    public void exportBudgetAsCsv() throws Exception {
+        // Initialize the database
+        budgetRepository.save(budget);
+        Income income = incomeRepository.save(new Income().amount(Money.of(new BigDecimal("1.10"))).date(LINE_ITEM_DATE).budget(new BudgetReference(budget)));
+        Outcome outcome = outcomeRepository.save(new Outcome().amount(Money.of(new BigDecimal("2.00"))).date(LINE_ITEM_DATE).budget(new BudgetReference(budget)));
+        incomeRepository.save(new Income().amount(Money.of(new BigDecimal("8.00"))).date(LINE_ITEM_DATE));
+
+        // Export the budget
+        MvcResult mvcResult = restBudgetMockMvc.perform(get("/api/budgets/{id}/export", budget.getId()))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+        restBudgetMockMvc.perform(asyncDispatch(mvcResult))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType("text/csv"))
+            .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, containsString("budget-" + budget.getId() + ".csv")))
+            .andExpect(content().string("type,id,date,amount,currency\r\n" +
+                "income," + income.getId() + ",2018-11-25,1.10,SEK\r\n" +
+                "outcome," + outcome.getId() + ",2018-11-25,2.00,SEK\r\n"));
+    }
+
+    @Test
+    public void exportBudgetAsNdjson() throws Exception {
+        // Initialize the database
+        budgetRepository.save(budget);
+        Income income = incomeRepository.save(new Income().amount(Money.of(new BigDecimal("1.10"))).date(LINE_ITEM_DATE).budget(new BudgetReference(budget)));
+
+        // Export the budget
+        MvcResult mvcResult = restBudgetMockMvc.perform(get("/api/budgets/{id}/export?format=ndjson", budget.getId()))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+        restBudgetMockMvc.perform(asyncDispatch(mvcResult))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType("application/x-ndjson"))
+            .andExpect(content().string(
+                "{\"type\":\"income\",\"id\":\"" + income.getId() + "\",\"date\":\"2018-11-25\",\"amount\":1.10,\"currency\":\"SEK\"}\n"));
+    }
+
+    @Test
+    public void exportBudgetWithInvalidFormat() throws Exception {
+        budgetRepository.save(budget);
+
+        restBudgetMockMvc.perform(get("/api/budgets/{id}/export?format=xml", budget.getId()))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void exportNonExistingBudget() throws Exception {
+        restBudgetMockMvc.perform(get("/api/budgets/{id}/export", Long.MAX_VALUE))
+            .andExpect(status().isNotFound());
+    }
+
     @Test
     public void getNonExistingBudget() throws Exception {
         // Get the budget
@@ -208,6 +730,136 @@ public class BudgetResourceIntTest {
         assertThat(testBudget.getDescription()).isEqualTo(UPDATED_DESCRIPTION);
     }
 
+    @Test
+    public void updateBudgetIfMatch() throws Exception {
+        // Initialize the database
+        budgetRepository.save(budget);
+        Budget updatedBudget = budgetRepository.findById(budget.getId()).get();
+        budgetRepository.incrementTotals(budget.getId(), 500, 200, 3);
+
+        // The totals are part of the budget, so they changed its version
+        updatedBudget.title(UPDATED_TITLE);
+        restBudgetMockMvc.perform(put("/api/budgets")
+            .header(HttpHeaders.IF_MATCH, "\"0\"")
+            .contentType(TestUtil.APPLICATION_JSON_UTF8)
+            .content(TestUtil.convertObjectToJsonBytes(updatedBudget)))
+            .andExpect(status().isPreconditionFailed())
+            .andExpect(jsonPath("$.message").value("error.concurrencyFailure"));
+        assertThat(budgetRepository.findById(budget.getId()).get().getTitle()).isEqualTo(DEFAULT_TITLE);
+
+        restBudgetMockMvc.perform(put("/api/budgets")
+            .header(HttpHeaders.IF_MATCH, "\"1\"")
+            .contentType(TestUtil.APPLICATION_JSON_UTF8)
+            .content(TestUtil.convertObjectToJsonBytes(updatedBudget)))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, "\"2\""))
+            .andExpect(jsonPath("$.title").value(UPDATED_TITLE))
+            .andExpect(jsonPath("$.totalIncome").value(5.0));
+    }
+
+    @Test
+    public void patchBudget() throws Exception {
+        // Initialize the database
+        budgetRepository.save(budget);
+        budgetRepository.incrementTotals(budget.getId(), 500, 200, 3);
+
+        restBudgetMockMvc.perform(patch("/api/budgets/{id}", budget.getId())
+            .header(HttpHeaders.IF_MATCH, "\"1\"")
+            .contentType("application/merge-patch+json")
+            .content("{\"title\": \"" + UPDATED_TITLE + "\"}"))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, "\"2\""))
+            .andExpect(jsonPath("$.title").value(UPDATED_TITLE))
+            .andExpect(jsonPath("$.description").value(DEFAULT_DESCRIPTION))
+            .andExpect(jsonPath("$.totalIncome").value(5.0));
+
+        // A null value removes the description
+        restBudgetMockMvc.perform(patch("/api/budgets/{id}", budget.getId())
+            .contentType("application/merge-patch+json")
+            .content("{\"description\": null}"))
+            .andExpect(status().isOk());
+
+        Budget testBudget = budgetRepository.findById(budget.getId()).get();
+        assertThat(testBudget.getTitle()).isEqualTo(UPDATED_TITLE);
+        assertThat(testBudget.getDescription()).isNull();
+        assertThat(testBudget.getTotalIncome()).isEqualTo(Money.of(new BigDecimal("5.00")));
+        assertThat(testBudget.getItemCount()).isEqualTo(3);
+    }
+
+    @Test
+    public void patchBudgetWithInvalidProperties() throws Exception {
+        // Initialize the database
+        budgetRepository.save(budget);
+
+        // The title is required
+        restBudgetMockMvc.perform(patch("/api/budgets/{id}", budget.getId())
+            .contentType("application/merge-patch+json")
+            .content("{\"title\": null}"))
+            .andExpect(status().isBadRequest());
+
+        // The running totals are maintained by the line items
+        restBudgetMockMvc.perform(patch("/api/budgets/{id}", budget.getId())
+            .contentType("application/merge-patch+json")
+            .content("{\"totalIncome\": 100}"))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.message").value("error.patchinvalid"));
+
+        assertThat(budgetRepository.findById(budget.getId()).get().getTitle()).isEqualTo(DEFAULT_TITLE);
+
+        restBudgetMockMvc.perform(patch("/api/budgets/{id}", Long.MAX_VALUE)
+            .contentType("application/merge-patch+json")
+            .content("{\"title\": \"" + UPDATED_TITLE + "\"}"))
+            .andExpect(status().isNotFound());
+    }
+
+    @Test
+    public void updateBudgetKeepsRunningTotals() throws Exception {
+        // Initialize the database
+        budgetRepository.save(budget);
+        Budget updatedBudget = budgetRepository.findById(budget.getId()).get();
+        budgetRepository.incrementTotals(budget.getId(), 500, 200, 3);
+
+        // Update the budget from a copy read before the totals changed
+        updatedBudget.title(UPDATED_TITLE);
+        restBudgetMockMvc.perform(put("/api/budgets")
+            .contentType(TestUtil.APPLICATION_JSON_UTF8)
+            .content(TestUtil.convertObjectToJsonBytes(updatedBudget)))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.totalIncome").value(5.0))
+            .andExpect(jsonPath("$.totalOutcome").value(2.0))
+            .andExpect(jsonPath("$.balance").value(3.0))
+            .andExpect(jsonPath("$.itemCount").value(3));
+
+        // Validate the totals in the database
+        Budget testBudget = budgetRepository.findById(budget.getId()).get();
+        assertThat(testBudget.getTitle()).isEqualTo(UPDATED_TITLE);
+        assertThat(testBudget.getTotalIncome().getMinorUnits()).isEqualTo(500);
+        assertThat(testBudget.getTotalOutcome().getMinorUnits()).isEqualTo(200);
+        assertThat(testBudget.getItemCount()).isEqualTo(3);
+    }
+
+    @Test
+    public void updateBudgetTitleUpdatesLineItemReferences() throws Exception {
+        // Initialize the database
+        budgetRepository.save(budget);
+        Income income = incomeRepository.save(IncomeResourceIntTest.createEntity().budget(new BudgetReference(budget)));
+        Outcome outcome = outcomeRepository.save(OutcomeResourceIntTest.createEntity().budget(new BudgetReference(budget)));
+
+        // Update the budget
+        Budget updatedBudget = budgetRepository.findById(budget.getId()).get();
+        updatedBudget.title(UPDATED_TITLE);
+
+        restBudgetMockMvc.perform(put("/api/budgets")
+            .contentType(TestUtil.APPLICATION_JSON_UTF8)
+            .content(TestUtil.convertObjectToJsonBytes(updatedBudget)))
+            .andExpect(status().isOk());
+
+        // Validate the references held by the line items, once projected
+        ledgerProjector.projectPending();
+        assertThat(incomeRepository.findById(income.getId()).get().getBudget().getTitle()).isEqualTo(UPDATED_TITLE);
+        assertThat(outcomeRepository.findById(outcome.getId()).get().getBudget().getTitle()).isEqualTo(UPDATED_TITLE);
+    }
+
     @Test
     public void updateNonExistingBudget() throws Exception {
         int databaseSizeBeforeUpdate = budgetRepository.findAll().size();
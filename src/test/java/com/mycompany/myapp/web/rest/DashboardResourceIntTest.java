@@ -0,0 +1,122 @@
+package com.mycompany.myapp.web.rest;
+
+import com.mycompany.myapp.MonthlyBudgetApp;
+import com.mycompany.myapp.config.ApplicationProperties;
+import com.mycompany.myapp.domain.Budget;
+import com.mycompany.myapp.domain.BudgetReference;
+import com.mycompany.myapp.domain.Income;
+import com.mycompany.myapp.domain.Money;
+import com.mycompany.myapp.domain.Outcome;
+import com.mycompany.myapp.domain.User;
+import com.mycompany.myapp.repository.BudgetRepository;
+import com.mycompany.myapp.repository.IncomeRepository;
+import com.mycompany.myapp.repository.OutcomeRepository;
+import com.mycompany.myapp.service.DashboardService;
+import com.mycompany.myapp.service.UserService;
+import com.mycompany.myapp.web.rest.errors.ExceptionTranslator;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Test class for the DashboardResource REST controller.
+ *
+ * @see DashboardResource
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest(classes = MonthlyBudgetApp.class)
+public class DashboardResourceIntTest {
+
+    @Autowired
+    private BudgetRepository budgetRepository;
+
+    @Autowired
+    private IncomeRepository incomeRepository;
+
+    @Autowired
+    private OutcomeRepository outcomeRepository;
+
+    @Autowired
+    private ApplicationProperties applicationProperties;
+
+    @Autowired
+    @Qualifier("dashboardExecutor")
+    private Executor dashboardExecutor;
+
+    @Autowired
+    private MappingJackson2HttpMessageConverter jacksonMessageConverter;
+
+    @Autowired
+    private ExceptionTranslator exceptionTranslator;
+
+    @Mock
+    private UserService mockUserService;
+
+    private MockMvc restDashboardMockMvc;
+
+    @Before
+    public void setup() {
+        MockitoAnnotations.initMocks(this);
+        DashboardService dashboardService = new DashboardService(mockUserService, budgetRepository, incomeRepository,
+            outcomeRepository, applicationProperties, dashboardExecutor);
+        this.restDashboardMockMvc = MockMvcBuilders.standaloneSetup(new DashboardResource(dashboardService))
+            .setControllerAdvice(exceptionTranslator)
+            .setMessageConverters(jacksonMessageConverter)
+            .build();
+        budgetRepository.deleteAll();
+        incomeRepository.deleteAll();
+        outcomeRepository.deleteAll();
+    }
+
+    @Test
+    public void getDashboard() throws Exception {
+        User user = new User();
+        user.setLogin("test");
+        when(mockUserService.getUserWithAuthorities()).thenReturn(Optional.of(user));
+        Budget budget = budgetRepository.save(new Budget().title("budget").totalIncome(Money.of(new BigDecimal("3.00"))));
+        BudgetReference reference = new BudgetReference(budget);
+        incomeRepository.save(new Income().amount(Money.of(new BigDecimal("1.00"))).date(LocalDate.of(2018, 10, 1)).budget(reference));
+        Income recent = incomeRepository.save(new Income().amount(Money.of(new BigDecimal("2.00"))).date(LocalDate.of(2018, 11, 1)).budget(reference));
+        Outcome outcome = outcomeRepository.save(new Outcome().amount(Money.of(new BigDecimal("0.50"))).date(LocalDate.of(2018, 11, 2)).budget(reference));
+
+        restDashboardMockMvc.perform(get("/api/dashboard"))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_UTF8_VALUE))
+            .andExpect(jsonPath("$.account.login").value("test"))
+            .andExpect(jsonPath("$.budgetCount").value(1))
+            .andExpect(jsonPath("$.budgets.[0].title").value("budget"))
+            .andExpect(jsonPath("$.budgets.[0].balance").value(3.0))
+            .andExpect(jsonPath("$.recentIncomes.length()").value(2))
+            .andExpect(jsonPath("$.recentIncomes.[0].id").value(recent.getId()))
+            .andExpect(jsonPath("$.recentOutcomes.[0].id").value(outcome.getId()));
+    }
+
+    @Test
+    public void getDashboardOfUnknownUser() throws Exception {
+        when(mockUserService.getUserWithAuthorities()).thenReturn(Optional.empty());
+
+        restDashboardMockMvc.perform(get("/api/dashboard")
+            .accept(MediaType.APPLICATION_PROBLEM_JSON))
+            .andExpect(status().isInternalServerError());
+    }
+}
@@ -2,8 +2,16 @@ package com.mycompany.myapp.web.rest;
 
 import com.mycompany.myapp.MonthlyBudgetApp;
 
+import com.mycompany.myapp.domain.Budget;
+import com.mycompany.myapp.domain.BudgetMonth;
+import com.mycompany.myapp.domain.BudgetReference;
 import com.mycompany.myapp.domain.Income;
+import com.mycompany.myapp.domain.Money;
+import com.mycompany.myapp.repository.BudgetMonthRepository;
+import com.mycompany.myapp.repository.BudgetRepository;
 import com.mycompany.myapp.repository.IncomeRepository;
+import com.mycompany.myapp.service.IncomeService;
+import com.mycompany.myapp.service.LedgerProjector;
 import com.mycompany.myapp.web.rest.errors.ExceptionTranslator;
 
 import org.junit.Before;
@@ -13,6 +21,7 @@ import org.mockito.MockitoAnnotations;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.data.web.PageableHandlerMethodArgumentResolver;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
 import org.springframework.test.context.junit4.SpringRunner;
@@ -20,12 +29,19 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.validation.Validator;
 
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.util.Arrays;
 import java.util.List;
 
 
 import static com.mycompany.myapp.web.rest.TestUtil.createFormattingConversionService;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.not;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -38,12 +54,27 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 @SpringBootTest(classes = MonthlyBudgetApp.class)
 public class IncomeResourceIntTest {
 
-    private static final Float DEFAULT_AMOUNT = 1F;
-    private static final Float UPDATED_AMOUNT = 2F;
+    private static final Money DEFAULT_AMOUNT = Money.of(BigDecimal.ONE);
+    private static final Money UPDATED_AMOUNT = Money.of(new BigDecimal("2.50"));
+
+    private static final LocalDate DEFAULT_DATE = LocalDate.ofEpochDay(0L);
+    private static final LocalDate UPDATED_DATE = LocalDate.now(ZoneId.systemDefault());
 
     @Autowired
     private IncomeRepository incomeRepository;
 
+    @Autowired
+    private IncomeService incomeService;
+
+    @Autowired
+    private BudgetRepository budgetRepository;
+
+    @Autowired
+    private BudgetMonthRepository budgetMonthRepository;
+
+    @Autowired
+    private LedgerProjector ledgerProjector;
+
     @Autowired
     private MappingJackson2HttpMessageConverter jacksonMessageConverter;
 
@@ -63,7 +94,7 @@ public class IncomeResourceIntTest {
     @Before
     public void setup() {
         MockitoAnnotations.initMocks(this);
-        final IncomeResource incomeResource = new IncomeResource(incomeRepository);
+        final IncomeResource incomeResource = new IncomeResource(incomeService, jacksonMessageConverter.getObjectMapper());
         this.restIncomeMockMvc = MockMvcBuilders.standaloneSetup(incomeResource)
             .setCustomArgumentResolvers(pageableArgumentResolver)
             .setControllerAdvice(exceptionTranslator)
@@ -80,7 +111,8 @@ public class IncomeResourceIntTest {
      */
     public static Income createEntity() {
         Income income = new Income()
-            .amount(DEFAULT_AMOUNT);
+            .amount(DEFAULT_AMOUNT)
+            .date(DEFAULT_DATE);
         return income;
     }
 
@@ -105,6 +137,130 @@ public class IncomeResourceIntTest {
         assertThat(incomeList).hasSize(databaseSizeBeforeCreate + 1);
         Income testIncome = incomeList.get(incomeList.size() - 1);
         assertThat(testIncome.getAmount()).isEqualTo(DEFAULT_AMOUNT);
+        assertThat(testIncome.getDate()).isEqualTo(DEFAULT_DATE);
+    }
+
+    @Test
+    public void createIncomeWithBudget() throws Exception {
+        Budget budget = budgetRepository.save(BudgetResourceIntTest.createEntity());
+        BudgetReference budgetReference = new BudgetReference();
+        budgetReference.setId(budget.getId());
+        income.setBudget(budgetReference);
+
+        // Create the Income, referencing the budget by id only
+        restIncomeMockMvc.perform(post("/api/incomes")
+            .contentType(TestUtil.APPLICATION_JSON_UTF8)
+            .content(TestUtil.convertObjectToJsonBytes(income)))
+            .andExpect(status().isCreated())
+            .andExpect(jsonPath("$.budget.id").value(budget.getId()))
+            .andExpect(jsonPath("$.budget.title").value(budget.getTitle()));
+
+        // Validate the budget title is denormalized in the database
+        List<Income> incomeList = incomeRepository.findAll();
+        Income testIncome = incomeList.get(incomeList.size() - 1);
+        assertThat(testIncome.getBudget().getId()).isEqualTo(budget.getId());
+        assertThat(testIncome.getBudget().getTitle()).isEqualTo(budget.getTitle());
+    }
+
+    @Test
+    public void incomeChangesUpdateBudgetTotals() throws Exception {
+        Budget budget = budgetRepository.save(BudgetResourceIntTest.createEntity());
+        income.setBudget(new BudgetReference(budget));
+
+        // Create the Income
+        restIncomeMockMvc.perform(post("/api/incomes")
+            .contentType(TestUtil.APPLICATION_JSON_UTF8)
+            .content(TestUtil.convertObjectToJsonBytes(income)))
+            .andExpect(status().isCreated());
+        ledgerProjector.projectPending();
+        Budget testBudget = budgetRepository.findById(budget.getId()).get();
+        assertThat(testBudget.getTotalIncome()).isEqualTo(DEFAULT_AMOUNT);
+        assertThat(testBudget.getItemCount()).isEqualTo(1);
+
+        // Update its amount
+        Income updatedIncome = incomeRepository.findAll().get(0).amount(UPDATED_AMOUNT);
+        restIncomeMockMvc.perform(put("/api/incomes")
+            .contentType(TestUtil.APPLICATION_JSON_UTF8)
+            .content(TestUtil.convertObjectToJsonBytes(updatedIncome)))
+            .andExpect(status().isOk());
+        ledgerProjector.projectPending();
+        testBudget = budgetRepository.findById(budget.getId()).get();
+        assertThat(testBudget.getTotalIncome()).isEqualTo(UPDATED_AMOUNT);
+        assertThat(testBudget.getItemCount()).isEqualTo(1);
+
+        // Delete it
+        restIncomeMockMvc.perform(delete("/api/incomes/{id}", updatedIncome.getId())
+            .accept(TestUtil.APPLICATION_JSON_UTF8))
+            .andExpect(status().isOk());
+        ledgerProjector.projectPending();
+        testBudget = budgetRepository.findById(budget.getId()).get();
+        assertThat(testBudget.getTotalIncome().getMinorUnits()).isZero();
+        assertThat(testBudget.getItemCount()).isZero();
+        assertThat(testBudget.getTotalOutcome().getMinorUnits()).isZero();
+        // Deleting it again, as a concurrent request would, does not subtract it twice
+        restIncomeMockMvc.perform(delete("/api/incomes/{id}", updatedIncome.getId())
+            .accept(TestUtil.APPLICATION_JSON_UTF8))
+            .andExpect(status().isOk());
+        ledgerProjector.projectPending();
+        testBudget = budgetRepository.findById(budget.getId()).get();
+        assertThat(testBudget.getTotalIncome().getMinorUnits()).isZero();
+        assertThat(testBudget.getItemCount()).isZero();
+    }
+
+    @Test
+    public void incomeChangesUpdateMonthlyBuckets() throws Exception {
+        budgetMonthRepository.deleteAll();
+        Budget budget = budgetRepository.save(BudgetResourceIntTest.createEntity());
+        String defaultMonth = BudgetMonth.id(budget.getId(), YearMonth.from(DEFAULT_DATE));
+        String updatedMonth = BudgetMonth.id(budget.getId(), YearMonth.from(UPDATED_DATE));
+        Income saved = incomeService.save(income.budget(new BudgetReference(budget)));
+
+        ledgerProjector.projectPending();
+        BudgetMonth testMonth = budgetMonthRepository.findById(defaultMonth).get();
+        assertThat(testMonth.getBudgetId()).isEqualTo(budget.getId());
+        assertThat(testMonth.getMonth()).isEqualTo(YearMonth.from(DEFAULT_DATE).toString());
+        assertThat(testMonth.getTotalIncome()).isEqualTo(DEFAULT_AMOUNT);
+        assertThat(testMonth.getTotalOutcome().getMinorUnits()).isZero();
+        assertThat(testMonth.getItemCount()).isEqualTo(1);
+
+        // Move it to another month, with another amount
+        restIncomeMockMvc.perform(put("/api/incomes")
+            .contentType(TestUtil.APPLICATION_JSON_UTF8)
+            .content(TestUtil.convertObjectToJsonBytes(saved.amount(UPDATED_AMOUNT).date(UPDATED_DATE))))
+            .andExpect(status().isOk());
+        ledgerProjector.projectPending();
+        testMonth = budgetMonthRepository.findById(defaultMonth).get();
+        assertThat(testMonth.getTotalIncome().getMinorUnits()).isZero();
+        assertThat(testMonth.getItemCount()).isZero();
+        testMonth = budgetMonthRepository.findById(updatedMonth).get();
+        assertThat(testMonth.getTotalIncome()).isEqualTo(UPDATED_AMOUNT);
+        assertThat(testMonth.getItemCount()).isEqualTo(1);
+
+        // Delete it in bulk
+        restIncomeMockMvc.perform(delete("/api/incomes/bulk")
+            .contentType(TestUtil.APPLICATION_JSON_UTF8)
+            .content(TestUtil.convertObjectToJsonBytes(Arrays.asList(saved.getId()))))
+            .andExpect(status().isOk());
+        ledgerProjector.projectPending();
+        testMonth = budgetMonthRepository.findById(updatedMonth).get();
+        assertThat(testMonth.getTotalIncome().getMinorUnits()).isZero();
+        assertThat(testMonth.getItemCount()).isZero();
+    }
+
+    @Test
+    public void createIncomeWithUnknownBudget() throws Exception {
+        int databaseSizeBeforeCreate = incomeRepository.findAll().size();
+        BudgetReference budgetReference = new BudgetReference();
+        budgetReference.setId("unknown_id");
+        income.setBudget(budgetReference);
+
+        restIncomeMockMvc.perform(post("/api/incomes")
+            .contentType(TestUtil.APPLICATION_JSON_UTF8)
+            .content(TestUtil.convertObjectToJsonBytes(income)))
+            .andExpect(status().isBadRequest());
+
+        List<Income> incomeList = incomeRepository.findAll();
+        assertThat(incomeList).hasSize(databaseSizeBeforeCreate);
     }
 
     @Test
@@ -142,6 +298,106 @@ public class IncomeResourceIntTest {
         assertThat(incomeList).hasSize(databaseSizeBeforeTest);
     }
 
+    @Test
+    public void checkDateIsRequired() throws Exception {
+        int databaseSizeBeforeTest = incomeRepository.findAll().size();
+        // set the field null
+        income.setDate(null);
+
+        // Create the Income, which fails.
+
+        restIncomeMockMvc.perform(post("/api/incomes")
+            .contentType(TestUtil.APPLICATION_JSON_UTF8)
+            .content(TestUtil.convertObjectToJsonBytes(income)))
+            .andExpect(status().isBadRequest());
+
+        List<Income> incomeList = incomeRepository.findAll();
+        assertThat(incomeList).hasSize(databaseSizeBeforeTest);
+    }
+
+    @Test
+    public void checkAmountPrecisionIsValidated() throws Exception {
+        int databaseSizeBeforeTest = incomeRepository.findAll().size();
+
+        // An amount with more decimals than the currency allows is rejected, not rounded
+        restIncomeMockMvc.perform(post("/api/incomes")
+            .contentType(TestUtil.APPLICATION_JSON_UTF8)
+            .content("{\"amount\": 1.005}"))
+            .andExpect(status().isBadRequest());
+
+        List<Income> incomeList = incomeRepository.findAll();
+        assertThat(incomeList).hasSize(databaseSizeBeforeTest);
+    }
+
+    @Test
+    public void createIncomesInBulk() throws Exception {
+        Budget budget = budgetRepository.save(BudgetResourceIntTest.createEntity());
+        BudgetReference budgetReference = new BudgetReference();
+        budgetReference.setId(budget.getId());
+        BudgetReference unknownBudget = new BudgetReference();
+        unknownBudget.setId("unknown_id");
+        List<Income> incomes = Arrays.asList(
+            createEntity().budget(budgetReference),
+            new Income(),
+            createEntity().budget(unknownBudget),
+            new Income().amount(UPDATED_AMOUNT).date(UPDATED_DATE).budget(budgetReference));
+
+        // Create the Incomes, the invalid ones fail on their own
+        restIncomeMockMvc.perform(post("/api/incomes/bulk")
+            .contentType(TestUtil.APPLICATION_JSON_UTF8)
+            .content(TestUtil.convertObjectToJsonBytes(incomes)))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.succeeded").value(2))
+            .andExpect(jsonPath("$.failed").value(2))
+            .andExpect(jsonPath("$.items[0].success").value(true))
+            .andExpect(jsonPath("$.items[1].success").value(false))
+            .andExpect(jsonPath("$.items[1].error").value(containsString("amount")))
+            .andExpect(jsonPath("$.items[2].error").value("Invalid budget"))
+            .andExpect(jsonPath("$.items[3].success").value(true));
+
+        // Validate the Incomes and the budget totals in the database
+        List<Income> incomeList = incomeRepository.findAll();
+        assertThat(incomeList).hasSize(2);
+        assertThat(incomeList).allMatch(income -> budget.getTitle().equals(income.getBudget().getTitle()));
+        ledgerProjector.projectPending();
+        Budget testBudget = budgetRepository.findById(budget.getId()).get();
+        assertThat(testBudget.getTotalIncome()).isEqualTo(DEFAULT_AMOUNT.plus(UPDATED_AMOUNT));
+        assertThat(testBudget.getItemCount()).isEqualTo(2);
+    }
+
+    @Test
+    public void updateAndDeleteIncomesInBulk() throws Exception {
+        Budget budget = budgetRepository.save(BudgetResourceIntTest.createEntity());
+        Income first = incomeService.save(createEntity().budget(new BudgetReference(budget)));
+        Income second = incomeService.save(createEntity().budget(new BudgetReference(budget)));
+        Income unknown = createEntity();
+        unknown.setId("unknown_id");
+
+        // Update the Incomes
+        restIncomeMockMvc.perform(put("/api/incomes/bulk")
+            .contentType(TestUtil.APPLICATION_JSON_UTF8)
+            .content(TestUtil.convertObjectToJsonBytes(Arrays.asList(first.amount(UPDATED_AMOUNT), unknown))))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.items[0].success").value(true))
+            .andExpect(jsonPath("$.items[1].error").value("No income with this id"));
+        assertThat(incomeRepository.findById(first.getId()).get().getAmount()).isEqualTo(UPDATED_AMOUNT);
+        ledgerProjector.projectPending();
+        assertThat(budgetRepository.findById(budget.getId()).get().getTotalIncome()).isEqualTo(UPDATED_AMOUNT.plus(DEFAULT_AMOUNT));
+
+        // Delete them, a repeated id is only deleted once
+        restIncomeMockMvc.perform(delete("/api/incomes/bulk")
+            .contentType(TestUtil.APPLICATION_JSON_UTF8)
+            .content(TestUtil.convertObjectToJsonBytes(Arrays.asList(first.getId(), second.getId(), first.getId()))))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.succeeded").value(2))
+            .andExpect(jsonPath("$.items[2].error").value("Duplicate id"));
+        assertThat(incomeRepository.findAll()).isEmpty();
+        ledgerProjector.projectPending();
+        Budget testBudget = budgetRepository.findById(budget.getId()).get();
+        assertThat(testBudget.getTotalIncome().getMinorUnits()).isZero();
+        assertThat(testBudget.getItemCount()).isZero();
+    }
+
     @Test
     public void getAllIncomes() throws Exception {
         // Initialize the database
@@ -152,9 +408,75 @@ public class IncomeResourceIntTest {
             .andExpect(status().isOk())
             .andExpect(content().contentType(MediaType.APPLICATION_JSON_UTF8_VALUE))
             .andExpect(jsonPath("$.[*].id").value(hasItem(income.getId())))
-            .andExpect(jsonPath("$.[*].amount").value(hasItem(DEFAULT_AMOUNT.doubleValue())));
+            .andExpect(jsonPath("$.[*].amount").value(hasItem(DEFAULT_AMOUNT.toBigDecimal().doubleValue())))
+            .andExpect(jsonPath("$.[*].date").value(hasItem(DEFAULT_DATE.toString())));
     }
     
+    @Test
+    public void getAllIncomesAfter() throws Exception {
+        // Initialize the database
+        Income first = incomeRepository.save(createEntity());
+        Income second = incomeRepository.save(createEntity());
+        Income third = incomeRepository.save(createEntity());
+
+        // Get the first slice
+        restIncomeMockMvc.perform(get("/api/incomes?after=&size=2"))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_UTF8_VALUE))
+            .andExpect(jsonPath("$.length()").value(2))
+            .andExpect(jsonPath("$.[0].id").value(first.getId()))
+            .andExpect(jsonPath("$.[1].id").value(second.getId()))
+            .andExpect(header().string(HttpHeaders.LINK, containsString("after=" + second.getId())))
+            .andExpect(header().doesNotExist("X-Total-Count"));
+
+        // Get the last slice
+        restIncomeMockMvc.perform(get("/api/incomes?after={after}&size=2", second.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(1))
+            .andExpect(jsonPath("$.[0].id").value(third.getId()))
+            .andExpect(header().string(HttpHeaders.LINK, not(containsString("rel=\"next\""))));
+    }
+
+    @Test
+    public void getAllIncomesAfterInvalidCursor() throws Exception {
+        restIncomeMockMvc.perform(get("/api/incomes?after=invalid"))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void getAllIncomesOfBudgetAfter() throws Exception {
+        // Initialize the database
+        BudgetReference budgetReference = new BudgetReference(budgetRepository.save(BudgetResourceIntTest.createEntity()));
+        Income first = incomeRepository.save(createEntity().budget(budgetReference));
+        incomeRepository.save(createEntity());
+        Income second = incomeRepository.save(createEntity().budget(budgetReference));
+
+        // Get the slices of the budget only
+        restIncomeMockMvc.perform(get("/api/incomes?budgetId={budgetId}&after=&size=1", budgetReference.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(1))
+            .andExpect(jsonPath("$.[0].id").value(first.getId()))
+            .andExpect(header().string(HttpHeaders.LINK, containsString("budgetId=" + budgetReference.getId())))
+            .andExpect(header().string(HttpHeaders.LINK, containsString("after=" + first.getId())));
+
+        restIncomeMockMvc.perform(get("/api/incomes?budgetId={budgetId}&after={after}&size=1", budgetReference.getId(), first.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(1))
+            .andExpect(jsonPath("$.[0].id").value(second.getId()));
+    }
+
+    @Test
+    public void getAllIncomeFieldsWithBudgetOrCursor() throws Exception {
+        // The fields are not applied to the pages of a budget nor to the keyset pages
+        restIncomeMockMvc.perform(get("/api/incomes?fields=amount&budgetId=1"))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.message").value("error.fieldsunsupported"));
+
+        restIncomeMockMvc.perform(get("/api/incomes?fields=amount&after="))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.message").value("error.fieldsunsupported"));
+    }
+
     @Test
     public void getIncome() throws Exception {
         // Initialize the database
@@ -165,7 +487,8 @@ public class IncomeResourceIntTest {
             .andExpect(status().isOk())
             .andExpect(content().contentType(MediaType.APPLICATION_JSON_UTF8_VALUE))
             .andExpect(jsonPath("$.id").value(income.getId()))
-            .andExpect(jsonPath("$.amount").value(DEFAULT_AMOUNT.doubleValue()));
+            .andExpect(jsonPath("$.amount").value(DEFAULT_AMOUNT.toBigDecimal().doubleValue()))
+            .andExpect(jsonPath("$.date").value(DEFAULT_DATE.toString()));
     }
 
     @Test
@@ -185,7 +508,8 @@ public class IncomeResourceIntTest {
         // Update the income
         Income updatedIncome = incomeRepository.findById(income.getId()).get();
         updatedIncome
-            .amount(UPDATED_AMOUNT);
+            .amount(UPDATED_AMOUNT)
+            .date(UPDATED_DATE);
 
         restIncomeMockMvc.perform(put("/api/incomes")
             .contentType(TestUtil.APPLICATION_JSON_UTF8)
@@ -197,6 +521,7 @@ public class IncomeResourceIntTest {
         assertThat(incomeList).hasSize(databaseSizeBeforeUpdate);
         Income testIncome = incomeList.get(incomeList.size() - 1);
         assertThat(testIncome.getAmount()).isEqualTo(UPDATED_AMOUNT);
+        assertThat(testIncome.getDate()).isEqualTo(UPDATED_DATE);
     }
 
     @Test
@@ -2,8 +2,14 @@ package com.mycompany.myapp.web.rest;
 
 import com.mycompany.myapp.MonthlyBudgetApp;
 
+import com.mycompany.myapp.domain.Budget;
+import com.mycompany.myapp.domain.BudgetReference;
 import com.mycompany.myapp.domain.Outcome;
+import com.mycompany.myapp.domain.Money;
+import com.mycompany.myapp.repository.BudgetRepository;
 import com.mycompany.myapp.repository.OutcomeRepository;
+import com.mycompany.myapp.service.LedgerProjector;
+import com.mycompany.myapp.service.OutcomeService;
 import com.mycompany.myapp.web.rest.errors.ExceptionTranslator;
 
 import org.junit.Before;
@@ -13,6 +19,7 @@ import org.mockito.MockitoAnnotations;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.data.web.PageableHandlerMethodArgumentResolver;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
 import org.springframework.test.context.junit4.SpringRunner;
@@ -20,12 +27,18 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.validation.Validator;
 
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Arrays;
 import java.util.List;
 
 
 import static com.mycompany.myapp.web.rest.TestUtil.createFormattingConversionService;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.not;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -38,12 +51,27 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 @SpringBootTest(classes = MonthlyBudgetApp.class)
 public class OutcomeResourceIntTest {
 
-    private static final Float DEFAULT_AMOUNT = 1F;
-    private static final Float UPDATED_AMOUNT = 2F;
+    private static final Money DEFAULT_AMOUNT = Money.of(BigDecimal.ONE);
+    private static final Money UPDATED_AMOUNT = Money.of(new BigDecimal("2.50"));
+
+    private static final LocalDate DEFAULT_DATE = LocalDate.ofEpochDay(0L);
+    private static final LocalDate UPDATED_DATE = LocalDate.now(ZoneId.systemDefault());
+
+    private static final String DEFAULT_CATEGORY = "AAAAAAAAAA";
+    private static final String UPDATED_CATEGORY = "BBBBBBBBBB";
 
     @Autowired
     private OutcomeRepository outcomeRepository;
 
+    @Autowired
+    private OutcomeService outcomeService;
+
+    @Autowired
+    private BudgetRepository budgetRepository;
+
+    @Autowired
+    private LedgerProjector ledgerProjector;
+
     @Autowired
     private MappingJackson2HttpMessageConverter jacksonMessageConverter;
 
@@ -63,7 +91,7 @@ public class OutcomeResourceIntTest {
     @Before
     public void setup() {
         MockitoAnnotations.initMocks(this);
-        final OutcomeResource outcomeResource = new OutcomeResource(outcomeRepository);
+        final OutcomeResource outcomeResource = new OutcomeResource(outcomeService, jacksonMessageConverter.getObjectMapper());
         this.restOutcomeMockMvc = MockMvcBuilders.standaloneSetup(outcomeResource)
             .setCustomArgumentResolvers(pageableArgumentResolver)
             .setControllerAdvice(exceptionTranslator)
@@ -80,7 +108,9 @@ public class OutcomeResourceIntTest {
      */
     public static Outcome createEntity() {
         Outcome outcome = new Outcome()
-            .amount(DEFAULT_AMOUNT);
+            .amount(DEFAULT_AMOUNT)
+            .date(DEFAULT_DATE)
+            .category(DEFAULT_CATEGORY);
         return outcome;
     }
 
@@ -105,6 +135,46 @@ public class OutcomeResourceIntTest {
         assertThat(outcomeList).hasSize(databaseSizeBeforeCreate + 1);
         Outcome testOutcome = outcomeList.get(outcomeList.size() - 1);
         assertThat(testOutcome.getAmount()).isEqualTo(DEFAULT_AMOUNT);
+        assertThat(testOutcome.getDate()).isEqualTo(DEFAULT_DATE);
+        assertThat(testOutcome.getCategory()).isEqualTo(DEFAULT_CATEGORY);
+    }
+
+    @Test
+    public void createOutcomeWithBudget() throws Exception {
+        Budget budget = budgetRepository.save(BudgetResourceIntTest.createEntity());
+        BudgetReference budgetReference = new BudgetReference();
+        budgetReference.setId(budget.getId());
+        outcome.setBudget(budgetReference);
+
+        // Create the Outcome, referencing the budget by id only
+        restOutcomeMockMvc.perform(post("/api/outcomes")
+            .contentType(TestUtil.APPLICATION_JSON_UTF8)
+            .content(TestUtil.convertObjectToJsonBytes(outcome)))
+            .andExpect(status().isCreated())
+            .andExpect(jsonPath("$.budget.id").value(budget.getId()))
+            .andExpect(jsonPath("$.budget.title").value(budget.getTitle()));
+
+        // Validate the budget title is denormalized in the database
+        List<Outcome> outcomeList = outcomeRepository.findAll();
+        Outcome testOutcome = outcomeList.get(outcomeList.size() - 1);
+        assertThat(testOutcome.getBudget().getId()).isEqualTo(budget.getId());
+        assertThat(testOutcome.getBudget().getTitle()).isEqualTo(budget.getTitle());
+    }
+
+    @Test
+    public void createOutcomeWithUnknownBudget() throws Exception {
+        int databaseSizeBeforeCreate = outcomeRepository.findAll().size();
+        BudgetReference budgetReference = new BudgetReference();
+        budgetReference.setId("unknown_id");
+        outcome.setBudget(budgetReference);
+
+        restOutcomeMockMvc.perform(post("/api/outcomes")
+            .contentType(TestUtil.APPLICATION_JSON_UTF8)
+            .content(TestUtil.convertObjectToJsonBytes(outcome)))
+            .andExpect(status().isBadRequest());
+
+        List<Outcome> outcomeList = outcomeRepository.findAll();
+        assertThat(outcomeList).hasSize(databaseSizeBeforeCreate);
     }
 
     @Test
@@ -142,6 +212,48 @@ public class OutcomeResourceIntTest {
         assertThat(outcomeList).hasSize(databaseSizeBeforeTest);
     }
 
+    @Test
+    public void checkDateIsRequired() throws Exception {
+        int databaseSizeBeforeTest = outcomeRepository.findAll().size();
+        // set the field null
+        outcome.setDate(null);
+
+        // Create the Outcome, which fails.
+
+        restOutcomeMockMvc.perform(post("/api/outcomes")
+            .contentType(TestUtil.APPLICATION_JSON_UTF8)
+            .content(TestUtil.convertObjectToJsonBytes(outcome)))
+            .andExpect(status().isBadRequest());
+
+        List<Outcome> outcomeList = outcomeRepository.findAll();
+        assertThat(outcomeList).hasSize(databaseSizeBeforeTest);
+    }
+
+    @Test
+    public void createOutcomesInBulk() throws Exception {
+        Budget budget = budgetRepository.save(BudgetResourceIntTest.createEntity());
+        List<Outcome> outcomes = Arrays.asList(
+            createEntity().budget(new BudgetReference(budget)),
+            new Outcome().budget(new BudgetReference(budget)),
+            createEntity().budget(new BudgetReference(budget)));
+
+        // Create the Outcomes, the invalid one fails on its own
+        restOutcomeMockMvc.perform(post("/api/outcomes/bulk")
+            .contentType(TestUtil.APPLICATION_JSON_UTF8)
+            .content(TestUtil.convertObjectToJsonBytes(outcomes)))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.succeeded").value(2))
+            .andExpect(jsonPath("$.items[1].success").value(false));
+
+        // Validate the Outcomes and the budget totals in the database
+        assertThat(outcomeRepository.findAll()).hasSize(2);
+        ledgerProjector.projectPending();
+        Budget testBudget = budgetRepository.findById(budget.getId()).get();
+        assertThat(testBudget.getTotalOutcome()).isEqualTo(DEFAULT_AMOUNT.plus(DEFAULT_AMOUNT));
+        assertThat(testBudget.getTotalIncome().getMinorUnits()).isZero();
+        assertThat(testBudget.getItemCount()).isEqualTo(2);
+    }
+
     @Test
     public void getAllOutcomes() throws Exception {
         // Initialize the database
@@ -152,9 +264,76 @@ public class OutcomeResourceIntTest {
             .andExpect(status().isOk())
             .andExpect(content().contentType(MediaType.APPLICATION_JSON_UTF8_VALUE))
             .andExpect(jsonPath("$.[*].id").value(hasItem(outcome.getId())))
-            .andExpect(jsonPath("$.[*].amount").value(hasItem(DEFAULT_AMOUNT.doubleValue())));
+            .andExpect(jsonPath("$.[*].amount").value(hasItem(DEFAULT_AMOUNT.toBigDecimal().doubleValue())))
+            .andExpect(jsonPath("$.[*].date").value(hasItem(DEFAULT_DATE.toString())))
+            .andExpect(jsonPath("$.[*].category").value(hasItem(DEFAULT_CATEGORY)));
     }
     
+    @Test
+    public void getAllOutcomesAfter() throws Exception {
+        // Initialize the database
+        Outcome first = outcomeRepository.save(createEntity());
+        Outcome second = outcomeRepository.save(createEntity());
+        Outcome third = outcomeRepository.save(createEntity());
+
+        // Get the first slice
+        restOutcomeMockMvc.perform(get("/api/outcomes?after=&size=2"))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_UTF8_VALUE))
+            .andExpect(jsonPath("$.length()").value(2))
+            .andExpect(jsonPath("$.[0].id").value(first.getId()))
+            .andExpect(jsonPath("$.[1].id").value(second.getId()))
+            .andExpect(header().string(HttpHeaders.LINK, containsString("after=" + second.getId())))
+            .andExpect(header().doesNotExist("X-Total-Count"));
+
+        // Get the last slice
+        restOutcomeMockMvc.perform(get("/api/outcomes?after={after}&size=2", second.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(1))
+            .andExpect(jsonPath("$.[0].id").value(third.getId()))
+            .andExpect(header().string(HttpHeaders.LINK, not(containsString("rel=\"next\""))));
+    }
+
+    @Test
+    public void getAllOutcomesAfterInvalidCursor() throws Exception {
+        restOutcomeMockMvc.perform(get("/api/outcomes?after=invalid"))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void getAllOutcomesOfBudgetAfter() throws Exception {
+        // Initialize the database
+        BudgetReference budgetReference = new BudgetReference(budgetRepository.save(BudgetResourceIntTest.createEntity()));
+        Outcome first = outcomeRepository.save(createEntity().budget(budgetReference));
+        outcomeRepository.save(createEntity());
+        Outcome second = outcomeRepository.save(createEntity().budget(budgetReference));
+
+        // Get the slices of the budget only
+        restOutcomeMockMvc.perform(get("/api/outcomes?budgetId={budgetId}&after=&size=1", budgetReference.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(1))
+            .andExpect(jsonPath("$.[0].id").value(first.getId()))
+            .andExpect(header().string(HttpHeaders.LINK, containsString("budgetId=" + budgetReference.getId())))
+            .andExpect(header().string(HttpHeaders.LINK, containsString("after=" + first.getId())));
+
+        restOutcomeMockMvc.perform(get("/api/outcomes?budgetId={budgetId}&after={after}&size=1", budgetReference.getId(), first.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(1))
+            .andExpect(jsonPath("$.[0].id").value(second.getId()));
+    }
+
+    @Test
+    public void getAllOutcomeFieldsWithBudgetOrCursor() throws Exception {
+        // The fields are not applied to the pages of a budget nor to the keyset pages
+        restOutcomeMockMvc.perform(get("/api/outcomes?fields=amount&budgetId=1"))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.message").value("error.fieldsunsupported"));
+
+        restOutcomeMockMvc.perform(get("/api/outcomes?fields=amount&after="))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.message").value("error.fieldsunsupported"));
+    }
+
     @Test
     public void getOutcome() throws Exception {
         // Initialize the database
@@ -165,7 +344,24 @@ public class OutcomeResourceIntTest {
             .andExpect(status().isOk())
             .andExpect(content().contentType(MediaType.APPLICATION_JSON_UTF8_VALUE))
             .andExpect(jsonPath("$.id").value(outcome.getId()))
-            .andExpect(jsonPath("$.amount").value(DEFAULT_AMOUNT.doubleValue()));
+            .andExpect(jsonPath("$.amount").value(DEFAULT_AMOUNT.toBigDecimal().doubleValue()))
+            .andExpect(jsonPath("$.date").value(DEFAULT_DATE.toString()))
+            .andExpect(jsonPath("$.category").value(DEFAULT_CATEGORY));
+    }
+
+    @Test
+    public void getOutcomeIfNoneMatch() throws Exception {
+        // Initialize the database
+        outcomeRepository.save(outcome);
+
+        restOutcomeMockMvc.perform(get("/api/outcomes/{id}", outcome.getId()).header(HttpHeaders.IF_NONE_MATCH, "\"0\""))
+            .andExpect(status().isNotModified())
+            .andExpect(header().string(HttpHeaders.ETAG, "\"0\""));
+
+        restOutcomeMockMvc.perform(get("/api/outcomes/{id}", outcome.getId()).header(HttpHeaders.IF_NONE_MATCH, "\"1\""))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, "\"0\""))
+            .andExpect(jsonPath("$.id").value(outcome.getId()));
     }
 
     @Test
@@ -185,7 +381,9 @@ public class OutcomeResourceIntTest {
         // Update the outcome
         Outcome updatedOutcome = outcomeRepository.findById(outcome.getId()).get();
         updatedOutcome
-            .amount(UPDATED_AMOUNT);
+            .amount(UPDATED_AMOUNT)
+            .date(UPDATED_DATE)
+            .category(UPDATED_CATEGORY);
 
         restOutcomeMockMvc.perform(put("/api/outcomes")
             .contentType(TestUtil.APPLICATION_JSON_UTF8)
@@ -197,6 +395,79 @@ public class OutcomeResourceIntTest {
         assertThat(outcomeList).hasSize(databaseSizeBeforeUpdate);
         Outcome testOutcome = outcomeList.get(outcomeList.size() - 1);
         assertThat(testOutcome.getAmount()).isEqualTo(UPDATED_AMOUNT);
+        assertThat(testOutcome.getDate()).isEqualTo(UPDATED_DATE);
+        assertThat(testOutcome.getCategory()).isEqualTo(UPDATED_CATEGORY);
+        assertThat(testOutcome.getVersion()).isEqualTo(1L);
+    }
+
+    @Test
+    public void updateOutcomeIfMatch() throws Exception {
+        // Initialize the database
+        outcomeRepository.save(outcome);
+
+        // Update the outcome from the version it was read with
+        Outcome updatedOutcome = outcomeRepository.findById(outcome.getId()).get();
+        updatedOutcome.amount(UPDATED_AMOUNT);
+        restOutcomeMockMvc.perform(put("/api/outcomes")
+            .header(HttpHeaders.IF_MATCH, "\"0\"")
+            .contentType(TestUtil.APPLICATION_JSON_UTF8)
+            .content(TestUtil.convertObjectToJsonBytes(updatedOutcome)))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, "\"1\""));
+
+        // A concurrent editor, who read the same version, cannot overwrite the update
+        updatedOutcome.category(UPDATED_CATEGORY);
+        restOutcomeMockMvc.perform(put("/api/outcomes")
+            .header(HttpHeaders.IF_MATCH, "\"0\"")
+            .contentType(TestUtil.APPLICATION_JSON_UTF8)
+            .content(TestUtil.convertObjectToJsonBytes(updatedOutcome)))
+            .andExpect(status().isPreconditionFailed())
+            .andExpect(jsonPath("$.message").value("error.concurrencyFailure"));
+
+        restOutcomeMockMvc.perform(put("/api/outcomes")
+            .header(HttpHeaders.IF_MATCH, "W/\"1\"")
+            .contentType(TestUtil.APPLICATION_JSON_UTF8)
+            .content(TestUtil.convertObjectToJsonBytes(updatedOutcome)))
+            .andExpect(status().isPreconditionFailed());
+
+        Outcome testOutcome = outcomeRepository.findById(outcome.getId()).get();
+        assertThat(testOutcome.getAmount()).isEqualTo(UPDATED_AMOUNT);
+        assertThat(testOutcome.getCategory()).isEqualTo(DEFAULT_CATEGORY);
+        assertThat(testOutcome.getVersion()).isEqualTo(1L);
+    }
+
+    @Test
+    public void patchOutcome() throws Exception {
+        // Initialize the database
+        outcomeRepository.save(outcome);
+
+        // Only the patched fields are written
+        restOutcomeMockMvc.perform(patch("/api/outcomes/{id}", outcome.getId())
+            .contentType("application/merge-patch+json")
+            .content("{\"amount\": 2.50, \"category\": null}"))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, "\"1\""))
+            .andExpect(jsonPath("$.amount").value(UPDATED_AMOUNT.toBigDecimal().doubleValue()))
+            .andExpect(jsonPath("$.date").value(DEFAULT_DATE.toString()))
+            .andExpect(jsonPath("$.category").doesNotExist());
+
+        // The touched fields are validated
+        restOutcomeMockMvc.perform(patch("/api/outcomes/{id}", outcome.getId())
+            .contentType("application/merge-patch+json")
+            .content("{\"amount\": null}"))
+            .andExpect(status().isBadRequest());
+
+        restOutcomeMockMvc.perform(patch("/api/outcomes/{id}", outcome.getId())
+            .header(HttpHeaders.IF_MATCH, "\"0\"")
+            .contentType("application/merge-patch+json")
+            .content("{\"category\": \"" + UPDATED_CATEGORY + "\"}"))
+            .andExpect(status().isPreconditionFailed());
+
+        Outcome testOutcome = outcomeRepository.findById(outcome.getId()).get();
+        assertThat(testOutcome.getAmount()).isEqualTo(UPDATED_AMOUNT);
+        assertThat(testOutcome.getDate()).isEqualTo(DEFAULT_DATE);
+        assertThat(testOutcome.getCategory()).isNull();
+        assertThat(testOutcome.getVersion()).isEqualTo(1L);
     }
 
     @Test
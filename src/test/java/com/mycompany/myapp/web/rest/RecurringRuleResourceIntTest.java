@@ -0,0 +1,398 @@
+package com.mycompany.myapp.web.rest;
+
+import com.mycompany.myapp.MonthlyBudgetApp;
+
+import com.mycompany.myapp.domain.Budget;
+import com.mycompany.myapp.domain.BudgetReference;
+import com.mycompany.myapp.domain.Money;
+import com.mycompany.myapp.domain.RecurringRule;
+import com.mycompany.myapp.domain.enumeration.Frequency;
+import com.mycompany.myapp.domain.enumeration.LineItemType;
+import com.mycompany.myapp.repository.BudgetRepository;
+import com.mycompany.myapp.repository.RecurringRuleRepository;
+import com.mycompany.myapp.service.RecurringRuleService;
+import com.mycompany.myapp.web.rest.errors.ExceptionTranslator;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.MockitoAnnotations;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.web.PageableHandlerMethodArgumentResolver;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.validation.Validator;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.List;
+
+
+import static com.mycompany.myapp.web.rest.TestUtil.createFormattingConversionService;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasItem;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Test class for the RecurringRuleResource REST controller.
+ *
+ * @see RecurringRuleResource
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest(classes = MonthlyBudgetApp.class)
+public class RecurringRuleResourceIntTest {
+
+    private static final String DEFAULT_TITLE = "AAAAAAAAAA";
+    private static final String UPDATED_TITLE = "BBBBBBBBBB";
+
+    private static final LineItemType DEFAULT_TYPE = LineItemType.INCOME;
+    private static final LineItemType UPDATED_TYPE = LineItemType.OUTCOME;
+
+    private static final Money DEFAULT_AMOUNT = Money.of(BigDecimal.ONE);
+    private static final Money UPDATED_AMOUNT = Money.of(new BigDecimal("2.50"));
+
+    private static final Frequency DEFAULT_FREQUENCY = Frequency.MONTHLY;
+    private static final Frequency UPDATED_FREQUENCY = Frequency.WEEKLY;
+
+    private static final Integer DEFAULT_INTERVAL = 1;
+    private static final Integer UPDATED_INTERVAL = 2;
+
+    private static final LocalDate DEFAULT_START_DATE = LocalDate.ofEpochDay(0L);
+    private static final LocalDate UPDATED_START_DATE = LocalDate.now(ZoneId.systemDefault());
+
+    private static final LocalDate DEFAULT_END_DATE = LocalDate.ofEpochDay(365L);
+    private static final LocalDate UPDATED_END_DATE = UPDATED_START_DATE.plusYears(1);
+
+    @Autowired
+    private RecurringRuleRepository recurringRuleRepository;
+
+    @Autowired
+    private RecurringRuleService recurringRuleService;
+
+    @Autowired
+    private BudgetRepository budgetRepository;
+
+    @Autowired
+    private MappingJackson2HttpMessageConverter jacksonMessageConverter;
+
+    @Autowired
+    private PageableHandlerMethodArgumentResolver pageableArgumentResolver;
+
+    @Autowired
+    private ExceptionTranslator exceptionTranslator;
+
+    @Autowired
+    private Validator validator;
+
+    private MockMvc restRecurringRuleMockMvc;
+
+    private RecurringRule recurringRule;
+
+    @Before
+    public void setup() {
+        MockitoAnnotations.initMocks(this);
+        final RecurringRuleResource recurringRuleResource = new RecurringRuleResource(recurringRuleService);
+        this.restRecurringRuleMockMvc = MockMvcBuilders.standaloneSetup(recurringRuleResource)
+            .setCustomArgumentResolvers(pageableArgumentResolver)
+            .setControllerAdvice(exceptionTranslator)
+            .setConversionService(createFormattingConversionService())
+            .setMessageConverters(jacksonMessageConverter)
+            .setValidator(validator).build();
+    }
+
+    /**
+     * Create an entity for this test.
+     *
+     * This is a static method, as tests for other entities might also need it,
+     * if they test an entity which requires the current entity.
+     */
+    public static RecurringRule createEntity() {
+        RecurringRule recurringRule = new RecurringRule()
+            .title(DEFAULT_TITLE)
+            .type(DEFAULT_TYPE)
+            .amount(DEFAULT_AMOUNT)
+            .frequency(DEFAULT_FREQUENCY)
+            .interval(DEFAULT_INTERVAL)
+            .startDate(DEFAULT_START_DATE)
+            .endDate(DEFAULT_END_DATE);
+        return recurringRule;
+    }
+
+    @Before
+    public void initTest() {
+        recurringRuleRepository.deleteAll();
+        recurringRule = createEntity();
+    }
+
+    @Test
+    public void createRecurringRule() throws Exception {
+        int databaseSizeBeforeCreate = recurringRuleRepository.findAll().size();
+
+        // Create the RecurringRule
+        restRecurringRuleMockMvc.perform(post("/api/recurring-rules")
+            .contentType(TestUtil.APPLICATION_JSON_UTF8)
+            .content(TestUtil.convertObjectToJsonBytes(recurringRule)))
+            .andExpect(status().isCreated());
+
+        // Validate the RecurringRule in the database
+        List<RecurringRule> recurringRuleList = recurringRuleRepository.findAll();
+        assertThat(recurringRuleList).hasSize(databaseSizeBeforeCreate + 1);
+        RecurringRule testRecurringRule = recurringRuleList.get(recurringRuleList.size() - 1);
+        assertThat(testRecurringRule.getTitle()).isEqualTo(DEFAULT_TITLE);
+        assertThat(testRecurringRule.getType()).isEqualTo(DEFAULT_TYPE);
+        assertThat(testRecurringRule.getAmount()).isEqualTo(DEFAULT_AMOUNT);
+        assertThat(testRecurringRule.getFrequency()).isEqualTo(DEFAULT_FREQUENCY);
+        assertThat(testRecurringRule.getInterval()).isEqualTo(DEFAULT_INTERVAL);
+        assertThat(testRecurringRule.getStartDate()).isEqualTo(DEFAULT_START_DATE);
+        assertThat(testRecurringRule.getEndDate()).isEqualTo(DEFAULT_END_DATE);
+    }
+
+    @Test
+    public void createRecurringRuleWithBudget() throws Exception {
+        Budget budget = budgetRepository.save(BudgetResourceIntTest.createEntity());
+        BudgetReference budgetReference = new BudgetReference();
+        budgetReference.setId(budget.getId());
+        recurringRule.setBudget(budgetReference);
+
+        // Create the RecurringRule, referencing the budget by id only
+        restRecurringRuleMockMvc.perform(post("/api/recurring-rules")
+            .contentType(TestUtil.APPLICATION_JSON_UTF8)
+            .content(TestUtil.convertObjectToJsonBytes(recurringRule)))
+            .andExpect(status().isCreated())
+            .andExpect(jsonPath("$.budget.id").value(budget.getId()))
+            .andExpect(jsonPath("$.budget.title").value(budget.getTitle()));
+    }
+
+    @Test
+    public void createRecurringRuleWithExistingId() throws Exception {
+        int databaseSizeBeforeCreate = recurringRuleRepository.findAll().size();
+
+        // Create the RecurringRule with an existing ID
+        recurringRule.setId("existing_id");
+
+        // An entity with an existing ID cannot be created, so this API call must fail
+        restRecurringRuleMockMvc.perform(post("/api/recurring-rules")
+            .contentType(TestUtil.APPLICATION_JSON_UTF8)
+            .content(TestUtil.convertObjectToJsonBytes(recurringRule)))
+            .andExpect(status().isBadRequest());
+
+        // Validate the RecurringRule in the database
+        List<RecurringRule> recurringRuleList = recurringRuleRepository.findAll();
+        assertThat(recurringRuleList).hasSize(databaseSizeBeforeCreate);
+    }
+
+    @Test
+    public void checkTitleIsRequired() throws Exception {
+        int databaseSizeBeforeTest = recurringRuleRepository.findAll().size();
+        // set the field null
+        recurringRule.setTitle(null);
+
+        // Create the RecurringRule, which fails.
+
+        restRecurringRuleMockMvc.perform(post("/api/recurring-rules")
+            .contentType(TestUtil.APPLICATION_JSON_UTF8)
+            .content(TestUtil.convertObjectToJsonBytes(recurringRule)))
+            .andExpect(status().isBadRequest());
+
+        List<RecurringRule> recurringRuleList = recurringRuleRepository.findAll();
+        assertThat(recurringRuleList).hasSize(databaseSizeBeforeTest);
+    }
+
+    @Test
+    public void checkFrequencyIsRequired() throws Exception {
+        int databaseSizeBeforeTest = recurringRuleRepository.findAll().size();
+        // set the field null
+        recurringRule.setFrequency(null);
+
+        // Create the RecurringRule, which fails.
+
+        restRecurringRuleMockMvc.perform(post("/api/recurring-rules")
+            .contentType(TestUtil.APPLICATION_JSON_UTF8)
+            .content(TestUtil.convertObjectToJsonBytes(recurringRule)))
+            .andExpect(status().isBadRequest());
+
+        List<RecurringRule> recurringRuleList = recurringRuleRepository.findAll();
+        assertThat(recurringRuleList).hasSize(databaseSizeBeforeTest);
+    }
+
+    @Test
+    public void checkStartDateIsRequired() throws Exception {
+        int databaseSizeBeforeTest = recurringRuleRepository.findAll().size();
+        // set the field null
+        recurringRule.setStartDate(null);
+
+        // Create the RecurringRule, which fails.
+
+        restRecurringRuleMockMvc.perform(post("/api/recurring-rules")
+            .contentType(TestUtil.APPLICATION_JSON_UTF8)
+            .content(TestUtil.convertObjectToJsonBytes(recurringRule)))
+            .andExpect(status().isBadRequest());
+
+        List<RecurringRule> recurringRuleList = recurringRuleRepository.findAll();
+        assertThat(recurringRuleList).hasSize(databaseSizeBeforeTest);
+    }
+
+    @Test
+    public void checkIntervalIsPositive() throws Exception {
+        int databaseSizeBeforeTest = recurringRuleRepository.findAll().size();
+        recurringRule.setInterval(0);
+
+        // Create the RecurringRule, which fails.
+
+        restRecurringRuleMockMvc.perform(post("/api/recurring-rules")
+            .contentType(TestUtil.APPLICATION_JSON_UTF8)
+            .content(TestUtil.convertObjectToJsonBytes(recurringRule)))
+            .andExpect(status().isBadRequest());
+
+        List<RecurringRule> recurringRuleList = recurringRuleRepository.findAll();
+        assertThat(recurringRuleList).hasSize(databaseSizeBeforeTest);
+    }
+
+    @Test
+    public void getAllRecurringRules() throws Exception {
+        // Initialize the database
+        recurringRuleRepository.save(recurringRule);
+
+        // Get all the recurringRuleList
+        restRecurringRuleMockMvc.perform(get("/api/recurring-rules?sort=id,desc"))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_UTF8_VALUE))
+            .andExpect(jsonPath("$.[*].id").value(hasItem(recurringRule.getId())))
+            .andExpect(jsonPath("$.[*].title").value(hasItem(DEFAULT_TITLE)))
+            .andExpect(jsonPath("$.[*].type").value(hasItem(DEFAULT_TYPE.toString())))
+            .andExpect(jsonPath("$.[*].amount").value(hasItem(DEFAULT_AMOUNT.toBigDecimal().doubleValue())))
+            .andExpect(jsonPath("$.[*].frequency").value(hasItem(DEFAULT_FREQUENCY.toString())))
+            .andExpect(jsonPath("$.[*].interval").value(hasItem(DEFAULT_INTERVAL)))
+            .andExpect(jsonPath("$.[*].startDate").value(hasItem(DEFAULT_START_DATE.toString())))
+            .andExpect(jsonPath("$.[*].endDate").value(hasItem(DEFAULT_END_DATE.toString())));
+    }
+
+    @Test
+    public void getAllRecurringRulesByBudget() throws Exception {
+        // Initialize the database
+        Budget budget = budgetRepository.save(BudgetResourceIntTest.createEntity());
+        recurringRuleRepository.save(recurringRule.budget(new BudgetReference(budget)));
+        recurringRuleRepository.save(createEntity());
+
+        restRecurringRuleMockMvc.perform(get("/api/recurring-rules?budgetId={id}", budget.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(1))
+            .andExpect(jsonPath("$.[0].id").value(recurringRule.getId()));
+    }
+
+    @Test
+    public void getRecurringRule() throws Exception {
+        // Initialize the database
+        recurringRuleRepository.save(recurringRule);
+
+        // Get the recurringRule
+        restRecurringRuleMockMvc.perform(get("/api/recurring-rules/{id}", recurringRule.getId()))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_UTF8_VALUE))
+            .andExpect(jsonPath("$.id").value(recurringRule.getId()))
+            .andExpect(jsonPath("$.title").value(DEFAULT_TITLE))
+            .andExpect(jsonPath("$.type").value(DEFAULT_TYPE.toString()))
+            .andExpect(jsonPath("$.amount").value(DEFAULT_AMOUNT.toBigDecimal().doubleValue()))
+            .andExpect(jsonPath("$.frequency").value(DEFAULT_FREQUENCY.toString()))
+            .andExpect(jsonPath("$.interval").value(DEFAULT_INTERVAL))
+            .andExpect(jsonPath("$.startDate").value(DEFAULT_START_DATE.toString()))
+            .andExpect(jsonPath("$.endDate").value(DEFAULT_END_DATE.toString()));
+    }
+
+    @Test
+    public void getNonExistingRecurringRule() throws Exception {
+        // Get the recurringRule
+        restRecurringRuleMockMvc.perform(get("/api/recurring-rules/{id}", Long.MAX_VALUE))
+            .andExpect(status().isNotFound());
+    }
+
+    @Test
+    public void updateRecurringRule() throws Exception {
+        // Initialize the database
+        recurringRuleRepository.save(recurringRule);
+
+        int databaseSizeBeforeUpdate = recurringRuleRepository.findAll().size();
+
+        // Update the recurringRule
+        RecurringRule updatedRecurringRule = recurringRuleRepository.findById(recurringRule.getId()).get();
+        updatedRecurringRule
+            .title(UPDATED_TITLE)
+            .type(UPDATED_TYPE)
+            .amount(UPDATED_AMOUNT)
+            .frequency(UPDATED_FREQUENCY)
+            .interval(UPDATED_INTERVAL)
+            .startDate(UPDATED_START_DATE)
+            .endDate(UPDATED_END_DATE);
+
+        restRecurringRuleMockMvc.perform(put("/api/recurring-rules")
+            .contentType(TestUtil.APPLICATION_JSON_UTF8)
+            .content(TestUtil.convertObjectToJsonBytes(updatedRecurringRule)))
+            .andExpect(status().isOk());
+
+        // Validate the RecurringRule in the database
+        List<RecurringRule> recurringRuleList = recurringRuleRepository.findAll();
+        assertThat(recurringRuleList).hasSize(databaseSizeBeforeUpdate);
+        RecurringRule testRecurringRule = recurringRuleList.get(recurringRuleList.size() - 1);
+        assertThat(testRecurringRule.getTitle()).isEqualTo(UPDATED_TITLE);
+        assertThat(testRecurringRule.getType()).isEqualTo(UPDATED_TYPE);
+        assertThat(testRecurringRule.getAmount()).isEqualTo(UPDATED_AMOUNT);
+        assertThat(testRecurringRule.getFrequency()).isEqualTo(UPDATED_FREQUENCY);
+        assertThat(testRecurringRule.getInterval()).isEqualTo(UPDATED_INTERVAL);
+        assertThat(testRecurringRule.getStartDate()).isEqualTo(UPDATED_START_DATE);
+        assertThat(testRecurringRule.getEndDate()).isEqualTo(UPDATED_END_DATE);
+    }
+
+    @Test
+    public void updateNonExistingRecurringRule() throws Exception {
+        int databaseSizeBeforeUpdate = recurringRuleRepository.findAll().size();
+
+        // Create the RecurringRule
+
+        // If the entity doesn't have an ID, it will throw BadRequestAlertException
+        restRecurringRuleMockMvc.perform(put("/api/recurring-rules")
+            .contentType(TestUtil.APPLICATION_JSON_UTF8)
+            .content(TestUtil.convertObjectToJsonBytes(recurringRule)))
+            .andExpect(status().isBadRequest());
+
+        // Validate the RecurringRule in the database
+        List<RecurringRule> recurringRuleList = recurringRuleRepository.findAll();
+        assertThat(recurringRuleList).hasSize(databaseSizeBeforeUpdate);
+    }
+
+    @Test
+    public void deleteRecurringRule() throws Exception {
+        // Initialize the database
+        recurringRuleRepository.save(recurringRule);
+
+        int databaseSizeBeforeDelete = recurringRuleRepository.findAll().size();
+
+        // Get the recurringRule
+        restRecurringRuleMockMvc.perform(delete("/api/recurring-rules/{id}", recurringRule.getId())
+            .accept(TestUtil.APPLICATION_JSON_UTF8))
+            .andExpect(status().isOk());
+
+        // Validate the database is empty
+        List<RecurringRule> recurringRuleList = recurringRuleRepository.findAll();
+        assertThat(recurringRuleList).hasSize(databaseSizeBeforeDelete - 1);
+    }
+
+    @Test
+    public void equalsVerifier() throws Exception {
+        TestUtil.equalsVerifier(RecurringRule.class);
+        RecurringRule recurringRule1 = new RecurringRule();
+        recurringRule1.setId("id1");
+        RecurringRule recurringRule2 = new RecurringRule();
+        recurringRule2.setId(recurringRule1.getId());
+        assertThat(recurringRule1).isEqualTo(recurringRule2);
+        recurringRule2.setId("id2");
+        assertThat(recurringRule1).isNotEqualTo(recurringRule2);
+        recurringRule1.setId(null);
+        assertThat(recurringRule1).isNotEqualTo(recurringRule2);
+    }
+}
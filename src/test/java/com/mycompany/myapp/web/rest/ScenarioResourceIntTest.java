@@ -0,0 +1,191 @@
+package com.mycompany.myapp.web.rest;
+
+import com.mycompany.myapp.MonthlyBudgetApp;
+
+import com.mycompany.myapp.domain.Budget;
+import com.mycompany.myapp.domain.BudgetReference;
+import com.mycompany.myapp.domain.Income;
+import com.mycompany.myapp.domain.Money;
+import com.mycompany.myapp.domain.Outcome;
+import com.mycompany.myapp.domain.RecurringRule;
+import com.mycompany.myapp.domain.enumeration.Frequency;
+import com.mycompany.myapp.domain.enumeration.LineItemType;
+import com.mycompany.myapp.repository.BudgetRepository;
+import com.mycompany.myapp.repository.IncomeRepository;
+import com.mycompany.myapp.repository.OutcomeRepository;
+import com.mycompany.myapp.repository.RecurringRuleRepository;
+import com.mycompany.myapp.service.ScenarioService;
+import com.mycompany.myapp.service.dto.ScenarioChangeDTO;
+import com.mycompany.myapp.service.dto.ScenarioDTO;
+import com.mycompany.myapp.web.rest.errors.ExceptionTranslator;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static com.mycompany.myapp.web.rest.TestUtil.createFormattingConversionService;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Test class for the ScenarioResource REST controller.
+ *
+ * @see ScenarioResource
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest(classes = MonthlyBudgetApp.class)
+public class ScenarioResourceIntTest {
+
+    private static final LocalDate DATE = LocalDate.of(2018, 11, 25);
+
+    @Autowired
+    private ScenarioService scenarioService;
+
+    @Autowired
+    private BudgetRepository budgetRepository;
+
+    @Autowired
+    private IncomeRepository incomeRepository;
+
+    @Autowired
+    private OutcomeRepository outcomeRepository;
+
+    @Autowired
+    private RecurringRuleRepository recurringRuleRepository;
+
+    @Autowired
+    private MappingJackson2HttpMessageConverter jacksonMessageConverter;
+
+    @Autowired
+    private ExceptionTranslator exceptionTranslator;
+
+    private MockMvc restScenarioMockMvc;
+
+    private Budget budget;
+
+    private Outcome rent;
+
+    private RecurringRule salary;
+
+    @Before
+    public void setup() {
+        ScenarioResource scenarioResource = new ScenarioResource(scenarioService);
+        this.restScenarioMockMvc = MockMvcBuilders.standaloneSetup(scenarioResource)
+            .setControllerAdvice(exceptionTranslator)
+            .setConversionService(createFormattingConversionService())
+            .setMessageConverters(jacksonMessageConverter).build();
+
+        budgetRepository.deleteAll();
+        incomeRepository.deleteAll();
+        outcomeRepository.deleteAll();
+        recurringRuleRepository.deleteAll();
+        budget = budgetRepository.save(BudgetResourceIntTest.createEntity()
+            .totalIncome(Money.of(new BigDecimal("100.00")))
+            .totalOutcome(Money.of(new BigDecimal("60.00"))));
+        BudgetReference reference = new BudgetReference(budget);
+        incomeRepository.save(new Income().amount(Money.of(new BigDecimal("100.00"))).date(DATE).budget(reference));
+        rent = outcomeRepository.save(new Outcome().amount(Money.of(new BigDecimal("50.00"))).date(DATE).budget(reference));
+        outcomeRepository.save(new Outcome().amount(Money.of(new BigDecimal("10.00"))).date(DATE).budget(reference));
+        // A salary paid on the first day of every month, from next month
+        LocalDate start = YearMonth.from(LocalDate.now().plusDays(1)).plusMonths(1).atDay(1);
+        salary = recurringRuleRepository.save(new RecurringRule().title("salary").type(LineItemType.INCOME)
+            .amount(Money.of(new BigDecimal("20.00"))).frequency(Frequency.MONTHLY).startDate(start).budget(reference));
+    }
+
+    private static ScenarioChangeDTO change(ScenarioChangeDTO.Operation operation, String id) {
+        ScenarioChangeDTO change = new ScenarioChangeDTO();
+        change.setOperation(operation);
+        change.setId(id);
+        return change;
+    }
+
+    private static ScenarioDTO scenario(String name, ScenarioChangeDTO... changes) {
+        ScenarioDTO scenario = new ScenarioDTO();
+        scenario.setName(name);
+        scenario.setChanges(Arrays.asList(changes));
+        return scenario;
+    }
+
+    @Test
+    public void simulateScenarios() throws Exception {
+        ScenarioChangeDTO raise = change(ScenarioChangeDTO.Operation.SCALE, salary.getId());
+        raise.setPercent(new BigDecimal("5"));
+        ScenarioChangeDTO allIncomes = change(ScenarioChangeDTO.Operation.SCALE, null);
+        allIncomes.setType(LineItemType.INCOME);
+        allIncomes.setPercent(new BigDecimal("10"));
+        ScenarioChangeDTO car = change(ScenarioChangeDTO.Operation.ADD, null);
+        car.setType(LineItemType.OUTCOME);
+        car.setAmount(Money.of(new BigDecimal("200.00")));
+
+        restScenarioMockMvc.perform(post("/api/budgets/{id}/scenarios?months=2", budget.getId())
+            .contentType(TestUtil.APPLICATION_JSON_UTF8)
+            .content(TestUtil.convertObjectToJsonBytes(Arrays.asList(
+                scenario("no rent", change(ScenarioChangeDTO.Operation.REMOVE, rent.getId())),
+                scenario("raise", raise),
+                scenario("raise all and buy a car", allIncomes, car)))))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_UTF8_VALUE))
+            .andExpect(jsonPath("$.baseline.summary.balance").value(40.0))
+            .andExpect(jsonPath("$.baseline.forecast.months.[1].balance").value(60.0))
+            .andExpect(jsonPath("$.scenarios.length()").value(3))
+            .andExpect(jsonPath("$.scenarios.[0].name").value("no rent"))
+            .andExpect(jsonPath("$.scenarios.[0].summary.outcomeCount").value(1))
+            .andExpect(jsonPath("$.scenarios.[0].summary.totalOutcome").value(10.0))
+            .andExpect(jsonPath("$.scenarios.[0].summary.maxOutcome").value(10.0))
+            .andExpect(jsonPath("$.scenarios.[0].forecast.startingBalance").value(90.0))
+            .andExpect(jsonPath("$.scenarios.[1].summary.balance").value(40.0))
+            .andExpect(jsonPath("$.scenarios.[1].forecast.months.[1].totalIncome").value(21.0))
+            .andExpect(jsonPath("$.scenarios.[2].summary.totalIncome").value(110.0))
+            .andExpect(jsonPath("$.scenarios.[2].summary.outcomeCount").value(3))
+            .andExpect(jsonPath("$.scenarios.[2].summary.balance").value(-150.0))
+            .andExpect(jsonPath("$.scenarios.[2].forecast.months.[1].totalIncome").value(22.0));
+
+        // Nothing was persisted
+        assertThat(outcomeRepository.findById(rent.getId())).isPresent();
+        assertThat(outcomeRepository.findAll()).hasSize(2);
+        assertThat(recurringRuleRepository.findById(salary.getId()).get().getAmount()).isEqualTo(Money.of(new BigDecimal("20.00")));
+    }
+
+    @Test
+    public void simulateScenarioWithUnknownId() throws Exception {
+        restScenarioMockMvc.perform(post("/api/budgets/{id}/scenarios", budget.getId())
+            .contentType(TestUtil.APPLICATION_JSON_UTF8)
+            .content(TestUtil.convertObjectToJsonBytes(Collections.singletonList(
+                scenario("unknown", change(ScenarioChangeDTO.Operation.REMOVE, "unknown_id"))))))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void simulateScenarioWithInvalidPercent() throws Exception {
+        ScenarioChangeDTO belowZero = change(ScenarioChangeDTO.Operation.SCALE, salary.getId());
+        belowZero.setPercent(new BigDecimal("-100.01"));
+
+        restScenarioMockMvc.perform(post("/api/budgets/{id}/scenarios", budget.getId())
+            .contentType(TestUtil.APPLICATION_JSON_UTF8)
+            .content(TestUtil.convertObjectToJsonBytes(Collections.singletonList(scenario("belowZero", belowZero)))))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.message").value("error.scenariochangeinvalid"));
+    }
+
+    @Test
+    public void simulateScenariosOfNonExistingBudget() throws Exception {
+        restScenarioMockMvc.perform(post("/api/budgets/{id}/scenarios", Long.MAX_VALUE)
+            .contentType(TestUtil.APPLICATION_JSON_UTF8)
+            .content(TestUtil.convertObjectToJsonBytes(Collections.emptyList())))
+            .andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,153 @@
+package com.mycompany.myapp.web.rest;
+
+import com.mycompany.myapp.MonthlyBudgetApp;
+import com.mycompany.myapp.domain.BudgetReference;
+import com.mycompany.myapp.domain.Money;
+import com.mycompany.myapp.domain.Outcome;
+import com.mycompany.myapp.repository.OutcomeRepository;
+import com.mycompany.myapp.service.OutcomeStatsService;
+import com.mycompany.myapp.service.event.LineItemEvent;
+import com.mycompany.myapp.web.rest.errors.ExceptionTranslator;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static com.mycompany.myapp.web.rest.TestUtil.createFormattingConversionService;
+import static org.hamcrest.Matchers.closeTo;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Test class for the StatsResource REST controller.
+ *
+ * @see StatsResource
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest(classes = MonthlyBudgetApp.class)
+public class StatsResourceIntTest {
+
+    private static final LocalDate DATE = LocalDate.of(2018, 11, 25);
+
+    @Autowired
+    private OutcomeRepository outcomeRepository;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private MappingJackson2HttpMessageConverter jacksonMessageConverter;
+
+    @Autowired
+    private ExceptionTranslator exceptionTranslator;
+
+    private OutcomeStatsService outcomeStatsService;
+
+    private MockMvc restStatsMockMvc;
+
+    @Before
+    public void setup() {
+        // A service of its own, so that the outcomes written by the other tests are not counted
+        outcomeStatsService = new OutcomeStatsService(mongoTemplate);
+        this.restStatsMockMvc = MockMvcBuilders.standaloneSetup(new StatsResource(outcomeStatsService))
+            .setControllerAdvice(exceptionTranslator)
+            .setConversionService(createFormattingConversionService())
+            .setMessageConverters(jacksonMessageConverter).build();
+        mongoTemplate.dropCollection("outcome_stats");
+        outcomeRepository.deleteAll();
+    }
+
+    private static Outcome outcome(String amount, LocalDate date, String category, String budgetId) {
+        BudgetReference budget = new BudgetReference();
+        budget.setId(budgetId);
+        return new Outcome().amount(Money.of(new BigDecimal(amount))).date(date).category(category).budget(budget);
+    }
+
+    @Test
+    public void getRebuiltStats() throws Exception {
+        for (int i = 1; i <= 100; i++) {
+            outcomeRepository.save(outcome(i + ".00", DATE.minusDays(i % 2), "category-" + (i % 5), "budget-" + (i % 3)));
+        }
+
+        restStatsMockMvc.perform(post("/management/stats/rebuild"))
+            .andExpect(status().isNoContent());
+
+        restStatsMockMvc.perform(get("/management/stats?to={to}&days=2", DATE))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_UTF8_VALUE))
+            .andExpect(jsonPath("$.count").value(100))
+            .andExpect(jsonPath("$.total").value(5050.0))
+            .andExpect(jsonPath("$.min").value(1.0))
+            .andExpect(jsonPath("$.p50").value(closeTo(50.5, 1.0)))
+            .andExpect(jsonPath("$.max").value(100.0))
+            .andExpect(jsonPath("$.distinctCategories").value(5))
+            .andExpect(jsonPath("$.distinctBudgets").value(3))
+            .andExpect(jsonPath("$.days.['" + DATE + "']").value(2550.0))
+            .andExpect(jsonPath("$.days.['" + DATE.minusDays(1) + "']").value(2500.0));
+    }
+
+    @Test
+    public void statsAreMergedAcrossInstances() throws Exception {
+        OutcomeStatsService otherInstance = new OutcomeStatsService(mongoTemplate);
+        Outcome rent = outcome("10.00", DATE, "rent", "budget");
+        rent.setId("rent");
+        outcomeStatsService.onLineItemEvent(LineItemEvent.of(null, rent));
+        Outcome food = outcome("2.00", DATE, "food", "budget");
+        food.setId("food");
+        otherInstance.onLineItemEvent(LineItemEvent.of(null, food));
+        otherInstance.onLineItemEvent(LineItemEvent.of(food, outcome("3.00", DATE, "food", "budget")));
+
+        // The pending statistics are served before they are flushed
+        restStatsMockMvc.perform(get("/management/stats?to={to}", DATE))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.count").value(1))
+            .andExpect(jsonPath("$.total").value(10.0));
+
+        otherInstance.flush();
+        outcomeStatsService.flush();
+
+        restStatsMockMvc.perform(get("/management/stats?to={to}", DATE))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.count").value(2))
+            .andExpect(jsonPath("$.total").value(13.0))
+            .andExpect(jsonPath("$.distinctCategories").value(2))
+            .andExpect(jsonPath("$.days.['" + DATE + "']").value(13.0));
+    }
+
+    @Test
+    public void statsOfAnOlderGenerationAreDropped() throws Exception {
+        OutcomeStatsService otherInstance = new OutcomeStatsService(mongoTemplate);
+        otherInstance.load();
+        Outcome rent = outcomeRepository.save(outcome("10.00", DATE, "rent", "budget"));
+        otherInstance.onLineItemEvent(LineItemEvent.of(null, rent));
+
+        // The rebuild counts the outcome, so the other instance must not merge it again
+        restStatsMockMvc.perform(post("/management/stats/rebuild"))
+            .andExpect(status().isNoContent());
+        otherInstance.flush();
+        outcomeStatsService.flush();
+
+        restStatsMockMvc.perform(get("/management/stats?to={to}", DATE))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.count").value(1))
+            .andExpect(jsonPath("$.total").value(10.0));
+    }
+
+    @Test
+    public void getStatsWithInvalidRange() throws Exception {
+        restStatsMockMvc.perform(get("/management/stats?days=0"))
+            .andExpect(status().isBadRequest());
+    }
+}
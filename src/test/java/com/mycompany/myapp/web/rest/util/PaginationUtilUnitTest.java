@@ -2,15 +2,20 @@ package com.mycompany.myapp.web.rest.util;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.function.Function;
 
 import org.junit.Test;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.http.HttpHeaders;
 
 /**
@@ -41,4 +46,28 @@ public class PaginationUtilUnitTest {
         assertTrue(Long.valueOf(xTotalCountHeaders.get(0)).equals(400L));
     }
 
+    @Test
+    public void generateKeysetPaginationHttpHeadersTest() {
+        String baseUrl = "/api/example";
+        List<String> content = Arrays.asList("a", "b", "c");
+        Slice<String> slice = new SliceImpl<>(content, PageRequest.of(0, 3), true);
+        HttpHeaders headers = PaginationUtil.generateKeysetPaginationHttpHeaders(slice, Function.identity(), baseUrl);
+        List<String> strHeaders = headers.get(HttpHeaders.LINK);
+        assertNotNull(strHeaders);
+        assertTrue(strHeaders.size() == 1);
+        String expectedData = "</api/example?after=c&size=3>; rel=\"next\","
+                + "</api/example?after=&size=3>; rel=\"first\"";
+        assertEquals(expectedData, strHeaders.get(0));
+        assertNull(headers.get("X-Total-Count"));
+    }
+
+    @Test
+    public void generateKeysetPaginationHttpHeadersLastSliceTest() {
+        String baseUrl = "/api/example";
+        List<String> content = Arrays.asList("a", "b");
+        Slice<String> slice = new SliceImpl<>(content, PageRequest.of(0, 3), false);
+        HttpHeaders headers = PaginationUtil.generateKeysetPaginationHttpHeaders(slice, Function.identity(), baseUrl);
+        assertEquals("</api/example?after=&size=3>; rel=\"first\"", headers.getFirst(HttpHeaders.LINK));
+    }
+
 }
@@ -16,6 +16,7 @@ import reducer, {
 } from 'app/entities/budget/budget.reducer';
 import { REQUEST, SUCCESS, FAILURE } from 'app/shared/reducers/action-type.util';
 import { IBudget, defaultValue } from 'app/shared/model/budget.model';
+import { defaultValue as defaultSummaryValue } from 'app/shared/model/budget-summary.model';
 
 // tslint:disable no-invalid-template-strings
 describe('Entities reducer tests', () => {
@@ -32,6 +33,8 @@ describe('Entities reducer tests', () => {
     errorMessage: null,
     entities: [] as ReadonlyArray<IBudget>,
     entity: defaultValue,
+    summary: defaultSummaryValue,
+    totalItems: 0,
     updating: false,
     updateSuccess: false
   };
@@ -122,7 +125,7 @@ describe('Entities reducer tests', () => {
 
   describe('Successes', () => {
     it('should fetch all entities', () => {
-      const payload = { data: [{ 1: 'fake1' }, { 2: 'fake2' }] };
+      const payload = { data: [{ 1: 'fake1' }, { 2: 'fake2' }], headers: { 'x-total-count': 123 } };
       expect(
         reducer(undefined, {
           type: SUCCESS(ACTION_TYPES.FETCH_BUDGET_LIST),
@@ -131,6 +134,7 @@ describe('Entities reducer tests', () => {
       ).toEqual({
         ...initialState,
         loading: false,
+        totalItems: payload.headers['x-total-count'],
         entities: payload.data
       });
     });
@@ -5,6 +5,8 @@ const WorkboxPlugin = require('workbox-webpack-plugin');
 const TerserPlugin = require('terser-webpack-plugin');
 const OptimizeCSSAssetsPlugin = require('optimize-css-assets-webpack-plugin');
 const MomentLocalesPlugin = require('moment-locales-webpack-plugin');
+const CompressionPlugin = require('compression-webpack-plugin');
+const BrotliPlugin = require('brotli-webpack-plugin');
 const path = require('path');
 const sass = require('sass');
 
@@ -89,6 +91,22 @@ module.exports = webpackMerge(commonConfig({ env: ENV }), {
     new WorkboxPlugin.GenerateSW({
       clientsClaim: true,
       skipWaiting: true,
+      // The service worker caches the original files, the compressed variants are served by content negotiation
+      exclude: [/\.map$/, /^manifest.*\.js(?:on)?$/, /\.(gz|br)$/]
+    }),
+    // Compress the bundles at build time, served by the PrecompressedResourceResolver of the server
+    new CompressionPlugin({
+      filename: '[path].gz[query]',
+      algorithm: 'gzip',
+      test: /\.(js|css|svg|json)$/,
+      threshold: 1024,
+      minRatio: 0.8
+    }),
+    new BrotliPlugin({
+      asset: '[path].br[query]',
+      test: /\.(js|css|svg|json)$/,
+      threshold: 1024,
+      minRatio: 0.8
     })
   ]
 });